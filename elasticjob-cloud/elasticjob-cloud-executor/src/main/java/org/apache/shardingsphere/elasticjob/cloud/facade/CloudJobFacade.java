@@ -29,6 +29,7 @@ import org.apache.shardingsphere.elasticjob.tracing.event.JobStatusTraceEvent.So
 import org.apache.shardingsphere.elasticjob.tracing.event.JobStatusTraceEvent.State;
 
 import java.util.Collection;
+import java.util.Collections;
 
 /**
  * Cloud job facade.
@@ -75,8 +76,8 @@ public final class CloudJobFacade implements JobFacade {
     }
     
     @Override
-    public boolean misfireIfRunning(final Collection<Integer> shardingItems) {
-        return false;
+    public Collection<Integer> misfireIfRunning(final Collection<Integer> shardingItems) {
+        return Collections.emptyList();
     }
     
     @Override
@@ -84,8 +85,8 @@ public final class CloudJobFacade implements JobFacade {
     }
     
     @Override
-    public boolean isExecuteMisfired(final Collection<Integer> shardingItems) {
-        return false;
+    public Collection<Integer> getMisfiredItems(final Collection<Integer> shardingItems) {
+        return Collections.emptyList();
     }
     
     @Override
@@ -39,6 +39,7 @@ import java.util.Map;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -94,7 +95,7 @@ public final class CloudJobFacadeTest {
     
     @Test
     public void assertMisfireIfNecessary() {
-        jobFacade.misfireIfRunning(null);
+        assertTrue(jobFacade.misfireIfRunning(null).isEmpty());
     }
     
     @Test
@@ -103,8 +104,8 @@ public final class CloudJobFacadeTest {
     }
     
     @Test
-    public void assertIsExecuteMisfired() {
-        assertFalse(jobFacade.isExecuteMisfired(null));
+    public void assertGetMisfiredItems() {
+        assertTrue(jobFacade.getMisfiredItems(null).isEmpty());
     }
     
     @Test
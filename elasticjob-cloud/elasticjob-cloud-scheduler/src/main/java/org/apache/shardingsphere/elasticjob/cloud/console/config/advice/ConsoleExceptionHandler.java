@@ -31,7 +31,7 @@ public final class ConsoleExceptionHandler implements ExceptionHandler<Exception
     @Override
     public ExceptionHandleResult handleException(final Exception ex) {
         return ExceptionHandleResult.builder()
-                .statusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code())
+                .statusCode(ex instanceof IllegalArgumentException ? HttpResponseStatus.BAD_REQUEST.code() : HttpResponseStatus.INTERNAL_SERVER_ERROR.code())
                 .result(ex.getLocalizedMessage())
                 .build();
     }
@@ -19,6 +19,8 @@ package org.apache.shardingsphere.elasticjob.cloud.console.controller;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shardingsphere.elasticjob.cloud.config.CloudJobExecutionType;
 import org.apache.shardingsphere.elasticjob.cloud.config.pojo.CloudJobConfigurationPOJO;
@@ -314,7 +316,27 @@ public final class CloudJobController implements RestfulController {
         if (!Strings.isNullOrEmpty(requestParams.get("endTime"))) {
             endTime = simpleDateFormat.parse(requestParams.get("endTime"));
         }
-        return new JobEventRdbSearch.Condition(perPage, page, sort, order, startTime, endTime, fields);
+        return new JobEventRdbSearch.Condition(perPage, page, sort, order, startTime, endTime, fields, getLastTime(requestParams), requestParams.get("lastId"), getMaxCount(requestParams));
+    }
+    
+    private Date getLastTime(final Map<String, String> requestParams) {
+        String lastTime = requestParams.get("lastTime");
+        if (Strings.isNullOrEmpty(lastTime)) {
+            return null;
+        }
+        Long result = Longs.tryParse(lastTime);
+        Preconditions.checkArgument(null != result && result >= 0L, "Parameter 'lastTime' should be a non-negative epoch millisecond, but was '%s'.", lastTime);
+        return new Date(result);
+    }
+    
+    private int getMaxCount(final Map<String, String> requestParams) {
+        String maxCount = requestParams.get("maxCount");
+        if (Strings.isNullOrEmpty(maxCount)) {
+            return JobEventRdbSearch.Condition.EXACT_COUNT;
+        }
+        Integer result = Ints.tryParse(maxCount);
+        Preconditions.checkArgument(null != result && result >= JobEventRdbSearch.Condition.NO_COUNT, "Parameter 'maxCount' should be -1, 0 or a positive integer, but was '%s'.", maxCount);
+        return result;
     }
     
     private Map<String, Object> getQueryParameters(final Map<String, String> requestParams, final String[] params) {
@@ -24,6 +24,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobExecutionEvent;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobStatusTraceEvent;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.storage.RDBFailureCauseCodec;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.storage.RDBJobEventReader;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.storage.RDBStorageSQLMapper;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -31,12 +34,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Job event RDB search.
@@ -56,7 +61,9 @@ public final class JobEventRdbSearch {
             Arrays.asList("id", "job_name", "original_task_id", "task_id", "slave_id", "source", "execution_type", "sharding_item", "state", "message", "creation_time");
     
     private final DataSource dataSource;
-
+    
+    private RDBJobEventReader reader;
+    
     /**
      * Find job execution events.
      *
@@ -64,7 +71,10 @@ public final class JobEventRdbSearch {
      * @return job execution events
      */
     public Result<JobExecutionEvent> findJobExecutionEvents(final Condition condition) {
-        return new Result<>(getEventCount(TABLE_JOB_EXECUTION_LOG, FIELDS_JOB_EXECUTION_LOG, condition), getJobExecutionEvents(condition));
+        Integer total = getEventCount(TABLE_JOB_EXECUTION_LOG, FIELDS_JOB_EXECUTION_LOG, condition);
+        List<JobExecutionEvent> rows = new ArrayList<>(getFetchSize(condition));
+        streamJobExecutionEvents(condition, rows::add);
+        return new Result<>(total, rows);
     }
 
     /**
@@ -74,32 +84,56 @@ public final class JobEventRdbSearch {
      * @return job status trace events
      */
     public Result<JobStatusTraceEvent> findJobStatusTraceEvents(final Condition condition) {
-        return new Result<>(getEventCount(TABLE_JOB_STATUS_TRACE_LOG, FIELDS_JOB_STATUS_TRACE_LOG, condition), getJobStatusTraceEvents(condition));
+        Integer total = getEventCount(TABLE_JOB_STATUS_TRACE_LOG, FIELDS_JOB_STATUS_TRACE_LOG, condition);
+        List<JobStatusTraceEvent> rows = new ArrayList<>(getFetchSize(condition));
+        streamJobStatusTraceEvents(condition, rows::add);
+        return new Result<>(total, rows);
     }
     
-    private List<JobExecutionEvent> getJobExecutionEvents(final Condition condition) {
-        List<JobExecutionEvent> result = new LinkedList<>();
+    /**
+     * Stream job execution events to consumer row by row.
+     * 
+     * <p>Rows are only hinted to the JDBC driver by {@link PreparedStatement#setFetchSize(int)},
+     * whether they are really streamed from database depends on the driver and its configuration.</p>
+     *
+     * @param condition query condition
+     * @param consumer job execution event consumer
+     */
+    public void streamJobExecutionEvents(final Condition condition, final Consumer<JobExecutionEvent> consumer) {
         try (
                 Connection conn = dataSource.getConnection();
                 PreparedStatement preparedStatement = createDataPreparedStatement(conn, TABLE_JOB_EXECUTION_LOG, FIELDS_JOB_EXECUTION_LOG, condition);
                 ResultSet resultSet = preparedStatement.executeQuery()
                 ) {
+            int fetchSize = getFetchSize(condition);
+            List<JobExecutionEvent> jobExecutionEvents = new ArrayList<>(fetchSize);
             while (resultSet.next()) {
                 JobExecutionEvent jobExecutionEvent = new JobExecutionEvent(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4),
                         resultSet.getString(5), JobExecutionEvent.ExecutionSource.valueOf(resultSet.getString(6)), Integer.parseInt(resultSet.getString(7)), 
                         new Date(resultSet.getTimestamp(8).getTime()), resultSet.getTimestamp(9) == null ? null : new Date(resultSet.getTimestamp(9).getTime()), 
-                        resultSet.getBoolean(10), resultSet.getString(11));
-                result.add(jobExecutionEvent);
+                        resultSet.getBoolean(10), resultSet.getString(11), RDBFailureCauseCodec.getFingerprint(resultSet.getString(11)));
+                jobExecutionEvents.add(jobExecutionEvent);
+                if (jobExecutionEvents.size() >= fetchSize) {
+                    acceptJobExecutionEvents(jobExecutionEvents, consumer);
+                }
             }
+            acceptJobExecutionEvents(jobExecutionEvents, consumer);
         } catch (final SQLException ex) {
             // TODO log failure directly to output log, consider to be configurable in the future
             log.error("Fetch JobExecutionEvent from DB error:", ex);
         }
-        return result;
     }
     
-    private List<JobStatusTraceEvent> getJobStatusTraceEvents(final Condition condition) {
-        List<JobStatusTraceEvent> result = new LinkedList<>();
+    /**
+     * Stream job status trace events to consumer row by row.
+     * 
+     * <p>Rows are only hinted to the JDBC driver by {@link PreparedStatement#setFetchSize(int)},
+     * whether they are really streamed from database depends on the driver and its configuration.</p>
+     *
+     * @param condition query condition
+     * @param consumer job status trace event consumer
+     */
+    public void streamJobStatusTraceEvents(final Condition condition, final Consumer<JobStatusTraceEvent> consumer) {
         try (
                 Connection conn = dataSource.getConnection();
                 PreparedStatement preparedStatement = createDataPreparedStatement(conn, TABLE_JOB_STATUS_TRACE_LOG, FIELDS_JOB_STATUS_TRACE_LOG, condition);
@@ -109,16 +143,44 @@ public final class JobEventRdbSearch {
                 JobStatusTraceEvent jobStatusTraceEvent = new JobStatusTraceEvent(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4),
                         resultSet.getString(5), JobStatusTraceEvent.Source.valueOf(resultSet.getString(6)), resultSet.getString(7), resultSet.getString(8),
                         JobStatusTraceEvent.State.valueOf(resultSet.getString(9)), resultSet.getString(10), new Date(resultSet.getTimestamp(11).getTime()));
-                result.add(jobStatusTraceEvent);
+                consumer.accept(jobStatusTraceEvent);
             }
         } catch (final SQLException ex) {
             // TODO log failure directly to output log, consider to be configurable in the future
             log.error("Fetch JobStatusTraceEvent from DB error:", ex);
         }
-        return result;
     }
     
-    private int getEventCount(final String tableName, final Collection<String> tableFields, final Condition condition) {
+    private void acceptJobExecutionEvents(final List<JobExecutionEvent> jobExecutionEvents, final Consumer<JobExecutionEvent> consumer) throws SQLException {
+        List<String> failureCauseReferences = jobExecutionEvents.stream()
+                .filter(each -> null != each.getFailureCauseFingerprint()).map(JobExecutionEvent::getFailureCause).collect(Collectors.toList());
+        if (!failureCauseReferences.isEmpty()) {
+            Map<String, String> failureCauses = getReader().resolveFailureCauses(failureCauseReferences);
+            for (JobExecutionEvent each : jobExecutionEvents) {
+                if (null != each.getFailureCauseFingerprint()) {
+                    each.setFailureCause(failureCauses.get(each.getFailureCause()));
+                }
+            }
+        }
+        jobExecutionEvents.forEach(consumer);
+        jobExecutionEvents.clear();
+    }
+    
+    private synchronized RDBJobEventReader getReader() throws SQLException {
+        if (null == reader) {
+            reader = new RDBJobEventReader(dataSource);
+        }
+        return reader;
+    }
+    
+    private int getFetchSize(final Condition condition) {
+        return condition.getPerPage() > 0 ? condition.getPerPage() : Condition.DEFAULT_PAGE_SIZE;
+    }
+    
+    private Integer getEventCount(final String tableName, final Collection<String> tableFields, final Condition condition) {
+        if (Condition.NO_COUNT == condition.getMaxCount()) {
+            return null;
+        }
         int result = 0;
         try (
                 Connection conn = dataSource.getConnection();
@@ -137,35 +199,77 @@ public final class JobEventRdbSearch {
     private PreparedStatement createDataPreparedStatement(final Connection conn, final String tableName, final Collection<String> tableFields, final Condition condition) throws SQLException {
         String sql = buildDataSql(tableName, tableFields, condition);
         PreparedStatement result = conn.prepareStatement(sql);
-        setBindValue(result, tableFields, condition);
+        result.setFetchSize(getFetchSize(condition));
+        int index = setBindValue(result, tableFields, condition);
+        if (isKeysetPaging(tableName, condition)) {
+            Timestamp lastTime = new Timestamp(condition.getLastTime().getTime());
+            result.setTimestamp(index++, lastTime);
+            result.setTimestamp(index++, lastTime);
+            result.setString(index, condition.getLastId());
+        }
         return result;
     }
     
     private PreparedStatement createCountPreparedStatement(final Connection conn, final String tableName, final Collection<String> tableFields, final Condition condition) throws SQLException {
-        String sql = buildCountSql(tableName, tableFields, condition);
-        PreparedStatement result = conn.prepareStatement(sql);
-        setBindValue(result, tableFields, condition);
+        String cappedCountSql = condition.getMaxCount() > 0 ? getCappedCountSql(tableName) : null;
+        if (null == cappedCountSql) {
+            PreparedStatement result = conn.prepareStatement(buildCountSql(tableName, tableFields, condition));
+            setBindValue(result, tableFields, condition);
+            return result;
+        }
+        PreparedStatement result = conn.prepareStatement(String.format(cappedCountSql, buildWhere(tableName, tableFields, condition)));
+        int index = setBindValue(result, tableFields, condition);
+        result.setInt(index, condition.getMaxCount());
         return result;
     }
     
+    private String getCappedCountSql(final String tableName) throws SQLException {
+        RDBStorageSQLMapper sqlMapper = getReader().getSqlMapper();
+        return TABLE_JOB_EXECUTION_LOG.equals(tableName) ? sqlMapper.getSelectCappedCountForJobExecutionLog() : sqlMapper.getSelectCappedCountForJobStatusTraceLog();
+    }
+    
     private String buildDataSql(final String tableName, final Collection<String> tableFields, final Condition condition) {
         StringBuilder sqlBuilder = new StringBuilder();
         String selectSql = buildSelect(tableName, tableFields);
         String whereSql = buildWhere(tableName, tableFields, condition);
+        if (isKeysetPaging(tableName, condition)) {
+            String timeField = getTableTimeField(tableName);
+            sqlBuilder.append(selectSql).append(whereSql).append(buildKeysetWhere(timeField)).append(buildKeysetOrder(timeField)).append(buildLimit(1, getFetchSize(condition)));
+            return sqlBuilder.toString();
+        }
         String orderSql = buildOrder(tableFields, condition.getSort(), condition.getOrder());
         String limitSql = buildLimit(condition.getPage(), condition.getPerPage());
         sqlBuilder.append(selectSql).append(whereSql).append(orderSql).append(limitSql);
         return sqlBuilder.toString();
     }
     
+    private boolean isKeysetPaging(final String tableName, final Condition condition) {
+        if (!condition.isKeysetPaging()) {
+            return false;
+        }
+        if (Strings.isNullOrEmpty(condition.getSort())) {
+            return true;
+        }
+        String sortField = CaseFormat.LOWER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, condition.getSort());
+        return getTableTimeField(tableName).equals(sortField) && !"ASC".equalsIgnoreCase(condition.getOrder());
+    }
+    
     private String buildCountSql(final String tableName, final Collection<String> tableFields, final Condition condition) {
         StringBuilder sqlBuilder = new StringBuilder();
-        String selectSql = buildSelectCount(tableName);
         String whereSql = buildWhere(tableName, tableFields, condition);
+        String selectSql = buildSelectCount(tableName);
         sqlBuilder.append(selectSql).append(whereSql);
         return sqlBuilder.toString();
     }
     
+    private String buildKeysetWhere(final String timeField) {
+        return String.format(" AND (%s<? OR (%s=? AND id<?))", timeField, timeField);
+    }
+    
+    private String buildKeysetOrder(final String timeField) {
+        return String.format(" ORDER BY %s DESC, id DESC", timeField);
+    }
+    
     private String buildSelectCount(final String tableName) {
         return String.format("SELECT COUNT(1) FROM %s", tableName);
     }
@@ -201,7 +305,7 @@ public final class JobEventRdbSearch {
         return sqlBuilder.toString();
     }
     
-    private void setBindValue(final PreparedStatement preparedStatement, final Collection<String> tableFields, final Condition condition) throws SQLException {
+    private int setBindValue(final PreparedStatement preparedStatement, final Collection<String> tableFields, final Condition condition) throws SQLException {
         int index = 1;
         if (null != condition.getFields() && !condition.getFields().isEmpty()) {
             for (Map.Entry<String, Object> entry : condition.getFields().entrySet()) {
@@ -215,8 +319,9 @@ public final class JobEventRdbSearch {
             preparedStatement.setTimestamp(index++, new Timestamp(condition.getStartTime().getTime()));
         }
         if (null != condition.getEndTime()) {
-            preparedStatement.setTimestamp(index, new Timestamp(condition.getEndTime().getTime()));
+            preparedStatement.setTimestamp(index++, new Timestamp(condition.getEndTime().getTime()));
         }
+        return index;
     }
     
     private String getTableTimeField(final String tableName) {
@@ -264,6 +369,16 @@ public final class JobEventRdbSearch {
     @Getter
     public static class Condition {
         
+        /**
+         * Count all matched rows.
+         */
+        public static final int EXACT_COUNT = 0;
+        
+        /**
+         * Skip counting matched rows.
+         */
+        public static final int NO_COUNT = -1;
+        
         private static final int DEFAULT_PAGE_SIZE = 10;
         
         private final int perPage;
@@ -279,6 +394,25 @@ public final class JobEventRdbSearch {
         private final Date endTime;
         
         private final Map<String, Object> fields;
+        
+        private final Date lastTime;
+        
+        private final String lastId;
+        
+        private final int maxCount;
+        
+        public Condition(final int perPage, final int page, final String sort, final String order, final Date startTime, final Date endTime, final Map<String, Object> fields) {
+            this(perPage, page, sort, order, startTime, endTime, fields, null, null, EXACT_COUNT);
+        }
+        
+        /**
+         * Judge whether to seek by last time and id instead of paging by offset.
+         *
+         * @return is keyset paging or not
+         */
+        public boolean isKeysetPaging() {
+            return null != lastTime && !Strings.isNullOrEmpty(lastId);
+        }
     }
     
     @RequiredArgsConstructor
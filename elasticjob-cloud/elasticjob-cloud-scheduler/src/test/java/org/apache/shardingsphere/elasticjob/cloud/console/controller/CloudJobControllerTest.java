@@ -31,11 +31,13 @@ import org.apache.shardingsphere.elasticjob.cloud.statistics.type.job.JobExecuti
 import org.apache.shardingsphere.elasticjob.cloud.statistics.type.task.TaskResultStatistics;
 import org.apache.shardingsphere.elasticjob.infra.context.TaskContext;
 import org.apache.shardingsphere.elasticjob.infra.json.GsonFactory;
+import org.apache.shardingsphere.elasticjob.restful.wrapper.QueryParameterMap;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobExecutionEvent;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.text.ParseException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -44,6 +46,7 @@ import java.util.UUID;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -195,6 +198,23 @@ public class CloudJobControllerTest extends AbstractCloudControllerTest {
                 Collections.<JobExecutionEvent>emptyList()))));
     }
     
+    @Test(expected = IllegalArgumentException.class)
+    public void assertFindJobExecutionEventsWithInvalidLastTime() throws ParseException {
+        ReflectionUtils.setStaticFieldValue(CloudJobController.class, "jobEventRdbSearch", mock(JobEventRdbSearch.class));
+        QueryParameterMap query = new QueryParameterMap();
+        query.add("lastTime", "yesterday");
+        query.add("lastId", "last_id");
+        new CloudJobController().findJobExecutionEvents(query);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertFindJobStatusTraceEventsWithInvalidMaxCount() throws ParseException {
+        ReflectionUtils.setStaticFieldValue(CloudJobController.class, "jobEventRdbSearch", mock(JobEventRdbSearch.class));
+        QueryParameterMap query = new QueryParameterMap();
+        query.add("maxCount", "-2");
+        new CloudJobController().findJobStatusTraceEvents(query);
+    }
+    
     @Test
     public void assertGetTaskResultStatistics() {
         assertThat(HttpTestUtil.get("http://127.0.0.1:19000/api/job/statistics/tasks/results"),
@@ -18,8 +18,11 @@
 package org.apache.shardingsphere.elasticjob.cloud.console.controller.search;
 
 import lombok.SneakyThrows;
+import org.apache.shardingsphere.elasticjob.cloud.ReflectionUtils;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobExecutionEvent;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobStatusTraceEvent;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.storage.RDBJobEventReader;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.storage.RDBStorageSQLMapper;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -31,13 +34,19 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Timestamp;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -87,6 +96,29 @@ public final class JobEventRdbSearchTest {
         assertThat(jobExecutionEvents.getRows().get(0).getShardingItem(), is(1));
     }
     
+    @Test
+    @SneakyThrows
+    public void assertFindJobExecutionEventsWithFailureCauseFingerprint() {
+        when(resultSet.getString(5)).thenReturn("TestJobName");
+        when(resultSet.getString(6)).thenReturn("NORMAL_TRIGGER");
+        when(resultSet.getString(7)).thenReturn("0");
+        when(resultSet.getTimestamp(8)).thenReturn(new Timestamp(System.currentTimeMillis()));
+        when(resultSet.getString(11)).thenReturn("fingerprint:foo\njava.lang.RuntimeException: foo", "fingerprint:foo\njava.lang.RuntimeException: bar");
+        RDBJobEventReader reader = mock(RDBJobEventReader.class);
+        Map<String, String> failureCauses = new HashMap<>(2, 1);
+        failureCauses.put("fingerprint:foo\njava.lang.RuntimeException: foo", "java.lang.RuntimeException: foo\n\tat Foo.foo(Foo.java:1)");
+        failureCauses.put("fingerprint:foo\njava.lang.RuntimeException: bar", "java.lang.RuntimeException: bar\n\tat Foo.foo(Foo.java:1)");
+        when(reader.resolveFailureCauses(any())).thenReturn(failureCauses);
+        ReflectionUtils.setFieldValue(jobEventRdbSearch, "reader", reader);
+        condition = new JobEventRdbSearch.Condition(10, 1, null, null, null, null, new HashMap<>(), null, null, JobEventRdbSearch.Condition.NO_COUNT);
+        JobEventRdbSearch.Result<JobExecutionEvent> jobExecutionEvents = jobEventRdbSearch.findJobExecutionEvents(condition);
+        assertThat(jobExecutionEvents.getRows().size(), is(2));
+        assertThat(jobExecutionEvents.getRows().get(0).getFailureCause(), is("java.lang.RuntimeException: foo\n\tat Foo.foo(Foo.java:1)"));
+        assertThat(jobExecutionEvents.getRows().get(0).getFailureCauseFingerprint(), is("foo"));
+        assertThat(jobExecutionEvents.getRows().get(1).getFailureCause(), is("java.lang.RuntimeException: bar\n\tat Foo.foo(Foo.java:1)"));
+        verify(reader).resolveFailureCauses(Arrays.asList("fingerprint:foo\njava.lang.RuntimeException: foo", "fingerprint:foo\njava.lang.RuntimeException: bar"));
+    }
+    
     @Test
     @SneakyThrows
     public void assertFindJobStatusTraceEvents() {
@@ -104,4 +136,81 @@ public final class JobEventRdbSearchTest {
         assertThat(jobStatusTraceEvents.getRows().get(0).getSource(), is(JobStatusTraceEvent.Source.LITE_EXECUTOR));
         assertThat(jobStatusTraceEvents.getRows().get(0).getState(), is(JobStatusTraceEvent.State.TASK_RUNNING));
     }
+    
+    @Test
+    @SneakyThrows
+    public void assertFindJobExecutionEventsWithKeysetPagingAndNoCount() {
+        when(resultSet.getString(5)).thenReturn("TestJobName");
+        when(resultSet.getString(6)).thenReturn("NORMAL_TRIGGER");
+        when(resultSet.getString(7)).thenReturn("0");
+        when(resultSet.getTimestamp(8)).thenReturn(new Timestamp(System.currentTimeMillis()));
+        condition = new JobEventRdbSearch.Condition(10, 0, null, null, null, null, new HashMap<>(), new Date(), "last_id", JobEventRdbSearch.Condition.NO_COUNT);
+        JobEventRdbSearch.Result<JobExecutionEvent> jobExecutionEvents = jobEventRdbSearch.findJobExecutionEvents(condition);
+        assertNull(jobExecutionEvents.getTotal());
+        assertThat(jobExecutionEvents.getRows().size(), is(2));
+        verify(conn).prepareStatement(contains("AND (start_time<? OR (start_time=? AND id<?)) ORDER BY start_time DESC, id DESC LIMIT 0,10"));
+        verify(preparedStatement).setString(3, "last_id");
+    }
+    
+    @Test
+    @SneakyThrows
+    public void assertFindJobExecutionEventsWithKeysetPagingAndUnsupportedSort() {
+        when(resultSet.getString(5)).thenReturn("TestJobName");
+        when(resultSet.getString(6)).thenReturn("NORMAL_TRIGGER");
+        when(resultSet.getString(7)).thenReturn("0");
+        when(resultSet.getTimestamp(8)).thenReturn(new Timestamp(System.currentTimeMillis()));
+        condition = new JobEventRdbSearch.Condition(10, 2, "jobName", "ASC", null, null, new HashMap<>(), new Date(), "last_id", JobEventRdbSearch.Condition.NO_COUNT);
+        JobEventRdbSearch.Result<JobExecutionEvent> jobExecutionEvents = jobEventRdbSearch.findJobExecutionEvents(condition);
+        assertThat(jobExecutionEvents.getRows().size(), is(2));
+        verify(conn).prepareStatement(contains("WHERE 1=1 ORDER BY job_name ASC LIMIT 10,10"));
+        verify(preparedStatement, never()).setString(1, "last_id");
+    }
+    
+    @Test
+    @SneakyThrows
+    public void assertFindJobExecutionEventsWithKeysetPagingAndTimeSort() {
+        when(resultSet.getString(5)).thenReturn("TestJobName");
+        when(resultSet.getString(6)).thenReturn("NORMAL_TRIGGER");
+        when(resultSet.getString(7)).thenReturn("0");
+        when(resultSet.getTimestamp(8)).thenReturn(new Timestamp(System.currentTimeMillis()));
+        condition = new JobEventRdbSearch.Condition(10, 2, "startTime", "DESC", null, null, new HashMap<>(), new Date(), "last_id", JobEventRdbSearch.Condition.NO_COUNT);
+        jobEventRdbSearch.findJobExecutionEvents(condition);
+        verify(conn).prepareStatement(contains("ORDER BY start_time DESC, id DESC LIMIT 0,10"));
+        verify(preparedStatement).setString(3, "last_id");
+    }
+    
+    @Test
+    @SneakyThrows
+    public void assertFindJobStatusTraceEventsWithCappedCount() {
+        when(resultSet.getString(2)).thenReturn("TestJobName");
+        when(resultSet.getString(6)).thenReturn("LITE_EXECUTOR");
+        when(resultSet.getString(9)).thenReturn("TASK_RUNNING");
+        when(resultSet.getTimestamp(11)).thenReturn(new Timestamp(System.currentTimeMillis()));
+        setReaderSQLMapper("H2.properties");
+        condition = new JobEventRdbSearch.Condition(10, 1, null, null, null, null, new HashMap<>(), null, null, 1000);
+        JobEventRdbSearch.Result<JobStatusTraceEvent> jobStatusTraceEvents = jobEventRdbSearch.findJobStatusTraceEvents(condition);
+        assertThat(jobStatusTraceEvents.getTotal(), is(1));
+        verify(conn).prepareStatement("SELECT COUNT(1) FROM (SELECT 1 FROM JOB_STATUS_TRACE_LOG WHERE 1=1 LIMIT ?) capped_events");
+        verify(preparedStatement).setInt(1, 1000);
+    }
+    
+    @Test
+    @SneakyThrows
+    public void assertFindJobStatusTraceEventsWithCappedCountWhenDatabaseNotSupported() {
+        when(resultSet.getString(2)).thenReturn("TestJobName");
+        when(resultSet.getString(6)).thenReturn("LITE_EXECUTOR");
+        when(resultSet.getString(9)).thenReturn("TASK_RUNNING");
+        when(resultSet.getTimestamp(11)).thenReturn(new Timestamp(System.currentTimeMillis()));
+        setReaderSQLMapper("SQL92.properties");
+        condition = new JobEventRdbSearch.Condition(10, 1, null, null, null, null, new HashMap<>(), null, null, 1000);
+        JobEventRdbSearch.Result<JobStatusTraceEvent> jobStatusTraceEvents = jobEventRdbSearch.findJobStatusTraceEvents(condition);
+        assertThat(jobStatusTraceEvents.getTotal(), is(1));
+        verify(conn).prepareStatement("SELECT COUNT(1) FROM JOB_STATUS_TRACE_LOG WHERE 1=1");
+    }
+    
+    private void setReaderSQLMapper(final String sqlPropertiesFileName) {
+        RDBJobEventReader reader = mock(RDBJobEventReader.class);
+        when(reader.getSqlMapper()).thenReturn(new RDBStorageSQLMapper(sqlPropertiesFileName));
+        ReflectionUtils.setFieldValue(jobEventRdbSearch, "reader", reader);
+    }
 }
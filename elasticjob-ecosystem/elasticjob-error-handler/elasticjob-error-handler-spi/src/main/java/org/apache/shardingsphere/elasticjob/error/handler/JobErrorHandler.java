@@ -35,6 +35,17 @@ public interface JobErrorHandler extends TypedSPI, SPIPostProcessor, Closeable {
      */
     void handleException(String jobName, Throwable cause);
     
+    /**
+     * Handle exception with fingerprint of its stack trace.
+     * 
+     * @param jobName job name
+     * @param cause failure cause
+     * @param fingerprint fingerprint of failure cause, same for repeated failures
+     */
+    default void handleException(String jobName, Throwable cause, String fingerprint) {
+        handleException(jobName, cause);
+    }
+    
     @Override
     default void close() {
     }
@@ -32,11 +32,17 @@ import org.apache.shardingsphere.elasticjob.tracing.event.JobExecutionEvent;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobExecutionEvent.ExecutionSource;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobStatusTraceEvent.State;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 /**
  * ElasticJob executor.
@@ -52,7 +58,11 @@ public final class ElasticJobExecutor {
     
     private final ExecutorContext executorContext;
     
-    private final Map<Integer, String> itemErrorMessages;
+    private final Map<Integer, String> itemFailureFingerprints;
+    
+    private final Map<Integer, String> itemFailureMessages;
+    
+    private final Map<String, String> failureStackTraces;
     
     public ElasticJobExecutor(final ElasticJob elasticJob, final JobConfiguration jobConfig, final JobFacade jobFacade) {
         this(elasticJob, jobConfig, jobFacade, JobItemExecutorFactory.getExecutor(elasticJob.getClass()));
@@ -67,7 +77,9 @@ public final class ElasticJobExecutor {
         this.jobFacade = jobFacade;
         this.jobItemExecutor = jobItemExecutor;
         executorContext = new ExecutorContext(jobFacade.loadJobConfiguration(true));
-        itemErrorMessages = new ConcurrentHashMap<>(jobConfig.getShardingTotalCount(), 1);
+        itemFailureFingerprints = new ConcurrentHashMap<>(jobConfig.getShardingTotalCount(), 1);
+        itemFailureMessages = new ConcurrentHashMap<>(jobConfig.getShardingTotalCount(), 1);
+        failureStackTraces = new ConcurrentHashMap<>();
     }
     
     /**
@@ -84,12 +96,16 @@ public final class ElasticJobExecutor {
         }
         ShardingContexts shardingContexts = jobFacade.getShardingContexts();
         jobFacade.postJobStatusTraceEvent(shardingContexts.getTaskId(), State.TASK_STAGING, String.format("Job '%s' execute begin.", jobConfig.getJobName()));
-        if (jobFacade.misfireIfRunning(shardingContexts.getShardingItemParameters().keySet())) {
+        Collection<Integer> runningItems = jobFacade.misfireIfRunning(shardingContexts.getShardingItemParameters().keySet());
+        if (!runningItems.isEmpty() && runningItems.containsAll(shardingContexts.getShardingItemParameters().keySet())) {
             jobFacade.postJobStatusTraceEvent(shardingContexts.getTaskId(), State.TASK_FINISHED, String.format(
                     "Previous job '%s' - shardingItems '%s' is still running, misfired job will start after previous job completed.", jobConfig.getJobName(),
                     shardingContexts.getShardingItemParameters().keySet()));
             return;
         }
+        if (!runningItems.isEmpty()) {
+            shardingContexts = excludeRunningItems(jobConfig, shardingContexts, runningItems);
+        }
         try {
             jobFacade.beforeJobExecuted(shardingContexts);
             //CHECKSTYLE:OFF
@@ -98,9 +114,11 @@ public final class ElasticJobExecutor {
             jobErrorHandler.handleException(jobConfig.getJobName(), cause);
         }
         execute(jobConfig, shardingContexts, ExecutionSource.NORMAL_TRIGGER);
-        while (jobFacade.isExecuteMisfired(shardingContexts.getShardingItemParameters().keySet())) {
-            jobFacade.clearMisfire(shardingContexts.getShardingItemParameters().keySet());
-            execute(jobConfig, shardingContexts, ExecutionSource.MISFIRE);
+        Collection<Integer> misfiredItems = jobFacade.getMisfiredItems(shardingContexts.getShardingItemParameters().keySet());
+        while (!misfiredItems.isEmpty()) {
+            jobFacade.clearMisfire(misfiredItems);
+            execute(jobConfig, shardingContexts.createShardingContexts(misfiredItems), ExecutionSource.MISFIRE);
+            misfiredItems = jobFacade.getMisfiredItems(shardingContexts.getShardingItemParameters().keySet());
         }
         jobFacade.failoverIfNecessary();
         try {
@@ -117,6 +135,9 @@ public final class ElasticJobExecutor {
             jobFacade.postJobStatusTraceEvent(shardingContexts.getTaskId(), State.TASK_FINISHED, String.format("Sharding item for job '%s' is empty.", jobConfig.getJobName()));
             return;
         }
+        itemFailureFingerprints.clear();
+        itemFailureMessages.clear();
+        failureStackTraces.clear();
         jobFacade.registerJobBegin(shardingContexts);
         String taskId = shardingContexts.getTaskId();
         jobFacade.postJobStatusTraceEvent(taskId, State.TASK_RUNNING, "");
@@ -125,14 +146,21 @@ public final class ElasticJobExecutor {
         } finally {
             // TODO Consider increasing the status of job failure, and how to handle the overall loop of job failure
             jobFacade.registerJobCompleted(shardingContexts);
-            if (itemErrorMessages.isEmpty()) {
+            if (itemFailureFingerprints.isEmpty()) {
                 jobFacade.postJobStatusTraceEvent(taskId, State.TASK_FINISHED, "");
             } else {
-                jobFacade.postJobStatusTraceEvent(taskId, State.TASK_ERROR, itemErrorMessages.toString());
+                jobFacade.postJobStatusTraceEvent(taskId, State.TASK_ERROR, getErrorMessage());
             }
         }
     }
     
+    private ShardingContexts excludeRunningItems(final JobConfiguration jobConfig, final ShardingContexts shardingContexts, final Collection<Integer> runningItems) {
+        jobFacade.postJobStatusTraceEvent(shardingContexts.getTaskId(), State.TASK_STAGING, String.format(
+                "Previous job '%s' - shardingItems '%s' is still running, misfired sharding items will start after previous job completed.", jobConfig.getJobName(), runningItems));
+        return shardingContexts.createShardingContexts(
+                shardingContexts.getShardingItemParameters().keySet().stream().filter(each -> !runningItems.contains(each)).collect(Collectors.toList()));
+    }
+    
     private void process(final JobConfiguration jobConfig, final ShardingContexts shardingContexts, final ExecutionSource executionSource) {
         Collection<Integer> items = shardingContexts.getShardingItemParameters().keySet();
         if (1 == items.size()) {
@@ -176,12 +204,42 @@ public final class ElasticJobExecutor {
             // CHECKSTYLE:OFF
         } catch (final Throwable cause) {
             // CHECKSTYLE:ON
-            completeEvent = startEvent.executionFailure(ExceptionUtils.transform(cause));
+            String fingerprint = ExceptionUtils.fingerprint(cause);
+            String failureCause = ExceptionUtils.transform(cause);
+            completeEvent = startEvent.executionFailure(failureCause, fingerprint);
             jobFacade.postJobExecutionEvent(completeEvent);
-            itemErrorMessages.put(item, ExceptionUtils.transform(cause));
+            failureStackTraces.putIfAbsent(fingerprint, failureCause);
+            itemFailureMessages.put(item, ExceptionUtils.getMessageLines(failureCause));
+            itemFailureFingerprints.put(item, fingerprint);
             JobErrorHandler jobErrorHandler = executorContext.get(JobErrorHandler.class);
-            jobErrorHandler.handleException(jobConfig.getJobName(), cause);
+            jobErrorHandler.handleException(jobConfig.getJobName(), cause, fingerprint);
+        }
+    }
+    
+    private String getErrorMessage() {
+        Map<String, Map<String, List<Integer>>> fingerprintMessageItems = new LinkedHashMap<>();
+        for (Entry<Integer, String> entry : new TreeMap<>(itemFailureFingerprints).entrySet()) {
+            fingerprintMessageItems.computeIfAbsent(entry.getValue(), key -> new LinkedHashMap<>())
+                    .computeIfAbsent(itemFailureMessages.getOrDefault(entry.getKey(), ""), key -> new ArrayList<>()).add(entry.getKey());
         }
+        Map<List<Integer>, String> result = new LinkedHashMap<>(itemFailureFingerprints.size(), 1);
+        for (Entry<String, Map<String, List<Integer>>> each : fingerprintMessageItems.entrySet()) {
+            List<Integer> firstItems = null;
+            for (Entry<String, List<Integer>> entry : each.getValue().entrySet()) {
+                if (null == firstItems) {
+                    firstItems = entry.getValue();
+                    result.put(firstItems, getStackTrace(each.getKey(), entry.getKey()));
+                } else {
+                    result.put(entry.getValue(), String.format("%s%n\t... same stack trace as items %s", entry.getKey(), firstItems));
+                }
+            }
+        }
+        return result.toString();
+    }
+    
+    private String getStackTrace(final String fingerprint, final String messageLines) {
+        String result = failureStackTraces.get(fingerprint);
+        return messageLines.equals(ExceptionUtils.getMessageLines(result)) ? result : ExceptionUtils.replaceMessageLines(result, messageLines);
     }
     
     /**
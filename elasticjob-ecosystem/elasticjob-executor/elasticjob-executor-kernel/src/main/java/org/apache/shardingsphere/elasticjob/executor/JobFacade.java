@@ -72,12 +72,12 @@ public interface JobFacade {
     ShardingContexts getShardingContexts();
     
     /**
-     * Set task misfire flag.
+     * Set task misfire flag for sharding items which are still running.
      *
      * @param shardingItems sharding items to be set misfire flag
-     * @return whether satisfy misfire condition
+     * @return misfired sharding items which are still running
      */
-    boolean misfireIfRunning(Collection<Integer> shardingItems);
+    Collection<Integer> misfireIfRunning(Collection<Integer> shardingItems);
     
     /**
      * Clear misfire flag.
@@ -87,12 +87,12 @@ public interface JobFacade {
     void clearMisfire(Collection<Integer> shardingItems);
     
     /**
-     * Judge job whether need to execute misfire tasks.
+     * Get misfired sharding items which need to be executed.
      * 
      * @param shardingItems sharding items
-     * @return whether need to execute misfire tasks
+     * @return misfired sharding items which need to be executed
      */
-    boolean isExecuteMisfired(Collection<Integer> shardingItems);
+    Collection<Integer> getMisfiredItems(Collection<Integer> shardingItems);
     
     /**
      * Judge job whether need resharding.
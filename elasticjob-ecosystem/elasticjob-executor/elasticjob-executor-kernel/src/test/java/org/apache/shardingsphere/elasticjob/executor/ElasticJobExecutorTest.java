@@ -19,6 +19,7 @@ package org.apache.shardingsphere.elasticjob.executor;
 
 import lombok.SneakyThrows;
 import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
+import org.apache.shardingsphere.elasticjob.api.ShardingContext;
 import org.apache.shardingsphere.elasticjob.executor.fixture.executor.ClassedFooJobExecutor;
 import org.apache.shardingsphere.elasticjob.executor.fixture.job.FooJob;
 import org.apache.shardingsphere.elasticjob.infra.exception.JobExecutionEnvironmentException;
@@ -28,17 +29,24 @@ import org.apache.shardingsphere.elasticjob.tracing.event.JobStatusTraceEvent.St
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -92,16 +100,31 @@ public final class ElasticJobExecutorTest {
     
     @Test
     public void assertExecuteWhenPreviousJobStillRunning() {
-        ShardingContexts shardingContexts = new ShardingContexts("fake_task_id", "test_job", 3, "", Collections.emptyMap());
+        ShardingContexts shardingContexts = createMultipleShardingContexts();
         when(jobFacade.getShardingContexts()).thenReturn(shardingContexts);
-        when(jobFacade.misfireIfRunning(shardingContexts.getShardingItemParameters().keySet())).thenReturn(true);
+        when(jobFacade.misfireIfRunning(shardingContexts.getShardingItemParameters().keySet())).thenReturn(Arrays.asList(0, 1));
         elasticJobExecutor.execute();
         verify(jobFacade).postJobStatusTraceEvent(shardingContexts.getTaskId(), State.TASK_STAGING, "Job 'test_job' execute begin.");
         verify(jobFacade).postJobStatusTraceEvent(shardingContexts.getTaskId(), State.TASK_FINISHED, 
-                "Previous job 'test_job' - shardingItems '[]' is still running, misfired job will start after previous job completed.");
+                "Previous job 'test_job' - shardingItems '[0, 1]' is still running, misfired job will start after previous job completed.");
         verify(jobItemExecutor, times(0)).process(eq(fooJob), eq(jobConfig), eq(jobFacade), any());
     }
     
+    @Test
+    public void assertExecuteWhenPreviousJobStillRunningForPartOfShardingItems() {
+        ShardingContexts shardingContexts = createMultipleShardingContexts();
+        when(jobFacade.getShardingContexts()).thenReturn(shardingContexts);
+        when(jobFacade.misfireIfRunning(shardingContexts.getShardingItemParameters().keySet())).thenReturn(Collections.singletonList(0));
+        elasticJobExecutor.execute();
+        verify(jobFacade).postJobStatusTraceEvent(shardingContexts.getTaskId(), State.TASK_STAGING,
+                "Previous job 'test_job' - shardingItems '[0]' is still running, misfired sharding items will start after previous job completed.");
+        ArgumentCaptor<ShardingContexts> executedShardingContexts = ArgumentCaptor.forClass(ShardingContexts.class);
+        verify(jobFacade).registerJobBegin(executedShardingContexts.capture());
+        assertThat(executedShardingContexts.getValue().getShardingItemParameters().keySet(), is(Collections.singleton(1)));
+        verify(jobItemExecutor).process(eq(fooJob), eq(jobConfig), eq(jobFacade), any());
+        verify(jobFacade).getMisfiredItems(Collections.singleton(1));
+    }
+    
     @Test
     public void assertExecuteWhenShardingItemsIsEmpty() {
         ShardingContexts shardingContexts = new ShardingContexts("fake_task_id", "test_job", 3, "", Collections.emptyMap());
@@ -139,8 +162,22 @@ public final class ElasticJobExecutorTest {
     
     private String getErrorMessage(final ShardingContexts shardingContexts) {
         return 1 == shardingContexts.getShardingItemParameters().size()
-                ? "{0=java.lang.RuntimeException" + System.lineSeparator() + "}"
-                : "{0=java.lang.RuntimeException" + System.lineSeparator() + ", 1=java.lang.RuntimeException" + System.lineSeparator() + "}";
+                ? "{[0]=java.lang.RuntimeException" + System.lineSeparator() + "}"
+                : "{[0, 1]=java.lang.RuntimeException" + System.lineSeparator() + "}";
+    }
+    
+    @Test
+    public void assertExecuteFailureWithDifferentMessagesForMultipleShardingItems() {
+        ShardingContexts shardingContexts = createMultipleShardingContexts();
+        prepareForIsNotMisfire(jobFacade, shardingContexts);
+        doAnswer(invocation -> {
+            throw new RuntimeException("item " + invocation.<ShardingContext>getArgument(3).getShardingItem());
+        }).when(jobItemExecutor).process(eq(fooJob), eq(jobConfig), eq(jobFacade), any());
+        elasticJobExecutor.execute();
+        ArgumentCaptor<String> errorMessage = ArgumentCaptor.forClass(String.class);
+        verify(jobFacade).postJobStatusTraceEvent(eq(shardingContexts.getTaskId()), eq(State.TASK_ERROR), errorMessage.capture());
+        assertThat(errorMessage.getValue(), startsWith("{[0]=java.lang.RuntimeException: item 0" + System.lineSeparator() + "\tat "));
+        assertThat(errorMessage.getValue(), endsWith(", [1]=java.lang.RuntimeException: item 1" + System.lineSeparator() + "\t... same stack trace as items [0]}"));
     }
     
     @Test
@@ -185,14 +222,18 @@ public final class ElasticJobExecutorTest {
     public void assertExecuteWithMisfire() {
         ShardingContexts shardingContexts = createMultipleShardingContexts();
         when(jobFacade.getShardingContexts()).thenReturn(shardingContexts);
-        when(jobFacade.isExecuteMisfired(shardingContexts.getShardingItemParameters().keySet())).thenReturn(true, false);
+        when(jobFacade.getMisfiredItems(shardingContexts.getShardingItemParameters().keySet())).thenReturn(Collections.singletonList(1), Collections.emptyList());
         elasticJobExecutor.execute();
         verify(jobFacade).postJobStatusTraceEvent(shardingContexts.getTaskId(), State.TASK_STAGING, "Job 'test_job' execute begin.");
         verify(jobFacade, times(2)).postJobStatusTraceEvent(shardingContexts.getTaskId(), State.TASK_RUNNING, "");
         verify(jobFacade).misfireIfRunning(shardingContexts.getShardingItemParameters().keySet());
-        verify(jobFacade, times(2)).registerJobBegin(shardingContexts);
-        verify(jobItemExecutor, times(4)).process(eq(fooJob), eq(jobConfig), eq(jobFacade), any());
-        verify(jobFacade, times(2)).registerJobCompleted(shardingContexts);
+        verify(jobFacade).clearMisfire(Collections.singletonList(1));
+        ArgumentCaptor<ShardingContexts> executedShardingContexts = ArgumentCaptor.forClass(ShardingContexts.class);
+        verify(jobFacade, times(2)).registerJobBegin(executedShardingContexts.capture());
+        assertThat(executedShardingContexts.getAllValues().get(0), is(shardingContexts));
+        assertThat(executedShardingContexts.getAllValues().get(1).getShardingItemParameters().keySet(), is(Collections.singleton(1)));
+        verify(jobItemExecutor, times(3)).process(eq(fooJob), eq(jobConfig), eq(jobFacade), any());
+        verify(jobFacade, times(2)).registerJobCompleted(any(ShardingContexts.class));
     }
     
     @Test(expected = JobSystemException.class)
@@ -234,8 +275,8 @@ public final class ElasticJobExecutorTest {
     
     private void prepareForIsNotMisfire(final JobFacade jobFacade, final ShardingContexts shardingContexts) {
         when(jobFacade.getShardingContexts()).thenReturn(shardingContexts);
-        when(jobFacade.misfireIfRunning(shardingContexts.getShardingItemParameters().keySet())).thenReturn(false);
-        when(jobFacade.isExecuteMisfired(shardingContexts.getShardingItemParameters().keySet())).thenReturn(false);
+        when(jobFacade.misfireIfRunning(shardingContexts.getShardingItemParameters().keySet())).thenReturn(Collections.emptyList());
+        when(jobFacade.getMisfiredItems(shardingContexts.getShardingItemParameters().keySet())).thenReturn(Collections.emptyList());
     }
     
     private void verifyForIsNotMisfire(final JobFacade jobFacade, final ShardingContexts shardingContexts) {
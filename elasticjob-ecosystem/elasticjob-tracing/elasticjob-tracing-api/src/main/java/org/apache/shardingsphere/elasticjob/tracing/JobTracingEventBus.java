@@ -25,6 +25,7 @@ import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.shardingsphere.elasticjob.tracing.api.TracingConfiguration;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobEvent;
 import org.apache.shardingsphere.elasticjob.tracing.exception.TracingConfigurationException;
+import org.apache.shardingsphere.elasticjob.tracing.listener.TracingListener;
 import org.apache.shardingsphere.elasticjob.tracing.listener.TracingListenerFactory;
 
 import java.util.concurrent.ExecutorService;
@@ -42,6 +43,10 @@ public final class JobTracingEventBus {
     
     private final EventBus eventBus;
     
+    private final TracingConfiguration<?> tracingConfig;
+    
+    private TracingListener tracingListener;
+    
     private volatile boolean isRegistered;
 
     static {
@@ -50,10 +55,12 @@ public final class JobTracingEventBus {
     
     public JobTracingEventBus() {
         eventBus = null;
+        tracingConfig = null;
     }
     
     public JobTracingEventBus(final TracingConfiguration<?> tracingConfig) {
         eventBus = new AsyncEventBus(EXECUTOR_SERVICE);
+        this.tracingConfig = tracingConfig;
         register(tracingConfig);
     }
     
@@ -66,7 +73,8 @@ public final class JobTracingEventBus {
     
     private void register(final TracingConfiguration<?> tracingConfig) {
         try {
-            eventBus.register(TracingListenerFactory.getListener(tracingConfig));
+            tracingListener = TracingListenerFactory.getListener(tracingConfig);
+            eventBus.register(tracingListener);
             isRegistered = true;
         } catch (final TracingConfigurationException ex) {
             log.error("Elastic job: create tracing listener failure, error is: ", ex);
@@ -83,4 +91,16 @@ public final class JobTracingEventBus {
             eventBus.post(event);
         }
     }
+    
+    /**
+     * Close event bus, stop posting events and release tracing storage.
+     */
+    public synchronized void close() {
+        if (!isRegistered) {
+            return;
+        }
+        isRegistered = false;
+        eventBus.unregister(tracingListener);
+        tracingConfig.getTracingStorageConfiguration().releaseStorage();
+    }
 }
@@ -30,4 +30,10 @@ public interface TracingStorageConfiguration<T> {
      * @return storage
      */
     T getStorage();
+    
+    /**
+     * Release storage got by {@link #getStorage()}.
+     */
+    default void releaseStorage() {
+    }
 }
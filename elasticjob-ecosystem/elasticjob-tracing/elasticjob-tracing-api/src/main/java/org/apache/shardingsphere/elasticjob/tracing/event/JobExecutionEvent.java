@@ -58,13 +58,16 @@ public final class JobExecutionEvent implements JobEvent {
     @Setter
     private String failureCause;
     
+    @Setter
+    private String failureCauseFingerprint;
+    
     /**
      * Execution success.
      * 
      * @return job execution event
      */
     public JobExecutionEvent executionSuccess() {
-        JobExecutionEvent result = new JobExecutionEvent(id, hostname, ip, taskId, jobName, source, shardingItem, startTime, completeTime, success, failureCause);
+        JobExecutionEvent result = new JobExecutionEvent(id, hostname, ip, taskId, jobName, source, shardingItem, startTime, completeTime, success, failureCause, failureCauseFingerprint);
         result.setCompleteTime(new Date());
         result.setSuccess(true);
         return result;
@@ -77,10 +80,22 @@ public final class JobExecutionEvent implements JobEvent {
      * @return job execution event
      */
     public JobExecutionEvent executionFailure(final String failureCause) {
-        JobExecutionEvent result = new JobExecutionEvent(id, hostname, ip, taskId, jobName, source, shardingItem, startTime, completeTime, success, failureCause);
+        return executionFailure(failureCause, null);
+    }
+    
+    /**
+     * Execution failure.
+     * 
+     * @param failureCause failure cause
+     * @param failureCauseFingerprint fingerprint of failure cause
+     * @return job execution event
+     */
+    public JobExecutionEvent executionFailure(final String failureCause, final String failureCauseFingerprint) {
+        JobExecutionEvent result = new JobExecutionEvent(id, hostname, ip, taskId, jobName, source, shardingItem, startTime, completeTime, success, failureCause, failureCauseFingerprint);
         result.setCompleteTime(new Date());
         result.setSuccess(false);
         result.setFailureCause(failureCause);
+        result.setFailureCauseFingerprint(failureCauseFingerprint);
         return result;
     }
     
@@ -65,6 +65,13 @@ public final class JobTracingEventBusTest {
         verify(jobEventCaller).call();
     }
     
+    @Test
+    public void assertClose() {
+        jobTracingEventBus = new JobTracingEventBus(new TracingConfiguration<>("TEST", jobEventCaller));
+        jobTracingEventBus.close();
+        assertIsRegistered(false);
+    }
+    
     @Test
     public void assertPostWithoutListener() throws ReflectiveOperationException {
         jobTracingEventBus = new JobTracingEventBus();
@@ -23,8 +23,12 @@ import com.google.common.base.Objects;
 import com.google.common.collect.Sets;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import org.apache.shardingsphere.elasticjob.tracing.api.TracingStorageConfiguration;
+import org.apache.shardingsphere.elasticjob.tracing.exception.TracingConfigurationException;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.retention.RDBJobEventPurgeScheduler;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.retention.RDBRetentionPolicy;
 
 import javax.sql.DataSource;
 import java.lang.reflect.Method;
@@ -61,6 +65,9 @@ public final class DataSourceConfiguration implements TracingStorageConfiguratio
     
     private final Map<String, Object> props = new LinkedHashMap<>();
     
+    @Setter
+    private RDBRetentionPolicy retentionPolicy;
+    
     /**
      * Get data source configuration.
      *
@@ -97,9 +104,29 @@ public final class DataSourceConfiguration implements TracingStorageConfiguratio
         return result;
     }
     
+    /**
+     * Get data source, and start purging expired tracing events from it if retention policy is set.
+     * 
+     * @return data source
+     */
     @Override
+    @SneakyThrows(TracingConfigurationException.class)
     public DataSource getStorage() {
-        return DataSourceRegistry.getInstance().getDataSource(this);
+        DataSource result = DataSourceRegistry.getInstance().getDataSource(this);
+        if (null != retentionPolicy) {
+            RDBJobEventPurgeScheduler.getInstance().register(result, retentionPolicy);
+        }
+        return result;
+    }
+    
+    /**
+     * Stop purging expired tracing events from data source if retention policy is set.
+     */
+    @Override
+    public void releaseStorage() {
+        if (null != retentionPolicy) {
+            RDBJobEventPurgeScheduler.getInstance().unregister(DataSourceRegistry.getInstance().getDataSource(this));
+        }
     }
     
     /**
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.tracing.rdb.retention;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.shardingsphere.elasticjob.tracing.exception.TracingConfigurationException;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.storage.RDBJobEventStorage;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedule chunked purges of expired tracing events, at most one purge task per {@link DataSource}.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RDBJobEventPurgeScheduler {
+    
+    private static volatile RDBJobEventPurgeScheduler instance;
+    
+    private final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor(
+            new BasicThreadFactory.Builder().namingPattern("job-event-purge-%s").daemon(true).build());
+    
+    private final Map<DataSource, ScheduledFuture<?>> purgeTasks = new HashMap<>();
+    
+    private final Map<DataSource, Integer> referenceCounts = new HashMap<>();
+    
+    /**
+     * Get instance of {@link RDBJobEventPurgeScheduler}.
+     *
+     * @return {@link RDBJobEventPurgeScheduler} singleton
+     */
+    public static RDBJobEventPurgeScheduler getInstance() {
+        if (null == instance) {
+            synchronized (RDBJobEventPurgeScheduler.class) {
+                if (null == instance) {
+                    instance = new RDBJobEventPurgeScheduler();
+                }
+            }
+        }
+        return instance;
+    }
+    
+    /**
+     * Register retention policy for data source and start purging expired events in background.
+     * 
+     * <p>
+     * Registrations of the same data source are counted, purging stops after all of them are unregistered.
+     * </p>
+     * 
+     * @param dataSource data source of tracing tables
+     * @param retentionPolicy retention policy
+     * @throws TracingConfigurationException tracing configuration exception
+     */
+    public synchronized void register(final DataSource dataSource, final RDBRetentionPolicy retentionPolicy) throws TracingConfigurationException {
+        if (purgeTasks.containsKey(dataSource)) {
+            referenceCounts.merge(dataSource, 1, Integer::sum);
+            return;
+        }
+        RDBJobEventStorage storage;
+        try {
+            storage = new RDBJobEventStorage(dataSource);
+        } catch (final SQLException ex) {
+            throw new TracingConfigurationException(ex);
+        }
+        purgeTasks.put(dataSource, executorService.scheduleWithFixedDelay(() -> purge(storage, retentionPolicy), 0L, retentionPolicy.getPurgeIntervalMinutes(), TimeUnit.MINUTES));
+        referenceCounts.put(dataSource, 1);
+    }
+    
+    /**
+     * Judge whether the data source is registered.
+     * 
+     * @param dataSource data source of tracing tables
+     * @return registered or not
+     */
+    public synchronized boolean isRegistered(final DataSource dataSource) {
+        return purgeTasks.containsKey(dataSource);
+    }
+    
+    /**
+     * Unregister retention policy for data source, and stop purging if it is the last registration.
+     * 
+     * @param dataSource data source of tracing tables
+     */
+    public synchronized void unregister(final DataSource dataSource) {
+        Integer referenceCount = referenceCounts.get(dataSource);
+        if (null == referenceCount) {
+            return;
+        }
+        if (referenceCount > 1) {
+            referenceCounts.put(dataSource, referenceCount - 1);
+            return;
+        }
+        referenceCounts.remove(dataSource);
+        purgeTasks.remove(dataSource).cancel(false);
+    }
+    
+    private void purge(final RDBJobEventStorage storage, final RDBRetentionPolicy retentionPolicy) {
+        Date expiredTime = new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(retentionPolicy.getRetentionHours()));
+        int executionEventCount = storage.purgeJobExecutionEvents(expiredTime, retentionPolicy.getPurgeBatchSize());
+        int statusTraceEventCount = storage.purgeJobStatusTraceEvents(expiredTime, retentionPolicy.getPurgeBatchSize());
+        int failureCauseCount = storage.purgeJobFailureCauses(expiredTime, retentionPolicy.getPurgeBatchSize());
+        log.debug("Elastic job: purged {} job execution events, {} job status trace events and {} job failure causes before {}",
+                executionEventCount, statusTraceEventCount, failureCauseCount, expiredTime);
+    }
+}
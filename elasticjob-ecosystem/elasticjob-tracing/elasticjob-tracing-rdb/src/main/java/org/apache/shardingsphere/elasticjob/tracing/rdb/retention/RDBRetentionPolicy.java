@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.tracing.rdb.retention;
+
+import com.google.common.base.Preconditions;
+import lombok.Getter;
+
+/**
+ * RDB retention policy for tracing tables.
+ */
+@Getter
+public final class RDBRetentionPolicy {
+    
+    private static final int DEFAULT_PURGE_BATCH_SIZE = 1000;
+    
+    private static final long DEFAULT_PURGE_INTERVAL_MINUTES = 60L;
+    
+    private final long retentionHours;
+    
+    private final int purgeBatchSize;
+    
+    private final long purgeIntervalMinutes;
+    
+    public RDBRetentionPolicy(final long retentionHours) {
+        this(retentionHours, DEFAULT_PURGE_BATCH_SIZE, DEFAULT_PURGE_INTERVAL_MINUTES);
+    }
+    
+    public RDBRetentionPolicy(final long retentionHours, final int purgeBatchSize, final long purgeIntervalMinutes) {
+        Preconditions.checkArgument(retentionHours > 0, "retentionHours should be larger than zero.");
+        Preconditions.checkArgument(purgeBatchSize > 0, "purgeBatchSize should be larger than zero.");
+        Preconditions.checkArgument(purgeIntervalMinutes > 0, "purgeIntervalMinutes should be larger than zero.");
+        this.retentionHours = retentionHours;
+        this.purgeBatchSize = purgeBatchSize;
+        this.purgeIntervalMinutes = purgeIntervalMinutes;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.tracing.rdb.storage;
+
+import com.google.common.base.Strings;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.shardingsphere.elasticjob.infra.exception.ExceptionUtils;
+
+/**
+ * RDB failure cause codec.
+ * 
+ * <p>A failure cause whose stack trace is stored in failure cause log is referenced by {@code fingerprint:<fingerprint>} followed by its message lines.</p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RDBFailureCauseCodec {
+    
+    private static final String FINGERPRINT_PREFIX = "fingerprint:";
+    
+    private static final String MESSAGE_SEPARATOR = "\n";
+    
+    /**
+     * Encode failure cause to fingerprint reference.
+     * 
+     * @param fingerprint fingerprint of failure cause
+     * @param failureCause failure cause
+     * @return fingerprint reference
+     */
+    public static String encode(final String fingerprint, final String failureCause) {
+        return FINGERPRINT_PREFIX + fingerprint + MESSAGE_SEPARATOR + ExceptionUtils.getMessageLines(failureCause);
+    }
+    
+    /**
+     * Decode fingerprint reference to failure cause.
+     * 
+     * @param reference fingerprint reference
+     * @param stackTrace stack trace shared by the fingerprint
+     * @return failure cause with the messages stored on the reference
+     */
+    public static String decode(final String reference, final String stackTrace) {
+        int messageIndex = reference.indexOf(MESSAGE_SEPARATOR);
+        return -1 == messageIndex ? stackTrace : ExceptionUtils.replaceMessageLines(stackTrace, reference.substring(messageIndex + 1));
+    }
+    
+    /**
+     * Get fingerprint of failure cause.
+     * 
+     * @param failureCause failure cause or fingerprint reference
+     * @return fingerprint, null if failure cause is not a fingerprint reference
+     */
+    public static String getFingerprint(final String failureCause) {
+        if (Strings.isNullOrEmpty(failureCause) || !failureCause.startsWith(FINGERPRINT_PREFIX)) {
+            return null;
+        }
+        int messageIndex = failureCause.indexOf(MESSAGE_SEPARATOR);
+        return failureCause.substring(FINGERPRINT_PREFIX.length(), -1 == messageIndex ? failureCause.length() : messageIndex);
+    }
+}
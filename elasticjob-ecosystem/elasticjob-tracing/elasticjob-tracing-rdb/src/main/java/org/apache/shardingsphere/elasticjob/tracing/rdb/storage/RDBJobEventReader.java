@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.tracing.rdb.storage;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.type.DatabaseType;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.type.impl.DefaultDatabaseType;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * RDB job event reader.
+ * 
+ * <p>Only reads event tables, never creates tables or indexes, so it is safe for read only consoles.</p>
+ */
+@Slf4j
+public final class RDBJobEventReader {
+    
+    private static final Map<String, DatabaseType> DATABASE_TYPES = new HashMap<>();
+    
+    private final DataSource dataSource;
+    
+    @Getter(AccessLevel.PACKAGE)
+    private final DatabaseType databaseType;
+    
+    @Getter
+    private final RDBStorageSQLMapper sqlMapper;
+    
+    static {
+        for (DatabaseType each : ServiceLoader.load(DatabaseType.class)) {
+            DATABASE_TYPES.put(each.getType(), each);
+        }
+    }
+    
+    public RDBJobEventReader(final DataSource dataSource) throws SQLException {
+        this.dataSource = dataSource;
+        databaseType = getDatabaseType(dataSource);
+        sqlMapper = new RDBStorageSQLMapper(databaseType.getSQLPropertiesFile());
+    }
+    
+    private DatabaseType getDatabaseType(final DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            String databaseProductName = connection.getMetaData().getDatabaseProductName();
+            for (DatabaseType each : DATABASE_TYPES.values()) {
+                if (each.getDatabaseProductName().equals(databaseProductName)) {
+                    return each;
+                }
+            }
+        }
+        return new DefaultDatabaseType();
+    }
+    
+    /**
+     * Get failure cause, resolve it from failure cause log if it is a fingerprint reference.
+     * 
+     * @param failureCause failure cause or fingerprint reference
+     * @return failure cause
+     */
+    public String resolveFailureCause(final String failureCause) {
+        return resolveFailureCauses(Collections.singleton(failureCause)).getOrDefault(failureCause, failureCause);
+    }
+    
+    /**
+     * Get failure causes, resolve fingerprint references from failure cause log by one query.
+     * 
+     * <p>The stack trace shared by a fingerprint is combined with the messages stored on each reference.</p>
+     * 
+     * @param failureCauses failure causes or fingerprint references
+     * @return resolved failure causes, key is the original failure cause or fingerprint reference
+     */
+    public Map<String, String> resolveFailureCauses(final Collection<String> failureCauses) {
+        Map<String, String> result = new HashMap<>(failureCauses.size(), 1);
+        Set<String> fingerprints = new LinkedHashSet<>();
+        for (String each : failureCauses) {
+            String fingerprint = RDBFailureCauseCodec.getFingerprint(each);
+            if (null == fingerprint) {
+                result.put(each, each);
+            } else {
+                fingerprints.add(fingerprint);
+            }
+        }
+        if (fingerprints.isEmpty()) {
+            return result;
+        }
+        Map<String, String> stackTraces = getFailureCauseStackTraces(fingerprints);
+        for (String each : failureCauses) {
+            String stackTrace = stackTraces.get(RDBFailureCauseCodec.getFingerprint(each));
+            if (null != stackTrace) {
+                result.put(each, RDBFailureCauseCodec.decode(each, stackTrace));
+            } else if (!result.containsKey(each)) {
+                result.put(each, each);
+            }
+        }
+        return result;
+    }
+    
+    private Map<String, String> getFailureCauseStackTraces(final Collection<String> fingerprints) {
+        Map<String, String> result = new HashMap<>(fingerprints.size(), 1);
+        String sql = String.format(sqlMapper.getSelectForJobFailureCauseLog(), String.join(", ", Collections.nCopies(fingerprints.size(), "?")));
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (String each : fingerprints) {
+                preparedStatement.setString(index++, each);
+            }
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    result.put(resultSet.getString(1), resultSet.getString(2));
+                }
+            }
+        } catch (final SQLException ex) {
+            // TODO log failure directly to output log, consider to be configurable in the future
+            log.error(ex.getMessage());
+        }
+        return result;
+    }
+}
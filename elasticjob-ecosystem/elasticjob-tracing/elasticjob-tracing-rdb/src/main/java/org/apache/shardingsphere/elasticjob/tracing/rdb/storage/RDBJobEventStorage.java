@@ -18,13 +18,15 @@
 package org.apache.shardingsphere.elasticjob.tracing.rdb.storage;
 
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobExecutionEvent;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobStatusTraceEvent;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobStatusTraceEvent.Source;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobStatusTraceEvent.State;
 import org.apache.shardingsphere.elasticjob.tracing.rdb.type.DatabaseType;
-import org.apache.shardingsphere.elasticjob.tracing.rdb.type.impl.DefaultDatabaseType;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -36,11 +38,12 @@ import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.ServiceLoader;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * RDB job event storage.
@@ -52,45 +55,54 @@ public final class RDBJobEventStorage {
     
     private static final String TABLE_JOB_STATUS_TRACE_LOG = "JOB_STATUS_TRACE_LOG";
     
+    private static final String TABLE_JOB_FAILURE_CAUSE_LOG = "JOB_FAILURE_CAUSE_LOG";
+    
     private static final String TASK_ID_STATE_INDEX = "TASK_ID_STATE_INDEX";
     
-    private static final Map<String, DatabaseType> DATABASE_TYPES = new HashMap<>();
+    private static final String JOB_NAME_START_TIME_INDEX = "JOB_NAME_START_TIME_INDEX";
+    
+    private static final String JOB_NAME_CREATION_TIME_INDEX = "JOB_NAME_CREATION_TIME_INDEX";
+    
+    private static final String START_TIME_INDEX = "START_TIME_INDEX";
+    
+    private static final String CREATION_TIME_INDEX = "CREATION_TIME_INDEX";
+    
+    private static final String LAST_SEEN_TIME_INDEX = "LAST_SEEN_TIME_INDEX";
+    
+    private static final int MAX_CACHED_FINGERPRINTS = 10000;
+    
+    private static final long CACHED_FINGERPRINT_EXPIRE_MINUTES = 60L;
     
     private final DataSource dataSource;
     
+    private final RDBJobEventReader reader;
+    
     private final DatabaseType databaseType;
     
+    @Getter
     private final RDBStorageSQLMapper sqlMapper;
     
-    static {
-        for (DatabaseType each : ServiceLoader.load(DatabaseType.class)) {
-            DATABASE_TYPES.put(each.getType(), each);
-        }
-    }
+    private final Cache<String, Boolean> storedFingerprints = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_FINGERPRINTS).expireAfterWrite(CACHED_FINGERPRINT_EXPIRE_MINUTES, TimeUnit.MINUTES).build();
     
     public RDBJobEventStorage(final DataSource dataSource) throws SQLException {
         this.dataSource = dataSource;
-        databaseType = getDatabaseType(dataSource);
-        sqlMapper = new RDBStorageSQLMapper(databaseType.getSQLPropertiesFile());
+        reader = new RDBJobEventReader(dataSource);
+        databaseType = reader.getDatabaseType();
+        sqlMapper = reader.getSqlMapper();
         initTablesAndIndexes();
     }
     
-    private DatabaseType getDatabaseType(final DataSource dataSource) throws SQLException {
-        try (Connection connection = dataSource.getConnection()) {
-            String databaseProductName = connection.getMetaData().getDatabaseProductName();
-            for (DatabaseType each : DATABASE_TYPES.values()) {
-                if (each.getDatabaseProductName().equals(databaseProductName)) {
-                    return each;
-                }
-            }
-        }
-        return new DefaultDatabaseType();
-    }
-    
     private void initTablesAndIndexes() throws SQLException {
         try (Connection connection = dataSource.getConnection()) {
             createJobExecutionTableAndIndexIfNeeded(connection);
             createJobStatusTraceTableAndIndexIfNeeded(connection);
+            createJobFailureCauseTableIfNeeded(connection);
+            createIndexIfNeeded(connection, TABLE_JOB_EXECUTION_LOG, JOB_NAME_START_TIME_INDEX, sqlMapper.getCreateIndexForJobNameStartTimeIndex());
+            createIndexIfNeeded(connection, TABLE_JOB_STATUS_TRACE_LOG, JOB_NAME_CREATION_TIME_INDEX, sqlMapper.getCreateIndexForJobNameCreationTimeIndex());
+            createIndexIfNeeded(connection, TABLE_JOB_EXECUTION_LOG, START_TIME_INDEX, sqlMapper.getCreateIndexForStartTimeIndex());
+            createIndexIfNeeded(connection, TABLE_JOB_STATUS_TRACE_LOG, CREATION_TIME_INDEX, sqlMapper.getCreateIndexForCreationTimeIndex());
+            createIndexIfNeeded(connection, TABLE_JOB_FAILURE_CAUSE_LOG, LAST_SEEN_TIME_INDEX, sqlMapper.getCreateIndexForLastSeenTimeIndex());
         }
     }
     
@@ -109,6 +121,15 @@ public final class RDBJobEventStorage {
         createTaskIdIndexIfNeeded(connection);
     }
     
+    private void createJobFailureCauseTableIfNeeded(final Connection connection) throws SQLException {
+        if (existsTable(connection, TABLE_JOB_FAILURE_CAUSE_LOG) || existsTable(connection, TABLE_JOB_FAILURE_CAUSE_LOG.toLowerCase())) {
+            return;
+        }
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sqlMapper.getCreateTableForJobFailureCauseLog())) {
+            preparedStatement.execute();
+        }
+    }
+    
     private boolean existsTable(final Connection connection, final String tableName) throws SQLException {
         DatabaseMetaData dbMetaData = connection.getMetaData();
         try (ResultSet resultSet = dbMetaData.getTables(connection.getCatalog(), null, tableName, new String[]{"TABLE"})) {
@@ -123,6 +144,15 @@ public final class RDBJobEventStorage {
         createTaskIdAndStateIndex(connection);
     }
     
+    private void createIndexIfNeeded(final Connection connection, final String tableName, final String indexName, final String createIndexSQL) throws SQLException {
+        if (null == createIndexSQL || existsIndex(connection, tableName, indexName) || existsIndex(connection, tableName.toLowerCase(), indexName.toLowerCase())) {
+            return;
+        }
+        try (PreparedStatement preparedStatement = connection.prepareStatement(createIndexSQL)) {
+            preparedStatement.execute();
+        }
+    }
+    
     private boolean existsIndex(final Connection connection, final String tableName, final String indexName) throws SQLException {
         DatabaseMetaData dbMetaData = connection.getMetaData();
         try (ResultSet resultSet = dbMetaData.getIndexInfo(connection.getCatalog(), null, tableName, false, false)) {
@@ -163,6 +193,9 @@ public final class RDBJobEventStorage {
         if (null == jobExecutionEvent.getCompleteTime()) {
             return insertJobExecutionEvent(jobExecutionEvent);
         } else {
+            if (sqlMapper.isUpsertSupported()) {
+                return jobExecutionEvent.isSuccess() ? upsertJobExecutionEventWhenSuccess(jobExecutionEvent) : upsertJobExecutionEventWhenFailure(jobExecutionEvent);
+            }
             if (jobExecutionEvent.isSuccess()) {
                 return updateJobExecutionEventWhenSuccess(jobExecutionEvent);
             } else {
@@ -196,6 +229,55 @@ public final class RDBJobEventStorage {
         return result;
     }
     
+    private boolean upsertJobExecutionEventWhenSuccess(final JobExecutionEvent jobExecutionEvent) {
+        boolean result = false;
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(sqlMapper.getUpsertForJobExecutionLogForComplete())) {
+            preparedStatement.setString(1, jobExecutionEvent.getId());
+            preparedStatement.setString(2, jobExecutionEvent.getJobName());
+            preparedStatement.setString(3, jobExecutionEvent.getTaskId());
+            preparedStatement.setString(4, jobExecutionEvent.getHostname());
+            preparedStatement.setString(5, jobExecutionEvent.getIp());
+            preparedStatement.setInt(6, jobExecutionEvent.getShardingItem());
+            preparedStatement.setString(7, jobExecutionEvent.getSource().toString());
+            preparedStatement.setBoolean(8, jobExecutionEvent.isSuccess());
+            preparedStatement.setTimestamp(9, new Timestamp(jobExecutionEvent.getStartTime().getTime()));
+            preparedStatement.setTimestamp(10, new Timestamp(jobExecutionEvent.getCompleteTime().getTime()));
+            preparedStatement.execute();
+            result = true;
+        } catch (final SQLException ex) {
+            // TODO log failure directly to output log, consider to be configurable in the future
+            log.error(ex.getMessage());
+        }
+        return result;
+    }
+    
+    private boolean upsertJobExecutionEventWhenFailure(final JobExecutionEvent jobExecutionEvent) {
+        boolean result = false;
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(sqlMapper.getUpsertForJobExecutionLogForFailure())) {
+            preparedStatement.setString(1, jobExecutionEvent.getId());
+            preparedStatement.setString(2, jobExecutionEvent.getJobName());
+            preparedStatement.setString(3, jobExecutionEvent.getTaskId());
+            preparedStatement.setString(4, jobExecutionEvent.getHostname());
+            preparedStatement.setString(5, jobExecutionEvent.getIp());
+            preparedStatement.setInt(6, jobExecutionEvent.getShardingItem());
+            preparedStatement.setString(7, jobExecutionEvent.getSource().toString());
+            preparedStatement.setString(8, getFailureCauseOrReference(jobExecutionEvent));
+            preparedStatement.setBoolean(9, jobExecutionEvent.isSuccess());
+            preparedStatement.setTimestamp(10, new Timestamp(jobExecutionEvent.getStartTime().getTime()));
+            preparedStatement.setTimestamp(11, new Timestamp(jobExecutionEvent.getCompleteTime().getTime()));
+            preparedStatement.execute();
+            result = true;
+        } catch (final SQLException ex) {
+            // TODO log failure directly to output log, consider to be configurable in the future
+            log.error(ex.getMessage());
+        }
+        return result;
+    }
+    
     private boolean updateJobExecutionEventWhenSuccess(final JobExecutionEvent jobExecutionEvent) {
         boolean result = false;
         try (
@@ -249,7 +331,7 @@ public final class RDBJobEventStorage {
                 PreparedStatement preparedStatement = connection.prepareStatement(sqlMapper.getUpdateForJobExecutionLogForFailure())) {
             preparedStatement.setBoolean(1, jobExecutionEvent.isSuccess());
             preparedStatement.setTimestamp(2, new Timestamp(jobExecutionEvent.getCompleteTime().getTime()));
-            preparedStatement.setString(3, truncateString(jobExecutionEvent.getFailureCause()));
+            preparedStatement.setString(3, getFailureCauseOrReference(jobExecutionEvent));
             preparedStatement.setString(4, jobExecutionEvent.getId());
             if (0 == preparedStatement.executeUpdate()) {
                 return insertJobExecutionEventWhenFailure(jobExecutionEvent);
@@ -274,7 +356,7 @@ public final class RDBJobEventStorage {
             preparedStatement.setString(5, jobExecutionEvent.getIp());
             preparedStatement.setInt(6, jobExecutionEvent.getShardingItem());
             preparedStatement.setString(7, jobExecutionEvent.getSource().toString());
-            preparedStatement.setString(8, truncateString(jobExecutionEvent.getFailureCause()));
+            preparedStatement.setString(8, getFailureCauseOrReference(jobExecutionEvent));
             preparedStatement.setBoolean(9, jobExecutionEvent.isSuccess());
             preparedStatement.setTimestamp(10, new Timestamp(jobExecutionEvent.getStartTime().getTime()));
             preparedStatement.execute();
@@ -289,6 +371,71 @@ public final class RDBJobEventStorage {
         return result;
     }
     
+    private String getFailureCauseOrReference(final JobExecutionEvent jobExecutionEvent) {
+        String fingerprint = jobExecutionEvent.getFailureCauseFingerprint();
+        if (Strings.isNullOrEmpty(fingerprint) || !storeFailureCauseIfAbsent(fingerprint, jobExecutionEvent.getFailureCause())) {
+            return truncateString(jobExecutionEvent.getFailureCause());
+        }
+        return truncateString(RDBFailureCauseCodec.encode(fingerprint, jobExecutionEvent.getFailureCause()));
+    }
+    
+    private boolean storeFailureCauseIfAbsent(final String fingerprint, final String failureCause) {
+        if (null != storedFingerprints.getIfPresent(fingerprint)) {
+            return true;
+        }
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(sqlMapper.getInsertForJobFailureCauseLog())) {
+            preparedStatement.setString(1, fingerprint);
+            preparedStatement.setString(2, truncateString(failureCause));
+            preparedStatement.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            preparedStatement.execute();
+        } catch (final SQLException ex) {
+            if (!isDuplicateRecord(ex)) {
+                // TODO log failure directly to output log, consider to be configurable in the future
+                log.error(ex.getMessage());
+                return false;
+            }
+            updateFailureCauseLastSeenTime(fingerprint);
+        }
+        storedFingerprints.put(fingerprint, Boolean.TRUE);
+        return true;
+    }
+    
+    private void updateFailureCauseLastSeenTime(final String fingerprint) {
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(sqlMapper.getUpdateForJobFailureCauseLog())) {
+            preparedStatement.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+            preparedStatement.setString(2, fingerprint);
+            preparedStatement.executeUpdate();
+        } catch (final SQLException ex) {
+            // TODO log failure directly to output log, consider to be configurable in the future
+            log.error(ex.getMessage());
+        }
+    }
+    
+    /**
+     * Get failure cause, resolve it from failure cause log if it is a fingerprint reference.
+     * 
+     * @param failureCause failure cause or fingerprint reference
+     * @return failure cause
+     */
+    public String resolveFailureCause(final String failureCause) {
+        return reader.resolveFailureCause(failureCause);
+    }
+    
+    /**
+     * Get failure causes, resolve fingerprint references from failure cause log by one query.
+     * 
+     * @param failureCauses failure causes or fingerprint references
+     * @return resolved failure causes, key is the original failure cause or fingerprint reference
+     * @see RDBJobEventReader#resolveFailureCauses(Collection)
+     */
+    public Map<String, String> resolveFailureCauses(final Collection<String> failureCauses) {
+        return reader.resolveFailureCauses(failureCauses);
+    }
+    
     private boolean isDuplicateRecord(final SQLException ex) {
         return null != databaseType && databaseType.getDuplicateRecordErrorCode() == ex.getErrorCode();
     }
@@ -346,6 +493,65 @@ public final class RDBJobEventStorage {
         return result;
     }
     
+    /**
+     * Purge job execution events started before the expired time.
+     * 
+     * @param expiredTime expired time
+     * @param batchSize max rows deleted per statement
+     * @return purged count
+     */
+    public int purgeJobExecutionEvents(final Date expiredTime, final int batchSize) {
+        return purgeExpiredEvents(sqlMapper.getDeleteExpiredForJobExecutionLog(), expiredTime, batchSize);
+    }
+    
+    /**
+     * Purge job status trace events created before the expired time.
+     * 
+     * @param expiredTime expired time
+     * @param batchSize max rows deleted per statement
+     * @return purged count
+     */
+    public int purgeJobStatusTraceEvents(final Date expiredTime, final int batchSize) {
+        return purgeExpiredEvents(sqlMapper.getDeleteExpiredForJobStatusTraceLog(), expiredTime, batchSize);
+    }
+    
+    /**
+     * Purge failure causes not seen since the expired time.
+     * 
+     * <p>Failure causes seen within the cache period before the expired time are kept,
+     * because events after the expired time may reference them without refreshing their last seen time.</p>
+     * 
+     * @param expiredTime expired time
+     * @param batchSize max rows deleted per statement
+     * @return purged count
+     */
+    public int purgeJobFailureCauses(final Date expiredTime, final int batchSize) {
+        Date lastSeenTime = new Date(expiredTime.getTime() - TimeUnit.MINUTES.toMillis(CACHED_FINGERPRINT_EXPIRE_MINUTES));
+        return purgeExpiredEvents(sqlMapper.getDeleteExpiredForJobFailureCauseLog(), lastSeenTime, batchSize);
+    }
+    
+    private int purgeExpiredEvents(final String deleteExpiredSQL, final Date expiredTime, final int batchSize) {
+        if (null == deleteExpiredSQL) {
+            return 0;
+        }
+        int result = 0;
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(deleteExpiredSQL)) {
+            int deletedCount;
+            do {
+                preparedStatement.setTimestamp(1, new Timestamp(expiredTime.getTime()));
+                preparedStatement.setInt(2, batchSize);
+                deletedCount = preparedStatement.executeUpdate();
+                result += deletedCount;
+            } while (deletedCount >= batchSize);
+        } catch (final SQLException ex) {
+            // TODO log failure directly to output log, consider to be configurable in the future
+            log.error(ex.getMessage());
+        }
+        return result;
+    }
+    
     private String truncateString(final String str) {
         return !Strings.isNullOrEmpty(str) && str.length() > 4000 ? str.substring(0, 4000) : str;
     }
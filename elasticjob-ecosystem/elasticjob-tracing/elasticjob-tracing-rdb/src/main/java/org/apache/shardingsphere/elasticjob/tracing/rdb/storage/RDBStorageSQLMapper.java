@@ -33,8 +33,20 @@ public final class RDBStorageSQLMapper {
     
     private final String createTableForJobStatusTraceLog;
     
+    private final String createTableForJobFailureCauseLog;
+    
     private final String createIndexForTaskIdStateIndex;
     
+    private final String createIndexForJobNameStartTimeIndex;
+    
+    private final String createIndexForJobNameCreationTimeIndex;
+    
+    private final String createIndexForStartTimeIndex;
+    
+    private final String createIndexForCreationTimeIndex;
+    
+    private final String createIndexForLastSeenTimeIndex;
+    
     private final String insertForJobExecutionLog;
     
     private final String insertForJobExecutionLogForComplete;
@@ -45,25 +57,70 @@ public final class RDBStorageSQLMapper {
     
     private final String updateForJobExecutionLogForFailure;
     
+    private final String upsertForJobExecutionLogForComplete;
+    
+    private final String upsertForJobExecutionLogForFailure;
+    
     private final String insertForJobStatusTraceLog;
     
     private final String selectForJobStatusTraceLog;
     
     private final String selectOriginalTaskIdForJobStatusTraceLog;
     
+    private final String insertForJobFailureCauseLog;
+    
+    private final String selectForJobFailureCauseLog;
+    
+    private final String updateForJobFailureCauseLog;
+    
+    private final String deleteExpiredForJobExecutionLog;
+    
+    private final String deleteExpiredForJobStatusTraceLog;
+    
+    private final String deleteExpiredForJobFailureCauseLog;
+    
+    private final String selectCappedCountForJobExecutionLog;
+    
+    private final String selectCappedCountForJobStatusTraceLog;
+    
     public RDBStorageSQLMapper(final String sqlPropertiesFileName) {
         Properties props = loadProps(sqlPropertiesFileName);
         createTableForJobExecutionLog = props.getProperty("JOB_EXECUTION_LOG.TABLE.CREATE");
         createTableForJobStatusTraceLog = props.getProperty("JOB_STATUS_TRACE_LOG.TABLE.CREATE");
+        createTableForJobFailureCauseLog = props.getProperty("JOB_FAILURE_CAUSE_LOG.TABLE.CREATE");
         createIndexForTaskIdStateIndex = props.getProperty("TASK_ID_STATE_INDEX.INDEX.CREATE");
+        createIndexForJobNameStartTimeIndex = props.getProperty("JOB_NAME_START_TIME_INDEX.INDEX.CREATE");
+        createIndexForJobNameCreationTimeIndex = props.getProperty("JOB_NAME_CREATION_TIME_INDEX.INDEX.CREATE");
+        createIndexForStartTimeIndex = props.getProperty("START_TIME_INDEX.INDEX.CREATE");
+        createIndexForCreationTimeIndex = props.getProperty("CREATION_TIME_INDEX.INDEX.CREATE");
+        createIndexForLastSeenTimeIndex = props.getProperty("LAST_SEEN_TIME_INDEX.INDEX.CREATE");
         insertForJobExecutionLog = props.getProperty("JOB_EXECUTION_LOG.INSERT");
         insertForJobExecutionLogForComplete = props.getProperty("JOB_EXECUTION_LOG.INSERT_COMPLETE");
         insertForJobExecutionLogForFailure = props.getProperty("JOB_EXECUTION_LOG.INSERT_FAILURE");
         updateForJobExecutionLog = props.getProperty("JOB_EXECUTION_LOG.UPDATE");
         updateForJobExecutionLogForFailure = props.getProperty("JOB_EXECUTION_LOG.UPDATE_FAILURE");
+        upsertForJobExecutionLogForComplete = props.getProperty("JOB_EXECUTION_LOG.UPSERT_COMPLETE");
+        upsertForJobExecutionLogForFailure = props.getProperty("JOB_EXECUTION_LOG.UPSERT_FAILURE");
         insertForJobStatusTraceLog = props.getProperty("JOB_STATUS_TRACE_LOG.INSERT");
         selectForJobStatusTraceLog = props.getProperty("JOB_STATUS_TRACE_LOG.SELECT");
         selectOriginalTaskIdForJobStatusTraceLog = props.getProperty("JOB_STATUS_TRACE_LOG.SELECT_ORIGINAL_TASK_ID");
+        insertForJobFailureCauseLog = props.getProperty("JOB_FAILURE_CAUSE_LOG.INSERT");
+        selectForJobFailureCauseLog = props.getProperty("JOB_FAILURE_CAUSE_LOG.SELECT");
+        updateForJobFailureCauseLog = props.getProperty("JOB_FAILURE_CAUSE_LOG.UPDATE");
+        deleteExpiredForJobExecutionLog = props.getProperty("JOB_EXECUTION_LOG.DELETE_EXPIRED");
+        deleteExpiredForJobStatusTraceLog = props.getProperty("JOB_STATUS_TRACE_LOG.DELETE_EXPIRED");
+        deleteExpiredForJobFailureCauseLog = props.getProperty("JOB_FAILURE_CAUSE_LOG.DELETE_EXPIRED");
+        selectCappedCountForJobExecutionLog = props.getProperty("JOB_EXECUTION_LOG.SELECT_CAPPED_COUNT");
+        selectCappedCountForJobStatusTraceLog = props.getProperty("JOB_STATUS_TRACE_LOG.SELECT_CAPPED_COUNT");
+    }
+    
+    /**
+     * Judge whether the database supports single statement upsert for job execution log.
+     * 
+     * @return support upsert or not
+     */
+    public boolean isUpsertSupported() {
+        return null != upsertForJobExecutionLogForComplete && null != upsertForJobExecutionLogForFailure;
     }
     
     @SneakyThrows
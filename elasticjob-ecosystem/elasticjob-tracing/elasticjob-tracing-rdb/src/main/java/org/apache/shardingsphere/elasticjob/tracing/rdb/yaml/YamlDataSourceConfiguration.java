@@ -17,10 +17,12 @@
 
 package org.apache.shardingsphere.elasticjob.tracing.rdb.yaml;
 
+import com.google.common.base.Preconditions;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.shardingsphere.elasticjob.tracing.api.TracingStorageConfiguration;
 import org.apache.shardingsphere.elasticjob.tracing.rdb.datasource.DataSourceConfiguration;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.retention.RDBRetentionPolicy;
 import org.apache.shardingsphere.elasticjob.tracing.yaml.YamlTracingStorageConfiguration;
 
 import javax.sql.DataSource;
@@ -40,10 +42,21 @@ public final class YamlDataSourceConfiguration implements YamlTracingStorageConf
     
     private Map<String, Object> props = new LinkedHashMap<>();
     
+    private Long retentionHours;
+    
+    private Integer purgeBatchSize;
+    
+    private Long purgeIntervalMinutes;
+    
     @Override
     public TracingStorageConfiguration<DataSource> toConfiguration() {
         DataSourceConfiguration result = new DataSourceConfiguration(dataSourceClassName);
         result.getProps().putAll(props);
+        Preconditions.checkArgument((null == purgeBatchSize) == (null == purgeIntervalMinutes), "purgeBatchSize and purgeIntervalMinutes should be configured together.");
+        Preconditions.checkArgument(null != retentionHours || null == purgeBatchSize, "retentionHours should be configured with purgeBatchSize and purgeIntervalMinutes.");
+        if (null != retentionHours) {
+            result.setRetentionPolicy(null == purgeBatchSize ? new RDBRetentionPolicy(retentionHours) : new RDBRetentionPolicy(retentionHours, purgeBatchSize, purgeIntervalMinutes));
+        }
         return result;
     }
 }
@@ -36,6 +36,11 @@ public final class YamlDataSourceConfigurationConverter implements YamlConfigura
         YamlDataSourceConfiguration result = new YamlDataSourceConfiguration();
         result.setDataSourceClassName(dataSourceConfiguration.getDataSourceClassName());
         result.setProps(dataSourceConfiguration.getProps());
+        if (null != dataSourceConfiguration.getRetentionPolicy()) {
+            result.setRetentionHours(dataSourceConfiguration.getRetentionPolicy().getRetentionHours());
+            result.setPurgeBatchSize(dataSourceConfiguration.getRetentionPolicy().getPurgeBatchSize());
+            result.setPurgeIntervalMinutes(dataSourceConfiguration.getRetentionPolicy().getPurgeIntervalMinutes());
+        }
         return result;
     }
     
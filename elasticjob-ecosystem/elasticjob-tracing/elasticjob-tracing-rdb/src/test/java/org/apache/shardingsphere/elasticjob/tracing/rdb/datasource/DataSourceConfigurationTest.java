@@ -19,8 +19,11 @@ package org.apache.shardingsphere.elasticjob.tracing.rdb.datasource;
 
 import com.zaxxer.hikari.HikariDataSource;
 import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.retention.RDBJobEventPurgeScheduler;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.retention.RDBRetentionPolicy;
 import org.junit.Test;
 
+import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -34,6 +37,7 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public final class DataSourceConfigurationTest {
     
@@ -72,6 +76,18 @@ public final class DataSourceConfigurationTest {
         assertThat(actual.getPassword(), is("root"));
     }
     
+    @Test
+    public void assertGetAndReleaseStorageWithRetentionPolicy() {
+        DataSourceConfiguration dataSourceConfig = new DataSourceConfiguration(HikariDataSource.class.getName());
+        dataSourceConfig.getProps().put("driverClassName", "org.h2.Driver");
+        dataSourceConfig.getProps().put("jdbcUrl", "jdbc:h2:mem:retention_test;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false;MODE=MySQL");
+        dataSourceConfig.setRetentionPolicy(new RDBRetentionPolicy(24L));
+        DataSource actual = dataSourceConfig.getStorage();
+        assertTrue(RDBJobEventPurgeScheduler.getInstance().isRegistered(actual));
+        dataSourceConfig.releaseStorage();
+        assertFalse(RDBJobEventPurgeScheduler.getInstance().isRegistered(actual));
+    }
+    
     @Test
     public void assertEquals() {
         DataSourceConfiguration originalDataSourceConfig = new DataSourceConfiguration(HikariDataSource.class.getName());
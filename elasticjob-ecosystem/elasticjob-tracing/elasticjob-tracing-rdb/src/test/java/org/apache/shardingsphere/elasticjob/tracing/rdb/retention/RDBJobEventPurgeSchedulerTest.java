@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.tracing.rdb.retention;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.shardingsphere.elasticjob.tracing.exception.TracingConfigurationException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class RDBJobEventPurgeSchedulerTest {
+    
+    private BasicDataSource dataSource;
+    
+    @Before
+    public void setup() {
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName(org.h2.Driver.class.getName());
+        dataSource.setUrl("jdbc:h2:mem:job_event_purge");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+    }
+    
+    @After
+    public void teardown() throws SQLException {
+        RDBJobEventPurgeScheduler.getInstance().unregister(dataSource);
+        dataSource.close();
+    }
+    
+    @Test
+    public void assertRegisterTwice() throws TracingConfigurationException {
+        RDBJobEventPurgeScheduler.getInstance().register(dataSource, new RDBRetentionPolicy(24L));
+        RDBJobEventPurgeScheduler.getInstance().register(dataSource, new RDBRetentionPolicy(24L));
+        assertTrue(RDBJobEventPurgeScheduler.getInstance().isRegistered(dataSource));
+        RDBJobEventPurgeScheduler.getInstance().unregister(dataSource);
+        assertTrue(RDBJobEventPurgeScheduler.getInstance().isRegistered(dataSource));
+    }
+    
+    @Test
+    public void assertUnregister() throws TracingConfigurationException {
+        RDBJobEventPurgeScheduler.getInstance().register(dataSource, new RDBRetentionPolicy(24L));
+        RDBJobEventPurgeScheduler.getInstance().unregister(dataSource);
+        assertFalse(RDBJobEventPurgeScheduler.getInstance().isRegistered(dataSource));
+    }
+    
+    @Test(expected = TracingConfigurationException.class)
+    public void assertRegisterWithUnavailableDataSource() throws TracingConfigurationException {
+        BasicDataSource unavailableDataSource = new BasicDataSource();
+        unavailableDataSource.setDriverClassName(org.h2.Driver.class.getName());
+        unavailableDataSource.setUrl("jdbc:h2:invalid_url:job_event_purge");
+        RDBJobEventPurgeScheduler.getInstance().register(unavailableDataSource, new RDBRetentionPolicy(24L));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertCreateRetentionPolicyWithInvalidRetentionHours() {
+        new RDBRetentionPolicy(0L);
+    }
+}
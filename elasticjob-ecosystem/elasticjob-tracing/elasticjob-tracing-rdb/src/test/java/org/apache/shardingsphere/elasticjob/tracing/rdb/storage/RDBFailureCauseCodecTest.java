@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.tracing.rdb.storage;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public final class RDBFailureCauseCodecTest {
+    
+    @Test
+    public void assertEncode() {
+        assertThat(RDBFailureCauseCodec.encode("foo", "java.lang.RuntimeException: foo\n\tat Foo.foo(Foo.java:1)\n"), is("fingerprint:foo\njava.lang.RuntimeException: foo"));
+    }
+    
+    @Test
+    public void assertDecode() {
+        assertThat(RDBFailureCauseCodec.decode("fingerprint:foo\njava.lang.RuntimeException: bar", "java.lang.RuntimeException: foo\n\tat Foo.foo(Foo.java:1)"),
+                is("java.lang.RuntimeException: bar" + System.lineSeparator() + "\tat Foo.foo(Foo.java:1)"));
+    }
+    
+    @Test
+    public void assertDecodeWithoutMessages() {
+        assertThat(RDBFailureCauseCodec.decode("fingerprint:foo", "java.lang.RuntimeException: foo\n\tat Foo.foo(Foo.java:1)"), is("java.lang.RuntimeException: foo\n\tat Foo.foo(Foo.java:1)"));
+    }
+    
+    @Test
+    public void assertGetFingerprint() {
+        assertThat(RDBFailureCauseCodec.getFingerprint("fingerprint:foo\njava.lang.RuntimeException: foo"), is("foo"));
+        assertThat(RDBFailureCauseCodec.getFingerprint("fingerprint:foo"), is("foo"));
+    }
+    
+    @Test
+    public void assertGetFingerprintWithoutReference() {
+        assertThat(RDBFailureCauseCodec.getFingerprint("java.lang.RuntimeException: foo"), nullValue());
+        assertThat(RDBFailureCauseCodec.getFingerprint(null), nullValue());
+    }
+}
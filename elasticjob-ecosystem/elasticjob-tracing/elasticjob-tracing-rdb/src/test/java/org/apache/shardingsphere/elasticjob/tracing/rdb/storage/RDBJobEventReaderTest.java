@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.tracing.rdb.storage;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.shardingsphere.elasticjob.tracing.event.JobExecutionEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class RDBJobEventReaderTest {
+    
+    private BasicDataSource dataSource;
+    
+    private RDBJobEventReader reader;
+    
+    @Before
+    public void setup() throws SQLException {
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName(org.h2.Driver.class.getName());
+        dataSource.setUrl("jdbc:h2:mem:job_event_reader");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        reader = new RDBJobEventReader(dataSource);
+    }
+    
+    @After
+    public void teardown() throws SQLException {
+        dataSource.close();
+    }
+    
+    @Test
+    public void assertNotCreateTables() throws SQLException {
+        assertNotNull(reader.getSqlMapper().getSelectCappedCountForJobExecutionLog());
+        try (
+                Connection connection = dataSource.getConnection();
+                ResultSet resultSet = connection.getMetaData().getTables(connection.getCatalog(), null, "JOB_%", new String[]{"TABLE"})) {
+            assertFalse(resultSet.next());
+        }
+    }
+    
+    @Test
+    public void assertResolveFailureCauseWithoutFingerprint() {
+        assertThat(reader.resolveFailureCause("java.lang.RuntimeException: failure"), is("java.lang.RuntimeException: failure"));
+    }
+    
+    @Test
+    public void assertResolveFailureCauseWithStoredFingerprint() throws SQLException {
+        JobExecutionEvent startEvent = new JobExecutionEvent("localhost", "127.0.0.1", "fake_task_id", "test_job", JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, 0);
+        assertTrue(new RDBJobEventStorage(dataSource).addJobExecutionEvent(startEvent.executionFailure("java.lang.RuntimeException: failure", "fake_reader_fingerprint")));
+        assertThat(reader.resolveFailureCause("fingerprint:fake_reader_fingerprint"), is("java.lang.RuntimeException: failure"));
+    }
+}
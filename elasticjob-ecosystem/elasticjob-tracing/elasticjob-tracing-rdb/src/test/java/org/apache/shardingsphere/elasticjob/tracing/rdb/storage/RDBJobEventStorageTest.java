@@ -18,6 +18,7 @@
 package org.apache.shardingsphere.elasticjob.tracing.rdb.storage;
 
 import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.shardingsphere.elasticjob.infra.exception.ExceptionUtils;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobExecutionEvent;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobStatusTraceEvent;
 import org.apache.shardingsphere.elasticjob.tracing.event.JobStatusTraceEvent.Source;
@@ -26,8 +27,14 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.startsWith;
@@ -57,6 +64,26 @@ public final class RDBJobEventStorageTest {
         dataSource.close();
     }
 
+    @Test
+    public void assertCreateTimeIndexes() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(existsIndex(connection, "JOB_EXECUTION_LOG", "START_TIME_INDEX"));
+            assertTrue(existsIndex(connection, "JOB_STATUS_TRACE_LOG", "CREATION_TIME_INDEX"));
+            assertTrue(existsIndex(connection, "JOB_FAILURE_CAUSE_LOG", "LAST_SEEN_TIME_INDEX"));
+        }
+    }
+    
+    private boolean existsIndex(final Connection connection, final String tableName, final String indexName) throws SQLException {
+        try (ResultSet resultSet = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, tableName, false, false)) {
+            while (resultSet.next()) {
+                if (indexName.equals(resultSet.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
     @Test
     public void assertAddJobExecutionEvent() {
         assertTrue(storage.addJobExecutionEvent(new JobExecutionEvent("localhost", "127.0.0.1", "fake_task_id", "test_job", JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, 0)));
@@ -142,8 +169,140 @@ public final class RDBJobEventStorageTest {
         assertThat(failEvent.getFailureCause(), startsWith("java.lang.RuntimeException: failure"));
     }
     
+    @Test
+    public void assertUpsertJobExecutionEventWhenCompleteWithoutStart() throws SQLException {
+        JobExecutionEvent startEvent = new JobExecutionEvent("localhost", "127.0.0.1", "fake_task_id", "test_upsert_job", JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, 0);
+        JobExecutionEvent failureEvent = startEvent.executionFailure("java.lang.RuntimeException: failure");
+        assertTrue(storage.addJobExecutionEvent(failureEvent));
+        assertThat(countCompletedJobExecutionLogs("test_upsert_job"), is(1));
+    }
+    
+    @Test
+    public void assertUpsertSuccessAndFailureJobExecutionEvents() throws SQLException {
+        int eventCount = 100;
+        for (int i = 0; i < eventCount; i++) {
+            JobExecutionEvent startEvent = new JobExecutionEvent("localhost", "127.0.0.1", "fake_task_id_" + i, "test_upsert_many_job", JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, i);
+            assertTrue(storage.addJobExecutionEvent(startEvent));
+            assertTrue(storage.addJobExecutionEvent(0 == i % 2 ? startEvent.executionSuccess() : startEvent.executionFailure("java.lang.RuntimeException: failure")));
+        }
+        assertThat(countCompletedJobExecutionLogs("test_upsert_many_job"), is(eventCount));
+    }
+    
+    @Test
+    public void assertAddJobExecutionEventWithFailureCauseFingerprint() throws SQLException {
+        List<String> failureCauses = new ArrayList<>(3);
+        for (int i = 0; i < 3; i++) {
+            JobExecutionEvent startEvent = new JobExecutionEvent("localhost", "127.0.0.1", "fake_task_id", "test_fingerprint_job", JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, i);
+            String failureCause = ExceptionUtils.transform(createException("failure " + i)).trim();
+            failureCauses.add(failureCause);
+            assertTrue(storage.addJobExecutionEvent(startEvent));
+            assertTrue(storage.addJobExecutionEvent(startEvent.executionFailure(failureCause, "fake_fingerprint")));
+        }
+        List<String> references = new ArrayList<>(3);
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement("SELECT failure_cause FROM JOB_EXECUTION_LOG WHERE job_name = 'test_fingerprint_job' ORDER BY sharding_item");
+                ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                references.add(resultSet.getString(1));
+            }
+        }
+        assertThat(references.size(), is(3));
+        assertThat(references.get(1), is("fingerprint:fake_fingerprint\njava.lang.RuntimeException: failure 1"));
+        Map<String, String> actual = storage.resolveFailureCauses(references);
+        for (int i = 0; i < 3; i++) {
+            assertThat(actual.get(references.get(i)), is(failureCauses.get(i)));
+        }
+        assertThat(storage.resolveFailureCause(references.get(2)), is(failureCauses.get(2)));
+    }
+    
+    @Test
+    public void assertResolveFailureCauseWithoutMessage() {
+        JobExecutionEvent startEvent = new JobExecutionEvent("localhost", "127.0.0.1", "fake_task_id", "test_fingerprint_job", JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, 0);
+        assertTrue(storage.addJobExecutionEvent(startEvent.executionFailure("java.lang.RuntimeException: failure", "fake_fingerprint_without_message")));
+        assertThat(storage.resolveFailureCause("fingerprint:fake_fingerprint_without_message"), is("java.lang.RuntimeException: failure"));
+    }
+    
+    @Test
+    public void assertResolveFailureCauseWithUnknownFingerprint() {
+        assertThat(storage.resolveFailureCause("fingerprint:unknown_fingerprint\nfailure"), is("fingerprint:unknown_fingerprint\nfailure"));
+    }
+    
+    @Test
+    public void assertResolveFailureCauseWithoutFingerprint() {
+        assertThat(storage.resolveFailureCause("java.lang.RuntimeException: failure"), is("java.lang.RuntimeException: failure"));
+    }
+    
+    @Test
+    public void assertPurgeJobExecutionEvents() throws SQLException {
+        for (int i = 0; i < 5; i++) {
+            JobExecutionEvent startEvent = new JobExecutionEvent("localhost", "127.0.0.1", "fake_task_id", "test_purge_job", JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, i);
+            assertTrue(storage.addJobExecutionEvent(startEvent.executionSuccess()));
+        }
+        assertThat(countCompletedJobExecutionLogs("test_purge_job"), is(5));
+        assertTrue(storage.purgeJobExecutionEvents(new Date(System.currentTimeMillis() + 3600000L), 2) >= 5);
+        assertThat(countCompletedJobExecutionLogs("test_purge_job"), is(0));
+    }
+    
+    @Test
+    public void assertPurgeJobStatusTraceEvents() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(storage.addJobStatusTraceEvent(
+                    new JobStatusTraceEvent("test_job", "fake_purge_task_id", "fake_slave_id", Source.LITE_EXECUTOR, "READY", "0", State.TASK_RUNNING, "message is empty.")));
+        }
+        assertThat(storage.getJobStatusTraceEvents("fake_purge_task_id").size(), is(5));
+        assertThat(storage.purgeJobStatusTraceEvents(new Date(System.currentTimeMillis() - 3600000L), 2), is(0));
+        assertTrue(storage.purgeJobStatusTraceEvents(new Date(System.currentTimeMillis() + 3600000L), 2) >= 5);
+        assertThat(storage.getJobStatusTraceEvents("fake_purge_task_id").size(), is(0));
+    }
+    
+    @Test
+    public void assertPurgeJobFailureCauses() {
+        JobExecutionEvent startEvent = new JobExecutionEvent("localhost", "127.0.0.1", "fake_task_id", "test_purge_failure_cause_job", JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, 0);
+        assertTrue(storage.addJobExecutionEvent(startEvent.executionFailure("java.lang.RuntimeException: failure", "fake_purge_fingerprint")));
+        assertThat(storage.resolveFailureCause("fingerprint:fake_purge_fingerprint"), is("java.lang.RuntimeException: failure"));
+        assertThat(storage.purgeJobFailureCauses(new Date(), 2), is(0));
+        assertTrue(storage.purgeJobFailureCauses(new Date(System.currentTimeMillis() + 7200000L), 2) >= 1);
+        assertThat(storage.resolveFailureCause("fingerprint:fake_purge_fingerprint"), is("fingerprint:fake_purge_fingerprint"));
+    }
+    
+    @Test
+    public void assertSelectCappedCountForJobStatusTraceLog() throws SQLException {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(storage.addJobStatusTraceEvent(
+                    new JobStatusTraceEvent("test_capped_count_job", "fake_capped_task_id", "fake_slave_id", Source.LITE_EXECUTOR, "READY", "0", State.TASK_RUNNING, "message is empty.")));
+        }
+        String sql = String.format(storage.getSqlMapper().getSelectCappedCountForJobStatusTraceLog(), " WHERE job_name=?");
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setString(1, "test_capped_count_job");
+            preparedStatement.setInt(2, 3);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getInt(1), is(3));
+            }
+        }
+    }
+    
+    private int countCompletedJobExecutionLogs(final String jobName) throws SQLException {
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement("SELECT COUNT(*) FROM JOB_EXECUTION_LOG WHERE job_name = ? AND complete_time IS NOT NULL")) {
+            preparedStatement.setString(1, jobName);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+    
     @Test
     public void assertFindJobExecutionEvent() {
         storage.addJobExecutionEvent(new JobExecutionEvent("localhost", "127.0.0.1", "fake_task_id", "test_job", JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, 0));
     }
+    
+    private RuntimeException createException(final String message) {
+        return new RuntimeException(message);
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.tracing.rdb.storage;
+
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class RDBStorageSQLMapperTest {
+    
+    @Test
+    public void assertMySQLUpsertForJobExecutionLog() throws SQLException {
+        RDBStorageSQLMapper sqlMapper = new RDBStorageSQLMapper("MySQL.properties");
+        try (
+                Connection connection = DriverManager.getConnection("jdbc:h2:mem:mysql_upsert;MODE=MySQL", "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE JOB_EXECUTION_LOG (auto_id INT NOT NULL AUTO_INCREMENT, id VARCHAR(40) NOT NULL, job_name VARCHAR(100) NOT NULL, task_id VARCHAR(255) NOT NULL, "
+                    + "hostname VARCHAR(255) NOT NULL, ip VARCHAR(50) NOT NULL, sharding_item INT NOT NULL, execution_source VARCHAR(20) NOT NULL, failure_cause VARCHAR(4000) NULL, "
+                    + "is_success INT NOT NULL, start_time TIMESTAMP NULL, complete_time TIMESTAMP NULL, PRIMARY KEY (auto_id), UNIQUE KEY id (id))");
+            Timestamp time = new Timestamp(System.currentTimeMillis());
+            upsertComplete(connection, sqlMapper.getUpsertForJobExecutionLogForComplete(), false, time);
+            upsertComplete(connection, sqlMapper.getUpsertForJobExecutionLogForComplete(), true, time);
+            try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(1), MAX(is_success) FROM JOB_EXECUTION_LOG")) {
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getInt(1), is(1));
+                assertThat(resultSet.getInt(2), is(1));
+            }
+            upsertFailure(connection, sqlMapper.getUpsertForJobExecutionLogForFailure(), time);
+            try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(1), MAX(is_success), MAX(failure_cause) FROM JOB_EXECUTION_LOG")) {
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getInt(1), is(1));
+                assertThat(resultSet.getInt(2), is(0));
+                assertThat(resultSet.getString(3), is("failure"));
+            }
+        }
+    }
+    
+    private void upsertComplete(final Connection connection, final String sql, final boolean success, final Timestamp time) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            setCommonParameters(preparedStatement);
+            preparedStatement.setBoolean(8, success);
+            preparedStatement.setTimestamp(9, time);
+            preparedStatement.setTimestamp(10, time);
+            preparedStatement.executeUpdate();
+        }
+    }
+    
+    private void upsertFailure(final Connection connection, final String sql, final Timestamp time) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            setCommonParameters(preparedStatement);
+            preparedStatement.setString(8, "failure");
+            preparedStatement.setBoolean(9, false);
+            preparedStatement.setTimestamp(10, time);
+            preparedStatement.setTimestamp(11, time);
+            preparedStatement.executeUpdate();
+        }
+    }
+    
+    private void setCommonParameters(final PreparedStatement preparedStatement) throws SQLException {
+        preparedStatement.setString(1, "fake_id");
+        preparedStatement.setString(2, "test_job");
+        preparedStatement.setString(3, "fake_task_id");
+        preparedStatement.setString(4, "localhost");
+        preparedStatement.setString(5, "127.0.0.1");
+        preparedStatement.setInt(6, 0);
+        preparedStatement.setString(7, "NORMAL_TRIGGER");
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.shardingsphere.elasticjob.tracing.rdb.yaml;
 
 import org.apache.shardingsphere.elasticjob.tracing.rdb.datasource.DataSourceConfiguration;
+import org.apache.shardingsphere.elasticjob.tracing.rdb.retention.RDBRetentionPolicy;
 import org.apache.shardingsphere.elasticjob.tracing.yaml.YamlTracingStorageConfiguration;
 import org.junit.Test;
 
@@ -41,4 +42,36 @@ public final class YamlDataSourceConfigurationConverterTest {
         assertThat(result.getDataSourceClassName(), is("org.h2.Driver"));
         assertThat(result.getProps(), is(Collections.singletonMap("foo", "bar")));
     }
+    
+    @Test
+    public void assertConvertDataSourceConfigurationWithRetentionPolicy() {
+        DataSourceConfiguration dataSourceConfiguration = new DataSourceConfiguration("org.h2.Driver");
+        dataSourceConfiguration.setRetentionPolicy(new RDBRetentionPolicy(24L, 500, 30L));
+        YamlDataSourceConfiguration actual = (YamlDataSourceConfiguration) new YamlDataSourceConfigurationConverter().convertToYamlConfiguration(dataSourceConfiguration);
+        assertThat(actual.getRetentionHours(), is(24L));
+        assertThat(actual.getPurgeBatchSize(), is(500));
+        assertThat(actual.getPurgeIntervalMinutes(), is(30L));
+        RDBRetentionPolicy retentionPolicy = ((DataSourceConfiguration) actual.toConfiguration()).getRetentionPolicy();
+        assertThat(retentionPolicy.getRetentionHours(), is(24L));
+        assertThat(retentionPolicy.getPurgeBatchSize(), is(500));
+        assertThat(retentionPolicy.getPurgeIntervalMinutes(), is(30L));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertToConfigurationWithPurgeBatchSizeOnly() {
+        YamlDataSourceConfiguration yamlConfig = new YamlDataSourceConfiguration();
+        yamlConfig.setDataSourceClassName("org.h2.Driver");
+        yamlConfig.setRetentionHours(24L);
+        yamlConfig.setPurgeBatchSize(500);
+        yamlConfig.toConfiguration();
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertToConfigurationWithPurgeConfigurationButNoRetentionHours() {
+        YamlDataSourceConfiguration yamlConfig = new YamlDataSourceConfiguration();
+        yamlConfig.setDataSourceClassName("org.h2.Driver");
+        yamlConfig.setPurgeBatchSize(500);
+        yamlConfig.setPurgeIntervalMinutes(30L);
+        yamlConfig.toConfiguration();
+    }
 }
@@ -17,11 +17,20 @@
 
 package org.apache.shardingsphere.elasticjob.infra.exception;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * Exception utilities.
@@ -29,6 +38,8 @@ import java.io.StringWriter;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class ExceptionUtils {
     
+    private static final Pattern LINE_SEPARATOR = Pattern.compile("\\r?\\n");
+    
     /**
      * Transform throwable to string.
      *
@@ -45,4 +56,83 @@ public final class ExceptionUtils {
         }
         return result.toString();
     }
+    
+    /**
+     * Fingerprint throwable by its normalized stack trace.
+     * 
+     * <p>Exception messages are excluded, so the same failure raised with different messages shares one fingerprint.</p>
+     *
+     * @param cause cause
+     * @return fingerprint, empty if cause is null
+     */
+    public static String fingerprint(final Throwable cause) {
+        if (null == cause) {
+            return "";
+        }
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Throwable current = cause;
+        while (null != current && visited.add(current)) {
+            hasher.putString(current.getClass().getName(), StandardCharsets.UTF_8);
+            for (StackTraceElement each : current.getStackTrace()) {
+                hasher.putString(each.getClassName(), StandardCharsets.UTF_8).putString(each.getMethodName(), StandardCharsets.UTF_8).putInt(each.getLineNumber());
+            }
+            current = current.getCause();
+        }
+        return hasher.hash().toString();
+    }
+    
+    /**
+     * Get message lines of stack trace, which describe the throwable and its causes without stack frames.
+     *
+     * @param stackTrace stack trace transformed from throwable
+     * @return message lines
+     */
+    public static String getMessageLines(final String stackTrace) {
+        List<String> result = new ArrayList<>();
+        for (String each : LINE_SEPARATOR.split(stackTrace)) {
+            if (!isStackFrameLine(each)) {
+                result.add(each);
+            }
+        }
+        return String.join(System.lineSeparator(), result);
+    }
+    
+    /**
+     * Replace message lines of stack trace, keep its stack frames.
+     * 
+     * <p>Message lines are appended before the stack frames if their count differs from the stack trace.</p>
+     *
+     * @param stackTrace stack trace transformed from throwable
+     * @param messageLines message lines to replace with
+     * @return stack trace with replaced message lines
+     */
+    public static String replaceMessageLines(final String stackTrace, final String messageLines) {
+        String[] lines = LINE_SEPARATOR.split(stackTrace);
+        String[] newMessageLines = LINE_SEPARATOR.split(messageLines);
+        List<String> frameLines = new ArrayList<>(lines.length);
+        List<String> result = new ArrayList<>(lines.length);
+        int messageIndex = 0;
+        for (String each : lines) {
+            if (isStackFrameLine(each)) {
+                frameLines.add(each);
+                result.add(each);
+            } else if (messageIndex < newMessageLines.length) {
+                result.add(newMessageLines[messageIndex++]);
+            } else {
+                messageIndex++;
+            }
+        }
+        if (messageIndex != newMessageLines.length) {
+            result.clear();
+            Collections.addAll(result, newMessageLines);
+            result.addAll(frameLines);
+        }
+        return String.join(System.lineSeparator(), result);
+    }
+    
+    private static boolean isStackFrameLine(final String line) {
+        String trimmed = line.trim();
+        return line.startsWith("\t") && (trimmed.startsWith("at ") || trimmed.startsWith("... "));
+    }
 }
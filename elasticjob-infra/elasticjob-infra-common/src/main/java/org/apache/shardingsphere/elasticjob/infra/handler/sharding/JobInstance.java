@@ -40,6 +40,14 @@ public final class JobInstance {
     
     private String serverIp;
     
+    private Integer weight;
+    
+    private Integer availableProcessors;
+    
+    private Long itemElapsedMillis;
+    
+    private Double cpuLoad;
+    
     public JobInstance() {
         this(IpUtils.getIp() + DELIMITER + ManagementFactory.getRuntimeMXBean().getName().split("@")[0]);
     }
@@ -36,4 +36,21 @@ public interface JobShardingStrategy extends TypedSPI {
      * @return sharding result
      */
     Map<JobInstance, List<Integer>> sharding(List<JobInstance> jobInstances, String jobName, int shardingTotalCount);
+    
+    /**
+     * Sharding job with previous assignment.
+     * 
+     * <p>
+     * Strategies which do not care about previous assignment shard from scratch.
+     * </p>
+     * 
+     * @param jobInstances all job instances which participate in sharding
+     * @param jobName job name
+     * @param shardingTotalCount sharding total count
+     * @param previousAssignment previous assignment, key is sharding item and value is job instance ID
+     * @return sharding result
+     */
+    default Map<JobInstance, List<Integer>> sharding(List<JobInstance> jobInstances, String jobName, int shardingTotalCount, Map<Integer, String> previousAssignment) {
+        return sharding(jobInstances, jobName, shardingTotalCount);
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.infra.handler.sharding.impl;
+
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobShardingStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+
+/**
+ * Sharding strategy which keeps sharding items on their previous job instances.
+ * 
+ * <p>
+ * Each job instance keeps its previous sharding items up to its average quota,
+ * only the surplus items and the items of offline job instances are moved to the job instances below their quota.
+ * Sharding as average allocation if there is no previous assignment.
+ * 
+ * For example:
+ * 
+ * 1. If the previous assignment is 1=[0,1,2], 2=[3,4,5], 3=[6,7,8] and job server 3 is offline, each job server is divided into: 1=[0,1,2,6,7], 2=[3,4,5,8];
+ * 2. If the previous assignment is 1=[0,1,2,3], 2=[4,5,6,7] and job server 3 is online, each job server is divided into: 1=[0,1,2], 2=[4,5,6], 3=[3,7].
+ * </p>
+ */
+public final class StickyJobShardingStrategy implements JobShardingStrategy {
+    
+    private final AverageAllocationJobShardingStrategy averageAllocationJobShardingStrategy = new AverageAllocationJobShardingStrategy();
+    
+    @Override
+    public Map<JobInstance, List<Integer>> sharding(final List<JobInstance> jobInstances, final String jobName, final int shardingTotalCount) {
+        return averageAllocationJobShardingStrategy.sharding(jobInstances, jobName, shardingTotalCount);
+    }
+    
+    @Override
+    public Map<JobInstance, List<Integer>> sharding(final List<JobInstance> jobInstances, final String jobName, final int shardingTotalCount, final Map<Integer, String> previousAssignment) {
+        if (jobInstances.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (previousAssignment.isEmpty()) {
+            return sharding(jobInstances, jobName, shardingTotalCount);
+        }
+        Map<JobInstance, List<Integer>> result = getPreviousShardingItems(jobInstances, shardingTotalCount, previousAssignment);
+        Map<JobInstance, Integer> quotas = getQuotas(result, shardingTotalCount);
+        Queue<Integer> movingItems = new LinkedList<>();
+        for (int i = 0; i < shardingTotalCount; i++) {
+            if (!result.containsKey(new JobInstance(previousAssignment.getOrDefault(i, "")))) {
+                movingItems.add(i);
+            }
+        }
+        for (Entry<JobInstance, List<Integer>> entry : result.entrySet()) {
+            List<Integer> shardingItems = entry.getValue();
+            while (shardingItems.size() > quotas.get(entry.getKey())) {
+                movingItems.add(shardingItems.remove(shardingItems.size() - 1));
+            }
+        }
+        for (Entry<JobInstance, List<Integer>> entry : result.entrySet()) {
+            List<Integer> shardingItems = entry.getValue();
+            while (shardingItems.size() < quotas.get(entry.getKey()) && !movingItems.isEmpty()) {
+                shardingItems.add(movingItems.poll());
+            }
+            Collections.sort(shardingItems);
+        }
+        return result;
+    }
+    
+    private Map<JobInstance, List<Integer>> getPreviousShardingItems(final List<JobInstance> jobInstances, final int shardingTotalCount, final Map<Integer, String> previousAssignment) {
+        Map<JobInstance, List<Integer>> result = new LinkedHashMap<>(jobInstances.size(), 1);
+        for (JobInstance each : jobInstances) {
+            result.put(each, new ArrayList<>(shardingTotalCount / jobInstances.size() + 1));
+        }
+        for (int i = 0; i < shardingTotalCount; i++) {
+            List<Integer> shardingItems = result.get(new JobInstance(previousAssignment.getOrDefault(i, "")));
+            if (null != shardingItems) {
+                shardingItems.add(i);
+            }
+        }
+        return result;
+    }
+    
+    private Map<JobInstance, Integer> getQuotas(final Map<JobInstance, List<Integer>> previousShardingItems, final int shardingTotalCount) {
+        List<JobInstance> jobInstances = new ArrayList<>(previousShardingItems.keySet());
+        jobInstances.sort(Comparator.comparingInt(each -> -previousShardingItems.get(each).size()));
+        Map<JobInstance, Integer> result = new LinkedHashMap<>(jobInstances.size(), 1);
+        int aliquant = shardingTotalCount % jobInstances.size();
+        int count = 0;
+        for (JobInstance each : jobInstances) {
+            result.put(each, shardingTotalCount / jobInstances.size() + (count < aliquant ? 1 : 0));
+            count++;
+        }
+        return result;
+    }
+    
+    @Override
+    public String getType() {
+        return "STICKY";
+    }
+}
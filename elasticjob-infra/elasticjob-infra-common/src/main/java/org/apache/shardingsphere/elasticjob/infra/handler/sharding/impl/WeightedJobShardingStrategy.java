@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.infra.handler.sharding.impl;
+
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobShardingStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sharding strategy which assigns sharding items in proportion to the capacity of job instances.
+ * 
+ * <p>
+ * Capacity of job instance is its configured weight, or its available processors if weight is not configured.
+ * Capacity is divided by CPU load if job instance is overloaded,
+ * and is reduced in proportion if recent elapsed time per sharding item is longer than average of all job instances.
+ * Redundant sharding items that cannot be divided are added to job instances with the largest remainders.
+ * 
+ * For example:
+ * 
+ * If there are 2 job servers with capacity 1 and 3 and the total sharding count is 8, each job server is divided into: 1=[0,1], 2=[2,3,4,5,6,7].
+ * </p>
+ */
+public final class WeightedJobShardingStrategy implements JobShardingStrategy {
+    
+    @Override
+    public Map<JobInstance, List<Integer>> sharding(final List<JobInstance> jobInstances, final String jobName, final int shardingTotalCount) {
+        if (jobInstances.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        int[] itemCounts = getItemCounts(getCapacities(jobInstances), shardingTotalCount);
+        Map<JobInstance, List<Integer>> result = new LinkedHashMap<>(jobInstances.size(), 1);
+        int item = 0;
+        for (int i = 0; i < jobInstances.size(); i++) {
+            List<Integer> shardingItems = new ArrayList<>(itemCounts[i]);
+            for (int j = 0; j < itemCounts[i]; j++) {
+                shardingItems.add(item++);
+            }
+            result.put(jobInstances.get(i), shardingItems);
+        }
+        return result;
+    }
+    
+    private double[] getCapacities(final List<JobInstance> jobInstances) {
+        double averageItemElapsedMillis = jobInstances.stream().filter(each -> null != each.getItemElapsedMillis() && each.getItemElapsedMillis() > 0)
+                .mapToLong(JobInstance::getItemElapsedMillis).average().orElse(0);
+        double[] result = new double[jobInstances.size()];
+        double totalCapacity = 0;
+        for (int i = 0; i < jobInstances.size(); i++) {
+            result[i] = getCapacity(jobInstances.get(i), averageItemElapsedMillis);
+            totalCapacity += result[i];
+        }
+        if (totalCapacity <= 0) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = 1;
+            }
+        }
+        return result;
+    }
+    
+    private double getCapacity(final JobInstance jobInstance, final double averageItemElapsedMillis) {
+        double result = null != jobInstance.getWeight() ? jobInstance.getWeight() : null != jobInstance.getAvailableProcessors() ? jobInstance.getAvailableProcessors() : 1;
+        if (result <= 0) {
+            return 0;
+        }
+        if (null != jobInstance.getCpuLoad() && jobInstance.getCpuLoad() > 1) {
+            result /= jobInstance.getCpuLoad();
+        }
+        if (null != jobInstance.getItemElapsedMillis() && jobInstance.getItemElapsedMillis() > averageItemElapsedMillis) {
+            result *= averageItemElapsedMillis / jobInstance.getItemElapsedMillis();
+        }
+        return result;
+    }
+    
+    private int[] getItemCounts(final double[] capacities, final int shardingTotalCount) {
+        double totalCapacity = 0;
+        for (double each : capacities) {
+            totalCapacity += each;
+        }
+        int[] result = new int[capacities.length];
+        double[] remainders = new double[capacities.length];
+        int assignedCount = 0;
+        for (int i = 0; i < capacities.length; i++) {
+            double quota = shardingTotalCount * capacities[i] / totalCapacity;
+            result[i] = (int) quota;
+            remainders[i] = quota - result[i];
+            assignedCount += result[i];
+        }
+        List<Integer> indexes = new ArrayList<>(capacities.length);
+        for (int i = 0; i < capacities.length; i++) {
+            indexes.add(i);
+        }
+        indexes.sort(Comparator.comparingDouble(each -> -remainders[each]));
+        for (int i = 0; i < shardingTotalCount - assignedCount; i++) {
+            result[indexes.get(i % indexes.size())]++;
+        }
+        return result;
+    }
+    
+    @Override
+    public String getType() {
+        return "WEIGHTED";
+    }
+}
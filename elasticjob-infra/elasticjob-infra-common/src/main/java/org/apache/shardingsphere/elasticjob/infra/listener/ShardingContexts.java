@@ -24,6 +24,8 @@ import lombok.ToString;
 import org.apache.shardingsphere.elasticjob.api.ShardingContext;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -73,4 +75,23 @@ public final class ShardingContexts implements Serializable {
     public ShardingContext createShardingContext(final int shardingItem) {
         return new ShardingContext(jobName, taskId, shardingTotalCount, jobParameter, shardingItem, shardingItemParameters.get(shardingItem));
     }
+    
+    /**
+     * Create sharding contexts which only contain part of sharding items.
+     * 
+     * @param shardingItems sharding items to be contained
+     * @return sharding contexts
+     */
+    public ShardingContexts createShardingContexts(final Collection<Integer> shardingItems) {
+        Map<Integer, String> itemParameters = new LinkedHashMap<>(shardingItems.size(), 1);
+        for (int each : shardingItems) {
+            if (shardingItemParameters.containsKey(each)) {
+                itemParameters.put(each, shardingItemParameters.get(each));
+            }
+        }
+        ShardingContexts result = new ShardingContexts(taskId, jobName, shardingTotalCount, jobParameter, itemParameters, jobEventSamplingCount);
+        result.setCurrentJobEventSamplingCount(currentJobEventSamplingCount);
+        result.setAllowSendJobEvent(allowSendJobEvent);
+        return result;
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.shardingsphere.elasticjob.infra.exception;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -39,4 +40,44 @@ public final class ExceptionUtilsTest {
     public void assertTransformWithNull() {
         assertThat(ExceptionUtils.transform(null), is(""));
     }
+    
+    @Test
+    public void assertFingerprintIgnoreMessage() {
+        assertThat(ExceptionUtils.fingerprint(createException("foo")), is(ExceptionUtils.fingerprint(createException("bar"))));
+    }
+    
+    @Test
+    public void assertFingerprintWithDifferentCause() {
+        assertThat(ExceptionUtils.fingerprint(new RuntimeException(new IllegalStateException())), not(ExceptionUtils.fingerprint(new RuntimeException(new IllegalArgumentException()))));
+    }
+    
+    @Test
+    public void assertFingerprintWithNull() {
+        assertThat(ExceptionUtils.fingerprint(null), is(""));
+    }
+    
+    @Test
+    public void assertGetMessageLines() {
+        String stackTrace = ExceptionUtils.transform(new RuntimeException("foo", new IllegalStateException("bar")));
+        assertThat(ExceptionUtils.getMessageLines(stackTrace),
+                is("java.lang.RuntimeException: foo" + System.lineSeparator() + "Caused by: java.lang.IllegalStateException: bar"));
+    }
+    
+    @Test
+    public void assertReplaceMessageLines() {
+        String stackTrace = ExceptionUtils.transform(new RuntimeException("foo", new IllegalStateException("bar")));
+        String actual = ExceptionUtils.replaceMessageLines(stackTrace, "java.lang.RuntimeException: baz" + System.lineSeparator() + "Caused by: java.lang.IllegalStateException: qux");
+        assertThat(actual, is(stackTrace.replace("foo", "baz").replace("bar", "qux").trim()));
+    }
+    
+    @Test
+    public void assertReplaceMessageLinesWithDifferentCount() {
+        String stackTrace = ExceptionUtils.transform(createException("foo"));
+        String actual = ExceptionUtils.replaceMessageLines(stackTrace, "java.lang.Exception: bar" + System.lineSeparator() + "baz");
+        assertTrue(actual.startsWith("java.lang.Exception: bar" + System.lineSeparator() + "baz" + System.lineSeparator() + "\tat "));
+    }
+    
+    private Exception createException(final String message) {
+        return new Exception(message);
+    }
 }
@@ -43,4 +43,18 @@ public final class JobInstanceTest {
         assertThat(actual.getServerIp(), is(IpUtils.getIp()));
         assertThat(actual.getLabels(), is("labels"));
     }
+    
+    @Test
+    public void assertYamlConvertWithLoad() {
+        JobInstance jobInstance = new JobInstance("id");
+        jobInstance.setWeight(2);
+        jobInstance.setAvailableProcessors(4);
+        jobInstance.setItemElapsedMillis(100L);
+        jobInstance.setCpuLoad(0.5D);
+        JobInstance actual = YamlEngine.unmarshal(YamlEngine.marshal(jobInstance), JobInstance.class);
+        assertThat(actual.getWeight(), is(2));
+        assertThat(actual.getAvailableProcessors(), is(4));
+        assertThat(actual.getItemElapsedMillis(), is(100L));
+        assertThat(actual.getCpuLoad(), is(0.5D));
+    }
 }
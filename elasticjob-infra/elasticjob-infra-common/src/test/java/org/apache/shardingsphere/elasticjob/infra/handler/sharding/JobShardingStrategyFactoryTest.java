@@ -20,6 +20,8 @@ package org.apache.shardingsphere.elasticjob.infra.handler.sharding;
 import org.apache.shardingsphere.elasticjob.infra.exception.JobConfigurationException;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.impl.AverageAllocationJobShardingStrategy;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.impl.OdevitySortByNameJobShardingStrategy;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.impl.StickyJobShardingStrategy;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.impl.WeightedJobShardingStrategy;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
@@ -41,4 +43,14 @@ public final class JobShardingStrategyFactoryTest {
     public void assertGetStrategy() {
         assertThat(JobShardingStrategyFactory.getStrategy("ODEVITY"), instanceOf(OdevitySortByNameJobShardingStrategy.class));
     }
+    
+    @Test
+    public void assertGetStickyStrategy() {
+        assertThat(JobShardingStrategyFactory.getStrategy("STICKY"), instanceOf(StickyJobShardingStrategy.class));
+    }
+    
+    @Test
+    public void assertGetWeightedStrategy() {
+        assertThat(JobShardingStrategyFactory.getStrategy("WEIGHTED"), instanceOf(WeightedJobShardingStrategy.class));
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.infra.handler.sharding.impl;
+
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobShardingStrategy;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class StickyJobShardingStrategyTest {
+    
+    private final JobShardingStrategy jobShardingStrategy = new StickyJobShardingStrategy();
+    
+    @Test
+    public void assertShardingForZeroServer() {
+        assertThat(jobShardingStrategy.sharding(Collections.emptyList(), "test_job", 3, Collections.singletonMap(0, "host0@-@0")), is(Collections.<JobInstance, List<Integer>>emptyMap()));
+    }
+    
+    @Test
+    public void assertShardingWithoutPreviousAssignment() {
+        Map<JobInstance, List<Integer>> expected = new LinkedHashMap<>(3, 1);
+        expected.put(new JobInstance("host0@-@0"), Arrays.asList(0, 1, 6));
+        expected.put(new JobInstance("host1@-@0"), Arrays.asList(2, 3, 7));
+        expected.put(new JobInstance("host2@-@0"), Arrays.asList(4, 5));
+        assertThat(jobShardingStrategy.sharding(createJobInstances(3), "test_job", 8, Collections.emptyMap()), is(expected));
+    }
+    
+    @Test
+    public void assertShardingWhenServerOffline() {
+        Map<JobInstance, List<Integer>> expected = new LinkedHashMap<>(2, 1);
+        expected.put(new JobInstance("host0@-@0"), Arrays.asList(0, 1, 2, 6, 7));
+        expected.put(new JobInstance("host1@-@0"), Arrays.asList(3, 4, 5, 8));
+        assertThat(jobShardingStrategy.sharding(createJobInstances(2), "test_job", 9, createPreviousAssignment(3, 3, 3)), is(expected));
+    }
+    
+    @Test
+    public void assertShardingWhenServerOnline() {
+        Map<JobInstance, List<Integer>> expected = new LinkedHashMap<>(3, 1);
+        expected.put(new JobInstance("host0@-@0"), Arrays.asList(0, 1, 2));
+        expected.put(new JobInstance("host1@-@0"), Arrays.asList(4, 5, 6));
+        expected.put(new JobInstance("host2@-@0"), Arrays.asList(3, 7));
+        assertThat(jobShardingStrategy.sharding(createJobInstances(3), "test_job", 8, createPreviousAssignment(4, 4)), is(expected));
+    }
+    
+    @Test
+    public void assertShardingWhenShardingTotalCountIncreased() {
+        Map<JobInstance, List<Integer>> expected = new LinkedHashMap<>(2, 1);
+        expected.put(new JobInstance("host0@-@0"), Arrays.asList(0, 1, 4));
+        expected.put(new JobInstance("host1@-@0"), Arrays.asList(2, 3, 5));
+        assertThat(jobShardingStrategy.sharding(createJobInstances(2), "test_job", 6, createPreviousAssignment(2, 2)), is(expected));
+    }
+    
+    @Test
+    public void assertShardingWhenAssignmentUnchanged() {
+        Map<JobInstance, List<Integer>> expected = new LinkedHashMap<>(2, 1);
+        expected.put(new JobInstance("host0@-@0"), Arrays.asList(0, 1, 2));
+        expected.put(new JobInstance("host1@-@0"), Arrays.asList(3, 4));
+        assertThat(jobShardingStrategy.sharding(createJobInstances(2), "test_job", 5, createPreviousAssignment(3, 2)), is(expected));
+    }
+    
+    private List<JobInstance> createJobInstances(final int count) {
+        JobInstance[] result = new JobInstance[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = new JobInstance("host" + i + "@-@0");
+        }
+        return Arrays.asList(result);
+    }
+    
+    private Map<Integer, String> createPreviousAssignment(final int... itemCounts) {
+        Map<Integer, String> result = new HashMap<>();
+        int item = 0;
+        for (int i = 0; i < itemCounts.length; i++) {
+            for (int j = 0; j < itemCounts[i]; j++) {
+                result.put(item++, "host" + i + "@-@0");
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.infra.handler.sharding.impl;
+
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobShardingStrategy;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class WeightedJobShardingStrategyTest {
+    
+    private final JobShardingStrategy jobShardingStrategy = new WeightedJobShardingStrategy();
+    
+    @Test
+    public void assertShardingForZeroServer() {
+        assertThat(jobShardingStrategy.sharding(Collections.emptyList(), "test_job", 3), is(Collections.<JobInstance, List<Integer>>emptyMap()));
+    }
+    
+    @Test
+    public void assertShardingWithoutCapacity() {
+        Map<JobInstance, List<Integer>> expected = new LinkedHashMap<>(3, 1);
+        expected.put(new JobInstance("host0@-@0"), Arrays.asList(0, 1, 2));
+        expected.put(new JobInstance("host1@-@0"), Arrays.asList(3, 4, 5));
+        expected.put(new JobInstance("host2@-@0"), Arrays.asList(6, 7));
+        assertThat(jobShardingStrategy.sharding(Arrays.asList(new JobInstance("host0@-@0"), new JobInstance("host1@-@0"), new JobInstance("host2@-@0")), "test_job", 8), is(expected));
+    }
+    
+    @Test
+    public void assertShardingWithWeight() {
+        Map<JobInstance, List<Integer>> expected = new LinkedHashMap<>(2, 1);
+        expected.put(new JobInstance("host0@-@0"), Arrays.asList(0, 1));
+        expected.put(new JobInstance("host1@-@0"), Arrays.asList(2, 3, 4, 5, 6, 7));
+        assertThat(jobShardingStrategy.sharding(Arrays.asList(createJobInstance("host0@-@0", 1, 32), createJobInstance("host1@-@0", 3, 4)), "test_job", 8), is(expected));
+    }
+    
+    @Test
+    public void assertShardingWithAvailableProcessors() {
+        Map<JobInstance, List<Integer>> expected = new LinkedHashMap<>(2, 1);
+        expected.put(new JobInstance("host0@-@0"), Collections.singletonList(0));
+        expected.put(new JobInstance("host1@-@0"), Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8));
+        assertThat(jobShardingStrategy.sharding(Arrays.asList(createJobInstance("host0@-@0", null, 4), createJobInstance("host1@-@0", null, 32)), "test_job", 9), is(expected));
+    }
+    
+    @Test
+    public void assertShardingWithZeroWeight() {
+        Map<JobInstance, List<Integer>> expected = new LinkedHashMap<>(2, 1);
+        expected.put(new JobInstance("host0@-@0"), Collections.emptyList());
+        expected.put(new JobInstance("host1@-@0"), Arrays.asList(0, 1, 2));
+        assertThat(jobShardingStrategy.sharding(Arrays.asList(createJobInstance("host0@-@0", 0, null), createJobInstance("host1@-@0", 1, null)), "test_job", 3), is(expected));
+    }
+    
+    @Test
+    public void assertShardingWithAllZeroWeight() {
+        Map<JobInstance, List<Integer>> expected = new LinkedHashMap<>(2, 1);
+        expected.put(new JobInstance("host0@-@0"), Arrays.asList(0, 1));
+        expected.put(new JobInstance("host1@-@0"), Collections.singletonList(2));
+        assertThat(jobShardingStrategy.sharding(Arrays.asList(createJobInstance("host0@-@0", 0, null), createJobInstance("host1@-@0", 0, null)), "test_job", 3), is(expected));
+    }
+    
+    @Test
+    public void assertShardingWithOverloadedInstance() {
+        JobInstance overloadedJobInstance = createJobInstance("host1@-@0", 1, null);
+        overloadedJobInstance.setCpuLoad(2D);
+        Map<JobInstance, List<Integer>> expected = new LinkedHashMap<>(2, 1);
+        expected.put(new JobInstance("host0@-@0"), Arrays.asList(0, 1, 2, 3));
+        expected.put(new JobInstance("host1@-@0"), Arrays.asList(4, 5));
+        assertThat(jobShardingStrategy.sharding(Arrays.asList(createJobInstance("host0@-@0", 1, null), overloadedJobInstance), "test_job", 6), is(expected));
+    }
+    
+    @Test
+    public void assertShardingWithSlowInstance() {
+        JobInstance fastJobInstance = createJobInstance("host0@-@0", 1, null);
+        fastJobInstance.setItemElapsedMillis(100L);
+        JobInstance slowJobInstance = createJobInstance("host1@-@0", 1, null);
+        slowJobInstance.setItemElapsedMillis(500L);
+        Map<JobInstance, List<Integer>> expected = new LinkedHashMap<>(2, 1);
+        expected.put(new JobInstance("host0@-@0"), Arrays.asList(0, 1, 2, 3, 4));
+        expected.put(new JobInstance("host1@-@0"), Arrays.asList(5, 6, 7));
+        assertThat(jobShardingStrategy.sharding(Arrays.asList(fastJobInstance, slowJobInstance), "test_job", 8), is(expected));
+    }
+    
+    private JobInstance createJobInstance(final String jobInstanceId, final Integer weight, final Integer availableProcessors) {
+        JobInstance result = new JobInstance(jobInstanceId);
+        result.setWeight(weight);
+        result.setAvailableProcessors(availableProcessors);
+        return result;
+    }
+}
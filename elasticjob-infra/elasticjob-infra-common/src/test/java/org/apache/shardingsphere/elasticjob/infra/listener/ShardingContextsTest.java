@@ -20,10 +20,13 @@ package org.apache.shardingsphere.elasticjob.infra.listener;
 import org.apache.shardingsphere.elasticjob.api.ShardingContext;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 
 public final class ShardingContextsTest {
@@ -40,6 +43,18 @@ public final class ShardingContextsTest {
         assertThat(actual.getShardingParameter(), is(shardingContexts.getShardingItemParameters().get(1)));
     }
     
+    @Test
+    public void assertCreateShardingContexts() {
+        ShardingContexts shardingContexts = createShardingContexts();
+        shardingContexts.setAllowSendJobEvent(false);
+        ShardingContexts actual = shardingContexts.createShardingContexts(Arrays.asList(1, 2));
+        assertThat(actual.getJobName(), is(shardingContexts.getJobName()));
+        assertThat(actual.getTaskId(), is(shardingContexts.getTaskId()));
+        assertThat(actual.getShardingTotalCount(), is(shardingContexts.getShardingTotalCount()));
+        assertThat(actual.getShardingItemParameters(), is(Collections.singletonMap(1, "B")));
+        assertFalse(actual.isAllowSendJobEvent());
+    }
+    
     private ShardingContexts createShardingContexts() {
         Map<Integer, String> map = new HashMap<>(2, 1);
         map.put(0, "A");
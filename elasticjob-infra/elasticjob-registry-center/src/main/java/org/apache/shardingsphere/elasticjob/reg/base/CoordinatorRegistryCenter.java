@@ -17,7 +17,12 @@
 
 package org.apache.shardingsphere.elasticjob.reg.base;
 
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
+import org.apache.shardingsphere.elasticjob.reg.listener.ConnectionStateChangedEventListener;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEventListener;
+
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Coordinator registry center.
@@ -72,6 +77,16 @@ public interface CoordinatorRegistryCenter extends RegistryCenter {
      */
     void persistEphemeralSequential(String key);
     
+    /**
+     * Set value if current value equals to the expected value, atomically.
+     * 
+     * @param key key
+     * @param expectedValue expected current value, null means key should not be existed
+     * @param newValue new value
+     * @return set success or not
+     */
+    boolean compareAndSet(String key, String expectedValue, String newValue);
+    
     /**
      * Add data to cache.
      * 
@@ -79,6 +94,18 @@ public interface CoordinatorRegistryCenter extends RegistryCenter {
      */
     void addCacheData(String cachePath);
     
+    /**
+     * Add data to cache, only keep values of the paths which match value cached predicate.
+     * 
+     * <p>
+     * Paths not matched are still watched and notified to cache listeners, but their values are read from registry center directly.
+     * </p>
+     *
+     * @param cachePath cache path
+     * @param valueCachedPredicate predicate to judge whether the value of path should be cached
+     */
+    void addCacheData(String cachePath, Predicate<String> valueCachedPredicate);
+    
     /**
      * Evict data from cache.
      *
@@ -93,4 +120,35 @@ public interface CoordinatorRegistryCenter extends RegistryCenter {
      * @return raw cache object of registry center
      */
     Object getRawCache(String cachePath);
+    
+    /**
+     * Execute operations in transaction.
+     * 
+     * @param transactionOperations transaction operations
+     * @throws Exception exception
+     */
+    void executeInTransaction(List<TransactionOperation> transactionOperations) throws Exception;
+    
+    /**
+     * Execute callback in leader.
+     * 
+     * @param key key of leader latch
+     * @param callback leader execution callback
+     */
+    void executeInLeader(String key, LeaderExecutionCallback callback);
+    
+    /**
+     * Watch data changed events of cache path, cache will be added if not existed.
+     * 
+     * @param cachePath cache path
+     * @param listener data changed event listener
+     */
+    void watch(String cachePath, DataChangedEventListener listener);
+    
+    /**
+     * Add connection state changed event listener.
+     * 
+     * @param listener connection state changed event listener
+     */
+    void addConnectionStateChangedEventListener(ConnectionStateChangedEventListener listener);
 }
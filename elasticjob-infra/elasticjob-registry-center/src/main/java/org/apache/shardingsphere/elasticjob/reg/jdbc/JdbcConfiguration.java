@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.jdbc;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import javax.sql.DataSource;
+
+/**
+ * JDBC configuration.
+ */
+@Getter
+@Setter
+@RequiredArgsConstructor
+public final class JdbcConfiguration {
+    
+    /**
+     * Data source of registry center tables.
+     */
+    private final DataSource dataSource;
+    
+    /**
+     * Namespace.
+     */
+    private final String namespace;
+    
+    /**
+     * Prefix of registry center table names.
+     */
+    private String tablePrefix = "REG_";
+    
+    /**
+     * Session timeout milliseconds.
+     * 
+     * <p>
+     * Ephemeral nodes are removed when their session has not been renewed by heartbeat for this period.
+     * </p>
+     */
+    private int sessionTimeoutMilliseconds = 30000;
+    
+    /**
+     * Interval milliseconds of polling changes for caches.
+     */
+    private int pollIntervalMilliseconds = 500;
+}
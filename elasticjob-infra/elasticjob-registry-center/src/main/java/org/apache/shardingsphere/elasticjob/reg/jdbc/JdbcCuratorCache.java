@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.jdbc;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.curator.framework.listen.Listenable;
+import org.apache.curator.framework.listen.StandardListenerManager;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener.Type;
+
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Cache of JDBC registry center.
+ * 
+ * <p>
+ * Cache keeps a snapshot of the sub tree, registry center refreshes it when revision changed and node events are diffed from the snapshots.
+ * </p>
+ */
+@RequiredArgsConstructor
+final class JdbcCuratorCache implements CuratorCache {
+    
+    private final String cachePath;
+    
+    private final StandardListenerManager<CuratorCacheListener> listenerManager = StandardListenerManager.standard();
+    
+    private volatile NavigableMap<String, ChildData> snapshot = new TreeMap<>();
+    
+    @Getter(AccessLevel.PACKAGE)
+    private volatile long subTreeZxid = -1L;
+    
+    @Override
+    public void start() {
+        listenerManager.forEach(CuratorCacheListener::initialized);
+    }
+    
+    @Override
+    public void close() {
+        listenerManager.clear();
+    }
+    
+    @Override
+    public Listenable<CuratorCacheListener> listenable() {
+        return listenerManager;
+    }
+    
+    @Override
+    public Optional<ChildData> get(final String path) {
+        return Optional.ofNullable(snapshot.get(path));
+    }
+    
+    @Override
+    public int size() {
+        return snapshot.size();
+    }
+    
+    @Override
+    public Stream<ChildData> stream() {
+        return snapshot.values().stream();
+    }
+    
+    /**
+     * Refresh snapshot and notify listeners the differences.
+     * 
+     * <p>
+     * Deleted nodes are notified from leaves to root and created nodes from root to leaves, data changes are judged by modified zxid.
+     * </p>
+     * 
+     * @param latest latest snapshot of the sub tree
+     * @param subTreeZxid max modified or children zxid of the sub tree when the snapshot was taken
+     */
+    void refresh(final NavigableMap<String, ChildData> latest, final long subTreeZxid) {
+        NavigableMap<String, ChildData> previous = snapshot;
+        snapshot = latest;
+        this.subTreeZxid = subTreeZxid;
+        for (Entry<String, ChildData> entry : previous.descendingMap().entrySet()) {
+            if (!latest.containsKey(entry.getKey())) {
+                listenerManager.forEach(listener -> listener.event(Type.NODE_DELETED, entry.getValue(), null));
+            }
+        }
+        for (Entry<String, ChildData> entry : latest.entrySet()) {
+            ChildData oldData = previous.get(entry.getKey());
+            if (null == oldData) {
+                listenerManager.forEach(listener -> listener.event(Type.NODE_CREATED, null, entry.getValue()));
+            } else if (oldData.getStat().getMzxid() != entry.getValue().getStat().getMzxid()) {
+                listenerManager.forEach(listener -> listener.event(Type.NODE_CHANGED, oldData, entry.getValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,925 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.jdbc;
+
+import com.google.common.base.Preconditions;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.LeaderExecutionCallback;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
+import org.apache.shardingsphere.elasticjob.reg.exception.RegException;
+import org.apache.shardingsphere.elasticjob.reg.exception.RegExceptionHandler;
+import org.apache.shardingsphere.elasticjob.reg.listener.ConnectionStateChangedEventListener;
+import org.apache.shardingsphere.elasticjob.reg.listener.ConnectionStateChangedEventListener.State;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEventListener;
+import org.apache.shardingsphere.elasticjob.reg.zookeeper.CuratorCacheListenerAdapter;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.data.Stat;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Registry center of JDBC.
+ * 
+ * <p>
+ * Nodes are rows of node table indexed by parent path, every write runs in a database transaction which increases the single revision row first,
+ * so writes are serialized like ZooKeeper and the revision is used as zxid.
+ * Ephemeral nodes are owned by the session of registry center, which is renewed by heartbeat and expired by any alive registry center after session timeout.
+ * Caches poll the revision, and when it changed reload only the sub trees whose max modified or children zxid changed.
+ * Leader lock rows are leases renewed by the heartbeat of holder, a lock row not renewed within session timeout is taken over by others.
+ * </p>
+ */
+@Slf4j
+public final class JdbcRegistryCenter implements CoordinatorRegistryCenter {
+    
+    private static final String ROOT = "/";
+    
+    private static final String LEADER_LOCK_NODE = "/lock";
+    
+    private static final int SEQUENCE_LENGTH = 10;
+    
+    @Getter(AccessLevel.PROTECTED)
+    private final JdbcConfiguration jdbcConfig;
+    
+    private final DataSource dataSource;
+    
+    private final JdbcRegistryCenterSQL sql;
+    
+    private final String namespacePath;
+    
+    private final long sessionId = UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE;
+    
+    private final Map<String, JdbcCuratorCache> caches = new ConcurrentHashMap<>();
+    
+    private final Map<String, ReentrantLock> leaderLocks = new ConcurrentHashMap<>();
+    
+    private final Set<String> heldLockPaths = ConcurrentHashMap.newKeySet();
+    
+    private final AtomicBoolean cacheRefreshScheduled = new AtomicBoolean();
+    
+    private final List<ConnectionStateChangedEventListener> connectionStateListeners = new CopyOnWriteArrayList<>();
+    
+    private volatile boolean connected = true;
+    
+    private ScheduledExecutorService heartbeatExecutor;
+    
+    private ScheduledExecutorService cacheExecutor;
+    
+    private volatile long cachedRevision = -1L;
+    
+    public JdbcRegistryCenter(final JdbcConfiguration jdbcConfig) {
+        this.jdbcConfig = jdbcConfig;
+        dataSource = jdbcConfig.getDataSource();
+        sql = new JdbcRegistryCenterSQL(jdbcConfig.getTablePrefix());
+        namespacePath = ROOT + jdbcConfig.getNamespace();
+    }
+    
+    @Override
+    public void init() {
+        log.debug("Elastic job: jdbc registry center init, namespace is: {}.", jdbcConfig.getNamespace());
+        try {
+            initTables();
+            executeInWriteTransaction((connection, zxid) -> {
+                if (!isNodeExisted(connection, namespacePath)) {
+                    insertNode(connection, zxid, namespacePath, "", 0L);
+                }
+                return null;
+            });
+            executeUpdate(sql.getInsertSession(), sessionId);
+        } catch (final SQLException | KeeperException ex) {
+            RegExceptionHandler.handleException(ex);
+        }
+        heartbeatExecutor = createExecutor("jdbc-registry-center-heartbeat");
+        int heartbeatIntervalMilliseconds = Math.max(1, jdbcConfig.getSessionTimeoutMilliseconds() / 3);
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMilliseconds, heartbeatIntervalMilliseconds, TimeUnit.MILLISECONDS);
+        cacheExecutor = createExecutor("jdbc-registry-center-cache");
+        cacheExecutor.scheduleWithFixedDelay(this::refreshCaches, jdbcConfig.getPollIntervalMilliseconds(), jdbcConfig.getPollIntervalMilliseconds(), TimeUnit.MILLISECONDS);
+    }
+    
+    private ScheduledExecutorService createExecutor(final String threadName) {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread result = new Thread(runnable, threadName);
+            result.setDaemon(true);
+            return result;
+        });
+    }
+    
+    private void initTables() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!existsTable(connection, sql.getNodeTable())) {
+                execute(connection, sql.getCreateNodeTable());
+                execute(connection, sql.getCreateNodeParentIndex());
+            }
+            if (!existsTable(connection, sql.getSessionTable())) {
+                execute(connection, sql.getCreateSessionTable());
+            }
+            if (!existsTable(connection, sql.getRevisionTable())) {
+                execute(connection, sql.getCreateRevisionTable());
+                execute(connection, sql.getInsertRevision());
+            }
+        }
+    }
+    
+    private boolean existsTable(final Connection connection, final String tableName) throws SQLException {
+        for (String each : new String[]{tableName, tableName.toLowerCase()}) {
+            try (ResultSet resultSet = connection.getMetaData().getTables(connection.getCatalog(), null, each, new String[]{"TABLE"})) {
+                if (resultSet.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private void execute(final Connection connection, final String statement) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(statement)) {
+            preparedStatement.execute();
+        }
+    }
+    
+    @Override
+    public void close() {
+        if (null != heartbeatExecutor) {
+            heartbeatExecutor.shutdownNow();
+        }
+        for (JdbcCuratorCache each : caches.values()) {
+            each.close();
+        }
+        caches.clear();
+        if (null != cacheExecutor) {
+            cacheExecutor.shutdownNow();
+        }
+        try {
+            expireSession(sessionId);
+        } catch (final SQLException | KeeperException ex) {
+            RegExceptionHandler.handleException(ex);
+        }
+    }
+    
+    @Override
+    public String get(final String key) {
+        Optional<JdbcCuratorCache> cache = findCache(key);
+        if (!cache.isPresent()) {
+            return getDirectly(key);
+        }
+        return cache.get().get(key).map(each -> null == each.getData() ? null : new String(each.getData(), StandardCharsets.UTF_8)).orElse(null);
+    }
+    
+    private Optional<JdbcCuratorCache> findCache(final String key) {
+        if (caches.isEmpty()) {
+            return Optional.empty();
+        }
+        String path = key;
+        while (true) {
+            JdbcCuratorCache result = caches.get(path);
+            if (null != result) {
+                return Optional.of(result);
+            }
+            if (ROOT.equals(path) || path.isEmpty()) {
+                return Optional.empty();
+            }
+            path = getParentPath(path);
+        }
+    }
+    
+    @Override
+    public String getDirectly(final String key) {
+        try (Connection connection = dataSource.getConnection()) {
+            return selectNode(connection, toStoragePath(key)).map(each -> new String(each.getData(), StandardCharsets.UTF_8)).orElse(null);
+        } catch (final SQLException ex) {
+            RegExceptionHandler.handleException(ex);
+            return null;
+        }
+    }
+    
+    @Override
+    public List<String> getChildrenKeys(final String key) {
+        try (Connection connection = dataSource.getConnection()) {
+            List<String> result = getChildrenPaths(connection, toStoragePath(key));
+            result.replaceAll(this::getNodeName);
+            result.sort(Comparator.reverseOrder());
+            return result;
+        } catch (final SQLException ex) {
+            RegExceptionHandler.handleException(ex);
+            return Collections.emptyList();
+        }
+    }
+    
+    @Override
+    public int getNumChildren(final String key) {
+        try (Connection connection = dataSource.getConnection()) {
+            return countChildren(connection, toStoragePath(key));
+        } catch (final SQLException ex) {
+            RegExceptionHandler.handleException(ex);
+            return 0;
+        }
+    }
+    
+    @Override
+    public boolean isExisted(final String key) {
+        try (Connection connection = dataSource.getConnection()) {
+            return isNodeExisted(connection, toStoragePath(key));
+        } catch (final SQLException ex) {
+            RegExceptionHandler.handleException(ex);
+            return false;
+        }
+    }
+    
+    @Override
+    public void persist(final String key, final String value) {
+        String path = toStoragePath(key);
+        executeQuietly((connection, zxid) -> {
+            if (isNodeExisted(connection, path)) {
+                updateNode(connection, zxid, path, value);
+            } else {
+                createNode(connection, zxid, path, value, 0L, true);
+            }
+            return null;
+        });
+    }
+    
+    @Override
+    public void update(final String key, final String value) {
+        String path = toStoragePath(key);
+        executeQuietly((connection, zxid) -> {
+            updateNode(connection, zxid, path, value);
+            return null;
+        });
+    }
+    
+    @Override
+    public boolean compareAndSet(final String key, final String expectedValue, final String newValue) {
+        String path = toStoragePath(key);
+        return Boolean.TRUE.equals(executeQuietly((connection, zxid) -> {
+            Optional<ChildData> node = selectNode(connection, path);
+            if (null == expectedValue) {
+                if (node.isPresent()) {
+                    return false;
+                }
+                createNode(connection, zxid, path, newValue, 0L, true);
+                return true;
+            }
+            if (!node.isPresent() || !expectedValue.equals(new String(node.get().getData(), StandardCharsets.UTF_8))) {
+                return false;
+            }
+            updateNode(connection, zxid, path, newValue);
+            return true;
+        }));
+    }
+    
+    @Override
+    public void persistEphemeral(final String key, final String value) {
+        String path = toStoragePath(key);
+        executeQuietly((connection, zxid) -> {
+            if (isNodeExisted(connection, path)) {
+                deleteNode(connection, zxid, path, true);
+            }
+            createNode(connection, zxid, path, value, sessionId, true);
+            return null;
+        });
+    }
+    
+    @Override
+    public String persistSequential(final String key, final String value) {
+        String result = executeQuietly((connection, zxid) -> createSequentialNode(connection, zxid, toStoragePath(key), value, 0L));
+        return null == result ? null : toKey(result);
+    }
+    
+    @Override
+    public void persistEphemeralSequential(final String key) {
+        executeQuietly((connection, zxid) -> createSequentialNode(connection, zxid, toStoragePath(key), "", sessionId));
+    }
+    
+    private String createSequentialNode(final Connection connection, final long zxid, final String pathPrefix, final String value, final long ephemeralOwner) throws SQLException, KeeperException {
+        String parentPath = getParentPath(pathPrefix);
+        createParentsIfNeeded(connection, zxid, parentPath);
+        String result = pathPrefix + String.format("%0" + SEQUENCE_LENGTH + "d", nextSequence(connection, parentPath));
+        createNode(connection, zxid, result, value, ephemeralOwner, false);
+        return result;
+    }
+    
+    @Override
+    public void remove(final String key) {
+        String path = toStoragePath(key);
+        executeQuietly((connection, zxid) -> {
+            if (namespacePath.equals(path)) {
+                for (String each : getChildrenPaths(connection, path)) {
+                    deleteNode(connection, zxid, each, true);
+                }
+            } else if (isNodeExisted(connection, path)) {
+                deleteNode(connection, zxid, path, true);
+            }
+            return null;
+        });
+    }
+    
+    @Override
+    public long getRegistryCenterTime(final String key) {
+        persist(key, "");
+        long result = 0L;
+        try (Connection connection = dataSource.getConnection()) {
+            result = selectNode(connection, toStoragePath(key)).map(each -> each.getStat().getMtime()).orElse(0L);
+        } catch (final SQLException ex) {
+            RegExceptionHandler.handleException(ex);
+        }
+        Preconditions.checkState(0L != result, "Cannot get registry center time.");
+        return result;
+    }
+    
+    @Override
+    public Object getRawClient() {
+        return dataSource;
+    }
+    
+    @Override
+    public void addCacheData(final String cachePath) {
+        JdbcCuratorCache cache = new JdbcCuratorCache(cachePath);
+        try (Connection connection = dataSource.getConnection()) {
+            long subTreeZxid = selectSubTreeMaxZxid(connection, cachePath);
+            cache.refresh(selectSubTree(connection, cachePath), subTreeZxid);
+        } catch (final SQLException ex) {
+            RegExceptionHandler.handleException(ex);
+        }
+        cache.start();
+        caches.put(cachePath, cache);
+    }
+    
+    /**
+     * Add data to cache.
+     * 
+     * <p>
+     * Cache reloads the whole sub tree in one query when nodes of it changed, value cached predicate is ignored.
+     * </p>
+     *
+     * @param cachePath cache path
+     * @param valueCachedPredicate predicate to judge whether the value of path should be cached
+     */
+    @Override
+    public void addCacheData(final String cachePath, final Predicate<String> valueCachedPredicate) {
+        addCacheData(cachePath);
+    }
+    
+    @Override
+    public void evictCacheData(final String cachePath) {
+        JdbcCuratorCache cache = caches.remove(cachePath);
+        if (null != cache) {
+            cache.close();
+        }
+    }
+    
+    @Override
+    public Object getRawCache(final String cachePath) {
+        return caches.get(cachePath);
+    }
+    
+    @Override
+    public void executeInTransaction(final List<TransactionOperation> transactionOperations) throws SQLException, KeeperException {
+        executeInWriteTransaction((connection, zxid) -> {
+            for (TransactionOperation each : transactionOperations) {
+                String path = toStoragePath(each.getKey());
+                switch (each.getType()) {
+                    case ADD:
+                        createNode(connection, zxid, path, each.getValue(), 0L, false);
+                        break;
+                    case ADD_EPHEMERAL:
+                        createNode(connection, zxid, path, each.getValue(), sessionId, false);
+                        break;
+                    case UPDATE:
+                        updateNode(connection, zxid, path, each.getValue());
+                        break;
+                    case DELETE:
+                        if (!isNodeExisted(connection, path)) {
+                            throw new KeeperException.NoNodeException(each.getKey());
+                        }
+                        deleteNode(connection, zxid, path, false);
+                        break;
+                    case CHECK_EXISTS:
+                        if (!isNodeExisted(connection, path)) {
+                            throw new KeeperException.NoNodeException(each.getKey());
+                        }
+                        break;
+                    default:
+                        throw new UnsupportedOperationException(each.toString());
+                }
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * Execute callback in leader.
+     * 
+     * <p>
+     * Leader holds an ephemeral lock node under the latch key and renews it on every heartbeat,
+     * others poll it in the interval of cache polling until it is released, its session expired or it was not renewed within session timeout.
+     * </p>
+     * 
+     * @param key key of leader latch
+     * @param callback leader execution callback
+     */
+    @Override
+    public void executeInLeader(final String key, final LeaderExecutionCallback callback) {
+        ReentrantLock localLock = leaderLocks.computeIfAbsent(key, unused -> new ReentrantLock());
+        try {
+            localLock.lockInterruptibly();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            executeWithLockNode(toStoragePath(key + LEADER_LOCK_NODE), callback);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (final SQLException | KeeperException ex) {
+            throw new RegException(ex);
+        } finally {
+            localLock.unlock();
+        }
+    }
+    
+    private void executeWithLockNode(final String lockPath, final LeaderExecutionCallback callback) throws InterruptedException, SQLException, KeeperException {
+        while (!tryCreateLockNode(lockPath)) {
+            Thread.sleep(jdbcConfig.getPollIntervalMilliseconds());
+        }
+        heldLockPaths.add(lockPath);
+        try {
+            callback.execute();
+        } finally {
+            heldLockPaths.remove(lockPath);
+            releaseLockNode(lockPath);
+        }
+    }
+    
+    private void releaseLockNode(final String lockPath) throws SQLException, KeeperException {
+        executeInWriteTransaction((connection, zxid) -> {
+            Optional<ChildData> lockNode = selectNode(connection, lockPath);
+            if (lockNode.isPresent() && sessionId == lockNode.get().getStat().getEphemeralOwner()) {
+                deleteNode(connection, zxid, lockPath, false);
+            }
+            return null;
+        });
+    }
+    
+    private boolean tryCreateLockNode(final String lockPath) throws SQLException, KeeperException {
+        return executeInWriteTransaction((connection, zxid) -> {
+            Optional<ChildData> lockNode = selectNode(connection, lockPath);
+            if (lockNode.isPresent()) {
+                if (!isLockLeaseExpired(connection, lockNode.get())) {
+                    return false;
+                }
+                log.warn("Elastic job: jdbc registry center lock `{}` was not renewed by session `{}` within session timeout, take it over.",
+                        toKey(lockPath), lockNode.get().getStat().getEphemeralOwner());
+                deleteNode(connection, zxid, lockPath, true);
+            }
+            createNode(connection, zxid, lockPath, "", sessionId, true);
+            return true;
+        });
+    }
+    
+    private boolean isLockLeaseExpired(final Connection connection, final ChildData lockNode) throws SQLException {
+        Optional<Timestamp> now = selectSessionHeartbeatTime(connection);
+        return now.isPresent() && lockNode.getStat().getMtime() < now.get().getTime() - jdbcConfig.getSessionTimeoutMilliseconds();
+    }
+    
+    @Override
+    public void watch(final String cachePath, final DataChangedEventListener listener) {
+        if (!caches.containsKey(cachePath)) {
+            addCacheData(cachePath);
+        }
+        caches.get(cachePath).listenable().addListener(new CuratorCacheListenerAdapter(listener));
+    }
+    
+    /**
+     * Add connection state changed event listener.
+     * 
+     * <p>
+     * Connection is suspended when heartbeat failed, and lost when session has been expired by other registry centers.
+     * It is reconnected when heartbeat succeeds again.
+     * </p>
+     * 
+     * @param listener connection state changed event listener
+     */
+    @Override
+    public void addConnectionStateChangedEventListener(final ConnectionStateChangedEventListener listener) {
+        connectionStateListeners.add(listener);
+    }
+    
+    private void heartbeat() {
+        try {
+            if (0 == executeUpdate(sql.getRenewSession(), sessionId)) {
+                log.warn("Elastic job: jdbc registry center session `{}` was expired, ephemeral nodes of it have been removed.", sessionId);
+                fireConnectionStateChanged(State.LOST);
+                executeUpdate(sql.getInsertSession(), sessionId);
+                connected = false;
+            }
+            if (!connected) {
+                connected = true;
+                fireConnectionStateChanged(State.RECONNECTED);
+            }
+            for (String each : heldLockPaths) {
+                renewLockNode(each);
+            }
+            for (long each : selectExpiredSessions()) {
+                expireSession(each);
+            }
+        //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+        //CHECKSTYLE:ON
+            log.error("Elastic job: jdbc registry center heartbeat failure.", ex);
+            if (connected) {
+                connected = false;
+                fireConnectionStateChanged(State.SUSPENDED);
+            }
+        }
+    }
+    
+    private void renewLockNode(final String lockPath) throws SQLException {
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(sql.getTouchEphemeralNode())) {
+            preparedStatement.setString(1, lockPath);
+            preparedStatement.setLong(2, sessionId);
+            preparedStatement.executeUpdate();
+        }
+    }
+    
+    private void fireConnectionStateChanged(final State newState) {
+        for (ConnectionStateChangedEventListener each : connectionStateListeners) {
+            each.onStateChanged(this, newState);
+        }
+    }
+    
+    private List<Long> selectExpiredSessions() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            Optional<Timestamp> now = selectSessionHeartbeatTime(connection);
+            return now.isPresent() ? selectSessionsBefore(connection, new Timestamp(now.get().getTime() - jdbcConfig.getSessionTimeoutMilliseconds())) : Collections.emptyList();
+        }
+    }
+    
+    private Optional<Timestamp> selectSessionHeartbeatTime(final Connection connection) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getSelectSessionHeartbeatTime())) {
+            preparedStatement.setLong(1, sessionId);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? Optional.of(resultSet.getTimestamp(1)) : Optional.empty();
+            }
+        }
+    }
+    
+    private List<Long> selectSessionsBefore(final Connection connection, final Timestamp expiredTime) throws SQLException {
+        List<Long> result = new ArrayList<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getSelectExpiredSessions())) {
+            preparedStatement.setTimestamp(1, expiredTime);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    result.add(resultSet.getLong(1));
+                }
+            }
+        }
+        return result;
+    }
+    
+    private void expireSession(final long expiredSessionId) throws SQLException, KeeperException {
+        executeInWriteTransaction((connection, zxid) -> {
+            for (String each : selectParentPathsOfEphemeralNodes(connection, expiredSessionId)) {
+                increaseChildrenVersion(connection, zxid, each);
+            }
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getDeleteEphemeralNodes())) {
+                preparedStatement.setLong(1, expiredSessionId);
+                preparedStatement.executeUpdate();
+            }
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getDeleteSession())) {
+                preparedStatement.setLong(1, expiredSessionId);
+                preparedStatement.executeUpdate();
+            }
+            return null;
+        });
+    }
+    
+    private List<String> selectParentPathsOfEphemeralNodes(final Connection connection, final long ephemeralOwner) throws SQLException {
+        List<String> result = new ArrayList<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getSelectParentPathsOfEphemeralNodes())) {
+            preparedStatement.setLong(1, ephemeralOwner);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    result.add(resultSet.getString(1));
+                }
+            }
+        }
+        return result;
+    }
+    
+    private void refreshCaches() {
+        cacheRefreshScheduled.set(false);
+        if (caches.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            long revision = selectRevision(connection);
+            if (revision == cachedRevision) {
+                return;
+            }
+            for (Map.Entry<String, JdbcCuratorCache> entry : caches.entrySet()) {
+                long subTreeZxid = selectSubTreeMaxZxid(connection, entry.getKey());
+                if (subTreeZxid != entry.getValue().getSubTreeZxid()) {
+                    entry.getValue().refresh(selectSubTree(connection, entry.getKey()), subTreeZxid);
+                }
+            }
+            cachedRevision = revision;
+        //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+        //CHECKSTYLE:ON
+            log.error("Elastic job: jdbc registry center refresh caches failure.", ex);
+        }
+    }
+    
+    private void scheduleCacheRefresh() {
+        if (null != cacheExecutor && !cacheExecutor.isShutdown() && !caches.isEmpty() && cacheRefreshScheduled.compareAndSet(false, true)) {
+            cacheExecutor.execute(this::refreshCaches);
+        }
+    }
+    
+    private long selectRevision(final Connection connection) throws SQLException {
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement(sql.getSelectRevision());
+                ResultSet resultSet = preparedStatement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+    
+    private <T> T executeQuietly(final WriteCallback<T> callback) {
+        try {
+            return executeInWriteTransaction(callback);
+        } catch (final SQLException | KeeperException ex) {
+            RegExceptionHandler.handleException(ex);
+            return null;
+        }
+    }
+    
+    private <T> T executeInWriteTransaction(final WriteCallback<T> callback) throws SQLException, KeeperException {
+        T result;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            result = executeInWriteTransaction(connection, callback);
+        }
+        scheduleCacheRefresh();
+        return result;
+    }
+    
+    private <T> T executeInWriteTransaction(final Connection connection, final WriteCallback<T> callback) throws SQLException, KeeperException {
+        try {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getIncreaseRevision())) {
+                preparedStatement.executeUpdate();
+            }
+            T result = callback.execute(connection, selectRevision(connection));
+            connection.commit();
+            return result;
+        //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+        //CHECKSTYLE:ON
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+    
+    private int executeUpdate(final String statement, final long parameter) throws SQLException {
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(statement)) {
+            preparedStatement.setLong(1, parameter);
+            return preparedStatement.executeUpdate();
+        }
+    }
+    
+    private boolean isNodeExisted(final Connection connection, final String path) throws SQLException {
+        return selectNode(connection, path).isPresent();
+    }
+    
+    private Optional<ChildData> selectNode(final Connection connection, final String path) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getSelectNode())) {
+            preparedStatement.setString(1, path);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? Optional.of(toChildData(resultSet)) : Optional.empty();
+            }
+        }
+    }
+    
+    /*
+     * Creating or deleting a node changes children zxid of its parent and updating a node changes its modified zxid, both are increasing,
+     * so the max of them changes whenever anything in the sub tree changed, or becomes zero when the whole sub tree has been deleted.
+     */
+    private long selectSubTreeMaxZxid(final Connection connection, final String cachePath) throws SQLException {
+        String path = toStoragePath(cachePath);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getSelectSubTreeMaxZxid())) {
+            preparedStatement.setString(1, path);
+            preparedStatement.setString(2, getDescendantPattern(path));
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? Math.max(resultSet.getLong(1), resultSet.getLong(2)) : 0L;
+            }
+        }
+    }
+    
+    private NavigableMap<String, ChildData> selectSubTree(final Connection connection, final String cachePath) throws SQLException {
+        NavigableMap<String, ChildData> result = new TreeMap<>();
+        String path = toStoragePath(cachePath);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getSelectSubTreeNodes())) {
+            preparedStatement.setString(1, path);
+            preparedStatement.setString(2, getDescendantPattern(path));
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    ChildData childData = toChildData(resultSet);
+                    result.put(childData.getPath(), childData);
+                }
+            }
+        }
+        return result;
+    }
+    
+    private ChildData toChildData(final ResultSet resultSet) throws SQLException {
+        String value = resultSet.getString("node_value");
+        byte[] data = null == value ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        long mzxid = resultSet.getLong("mzxid");
+        Stat stat = new Stat(resultSet.getLong("czxid"), mzxid, resultSet.getTimestamp("ctime").getTime(), resultSet.getTimestamp("mtime").getTime(),
+                resultSet.getInt("data_version"), resultSet.getInt("children_version"), 0, resultSet.getLong("ephemeral_owner"), data.length, 0, resultSet.getLong("pzxid"));
+        return new ChildData(toKey(resultSet.getString("node_path")), stat, data);
+    }
+    
+    private List<String> getChildrenPaths(final Connection connection, final String path) throws SQLException {
+        List<String> result = new ArrayList<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getSelectChildrenPaths())) {
+            preparedStatement.setString(1, path);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    result.add(resultSet.getString(1));
+                }
+            }
+        }
+        return result;
+    }
+    
+    private int countChildren(final Connection connection, final String path) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getCountChildren())) {
+            preparedStatement.setString(1, path);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+    
+    private void createParentsIfNeeded(final Connection connection, final long zxid, final String path) throws SQLException, KeeperException {
+        if (!isNodeExisted(connection, path)) {
+            createNode(connection, zxid, path, "", 0L, true);
+        }
+    }
+    
+    private void createNode(final Connection connection, final long zxid, final String path, final String value, final long ephemeralOwner,
+                            final boolean creatingParentsIfNeeded) throws SQLException, KeeperException {
+        String parentPath = getParentPath(path);
+        Optional<ChildData> parent = selectNode(connection, parentPath);
+        if (!parent.isPresent()) {
+            if (!creatingParentsIfNeeded) {
+                throw new KeeperException.NoNodeException(toKey(parentPath));
+            }
+            createNode(connection, zxid, parentPath, "", 0L, true);
+        } else if (0L != parent.get().getStat().getEphemeralOwner()) {
+            throw new KeeperException.NoChildrenForEphemeralsException(toKey(path));
+        }
+        if (isNodeExisted(connection, path)) {
+            throw new KeeperException.NodeExistsException(toKey(path));
+        }
+        insertNode(connection, zxid, path, value, ephemeralOwner);
+        increaseChildrenVersion(connection, zxid, parentPath);
+    }
+    
+    private void insertNode(final Connection connection, final long zxid, final String path, final String value, final long ephemeralOwner) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getInsertNode())) {
+            preparedStatement.setString(1, path);
+            preparedStatement.setString(2, getParentPath(path));
+            preparedStatement.setString(3, null == value ? "" : value);
+            preparedStatement.setLong(4, ephemeralOwner);
+            preparedStatement.setLong(5, zxid);
+            preparedStatement.setLong(6, zxid);
+            preparedStatement.setLong(7, zxid);
+            preparedStatement.executeUpdate();
+        }
+    }
+    
+    private void updateNode(final Connection connection, final long zxid, final String path, final String value) throws SQLException, KeeperException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getUpdateNodeValue())) {
+            preparedStatement.setString(1, null == value ? "" : value);
+            preparedStatement.setLong(2, zxid);
+            preparedStatement.setString(3, path);
+            if (0 == preparedStatement.executeUpdate()) {
+                throw new KeeperException.NoNodeException(toKey(path));
+            }
+        }
+    }
+    
+    private Void deleteNode(final Connection connection, final long zxid, final String path, final boolean deletingChildrenIfNeeded) throws SQLException, KeeperException {
+        if (!deletingChildrenIfNeeded && countChildren(connection, path) > 0) {
+            throw new KeeperException.NotEmptyException(toKey(path));
+        }
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getDeleteSubTreeNodes())) {
+            preparedStatement.setString(1, path);
+            preparedStatement.setString(2, getDescendantPattern(path));
+            preparedStatement.executeUpdate();
+        }
+        increaseChildrenVersion(connection, zxid, getParentPath(path));
+        return null;
+    }
+    
+    private void increaseChildrenVersion(final Connection connection, final long zxid, final String path) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getIncreaseChildrenVersion())) {
+            preparedStatement.setLong(1, zxid);
+            preparedStatement.setString(2, path);
+            preparedStatement.executeUpdate();
+        }
+    }
+    
+    private int nextSequence(final Connection connection, final String path) throws SQLException {
+        int result;
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getSelectSequence())) {
+            preparedStatement.setString(1, path);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                result = resultSet.getInt(1);
+            }
+        }
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.getIncreaseSequence())) {
+            preparedStatement.setString(1, path);
+            preparedStatement.executeUpdate();
+        }
+        return result;
+    }
+    
+    private String toStoragePath(final String key) {
+        return ROOT.equals(key) ? namespacePath : namespacePath + key;
+    }
+    
+    private String toKey(final String path) {
+        return namespacePath.equals(path) ? ROOT : path.substring(namespacePath.length());
+    }
+    
+    private String getParentPath(final String path) {
+        int index = path.lastIndexOf('/');
+        return index <= 0 ? ROOT : path.substring(0, index);
+    }
+    
+    private String getNodeName(final String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+    
+    private String getDescendantPattern(final String path) {
+        return path.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "/%";
+    }
+    
+    private interface WriteCallback<T> {
+        
+        T execute(Connection connection, long zxid) throws SQLException, KeeperException;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.jdbc;
+
+import lombok.Getter;
+
+/**
+ * SQL of JDBC registry center.
+ */
+@Getter
+final class JdbcRegistryCenterSQL {
+    
+    private static final String NODE_COLUMNS = "node_path, node_value, ephemeral_owner, data_version, children_version, czxid, mzxid, pzxid, ctime, mtime";
+    
+    private final String nodeTable;
+    
+    private final String sessionTable;
+    
+    private final String revisionTable;
+    
+    private final String createNodeTable;
+    
+    private final String createNodeParentIndex;
+    
+    private final String createSessionTable;
+    
+    private final String createRevisionTable;
+    
+    private final String insertRevision;
+    
+    private final String selectRevision;
+    
+    private final String increaseRevision;
+    
+    private final String selectNode;
+    
+    private final String selectSubTreeNodes;
+    
+    private final String selectSubTreeMaxZxid;
+    
+    private final String selectChildrenPaths;
+    
+    private final String countChildren;
+    
+    private final String insertNode;
+    
+    private final String updateNodeValue;
+    
+    private final String increaseChildrenVersion;
+    
+    private final String touchEphemeralNode;
+    
+    private final String selectSequence;
+    
+    private final String increaseSequence;
+    
+    private final String deleteSubTreeNodes;
+    
+    private final String selectParentPathsOfEphemeralNodes;
+    
+    private final String deleteEphemeralNodes;
+    
+    private final String insertSession;
+    
+    private final String renewSession;
+    
+    private final String selectSessionHeartbeatTime;
+    
+    private final String selectExpiredSessions;
+    
+    private final String deleteSession;
+    
+    JdbcRegistryCenterSQL(final String tablePrefix) {
+        nodeTable = tablePrefix + "NODE";
+        sessionTable = tablePrefix + "SESSION";
+        revisionTable = tablePrefix + "REVISION";
+        createNodeTable = "CREATE TABLE " + nodeTable + " (node_path VARCHAR(512) NOT NULL, parent_path VARCHAR(512) NOT NULL, node_value CLOB NULL, ephemeral_owner BIGINT NOT NULL, "
+                + "data_version INT NOT NULL, children_version INT NOT NULL, next_sequence INT NOT NULL, czxid BIGINT NOT NULL, mzxid BIGINT NOT NULL, pzxid BIGINT NOT NULL, "
+                + "ctime TIMESTAMP NOT NULL, mtime TIMESTAMP NOT NULL, PRIMARY KEY (node_path))";
+        createNodeParentIndex = "CREATE INDEX " + nodeTable + "_PARENT_INDEX ON " + nodeTable + " (parent_path)";
+        createSessionTable = "CREATE TABLE " + sessionTable + " (session_id BIGINT NOT NULL, heartbeat_time TIMESTAMP NOT NULL, PRIMARY KEY (session_id))";
+        createRevisionTable = "CREATE TABLE " + revisionTable + " (id INT NOT NULL, revision BIGINT NOT NULL, PRIMARY KEY (id))";
+        insertRevision = "INSERT INTO " + revisionTable + " (id, revision) VALUES (1, 0)";
+        selectRevision = "SELECT revision FROM " + revisionTable + " WHERE id = 1";
+        increaseRevision = "UPDATE " + revisionTable + " SET revision = revision + 1 WHERE id = 1";
+        selectNode = "SELECT " + NODE_COLUMNS + " FROM " + nodeTable + " WHERE node_path = ?";
+        selectSubTreeNodes = "SELECT " + NODE_COLUMNS + " FROM " + nodeTable + " WHERE node_path = ? OR node_path LIKE ? ESCAPE '!'";
+        selectSubTreeMaxZxid = "SELECT MAX(mzxid), MAX(pzxid) FROM " + nodeTable + " WHERE node_path = ? OR node_path LIKE ? ESCAPE '!'";
+        selectChildrenPaths = "SELECT node_path FROM " + nodeTable + " WHERE parent_path = ?";
+        countChildren = "SELECT COUNT(*) FROM " + nodeTable + " WHERE parent_path = ?";
+        insertNode = "INSERT INTO " + nodeTable + " (node_path, parent_path, node_value, ephemeral_owner, data_version, children_version, next_sequence, czxid, mzxid, pzxid, ctime, mtime) "
+                + "VALUES (?, ?, ?, ?, 0, 0, 0, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+        updateNodeValue = "UPDATE " + nodeTable + " SET node_value = ?, data_version = data_version + 1, mzxid = ?, mtime = CURRENT_TIMESTAMP WHERE node_path = ?";
+        increaseChildrenVersion = "UPDATE " + nodeTable + " SET children_version = children_version + 1, pzxid = ? WHERE node_path = ?";
+        touchEphemeralNode = "UPDATE " + nodeTable + " SET mtime = CURRENT_TIMESTAMP WHERE node_path = ? AND ephemeral_owner = ?";
+        selectSequence = "SELECT next_sequence FROM " + nodeTable + " WHERE node_path = ?";
+        increaseSequence = "UPDATE " + nodeTable + " SET next_sequence = next_sequence + 1 WHERE node_path = ?";
+        deleteSubTreeNodes = "DELETE FROM " + nodeTable + " WHERE node_path = ? OR node_path LIKE ? ESCAPE '!'";
+        selectParentPathsOfEphemeralNodes = "SELECT DISTINCT parent_path FROM " + nodeTable + " WHERE ephemeral_owner = ?";
+        deleteEphemeralNodes = "DELETE FROM " + nodeTable + " WHERE ephemeral_owner = ?";
+        insertSession = "INSERT INTO " + sessionTable + " (session_id, heartbeat_time) VALUES (?, CURRENT_TIMESTAMP)";
+        renewSession = "UPDATE " + sessionTable + " SET heartbeat_time = CURRENT_TIMESTAMP WHERE session_id = ?";
+        selectSessionHeartbeatTime = "SELECT heartbeat_time FROM " + sessionTable + " WHERE session_id = ?";
+        selectExpiredSessions = "SELECT session_id FROM " + sessionTable + " WHERE heartbeat_time < ?";
+        deleteSession = "DELETE FROM " + sessionTable + " WHERE session_id = ?";
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.listener;
+
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+
+/**
+ * Connection state changed event listener.
+ */
+public interface ConnectionStateChangedEventListener {
+    
+    /**
+     * Fire when connection state changed.
+     * 
+     * @param registryCenter registry center
+     * @param newState new connection state
+     */
+    void onStateChanged(CoordinatorRegistryCenter registryCenter, State newState);
+    
+    /**
+     * Connection state.
+     * 
+     * <p>
+     * Ephemeral nodes are kept when suspended, and removed by registry center when lost.
+     * </p>
+     */
+    enum State {
+        
+        CONNECTED, SUSPENDED, LOST, RECONNECTED
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.memory;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.curator.framework.listen.Listenable;
+import org.apache.curator.framework.listen.StandardListenerManager;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Cache of memory registry center.
+ * 
+ * <p>
+ * All nodes are in memory already, so the cache is a live view of the sub tree and only dispatches node events to its listeners.
+ * </p>
+ */
+@RequiredArgsConstructor
+final class MemoryCuratorCache implements CuratorCache {
+    
+    private final MemoryRegistryCenter regCenter;
+    
+    private final String cachePath;
+    
+    private final StandardListenerManager<CuratorCacheListener> listenerManager = StandardListenerManager.standard();
+    
+    private volatile boolean started;
+    
+    @Override
+    public void start() {
+        started = true;
+        listenerManager.forEach(CuratorCacheListener::initialized);
+    }
+    
+    @Override
+    public void close() {
+        started = false;
+        listenerManager.clear();
+    }
+    
+    @Override
+    public Listenable<CuratorCacheListener> listenable() {
+        return listenerManager;
+    }
+    
+    @Override
+    public Optional<ChildData> get(final String path) {
+        return isCovered(path) ? regCenter.getChildData(path) : Optional.empty();
+    }
+    
+    @Override
+    public int size() {
+        return (int) stream().count();
+    }
+    
+    @Override
+    public Stream<ChildData> stream() {
+        return regCenter.getSubTreeChildData(cachePath).stream();
+    }
+    
+    boolean isCovered(final String path) {
+        return path.equals(cachePath) || path.startsWith(cachePath.endsWith("/") ? cachePath : cachePath + "/");
+    }
+    
+    void notifyListeners(final Consumer<CuratorCacheListener> consumer) {
+        if (started) {
+            listenerManager.forEach(consumer);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.memory;
+
+import lombok.Getter;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.zookeeper.data.Stat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Node of memory registry center.
+ */
+@Getter
+final class MemoryNode {
+    
+    private final boolean ephemeral;
+    
+    private final long czxid;
+    
+    private final long ctime;
+    
+    private final Set<String> children = new TreeSet<>();
+    
+    private String value;
+    
+    private long mzxid;
+    
+    private long mtime;
+    
+    private int version;
+    
+    private int cversion;
+    
+    private int sequence;
+    
+    MemoryNode(final boolean ephemeral, final String value, final long zxid, final long time) {
+        this.ephemeral = ephemeral;
+        this.value = value;
+        czxid = zxid;
+        ctime = time;
+        mzxid = zxid;
+        mtime = time;
+    }
+    
+    void setValue(final String value, final long zxid, final long time) {
+        this.value = value;
+        mzxid = zxid;
+        mtime = time;
+        version++;
+    }
+    
+    void addChild(final String child) {
+        children.add(child);
+        cversion++;
+    }
+    
+    void removeChild(final String child) {
+        children.remove(child);
+        cversion++;
+    }
+    
+    int nextSequence() {
+        return sequence++;
+    }
+    
+    void restoreSequence(final int usedSequence) {
+        sequence = Math.max(sequence, usedSequence + 1);
+    }
+    
+    ChildData toChildData(final String path) {
+        Stat stat = new Stat();
+        stat.setCzxid(czxid);
+        stat.setMzxid(mzxid);
+        stat.setPzxid(mzxid);
+        stat.setCtime(ctime);
+        stat.setMtime(mtime);
+        stat.setVersion(version);
+        stat.setCversion(cversion);
+        stat.setEphemeralOwner(ephemeral ? MemoryRegistryCenter.SESSION_ID : 0L);
+        stat.setNumChildren(children.size());
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        stat.setDataLength(data.length);
+        return new ChildData(path, stat, data);
+    }
+}
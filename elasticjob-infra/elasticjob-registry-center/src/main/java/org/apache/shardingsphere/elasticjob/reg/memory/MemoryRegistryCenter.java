@@ -0,0 +1,606 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.memory;
+
+import com.google.common.base.Strings;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener.Type;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.LeaderExecutionCallback;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
+import org.apache.shardingsphere.elasticjob.reg.exception.RegException;
+import org.apache.shardingsphere.elasticjob.reg.exception.RegExceptionHandler;
+import org.apache.shardingsphere.elasticjob.reg.listener.ConnectionStateChangedEventListener;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEventListener;
+import org.apache.shardingsphere.elasticjob.reg.zookeeper.CuratorCacheListenerAdapter;
+import org.apache.zookeeper.KeeperException;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Registry center in memory.
+ * 
+ * <p>
+ * All nodes live in the local process, ephemeral nodes belong to the only session which ends when registry center closed.
+ * It is used for single node deployment and test, persistent nodes can be recovered from write ahead log if configured.
+ * </p>
+ */
+public final class MemoryRegistryCenter implements CoordinatorRegistryCenter {
+    
+    static final long SESSION_ID = 1L;
+    
+    private static final String ROOT = "/";
+    
+    private static final int SEQUENCE_LENGTH = 10;
+    
+    @Getter(AccessLevel.PROTECTED)
+    private final MemoryConfiguration memoryConfig;
+    
+    private final Map<String, MemoryNode> nodes = new HashMap<>();
+    
+    private final Map<String, MemoryCuratorCache> caches = new ConcurrentHashMap<>();
+    
+    private final Map<String, ReentrantLock> leaderLocks = new ConcurrentHashMap<>();
+    
+    private ExecutorService eventExecutor;
+    
+    private MemoryWriteAheadLog writeAheadLog;
+    
+    private boolean writeAheadLogBatching;
+    
+    private long zxid;
+    
+    public MemoryRegistryCenter(final MemoryConfiguration memoryConfig) {
+        this.memoryConfig = memoryConfig;
+    }
+    
+    @Override
+    public synchronized void init() {
+        nodes.clear();
+        nodes.put(ROOT, new MemoryNode(false, "", nextZxid(), System.currentTimeMillis()));
+        eventExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread result = new Thread(runnable, "memory-registry-center-event");
+            result.setDaemon(true);
+            return result;
+        });
+        if (!Strings.isNullOrEmpty(memoryConfig.getWriteAheadLogFile())) {
+            openWriteAheadLog();
+        }
+    }
+    
+    private void openWriteAheadLog() {
+        MemoryWriteAheadLog result = new MemoryWriteAheadLog(Paths.get(memoryConfig.getWriteAheadLogFile()));
+        try {
+            result.replay(this::restoreNode, this::restoreDeletion);
+            result.open(getPersistentNodes());
+        } catch (final IOException ex) {
+            throw new RegException(ex);
+        }
+        writeAheadLog = result;
+    }
+    
+    private void restoreNode(final String key, final String value) {
+        MemoryNode node = nodes.get(key);
+        if (null == node) {
+            createNode(key, value, false);
+        } else {
+            node.setValue(value, nextZxid(), System.currentTimeMillis());
+        }
+        String nodeName = getNodeName(key);
+        if (nodeName.length() >= SEQUENCE_LENGTH && nodeName.substring(nodeName.length() - SEQUENCE_LENGTH).chars().allMatch(Character::isDigit)) {
+            nodes.get(getParentPath(key)).restoreSequence(Integer.parseInt(nodeName.substring(nodeName.length() - SEQUENCE_LENGTH)));
+        }
+    }
+    
+    private void restoreDeletion(final String key) {
+        if (nodes.containsKey(key)) {
+            deleteNode(key);
+        }
+    }
+    
+    @Override
+    public synchronized void close() {
+        List<String> ephemeralNodes = new ArrayList<>();
+        for (Map.Entry<String, MemoryNode> entry : nodes.entrySet()) {
+            if (entry.getValue().isEphemeral()) {
+                ephemeralNodes.add(entry.getKey());
+            }
+        }
+        for (String each : ephemeralNodes) {
+            deleteNode(each);
+        }
+        for (MemoryCuratorCache each : caches.values()) {
+            each.close();
+        }
+        caches.clear();
+        if (null != eventExecutor) {
+            eventExecutor.shutdown();
+        }
+        if (null != writeAheadLog) {
+            try {
+                writeAheadLog.close();
+            } catch (final IOException ex) {
+                throw new RegException(ex);
+            } finally {
+                writeAheadLog = null;
+            }
+        }
+    }
+    
+    @Override
+    public synchronized String get(final String key) {
+        MemoryNode node = nodes.get(key);
+        return null == node ? null : node.getValue();
+    }
+    
+    @Override
+    public String getDirectly(final String key) {
+        return get(key);
+    }
+    
+    @Override
+    public synchronized List<String> getChildrenKeys(final String key) {
+        MemoryNode node = nodes.get(key);
+        if (null == node) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(node.getChildren());
+        result.sort(Comparator.reverseOrder());
+        return result;
+    }
+    
+    @Override
+    public synchronized int getNumChildren(final String key) {
+        MemoryNode node = nodes.get(key);
+        return null == node ? 0 : node.getChildren().size();
+    }
+    
+    @Override
+    public synchronized boolean isExisted(final String key) {
+        return nodes.containsKey(key);
+    }
+    
+    @Override
+    public synchronized void persist(final String key, final String value) {
+        if (nodes.containsKey(key)) {
+            update(key, value);
+            return;
+        }
+        try {
+            createParentsIfNeeded(key);
+            createNode(key, value, false);
+        } catch (final KeeperException ex) {
+            RegExceptionHandler.handleException(ex);
+        }
+    }
+    
+    @Override
+    public synchronized void update(final String key, final String value) {
+        if (!nodes.containsKey(key)) {
+            RegExceptionHandler.handleException(new KeeperException.NoNodeException(key));
+            return;
+        }
+        setNodeValue(key, value);
+    }
+    
+    @Override
+    public synchronized boolean compareAndSet(final String key, final String expectedValue, final String newValue) {
+        if (null == expectedValue) {
+            if (nodes.containsKey(key)) {
+                return false;
+            }
+            persist(key, newValue);
+            return true;
+        }
+        MemoryNode node = nodes.get(key);
+        if (null == node || !expectedValue.equals(node.getValue())) {
+            return false;
+        }
+        setNodeValue(key, newValue);
+        return true;
+    }
+    
+    @Override
+    public synchronized void persistEphemeral(final String key, final String value) {
+        if (nodes.containsKey(key)) {
+            deleteNode(key);
+        }
+        try {
+            createParentsIfNeeded(key);
+            createNode(key, value, true);
+        } catch (final KeeperException ex) {
+            RegExceptionHandler.handleException(ex);
+        }
+    }
+    
+    @Override
+    public synchronized String persistSequential(final String key, final String value) {
+        return createSequentialNode(key, value, false);
+    }
+    
+    @Override
+    public synchronized void persistEphemeralSequential(final String key) {
+        createSequentialNode(key, "", true);
+    }
+    
+    private String createSequentialNode(final String key, final String value, final boolean ephemeral) {
+        try {
+            createParentsIfNeeded(key);
+            String result = key + String.format("%0" + SEQUENCE_LENGTH + "d", nodes.get(getParentPath(key)).nextSequence());
+            createNode(result, value, ephemeral);
+            return result;
+        } catch (final KeeperException ex) {
+            RegExceptionHandler.handleException(ex);
+            return null;
+        }
+    }
+    
+    @Override
+    public synchronized void remove(final String key) {
+        batchWriteAheadLog(() -> {
+            if (ROOT.equals(key)) {
+                for (String each : new ArrayList<>(nodes.get(ROOT).getChildren())) {
+                    deleteNode(getChildPath(ROOT, each));
+                }
+            } else if (nodes.containsKey(key)) {
+                deleteNode(key);
+            }
+        });
+    }
+    
+    @Override
+    public synchronized long getRegistryCenterTime(final String key) {
+        persist(key, "");
+        return nodes.get(key).getMtime();
+    }
+    
+    @Override
+    public Object getRawClient() {
+        return this;
+    }
+    
+    @Override
+    public void addCacheData(final String cachePath) {
+        MemoryCuratorCache cache = new MemoryCuratorCache(this, cachePath);
+        cache.start();
+        caches.put(cachePath, cache);
+    }
+    
+    /**
+     * Add data to cache.
+     * 
+     * <p>
+     * All values are in memory already, value cached predicate is ignored.
+     * </p>
+     *
+     * @param cachePath cache path
+     * @param valueCachedPredicate predicate to judge whether the value of path should be cached
+     */
+    @Override
+    public void addCacheData(final String cachePath, final Predicate<String> valueCachedPredicate) {
+        addCacheData(cachePath);
+    }
+    
+    @Override
+    public void evictCacheData(final String cachePath) {
+        MemoryCuratorCache cache = caches.remove(cachePath);
+        if (null != cache) {
+            cache.close();
+        }
+    }
+    
+    @Override
+    public Object getRawCache(final String cachePath) {
+        return caches.get(cachePath);
+    }
+    
+    /**
+     * Execute operations in transaction.
+     * 
+     * <p>
+     * All operations are checked before any of them applied, so either all or none of them take effect.
+     * Their persistent changes are written to the write ahead log as one record.
+     * </p>
+     * 
+     * @param operations transaction operations
+     * @throws KeeperException keeper exception with the same code as ZooKeeper if any operation cannot be applied
+     */
+    @Override
+    public synchronized void executeInTransaction(final List<TransactionOperation> operations) throws KeeperException {
+        checkTransaction(operations);
+        batchWriteAheadLog(() -> {
+            for (TransactionOperation each : operations) {
+                applyTransactionOperation(each);
+            }
+        });
+    }
+    
+    private void applyTransactionOperation(final TransactionOperation operation) {
+        switch (operation.getType()) {
+            case ADD:
+                createNode(operation.getKey(), operation.getValue(), false);
+                break;
+            case ADD_EPHEMERAL:
+                createNode(operation.getKey(), operation.getValue(), true);
+                break;
+            case UPDATE:
+                setNodeValue(operation.getKey(), operation.getValue());
+                break;
+            case DELETE:
+                deleteNode(operation.getKey());
+                break;
+            case CHECK_EXISTS:
+                break;
+            default:
+                throw new UnsupportedOperationException(operation.toString());
+        }
+    }
+    
+    private void checkTransaction(final List<TransactionOperation> operations) throws KeeperException {
+        Map<String, Boolean> existedNodes = new HashMap<>();
+        Map<String, Integer> childrenDeltas = new HashMap<>();
+        for (TransactionOperation each : operations) {
+            String key = each.getKey();
+            String parentPath = getParentPath(key);
+            boolean existed = existedNodes.getOrDefault(key, nodes.containsKey(key));
+            switch (each.getType()) {
+                case ADD:
+                case ADD_EPHEMERAL:
+                    if (existed) {
+                        throw new KeeperException.NodeExistsException(key);
+                    }
+                    if (!existedNodes.getOrDefault(parentPath, nodes.containsKey(parentPath))) {
+                        throw new KeeperException.NoNodeException(parentPath);
+                    }
+                    if (nodes.containsKey(parentPath) && nodes.get(parentPath).isEphemeral()) {
+                        throw new KeeperException.NoChildrenForEphemeralsException(key);
+                    }
+                    existedNodes.put(key, true);
+                    childrenDeltas.merge(parentPath, 1, Integer::sum);
+                    break;
+                case DELETE:
+                    if (!existed) {
+                        throw new KeeperException.NoNodeException(key);
+                    }
+                    int childrenCount = (nodes.containsKey(key) ? nodes.get(key).getChildren().size() : 0) + childrenDeltas.getOrDefault(key, 0);
+                    if (childrenCount > 0) {
+                        throw new KeeperException.NotEmptyException(key);
+                    }
+                    existedNodes.put(key, false);
+                    childrenDeltas.merge(parentPath, -1, Integer::sum);
+                    break;
+                case UPDATE:
+                case CHECK_EXISTS:
+                    if (!existed) {
+                        throw new KeeperException.NoNodeException(key);
+                    }
+                    break;
+                default:
+                    throw new UnsupportedOperationException(each.toString());
+            }
+        }
+    }
+    
+    /**
+     * Execute callback in leader.
+     * 
+     * <p>
+     * Leadership of the latch key is held by one thread at a time in the local process, it is released after callback executed.
+     * </p>
+     * 
+     * @param key latch key
+     * @param callback leader execution callback
+     */
+    @Override
+    public void executeInLeader(final String key, final LeaderExecutionCallback callback) {
+        ReentrantLock lock = leaderLocks.computeIfAbsent(key, unused -> new ReentrantLock(true));
+        lock.lock();
+        try {
+            callback.execute();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public void watch(final String cachePath, final DataChangedEventListener listener) {
+        if (!caches.containsKey(cachePath)) {
+            addCacheData(cachePath);
+        }
+        caches.get(cachePath).listenable().addListener(new CuratorCacheListenerAdapter(listener));
+    }
+    
+    /**
+     * Add connection state changed event listener.
+     * 
+     * <p>
+     * Registry center in memory never disconnects, so the listener is never fired.
+     * </p>
+     * 
+     * @param listener connection state changed event listener
+     */
+    @Override
+    public void addConnectionStateChangedEventListener(final ConnectionStateChangedEventListener listener) {
+    }
+    
+    synchronized Optional<ChildData> getChildData(final String path) {
+        MemoryNode node = nodes.get(path);
+        return null == node ? Optional.empty() : Optional.of(node.toChildData(path));
+    }
+    
+    synchronized List<ChildData> getSubTreeChildData(final String path) {
+        List<ChildData> result = new ArrayList<>();
+        if (nodes.containsKey(path)) {
+            collectSubTree(path, (each, node) -> result.add(node.toChildData(each)));
+        }
+        return result;
+    }
+    
+    private Map<String, String> getPersistentNodes() {
+        Map<String, String> result = new LinkedHashMap<>();
+        collectSubTree(ROOT, (each, node) -> {
+            if (!ROOT.equals(each) && !node.isEphemeral()) {
+                result.put(each, node.getValue());
+            }
+        });
+        return result;
+    }
+    
+    private void collectSubTree(final String path, final BiConsumer<String, MemoryNode> consumer) {
+        MemoryNode node = nodes.get(path);
+        consumer.accept(path, node);
+        for (String each : node.getChildren()) {
+            collectSubTree(getChildPath(path, each), consumer);
+        }
+    }
+    
+    private void createParentsIfNeeded(final String key) throws KeeperException {
+        String parentPath = getParentPath(key);
+        if (nodes.containsKey(parentPath)) {
+            if (nodes.get(parentPath).isEphemeral()) {
+                throw new KeeperException.NoChildrenForEphemeralsException(key);
+            }
+            return;
+        }
+        createParentsIfNeeded(parentPath);
+        createNode(parentPath, "", false);
+    }
+    
+    private void createNode(final String key, final String value, final boolean ephemeral) {
+        String parentPath = getParentPath(key);
+        if (!nodes.containsKey(parentPath)) {
+            createNode(parentPath, "", false);
+        }
+        MemoryNode node = new MemoryNode(ephemeral, null == value ? "" : value, nextZxid(), System.currentTimeMillis());
+        nodes.put(key, node);
+        nodes.get(parentPath).addChild(getNodeName(key));
+        if (!ephemeral) {
+            appendPut(key, node.getValue());
+        }
+        notifyCaches(key, Type.NODE_CREATED, null, node.toChildData(key));
+    }
+    
+    private void setNodeValue(final String key, final String value) {
+        MemoryNode node = nodes.get(key);
+        ChildData oldData = node.toChildData(key);
+        node.setValue(null == value ? "" : value, nextZxid(), System.currentTimeMillis());
+        if (!node.isEphemeral()) {
+            appendPut(key, node.getValue());
+        }
+        notifyCaches(key, Type.NODE_CHANGED, oldData, node.toChildData(key));
+    }
+    
+    private void deleteNode(final String key) {
+        MemoryNode node = nodes.get(key);
+        for (String each : new ArrayList<>(node.getChildren())) {
+            deleteNode(getChildPath(key, each));
+        }
+        nodes.remove(key);
+        nodes.get(getParentPath(key)).removeChild(getNodeName(key));
+        if (!node.isEphemeral()) {
+            appendDelete(key);
+        }
+        notifyCaches(key, Type.NODE_DELETED, node.toChildData(key), null);
+    }
+    
+    private void appendPut(final String key, final String value) {
+        if (null == writeAheadLog) {
+            return;
+        }
+        writeAheadLog.appendPut(key, value);
+        if (!writeAheadLogBatching) {
+            commitWriteAheadLog();
+        }
+    }
+    
+    private void appendDelete(final String key) {
+        if (null == writeAheadLog) {
+            return;
+        }
+        writeAheadLog.appendDelete(key);
+        if (!writeAheadLogBatching) {
+            commitWriteAheadLog();
+        }
+    }
+    
+    private void batchWriteAheadLog(final Runnable operations) {
+        writeAheadLogBatching = true;
+        try {
+            operations.run();
+        } finally {
+            writeAheadLogBatching = false;
+            commitWriteAheadLog();
+        }
+    }
+    
+    private void commitWriteAheadLog() {
+        if (null == writeAheadLog) {
+            return;
+        }
+        try {
+            writeAheadLog.commit();
+        } catch (final IOException ex) {
+            throw new RegException(ex);
+        }
+    }
+    
+    private void notifyCaches(final String key, final Type type, final ChildData oldData, final ChildData newData) {
+        if (null == eventExecutor || eventExecutor.isShutdown()) {
+            return;
+        }
+        for (MemoryCuratorCache each : caches.values()) {
+            if (each.isCovered(key)) {
+                eventExecutor.execute(() -> each.notifyListeners(listener -> listener.event(type, oldData, newData)));
+            }
+        }
+    }
+    
+    private long nextZxid() {
+        return ++zxid;
+    }
+    
+    private String getParentPath(final String key) {
+        int index = key.lastIndexOf('/');
+        return index <= 0 ? ROOT : key.substring(0, index);
+    }
+    
+    private String getNodeName(final String key) {
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+    
+    private String getChildPath(final String parentPath, final String child) {
+        return ROOT.equals(parentPath) ? ROOT + child : parentPath + "/" + child;
+    }
+}
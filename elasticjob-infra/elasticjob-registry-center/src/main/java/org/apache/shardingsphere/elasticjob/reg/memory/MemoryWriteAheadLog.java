@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.memory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Write ahead log of memory registry center.
+ * 
+ * <p>
+ * Each line is one record of persistent node operations which are applied together, it starts with the CRC32 of the operations.
+ * Operations are separated by space, {@code P.key.value} for put and {@code D.key} for delete, key and value are encoded by base64.
+ * Every record is forced to disk before the operation returns, and replay stops at the first torn or corrupted record left by a crash during writing.
+ * The log is rewritten to the latest persistent nodes every time it is opened, so it never grows beyond one run.
+ * </p>
+ */
+@Slf4j
+final class MemoryWriteAheadLog implements Closeable {
+    
+    private static final String PUT = "P";
+    
+    private static final String DELETE = "D";
+    
+    private static final String OPERATION_SEPARATOR = " ";
+    
+    private static final String FIELD_SEPARATOR = ".";
+    
+    private final Path file;
+    
+    private final List<String> pendingOperations = new ArrayList<>();
+    
+    private FileChannel channel;
+    
+    MemoryWriteAheadLog(final Path file) {
+        this.file = file;
+    }
+    
+    /**
+     * Replay operations in log.
+     * 
+     * @param putConsumer consumer of put operation
+     * @param deleteConsumer consumer of delete operation
+     * @throws IOException IO exception
+     */
+    void replay(final BiConsumer<String, String> putConsumer, final Consumer<String> deleteConsumer) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while (null != (line = reader.readLine())) {
+                lineNumber++;
+                List<String[]> operations = parseRecord(line);
+                if (null == operations) {
+                    log.warn("Write ahead log '{}' is torn or corrupted at line {}, the rest of log is ignored.", file, lineNumber);
+                    return;
+                }
+                for (String[] each : operations) {
+                    if (PUT.equals(each[0])) {
+                        putConsumer.accept(decode(each[1]), decode(each[2]));
+                    } else {
+                        deleteConsumer.accept(decode(each[1]));
+                    }
+                }
+            }
+        }
+    }
+    
+    private List<String[]> parseRecord(final String line) {
+        int index = line.indexOf(OPERATION_SEPARATOR);
+        if (-1 == index || !line.substring(0, index).equals(checksum(line.substring(index + 1)))) {
+            return null;
+        }
+        List<String[]> result = new ArrayList<>();
+        for (String each : line.substring(index + 1).split(OPERATION_SEPARATOR)) {
+            String[] fields = each.split("\\" + FIELD_SEPARATOR, -1);
+            if (!(PUT.equals(fields[0]) && 3 == fields.length) && !(DELETE.equals(fields[0]) && 2 == fields.length)) {
+                return null;
+            }
+            result.add(fields);
+        }
+        return result;
+    }
+    
+    /**
+     * Rewrite log with persistent nodes and open it for appending.
+     * 
+     * @param persistentNodes persistent nodes, key is path and value is node value
+     * @throws IOException IO exception
+     */
+    void open(final Map<String, String> persistentNodes) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (null != parent) {
+            Files.createDirectories(parent);
+        }
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel tempChannel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Entry<String, String> entry : persistentNodes.entrySet()) {
+                write(tempChannel, Collections.singletonList(encodePut(entry.getKey(), entry.getValue())));
+            }
+            tempChannel.force(true);
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+    
+    /**
+     * Add put operation to the pending record.
+     * 
+     * @param key key
+     * @param value value
+     */
+    void appendPut(final String key, final String value) {
+        pendingOperations.add(encodePut(key, value));
+    }
+    
+    /**
+     * Add delete operation to the pending record.
+     * 
+     * @param key key
+     */
+    void appendDelete(final String key) {
+        pendingOperations.add(String.join(FIELD_SEPARATOR, DELETE, encode(key)));
+    }
+    
+    /**
+     * Write pending operations as one record and force it to disk.
+     * 
+     * @throws IOException IO exception
+     */
+    void commit() throws IOException {
+        if (pendingOperations.isEmpty()) {
+            return;
+        }
+        try {
+            write(channel, pendingOperations);
+            channel.force(false);
+        } finally {
+            pendingOperations.clear();
+        }
+    }
+    
+    private void write(final FileChannel targetChannel, final List<String> operations) throws IOException {
+        String payload = String.join(OPERATION_SEPARATOR, operations);
+        ByteBuffer buffer = ByteBuffer.wrap((checksum(payload) + OPERATION_SEPARATOR + payload + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            targetChannel.write(buffer);
+        }
+    }
+    
+    private String encodePut(final String key, final String value) {
+        return String.join(FIELD_SEPARATOR, PUT, encode(key), encode(value));
+    }
+    
+    private String checksum(final String payload) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc32.getValue());
+    }
+    
+    private String encode(final String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private String decode(final String value) {
+        return new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        pendingOperations.clear();
+        if (null != channel) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.zookeeper;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEventListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Curator cache listener adapter, which converts node events of curator cache to data changed events.
+ */
+@RequiredArgsConstructor
+public final class CuratorCacheListenerAdapter implements CuratorCacheListener {
+    
+    private final DataChangedEventListener delegate;
+    
+    @Override
+    public void event(final Type type, final ChildData oldData, final ChildData data) {
+        ChildData childData = Type.NODE_DELETED == type ? oldData : data;
+        if (null == childData) {
+            return;
+        }
+        byte[] value = childData.getData();
+        delegate.onChange(new DataChangedEvent(toDataChangedType(type), childData.getPath(), null == value ? "" : new String(value, StandardCharsets.UTF_8)));
+    }
+    
+    private DataChangedEvent.Type toDataChangedType(final Type type) {
+        switch (type) {
+            case NODE_CREATED:
+                return DataChangedEvent.Type.ADDED;
+            case NODE_CHANGED:
+                return DataChangedEvent.Type.UPDATED;
+            default:
+                return DataChangedEvent.Type.DELETED;
+        }
+    }
+}
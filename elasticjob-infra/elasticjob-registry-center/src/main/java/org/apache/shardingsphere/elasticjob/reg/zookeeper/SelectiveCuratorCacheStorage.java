@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.zookeeper;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCacheStorage;
+import org.apache.zookeeper.data.Stat;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Curator cache storage which only keeps values of selected paths.
+ * 
+ * <p>
+ * Every node is stored as version, children version and value only instead of full {@code Stat}.
+ * Values of the paths not matched by predicate are dropped, so these nodes only cost their paths.
+ * </p>
+ */
+@RequiredArgsConstructor
+public final class SelectiveCuratorCacheStorage implements CuratorCacheStorage {
+    
+    private final Predicate<String> valueCachedPredicate;
+    
+    private final Map<String, CompactNode> nodes = new ConcurrentHashMap<>();
+    
+    /**
+     * Judge whether the value of path is cached.
+     * 
+     * @param path path
+     * @return value of path is cached or not
+     */
+    public boolean isValueCached(final String path) {
+        return valueCachedPredicate.test(path);
+    }
+    
+    @Override
+    public Optional<ChildData> put(final ChildData data) {
+        Stat stat = data.getStat();
+        byte[] value = isValueCached(data.getPath()) ? data.getData() : null;
+        CompactNode previous = nodes.put(data.getPath(), new CompactNode(stat.getVersion(), stat.getCversion(), value));
+        return toChildData(data.getPath(), previous);
+    }
+    
+    @Override
+    public Optional<ChildData> remove(final String path) {
+        return toChildData(path, nodes.remove(path));
+    }
+    
+    @Override
+    public void clear() {
+        nodes.clear();
+    }
+    
+    @Override
+    public Optional<ChildData> get(final String path) {
+        return toChildData(path, nodes.get(path));
+    }
+    
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+    
+    @Override
+    public Stream<ChildData> stream() {
+        return nodes.entrySet().stream().map(entry -> entry.getValue().toChildData(entry.getKey()));
+    }
+    
+    private Optional<ChildData> toChildData(final String path, final CompactNode node) {
+        return null == node ? Optional.empty() : Optional.of(node.toChildData(path));
+    }
+    
+    @RequiredArgsConstructor
+    private static final class CompactNode {
+        
+        private final int version;
+        
+        private final int cversion;
+        
+        private final byte[] data;
+        
+        private ChildData toChildData(final String path) {
+            Stat stat = new Stat();
+            stat.setVersion(version);
+            stat.setCversion(cversion);
+            return new ChildData(path, stat, data);
+        }
+    }
+}
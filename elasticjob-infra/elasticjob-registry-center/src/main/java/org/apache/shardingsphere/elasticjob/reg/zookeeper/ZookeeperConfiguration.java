@@ -74,4 +74,14 @@ public final class ZookeeperConfiguration {
      * Zookeeper digest.
      */
     private String digest;
+    
+    /**
+     * Whether to execute in leader with a reusable inter-process mutex instead of a leader latch per call.
+     * 
+     * <p>
+     * Contenders with mutex and leader latch do not exclude each other,
+     * so enable it only after all job instances in the namespace support it.
+     * </p>
+     */
+    private boolean leaderMutexEnabled;
 }
@@ -25,13 +25,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.framework.api.ACLProvider;
+import org.apache.curator.framework.api.transaction.CuratorOp;
 import org.apache.curator.framework.api.transaction.TransactionOp;
 import org.apache.curator.framework.recipes.cache.ChildData;
 import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.leader.LeaderLatch;
+import org.apache.curator.framework.recipes.locks.InterProcessMutex;
+import org.apache.curator.framework.state.ConnectionState;
 import org.apache.curator.retry.ExponentialBackoffRetry;
 import org.apache.curator.utils.CloseableUtils;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.LeaderExecutionCallback;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
+import org.apache.shardingsphere.elasticjob.reg.exception.RegException;
 import org.apache.shardingsphere.elasticjob.reg.exception.RegExceptionHandler;
+import org.apache.shardingsphere.elasticjob.reg.listener.ConnectionStateChangedEventListener;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEventListener;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.ZooDefs;
@@ -39,6 +48,7 @@ import org.apache.zookeeper.data.ACL;
 import org.apache.zookeeper.data.Stat;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -47,6 +57,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 /**
  * Registry center of ZooKeeper.
@@ -54,11 +65,17 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter {
     
+    private static final String LEADER_LOCK_NODE = "/lock";
+    
     @Getter(AccessLevel.PROTECTED)
     private final ZookeeperConfiguration zkConfig;
     
     private final Map<String, CuratorCache> caches = new ConcurrentHashMap<>();
     
+    private final Map<String, SelectiveCuratorCacheStorage> selectiveCacheStorages = new ConcurrentHashMap<>();
+    
+    private final Map<String, InterProcessMutex> leaderMutexes = new ConcurrentHashMap<>();
+    
     @Getter
     private CuratorFramework client;
     
@@ -114,6 +131,7 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
             each.getValue().close();
         }
         waitForCacheClose();
+        leaderMutexes.clear();
         CloseableUtils.closeQuietly(client);
     }
     
@@ -132,8 +150,9 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     
     @Override
     public String get(final String key) {
-        CuratorCache cache = findCuratorCache(key);
-        if (null == cache) {
+        String cacheKey = findCacheKey(key);
+        CuratorCache cache = null == cacheKey ? null : caches.get(cacheKey);
+        if (null == cache || !isValueCached(cacheKey, key)) {
             return getDirectly(key);
         }
         Optional<ChildData> resultInCache = cache.get(key);
@@ -143,15 +162,30 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
         return getDirectly(key);
     }
     
-    private CuratorCache findCuratorCache(final String key) {
-        for (Entry<String, CuratorCache> entry : caches.entrySet()) {
-            if (key.startsWith(entry.getKey())) {
-                return entry.getValue();
+    /*
+     * Cache keys are always cache path plus a trailing slash, so only the slash terminated prefixes of the key can match.
+     * Looking them up directly costs one hash lookup per path segment instead of a scan over all registered caches.
+     */
+    private String findCacheKey(final String key) {
+        if (caches.isEmpty()) {
+            return null;
+        }
+        int index = key.indexOf('/', 1);
+        while (index >= 0) {
+            String result = key.substring(0, index + 1);
+            if (caches.containsKey(result)) {
+                return result;
             }
+            index = key.indexOf('/', index + 1);
         }
         return null;
     }
     
+    private boolean isValueCached(final String cacheKey, final String key) {
+        SelectiveCuratorCacheStorage storage = selectiveCacheStorages.get(cacheKey);
+        return null == storage || storage.isValueCached(key);
+    }
+    
     @Override
     public String getDirectly(final String key) {
         try {
@@ -232,6 +266,29 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
         }
     }
     
+    @Override
+    public boolean compareAndSet(final String key, final String expectedValue, final String newValue) {
+        try {
+            if (null == expectedValue) {
+                client.create().creatingParentsIfNeeded().withMode(CreateMode.PERSISTENT).forPath(key, newValue.getBytes(StandardCharsets.UTF_8));
+                return true;
+            }
+            Stat stat = new Stat();
+            if (!expectedValue.equals(new String(client.getData().storingStatIn(stat).forPath(key), StandardCharsets.UTF_8))) {
+                return false;
+            }
+            client.setData().withVersion(stat.getVersion()).forPath(key, newValue.getBytes(StandardCharsets.UTF_8));
+            return true;
+        } catch (final KeeperException.NodeExistsException | KeeperException.NoNodeException | KeeperException.BadVersionException ex) {
+            return false;
+        //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+        //CHECKSTYLE:ON
+            RegExceptionHandler.handleException(ex);
+            return false;
+        }
+    }
+    
     @Override
     public void persistEphemeral(final String key, final String value) {
         try {
@@ -302,7 +359,17 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     
     @Override
     public void addCacheData(final String cachePath) {
-        CuratorCache cache = CuratorCache.build(client, cachePath);
+        startCache(cachePath, CuratorCache.build(client, cachePath));
+    }
+    
+    @Override
+    public void addCacheData(final String cachePath, final Predicate<String> valueCachedPredicate) {
+        SelectiveCuratorCacheStorage storage = new SelectiveCuratorCacheStorage(valueCachedPredicate);
+        selectiveCacheStorages.put(cachePath + "/", storage);
+        startCache(cachePath, CuratorCache.builder(client, cachePath).withStorage(storage).build());
+    }
+    
+    private void startCache(final String cachePath, final CuratorCache cache) {
         try {
             cache.start();
         //CHECKSTYLE:OFF
@@ -316,6 +383,8 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     @Override
     public void evictCacheData(final String cachePath) {
         CuratorCache cache = caches.remove(cachePath + "/");
+        selectiveCacheStorages.remove(cachePath + "/");
+        leaderMutexes.keySet().removeIf(each -> each.startsWith(cachePath + "/"));
         if (null != cache) {
             cache.close();
         }
@@ -325,4 +394,113 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     public Object getRawCache(final String cachePath) {
         return caches.get(cachePath + "/");
     }
+    
+    @Override
+    public void executeInTransaction(final List<TransactionOperation> transactionOperations) throws Exception {
+        List<CuratorOp> curatorOps = new ArrayList<>(transactionOperations.size());
+        TransactionOp transactionOp = client.transactionOp();
+        for (TransactionOperation each : transactionOperations) {
+            curatorOps.add(toCuratorOp(transactionOp, each));
+        }
+        client.transaction().forOperations(curatorOps);
+    }
+    
+    private CuratorOp toCuratorOp(final TransactionOp transactionOp, final TransactionOperation transactionOperation) throws Exception {
+        switch (transactionOperation.getType()) {
+            case ADD:
+                return transactionOp.create().forPath(transactionOperation.getKey(), transactionOperation.getValue().getBytes(StandardCharsets.UTF_8));
+            case ADD_EPHEMERAL:
+                return transactionOp.create().withMode(CreateMode.EPHEMERAL).forPath(transactionOperation.getKey(), transactionOperation.getValue().getBytes(StandardCharsets.UTF_8));
+            case UPDATE:
+                return transactionOp.setData().forPath(transactionOperation.getKey(), transactionOperation.getValue().getBytes(StandardCharsets.UTF_8));
+            case DELETE:
+                return transactionOp.delete().forPath(transactionOperation.getKey());
+            case CHECK_EXISTS:
+                return transactionOp.check().forPath(transactionOperation.getKey());
+            default:
+                throw new UnsupportedOperationException(transactionOperation.toString());
+        }
+    }
+    
+    /**
+     * Execute callback in leader.
+     * 
+     * <p>
+     * Leadership is held by a leader latch under the latch key by default, it is closed after callback executed.
+     * If leader mutex is enabled, leadership is held by a reusable inter-process mutex under the latch key instead,
+     * contenders queue on ephemeral sequential nodes and each one only watches its predecessor,
+     * mutexes under the cache path are dropped when its cache data is evicted on job shutdown.
+     * Contenders with mutex and leader latch do not exclude each other,
+     * so leader mutex should be enabled only after all job instances in the namespace support it.
+     * </p>
+     * 
+     * @param key key of leader latch
+     * @param callback leader execution callback
+     */
+    @Override
+    public void executeInLeader(final String key, final LeaderExecutionCallback callback) {
+        try {
+            if (zkConfig.isLeaderMutexEnabled()) {
+                executeInLeaderMutex(key, callback);
+            } else {
+                executeInLeaderLatch(key, callback);
+            }
+        //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+        //CHECKSTYLE:ON
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new RegException(ex);
+        }
+    }
+    
+    private void executeInLeaderLatch(final String key, final LeaderExecutionCallback callback) throws Exception {
+        try (LeaderLatch latch = new LeaderLatch(client, key)) {
+            latch.start();
+            latch.await();
+            callback.execute();
+        }
+    }
+    
+    private void executeInLeaderMutex(final String key, final LeaderExecutionCallback callback) throws Exception {
+        InterProcessMutex mutex = leaderMutexes.computeIfAbsent(key, unused -> new InterProcessMutex(client, key + LEADER_LOCK_NODE));
+        mutex.acquire();
+        try {
+            callback.execute();
+        } finally {
+            mutex.release();
+        }
+    }
+    
+    @Override
+    public void watch(final String cachePath, final DataChangedEventListener listener) {
+        if (!caches.containsKey(cachePath + "/")) {
+            addCacheData(cachePath);
+        }
+        caches.get(cachePath + "/").listenable().addListener(new CuratorCacheListenerAdapter(listener));
+    }
+    
+    @Override
+    public void addConnectionStateChangedEventListener(final ConnectionStateChangedEventListener listener) {
+        client.getConnectionStateListenable().addListener((client, newState) -> {
+            Optional<ConnectionStateChangedEventListener.State> state = toConnectionState(newState);
+            state.ifPresent(each -> listener.onStateChanged(this, each));
+        });
+    }
+    
+    private Optional<ConnectionStateChangedEventListener.State> toConnectionState(final ConnectionState connectionState) {
+        switch (connectionState) {
+            case CONNECTED:
+                return Optional.of(ConnectionStateChangedEventListener.State.CONNECTED);
+            case SUSPENDED:
+                return Optional.of(ConnectionStateChangedEventListener.State.SUSPENDED);
+            case LOST:
+                return Optional.of(ConnectionStateChangedEventListener.State.LOST);
+            case RECONNECTED:
+                return Optional.of(ConnectionStateChangedEventListener.State.RECONNECTED);
+            default:
+                return Optional.empty();
+        }
+    }
 }
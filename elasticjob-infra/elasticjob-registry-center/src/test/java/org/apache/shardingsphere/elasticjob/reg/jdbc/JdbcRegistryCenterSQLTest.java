@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.jdbc;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static org.junit.Assert.assertFalse;
+
+public final class JdbcRegistryCenterSQLTest {
+    
+    @Test
+    public void assertWriteStatementsNotSelectFromTargetTable() throws ReflectiveOperationException {
+        JdbcRegistryCenterSQL sql = new JdbcRegistryCenterSQL("REG_");
+        for (Field each : JdbcRegistryCenterSQL.class.getDeclaredFields()) {
+            if (Modifier.isStatic(each.getModifiers())) {
+                continue;
+            }
+            each.setAccessible(true);
+            String statement = each.get(sql).toString();
+            if (statement.startsWith("UPDATE ") || statement.startsWith("DELETE ")) {
+                assertFalse("MySQL rejects updating a table selected in a subquery: " + statement, statement.contains("(SELECT "));
+            }
+        }
+    }
+}
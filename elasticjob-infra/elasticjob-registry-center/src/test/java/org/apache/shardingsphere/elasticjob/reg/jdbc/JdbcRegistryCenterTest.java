@@ -0,0 +1,425 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.jdbc;
+
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener.Type;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
+import org.apache.shardingsphere.elasticjob.reg.listener.ConnectionStateChangedEventListener.State;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent;
+import org.apache.zookeeper.KeeperException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public final class JdbcRegistryCenterTest {
+    
+    private JdbcDataSource dataSource;
+    
+    private JdbcRegistryCenter regCenter;
+    
+    @Before
+    public void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:jdbc_reg_center;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        dataSource.setUser("sa");
+        regCenter = createRegistryCenter();
+    }
+    
+    private JdbcRegistryCenter createRegistryCenter() {
+        JdbcConfiguration jdbcConfig = new JdbcConfiguration(dataSource, JdbcRegistryCenterTest.class.getSimpleName());
+        jdbcConfig.setSessionTimeoutMilliseconds(600);
+        jdbcConfig.setPollIntervalMilliseconds(50);
+        JdbcRegistryCenter result = new JdbcRegistryCenter(jdbcConfig);
+        result.init();
+        return result;
+    }
+    
+    @After
+    public void tearDown() throws SQLException {
+        regCenter.close();
+        try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+    
+    @Test
+    public void assertPersistAndGet() {
+        regCenter.persist("/test/deep/nested", "deepNested");
+        regCenter.persist("/test/child", "child");
+        regCenter.persist("/test/child", "child_update");
+        assertThat(regCenter.get("/test/deep/nested"), is("deepNested"));
+        assertThat(regCenter.getDirectly("/test/child"), is("child_update"));
+        assertThat(regCenter.get("/test/deep"), is(""));
+        assertNull(regCenter.get("/notExisted"));
+    }
+    
+    @Test
+    public void assertUpdate() {
+        regCenter.persist("/update", "before_update");
+        regCenter.update("/update", "after_update");
+        regCenter.update("/notExisted", "value");
+        assertThat(regCenter.get("/update"), is("after_update"));
+        assertFalse(regCenter.isExisted("/notExisted"));
+    }
+    
+    @Test
+    public void assertCompareAndSet() {
+        assertTrue(regCenter.compareAndSet("/compareAndSet/counter", null, "1"));
+        assertFalse(regCenter.compareAndSet("/compareAndSet/counter", null, "1"));
+        assertFalse(regCenter.compareAndSet("/compareAndSet/counter", "0", "2"));
+        assertTrue(regCenter.compareAndSet("/compareAndSet/counter", "1", "2"));
+        assertFalse(regCenter.compareAndSet("/compareAndSet/notExisted", "1", "2"));
+        assertThat(regCenter.getDirectly("/compareAndSet/counter"), is("2"));
+    }
+    
+    @Test
+    public void assertGetChildrenKeys() {
+        regCenter.persist("/test/child", "");
+        regCenter.persist("/test/deep/nested", "");
+        regCenter.persist("/test_other/child", "");
+        assertThat(regCenter.getChildrenKeys("/test"), is(Arrays.asList("deep", "child")));
+        assertThat(regCenter.getNumChildren("/test"), is(2));
+        assertThat(regCenter.getChildrenKeys("/"), is(Arrays.asList("test_other", "test")));
+        assertThat(regCenter.getChildrenKeys("/notExisted"), is(Collections.<String>emptyList()));
+    }
+    
+    @Test
+    public void assertRemove() {
+        regCenter.persist("/test/deep/nested", "");
+        regCenter.persist("/test_other", "");
+        regCenter.remove("/test");
+        assertFalse(regCenter.isExisted("/test/deep/nested"));
+        assertFalse(regCenter.isExisted("/test"));
+        assertTrue(regCenter.isExisted("/test_other"));
+    }
+    
+    @Test
+    public void assertPersistEphemeralRemovedAfterClose() {
+        JdbcRegistryCenter otherRegCenter = createRegistryCenter();
+        otherRegCenter.persist("/persist", "persist_value");
+        otherRegCenter.persistEphemeral("/ephemeral", "ephemeral_value");
+        assertThat(regCenter.get("/ephemeral"), is("ephemeral_value"));
+        otherRegCenter.close();
+        assertTrue(regCenter.isExisted("/persist"));
+        assertFalse(regCenter.isExisted("/ephemeral"));
+    }
+    
+    @Test
+    public void assertExecuteInTransactionWithEphemeralNode() throws Exception {
+        JdbcRegistryCenter otherRegCenter = createRegistryCenter();
+        otherRegCenter.persist("/transaction", "");
+        otherRegCenter.executeInTransaction(Collections.singletonList(TransactionOperation.opAddEphemeral("/transaction/ephemeral", "ephemeral_value")));
+        assertThat(regCenter.get("/transaction/ephemeral"), is("ephemeral_value"));
+        otherRegCenter.close();
+        assertTrue(regCenter.isExisted("/transaction"));
+        assertFalse(regCenter.isExisted("/transaction/ephemeral"));
+    }
+    
+    @Test
+    public void assertExpireSession() throws SQLException, InterruptedException {
+        assertExpireSessionRemovesEphemeralNodes(dataSource, regCenter);
+    }
+    
+    @Test
+    public void assertExpireSessionWithMySQLMode() throws SQLException, InterruptedException {
+        JdbcDataSource mysqlDataSource = new JdbcDataSource();
+        mysqlDataSource.setURL("jdbc:h2:mem:jdbc_reg_center_mysql;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        mysqlDataSource.setUser("sa");
+        JdbcConfiguration jdbcConfig = new JdbcConfiguration(mysqlDataSource, JdbcRegistryCenterTest.class.getSimpleName());
+        jdbcConfig.setSessionTimeoutMilliseconds(600);
+        jdbcConfig.setPollIntervalMilliseconds(50);
+        JdbcRegistryCenter mysqlRegCenter = new JdbcRegistryCenter(jdbcConfig);
+        mysqlRegCenter.init();
+        try {
+            assertExpireSessionRemovesEphemeralNodes(mysqlDataSource, mysqlRegCenter);
+        } finally {
+            mysqlRegCenter.close();
+            try (
+                    Connection connection = mysqlDataSource.getConnection();
+                    Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+            }
+        }
+    }
+    
+    private void assertExpireSessionRemovesEphemeralNodes(final JdbcDataSource dataSource, final JdbcRegistryCenter regCenter) throws SQLException, InterruptedException {
+        regCenter.persist("/expired", "");
+        try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO REG_SESSION (session_id, heartbeat_time) VALUES (1, TIMESTAMP '2000-01-01 00:00:00')");
+            statement.executeUpdate("INSERT INTO REG_NODE (node_path, parent_path, node_value, ephemeral_owner, data_version, children_version, next_sequence, czxid, mzxid, pzxid, ctime, mtime) "
+                    + "VALUES ('/JdbcRegistryCenterTest/expired/ephemeral', '/JdbcRegistryCenterTest/expired', '', 1, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        }
+        assertTrue(regCenter.isExisted("/expired/ephemeral"));
+        long timeoutMillis = System.currentTimeMillis() + 5000L;
+        while (regCenter.isExisted("/expired/ephemeral") && System.currentTimeMillis() < timeoutMillis) {
+            Thread.sleep(50L);
+        }
+        assertFalse(regCenter.isExisted("/expired/ephemeral"));
+        assertTrue(regCenter.isExisted("/expired"));
+        try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT children_version FROM REG_NODE WHERE node_path = '/JdbcRegistryCenterTest/expired'")) {
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getInt(1), is(1));
+        }
+    }
+    
+    @Test
+    public void assertPersistSequential() {
+        assertThat(regCenter.persistSequential("/sequential/test_sequential", "test_value"), is("/sequential/test_sequential0000000000"));
+        assertThat(regCenter.persistSequential("/sequential/test_sequential", "test_value"), is("/sequential/test_sequential0000000001"));
+        regCenter.persistEphemeralSequential("/sequential/test_ephemeral_sequential");
+        assertThat(regCenter.getChildrenKeys("/sequential"), is(Arrays.asList(
+                "test_sequential0000000001", "test_sequential0000000000", "test_ephemeral_sequential0000000002")));
+    }
+    
+    @Test
+    public void assertGetRegistryCenterTime() {
+        long regCenterTime = regCenter.getRegistryCenterTime("/_systemTime/current");
+        assertTrue(regCenterTime <= System.currentTimeMillis());
+        assertTrue(regCenter.getRegistryCenterTime("/_systemTime/current") >= regCenterTime);
+    }
+    
+    @Test
+    public void assertExecuteInTransaction() throws Exception {
+        regCenter.persist("/transaction/delete", "");
+        regCenter.persist("/transaction/update", "before_update");
+        regCenter.executeInTransaction(Arrays.asList(
+                TransactionOperation.opCheckExists("/transaction"), TransactionOperation.opAdd("/transaction/add", "add_value"),
+                TransactionOperation.opUpdate("/transaction/update", "after_update"), TransactionOperation.opDelete("/transaction/delete")));
+        assertThat(regCenter.get("/transaction/add"), is("add_value"));
+        assertThat(regCenter.get("/transaction/update"), is("after_update"));
+        assertFalse(regCenter.isExisted("/transaction/delete"));
+    }
+    
+    @Test
+    public void assertExecuteInTransactionWithNotEmptyNode() throws Exception {
+        regCenter.persist("/transaction/child", "");
+        try {
+            regCenter.executeInTransaction(Arrays.asList(
+                    TransactionOperation.opAdd("/transaction/add", "add_value"), TransactionOperation.opDelete("/transaction")));
+            fail("Expected KeeperException");
+        } catch (final KeeperException ex) {
+            assertThat(ex, instanceOf(KeeperException.NotEmptyException.class));
+        }
+        assertFalse(regCenter.isExisted("/transaction/add"));
+        assertTrue(regCenter.isExisted("/transaction/child"));
+    }
+    
+    @Test
+    public void assertExecuteInLeader() throws InterruptedException {
+        JdbcRegistryCenter otherRegCenter = createRegistryCenter();
+        AtomicInteger concurrentCount = new AtomicInteger();
+        AtomicInteger maxConcurrentCount = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            JdbcRegistryCenter each = 0 == i % 2 ? regCenter : otherRegCenter;
+            threads[i] = new Thread(() -> each.executeInLeader("/leader", () -> {
+                maxConcurrentCount.accumulateAndGet(concurrentCount.incrementAndGet(), Math::max);
+                sleep();
+                concurrentCount.decrementAndGet();
+            }));
+            threads[i].start();
+        }
+        for (Thread each : threads) {
+            each.join();
+        }
+        otherRegCenter.close();
+        assertThat(maxConcurrentCount.get(), is(1));
+        assertFalse(regCenter.isExisted("/leader/lock"));
+    }
+    
+    @Test
+    public void assertExecuteInLeaderWithLockNotRenewed() throws SQLException {
+        regCenter.persist("/leader", "");
+        try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO REG_SESSION (session_id, heartbeat_time) VALUES (1, TIMESTAMP '2100-01-01 00:00:00')");
+            statement.executeUpdate("INSERT INTO REG_NODE (node_path, parent_path, node_value, ephemeral_owner, data_version, children_version, next_sequence, czxid, mzxid, pzxid, ctime, mtime) "
+                    + "VALUES ('/JdbcRegistryCenterTest/leader/lock', '/JdbcRegistryCenterTest/leader', '', 1, 0, 0, 0, 0, 0, 0, TIMESTAMP '2000-01-01 00:00:00', TIMESTAMP '2000-01-01 00:00:00')");
+        }
+        AtomicInteger executedCount = new AtomicInteger();
+        regCenter.executeInLeader("/leader", executedCount::incrementAndGet);
+        assertThat(executedCount.get(), is(1));
+        assertFalse(regCenter.isExisted("/leader/lock"));
+    }
+    
+    @Test
+    public void assertExecuteInLeaderRenewsLock() throws InterruptedException {
+        JdbcRegistryCenter otherRegCenter = createRegistryCenter();
+        AtomicInteger executedCount = new AtomicInteger();
+        CountDownLatch lockedLatch = new CountDownLatch(1);
+        CountDownLatch releasedLatch = new CountDownLatch(1);
+        Thread leaderThread = new Thread(() -> regCenter.executeInLeader("/leader", () -> {
+            lockedLatch.countDown();
+            try {
+                releasedLatch.await(5L, TimeUnit.SECONDS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        leaderThread.start();
+        assertTrue(lockedLatch.await(5L, TimeUnit.SECONDS));
+        Thread otherThread = new Thread(() -> otherRegCenter.executeInLeader("/leader", executedCount::incrementAndGet));
+        otherThread.start();
+        Thread.sleep(1500L);
+        assertThat(executedCount.get(), is(0));
+        releasedLatch.countDown();
+        leaderThread.join();
+        otherThread.join();
+        otherRegCenter.close();
+        assertThat(executedCount.get(), is(1));
+    }
+    
+    private void sleep() {
+        try {
+            Thread.sleep(20L);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Test
+    public void assertCache() throws InterruptedException {
+        regCenter.persist("/test/existed", "existed");
+        regCenter.addCacheData("/test");
+        CuratorCache cache = (CuratorCache) regCenter.getRawCache("/test");
+        assertThat(regCenter.get("/test/existed"), is("existed"));
+        assertThat(cache.size(), is(2));
+        List<Type> actualTypes = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        cache.listenable().addListener((type, oldData, data) -> {
+            actualTypes.add(type);
+            latch.countDown();
+        });
+        JdbcRegistryCenter otherRegCenter = createRegistryCenter();
+        otherRegCenter.persist("/test/child", "child");
+        waitUntilCached("/test/child", "child");
+        otherRegCenter.update("/test/child", "child_update");
+        waitUntilCached("/test/child", "child_update");
+        otherRegCenter.remove("/test/child");
+        otherRegCenter.close();
+        assertTrue(latch.await(5L, TimeUnit.SECONDS));
+        assertThat(actualTypes, is(Arrays.asList(Type.NODE_CREATED, Type.NODE_CHANGED, Type.NODE_DELETED)));
+        regCenter.evictCacheData("/test");
+        assertNull(regCenter.getRawCache("/test"));
+    }
+    
+    @Test
+    public void assertRefreshOnlyChangedCache() throws InterruptedException {
+        regCenter.persist("/changed/existed", "existed");
+        regCenter.persist("/unchanged/existed", "existed");
+        regCenter.addCacheData("/changed");
+        regCenter.addCacheData("/unchanged");
+        final long changedSubTreeZxid = ((JdbcCuratorCache) regCenter.getRawCache("/changed")).getSubTreeZxid();
+        final long unchangedSubTreeZxid = ((JdbcCuratorCache) regCenter.getRawCache("/unchanged")).getSubTreeZxid();
+        regCenter.persist("/changed/child", "child");
+        waitUntilCached("/changed/child", "child");
+        assertThat(regCenter.get("/changed/child"), is("child"));
+        assertTrue(((JdbcCuratorCache) regCenter.getRawCache("/changed")).getSubTreeZxid() > changedSubTreeZxid);
+        assertThat(((JdbcCuratorCache) regCenter.getRawCache("/unchanged")).getSubTreeZxid(), is(unchangedSubTreeZxid));
+        regCenter.remove("/changed/child");
+        waitUntilRemoved("/changed/child");
+        assertNull(regCenter.get("/changed/child"));
+        assertThat(regCenter.get("/changed/existed"), is("existed"));
+    }
+    
+    private void waitUntilRemoved(final String key) throws InterruptedException {
+        long timeoutMillis = System.currentTimeMillis() + 5000L;
+        while (null != regCenter.get(key) && System.currentTimeMillis() < timeoutMillis) {
+            Thread.sleep(10L);
+        }
+    }
+    
+    private void waitUntilCached(final String key, final String expectedValue) throws InterruptedException {
+        long timeoutMillis = System.currentTimeMillis() + 5000L;
+        while (!expectedValue.equals(regCenter.get(key)) && System.currentTimeMillis() < timeoutMillis) {
+            Thread.sleep(10L);
+        }
+    }
+    
+    @Test
+    public void assertWatch() throws InterruptedException {
+        List<DataChangedEvent> events = new CopyOnWriteArrayList<>();
+        regCenter.watch("/watch", event -> {
+            if ("/watch/child".equals(event.getKey())) {
+                events.add(event);
+            }
+        });
+        regCenter.persist("/watch/child", "value");
+        waitUntilEventsReceived(events, 1);
+        regCenter.remove("/watch/child");
+        waitUntilEventsReceived(events, 2);
+        assertThat(events.get(0).getType(), is(DataChangedEvent.Type.ADDED));
+        assertThat(events.get(0).getValue(), is("value"));
+        assertThat(events.get(1).getType(), is(DataChangedEvent.Type.DELETED));
+    }
+    
+    private void waitUntilEventsReceived(final List<DataChangedEvent> events, final int expectedSize) throws InterruptedException {
+        long timeoutMillis = System.currentTimeMillis() + 5000L;
+        while (events.size() < expectedSize && System.currentTimeMillis() < timeoutMillis) {
+            Thread.sleep(50L);
+        }
+        assertThat(events.size(), is(expectedSize));
+    }
+    
+    @Test
+    public void assertConnectionStateChangedWhenSessionLost() throws SQLException, InterruptedException {
+        List<State> states = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(2);
+        regCenter.addConnectionStateChangedEventListener((registryCenter, newState) -> {
+            states.add(newState);
+            latch.countDown();
+        });
+        try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM REG_SESSION");
+        }
+        assertTrue(latch.await(5L, TimeUnit.SECONDS));
+        assertThat(states, is(Arrays.asList(State.LOST, State.RECONNECTED)));
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.memory;
+
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener.Type;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
+import org.apache.shardingsphere.elasticjob.reg.exception.RegException;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent;
+import org.apache.zookeeper.KeeperException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public final class MemoryRegistryCenterTest {
+    
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    
+    private MemoryRegistryCenter regCenter;
+    
+    @Before
+    public void setUp() {
+        regCenter = new MemoryRegistryCenter(new MemoryConfiguration());
+        regCenter.init();
+    }
+    
+    @After
+    public void tearDown() {
+        regCenter.close();
+    }
+    
+    @Test
+    public void assertPersistAndGet() {
+        regCenter.persist("/test/deep/nested", "deepNested");
+        regCenter.persist("/test/child", "child");
+        regCenter.persist("/test/child", "child_update");
+        assertThat(regCenter.get("/test/deep/nested"), is("deepNested"));
+        assertThat(regCenter.getDirectly("/test/child"), is("child_update"));
+        assertThat(regCenter.get("/test/deep"), is(""));
+        assertNull(regCenter.get("/notExisted"));
+    }
+    
+    @Test
+    public void assertUpdate() {
+        regCenter.persist("/update", "before_update");
+        regCenter.update("/update", "after_update");
+        regCenter.update("/notExisted", "value");
+        assertThat(regCenter.get("/update"), is("after_update"));
+        assertFalse(regCenter.isExisted("/notExisted"));
+    }
+    
+    @Test
+    public void assertCompareAndSet() {
+        assertTrue(regCenter.compareAndSet("/compareAndSet/counter", null, "1"));
+        assertFalse(regCenter.compareAndSet("/compareAndSet/counter", null, "1"));
+        assertFalse(regCenter.compareAndSet("/compareAndSet/counter", "0", "2"));
+        assertTrue(regCenter.compareAndSet("/compareAndSet/counter", "1", "2"));
+        assertFalse(regCenter.compareAndSet("/compareAndSet/notExisted", "1", "2"));
+        assertThat(regCenter.get("/compareAndSet/counter"), is("2"));
+    }
+    
+    @Test
+    public void assertGetChildrenKeys() {
+        regCenter.persist("/test/child", "");
+        regCenter.persist("/test/deep/nested", "");
+        assertThat(regCenter.getChildrenKeys("/test"), is(Arrays.asList("deep", "child")));
+        assertThat(regCenter.getNumChildren("/test"), is(2));
+        assertThat(regCenter.getChildrenKeys("/notExisted"), is(Collections.<String>emptyList()));
+        assertThat(regCenter.getNumChildren("/notExisted"), is(0));
+    }
+    
+    @Test
+    public void assertRemove() {
+        regCenter.persist("/test/deep/nested", "");
+        regCenter.remove("/test");
+        assertFalse(regCenter.isExisted("/test/deep/nested"));
+        assertFalse(regCenter.isExisted("/test"));
+    }
+    
+    @Test
+    public void assertPersistEphemeralRemovedAfterClose() {
+        regCenter.persist("/persist", "persist_value");
+        regCenter.persistEphemeral("/ephemeral", "ephemeral_value");
+        assertThat(regCenter.get("/ephemeral"), is("ephemeral_value"));
+        regCenter.close();
+        assertTrue(regCenter.isExisted("/persist"));
+        assertFalse(regCenter.isExisted("/ephemeral"));
+    }
+    
+    @Test(expected = RegException.class)
+    public void assertPersistEphemeralWithChild() {
+        regCenter.persistEphemeral("/ephemeral", "");
+        regCenter.persist("/ephemeral/child", "");
+    }
+    
+    @Test
+    public void assertPersistSequential() {
+        assertThat(regCenter.persistSequential("/sequential/test_sequential", "test_value"), startsWith("/sequential/test_sequential"));
+        assertThat(regCenter.persistSequential("/sequential/test_sequential", "test_value"), is("/sequential/test_sequential0000000001"));
+        regCenter.persistEphemeralSequential("/sequential/test_ephemeral_sequential");
+        assertThat(regCenter.getChildrenKeys("/sequential"), is(Arrays.asList(
+                "test_sequential0000000001", "test_sequential0000000000", "test_ephemeral_sequential0000000002")));
+    }
+    
+    @Test
+    public void assertGetRegistryCenterTime() {
+        long regCenterTime = regCenter.getRegistryCenterTime("/_systemTime/current");
+        assertTrue(regCenterTime <= System.currentTimeMillis());
+        assertTrue(regCenter.getRegistryCenterTime("/_systemTime/current") >= regCenterTime);
+    }
+    
+    @Test
+    public void assertExecuteInTransaction() throws KeeperException {
+        regCenter.persist("/transaction/delete", "");
+        regCenter.persist("/transaction/update", "before_update");
+        regCenter.executeInTransaction(Arrays.asList(
+                TransactionOperation.opCheckExists("/transaction"), TransactionOperation.opAdd("/transaction/add", "add_value"),
+                TransactionOperation.opUpdate("/transaction/update", "after_update"), TransactionOperation.opDelete("/transaction/delete")));
+        assertThat(regCenter.get("/transaction/add"), is("add_value"));
+        assertThat(regCenter.get("/transaction/update"), is("after_update"));
+        assertFalse(regCenter.isExisted("/transaction/delete"));
+    }
+    
+    @Test
+    public void assertExecuteInTransactionWithEphemeralNode() throws KeeperException {
+        regCenter.persist("/transaction", "");
+        regCenter.executeInTransaction(Collections.singletonList(TransactionOperation.opAddEphemeral("/transaction/ephemeral", "ephemeral_value")));
+        assertThat(regCenter.get("/transaction/ephemeral"), is("ephemeral_value"));
+        try {
+            regCenter.executeInTransaction(Collections.singletonList(TransactionOperation.opAdd("/transaction/ephemeral/child", "")));
+            fail("Expected KeeperException");
+        } catch (final KeeperException ex) {
+            assertThat(ex, instanceOf(KeeperException.NoChildrenForEphemeralsException.class));
+        }
+    }
+    
+    @Test
+    public void assertExecuteInTransactionWithNoNode() {
+        regCenter.persist("/transaction/child", "");
+        try {
+            regCenter.executeInTransaction(Arrays.asList(
+                    TransactionOperation.opAdd("/transaction/add", "add_value"), TransactionOperation.opUpdate("/transaction/notExisted", "value")));
+            fail("Expected KeeperException");
+        } catch (final KeeperException ex) {
+            assertThat(ex, instanceOf(KeeperException.NoNodeException.class));
+        }
+        assertFalse(regCenter.isExisted("/transaction/add"));
+    }
+    
+    @Test
+    public void assertExecuteInTransactionWithNotEmptyNode() {
+        regCenter.persist("/transaction/child", "");
+        try {
+            regCenter.executeInTransaction(Arrays.asList(
+                    TransactionOperation.opAdd("/transaction/add", "add_value"), TransactionOperation.opDelete("/transaction")));
+            fail("Expected KeeperException");
+        } catch (final KeeperException ex) {
+            assertThat(ex, instanceOf(KeeperException.NotEmptyException.class));
+        }
+        assertFalse(regCenter.isExisted("/transaction/add"));
+        assertTrue(regCenter.isExisted("/transaction/child"));
+    }
+    
+    @Test
+    public void assertExecuteInTransactionWithDependentOperations() throws KeeperException {
+        regCenter.executeInTransaction(Arrays.asList(
+                TransactionOperation.opAdd("/transaction", ""), TransactionOperation.opAdd("/transaction/child", ""),
+                TransactionOperation.opDelete("/transaction/child"), TransactionOperation.opDelete("/transaction")));
+        assertFalse(regCenter.isExisted("/transaction"));
+    }
+    
+    @Test
+    public void assertExecuteInLeader() throws InterruptedException {
+        AtomicInteger concurrentCount = new AtomicInteger();
+        AtomicInteger maxConcurrentCount = new AtomicInteger();
+        Runnable runnable = () -> regCenter.executeInLeader("/leader", () -> {
+            maxConcurrentCount.accumulateAndGet(concurrentCount.incrementAndGet(), Math::max);
+            concurrentCount.decrementAndGet();
+        });
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(runnable);
+            threads[i].start();
+        }
+        for (Thread each : threads) {
+            each.join();
+        }
+        assertThat(maxConcurrentCount.get(), is(1));
+    }
+    
+    @Test
+    public void assertCache() throws InterruptedException {
+        regCenter.persist("/test/existed", "existed");
+        regCenter.addCacheData("/test");
+        CuratorCache cache = (CuratorCache) regCenter.getRawCache("/test");
+        assertThat(cache.get("/test/existed").map(each -> new String(each.getData())).orElse(null), is("existed"));
+        assertThat(cache.size(), is(2));
+        List<Type> actualTypes = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        cache.listenable().addListener((type, oldData, data) -> {
+            actualTypes.add(type);
+            latch.countDown();
+        });
+        regCenter.persist("/test/child", "child");
+        regCenter.persist("/other", "other");
+        regCenter.update("/test/child", "child_update");
+        regCenter.remove("/test/child");
+        assertTrue(latch.await(5L, TimeUnit.SECONDS));
+        assertThat(actualTypes, is(Arrays.asList(Type.NODE_CREATED, Type.NODE_CHANGED, Type.NODE_DELETED)));
+        regCenter.evictCacheData("/test");
+        assertNull(regCenter.getRawCache("/test"));
+    }
+    
+    @Test
+    public void assertCacheWithChangedVersion() throws InterruptedException {
+        regCenter.persist("/test/child", "before");
+        regCenter.addCacheData("/test");
+        CuratorCache cache = (CuratorCache) regCenter.getRawCache("/test");
+        CountDownLatch latch = new CountDownLatch(1);
+        cache.listenable().addListener(CuratorCacheListener.builder().forChanges((oldNode, node) -> {
+            assertThat(node.getStat().getVersion(), is(oldNode.getStat().getVersion() + 1));
+            latch.countDown();
+        }).build());
+        regCenter.update("/test/child", "after");
+        assertTrue(latch.await(5L, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void assertWatch() throws InterruptedException {
+        List<DataChangedEvent> events = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        regCenter.watch("/watch", event -> {
+            if ("/watch/child".equals(event.getKey())) {
+                events.add(event);
+                latch.countDown();
+            }
+        });
+        regCenter.persist("/watch/child", "before");
+        regCenter.update("/watch/child", "after");
+        regCenter.remove("/watch/child");
+        assertTrue(latch.await(5L, TimeUnit.SECONDS));
+        assertThat(events.get(0).getType(), is(DataChangedEvent.Type.ADDED));
+        assertThat(events.get(1).getType(), is(DataChangedEvent.Type.UPDATED));
+        assertThat(events.get(1).getValue(), is("after"));
+        assertThat(events.get(2).getType(), is(DataChangedEvent.Type.DELETED));
+        assertThat(events.get(2).getKey(), is("/watch/child"));
+    }
+    
+    @Test
+    public void assertRecoverFromWriteAheadLog() throws Exception {
+        File writeAheadLogFile = new File(temporaryFolder.getRoot(), "registry.wal");
+        MemoryConfiguration memoryConfig = new MemoryConfiguration();
+        memoryConfig.setWriteAheadLogFile(writeAheadLogFile.getAbsolutePath());
+        MemoryRegistryCenter walRegCenter = new MemoryRegistryCenter(memoryConfig);
+        walRegCenter.init();
+        walRegCenter.persist("/test/persist", "persist_value");
+        walRegCenter.persist("/test/removed", "removed_value");
+        walRegCenter.persist("/test/multi line", "line1\nline2");
+        walRegCenter.persistEphemeral("/test/ephemeral", "ephemeral_value");
+        walRegCenter.persistSequential("/test/sequential", "");
+        walRegCenter.remove("/test/removed");
+        walRegCenter.close();
+        MemoryRegistryCenter recoveredRegCenter = new MemoryRegistryCenter(memoryConfig);
+        recoveredRegCenter.init();
+        try {
+            assertThat(recoveredRegCenter.get("/test/persist"), is("persist_value"));
+            assertThat(recoveredRegCenter.get("/test/multi line"), is("line1\nline2"));
+            assertFalse(recoveredRegCenter.isExisted("/test/removed"));
+            assertFalse(recoveredRegCenter.isExisted("/test/ephemeral"));
+            assertThat(recoveredRegCenter.persistSequential("/test/sequential", ""), is("/test/sequential0000000001"));
+        } finally {
+            recoveredRegCenter.close();
+        }
+    }
+    
+    @Test
+    public void assertWriteTransactionToWriteAheadLogAsOneRecord() throws Exception {
+        File writeAheadLogFile = new File(temporaryFolder.getRoot(), "registry.wal");
+        MemoryConfiguration memoryConfig = new MemoryConfiguration();
+        memoryConfig.setWriteAheadLogFile(writeAheadLogFile.getAbsolutePath());
+        MemoryRegistryCenter walRegCenter = new MemoryRegistryCenter(memoryConfig);
+        walRegCenter.init();
+        try {
+            walRegCenter.executeInTransaction(Arrays.asList(TransactionOperation.opAdd("/tx", ""), TransactionOperation.opAdd("/tx/child", "child_value")));
+            assertThat(Files.readAllLines(writeAheadLogFile.toPath(), StandardCharsets.UTF_8).size(), is(1));
+        } finally {
+            walRegCenter.close();
+        }
+    }
+    
+    @Test
+    public void assertRecoverFromWriteAheadLogWithTornTail() throws Exception {
+        File writeAheadLogFile = new File(temporaryFolder.getRoot(), "registry.wal");
+        MemoryConfiguration memoryConfig = new MemoryConfiguration();
+        memoryConfig.setWriteAheadLogFile(writeAheadLogFile.getAbsolutePath());
+        MemoryRegistryCenter walRegCenter = new MemoryRegistryCenter(memoryConfig);
+        walRegCenter.init();
+        walRegCenter.persist("/test/persist", "persist_value");
+        walRegCenter.persist("/test/torn", "torn_value");
+        walRegCenter.close();
+        List<String> lines = Files.readAllLines(writeAheadLogFile.toPath(), StandardCharsets.UTF_8);
+        String tornLine = lines.get(lines.size() - 1);
+        lines.set(lines.size() - 1, tornLine.substring(0, tornLine.length() - 3));
+        Files.write(writeAheadLogFile.toPath(), lines, StandardCharsets.UTF_8);
+        MemoryRegistryCenter recoveredRegCenter = new MemoryRegistryCenter(memoryConfig);
+        recoveredRegCenter.init();
+        try {
+            assertThat(recoveredRegCenter.get("/test/persist"), is("persist_value"));
+            assertFalse(recoveredRegCenter.isExisted("/test/torn"));
+            recoveredRegCenter.persist("/test/after", "after_value");
+        } finally {
+            recoveredRegCenter.close();
+        }
+        MemoryRegistryCenter reopenedRegCenter = new MemoryRegistryCenter(memoryConfig);
+        reopenedRegCenter.init();
+        try {
+            assertThat(reopenedRegCenter.get("/test/after"), is("after_value"));
+        } finally {
+            reopenedRegCenter.close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.zookeeper;
+
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener.Type;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEventListener;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class CuratorCacheListenerAdapterTest {
+    
+    @Mock
+    private DataChangedEventListener delegate;
+    
+    @Test
+    public void assertEventWhenNodeCreated() {
+        new CuratorCacheListenerAdapter(delegate).event(Type.NODE_CREATED, null, new ChildData("/test", null, "value".getBytes(StandardCharsets.UTF_8)));
+        DataChangedEvent actual = captureEvent();
+        assertThat(actual.getType(), is(DataChangedEvent.Type.ADDED));
+        assertThat(actual.getKey(), is("/test"));
+        assertThat(actual.getValue(), is("value"));
+    }
+    
+    @Test
+    public void assertEventWhenNodeChangedWithoutData() {
+        new CuratorCacheListenerAdapter(delegate).event(Type.NODE_CHANGED, null, new ChildData("/test", null, null));
+        DataChangedEvent actual = captureEvent();
+        assertThat(actual.getType(), is(DataChangedEvent.Type.UPDATED));
+        assertThat(actual.getValue(), is(""));
+    }
+    
+    @Test
+    public void assertEventWhenNodeDeleted() {
+        new CuratorCacheListenerAdapter(delegate).event(Type.NODE_DELETED, new ChildData("/test", null, "old".getBytes(StandardCharsets.UTF_8)), null);
+        DataChangedEvent actual = captureEvent();
+        assertThat(actual.getType(), is(DataChangedEvent.Type.DELETED));
+        assertThat(actual.getValue(), is("old"));
+    }
+    
+    @Test
+    public void assertEventWithoutData() {
+        new CuratorCacheListenerAdapter(delegate).event(Type.NODE_DELETED, null, null);
+        verify(delegate, never()).onChange(any());
+    }
+    
+    private DataChangedEvent captureEvent() {
+        ArgumentCaptor<DataChangedEvent> captor = ArgumentCaptor.forClass(DataChangedEvent.class);
+        verify(delegate).onChange(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.reg.zookeeper;
+
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.zookeeper.data.Stat;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class SelectiveCuratorCacheStorageTest {
+    
+    private final SelectiveCuratorCacheStorage storage = new SelectiveCuratorCacheStorage(path -> path.startsWith("/test/config"));
+    
+    @Test
+    public void assertPutWithValueCached() {
+        assertFalse(storage.put(createChildData("/test/config", 0, "foo")).isPresent());
+        Optional<ChildData> previous = storage.put(createChildData("/test/config", 1, "bar"));
+        assertTrue(previous.isPresent());
+        assertThat(previous.get().getStat().getVersion(), is(0));
+        assertThat(new String(previous.get().getData(), StandardCharsets.UTF_8), is("foo"));
+        assertThat(new String(storage.get("/test/config").get().getData(), StandardCharsets.UTF_8), is("bar"));
+        assertThat(storage.get("/test/config").get().getStat().getVersion(), is(1));
+    }
+    
+    @Test
+    public void assertPutWithoutValueCached() {
+        storage.put(createChildData("/test/sharding/0/running", 2, "running"));
+        assertTrue(storage.get("/test/sharding/0/running").isPresent());
+        assertNull(storage.get("/test/sharding/0/running").get().getData());
+        assertThat(storage.get("/test/sharding/0/running").get().getStat().getVersion(), is(2));
+        assertFalse(storage.isValueCached("/test/sharding/0/running"));
+        assertTrue(storage.isValueCached("/test/config"));
+    }
+    
+    @Test
+    public void assertRemoveAndClear() {
+        storage.put(createChildData("/test/config", 0, "foo"));
+        storage.put(createChildData("/test/sharding/0/running", 0, ""));
+        assertThat(storage.size(), is(2));
+        assertThat(storage.stream().count(), is(2L));
+        assertTrue(storage.remove("/test/config").isPresent());
+        assertFalse(storage.remove("/test/config").isPresent());
+        storage.clear();
+        assertThat(storage.size(), is(0));
+    }
+    
+    private ChildData createChildData(final String path, final int version, final String data) {
+        Stat stat = new Stat();
+        stat.setVersion(version);
+        return new ChildData(path, stat, data.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -17,23 +17,33 @@
 
 package org.apache.shardingsphere.elasticjob.reg.zookeeper;
 
+import lombok.SneakyThrows;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.retry.RetryOneTime;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
+import org.apache.shardingsphere.elasticjob.reg.exception.RegException;
 import org.apache.shardingsphere.elasticjob.reg.zookeeper.fixture.EmbedTestingServer;
 import org.apache.shardingsphere.elasticjob.reg.zookeeper.util.ZookeeperRegistryCenterTestUtil;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public final class ZookeeperRegistryCenterModifyTest {
     
@@ -70,6 +80,16 @@ public final class ZookeeperRegistryCenterModifyTest {
         assertThat(zkRegCenter.getDirectly("/update"), is("after_update"));
     }
     
+    @Test
+    public void assertCompareAndSet() {
+        assertTrue(zkRegCenter.compareAndSet("/compareAndSet/counter", null, "1"));
+        assertFalse(zkRegCenter.compareAndSet("/compareAndSet/counter", null, "1"));
+        assertFalse(zkRegCenter.compareAndSet("/compareAndSet/counter", "0", "2"));
+        assertTrue(zkRegCenter.compareAndSet("/compareAndSet/counter", "1", "2"));
+        assertFalse(zkRegCenter.compareAndSet("/compareAndSet/notExisted", "1", "2"));
+        assertThat(zkRegCenter.getDirectly("/compareAndSet/counter"), is("2"));
+    }
+    
     @Test
     public void assertPersistEphemeral() throws Exception {
         zkRegCenter.persist("/persist", "persist_value");
@@ -125,4 +145,139 @@ public final class ZookeeperRegistryCenterModifyTest {
         zkRegCenter.remove("/test");
         assertFalse(zkRegCenter.isExisted("/test"));
     }
+    
+    @Test
+    public void assertExecuteInTransaction() throws Exception {
+        zkRegCenter.persist("/transaction/delete", "");
+        zkRegCenter.executeInTransaction(Arrays.asList(TransactionOperation.opCheckExists("/transaction"),
+                TransactionOperation.opAdd("/transaction/add", "add_value"), TransactionOperation.opDelete("/transaction/delete")));
+        assertThat(zkRegCenter.getDirectly("/transaction/add"), is("add_value"));
+        assertFalse(zkRegCenter.isExisted("/transaction/delete"));
+        zkRegCenter.remove("/transaction");
+    }
+    
+    @Test
+    public void assertExecuteInTransactionWithEphemeralNode() throws Exception {
+        zkRegCenter.persist("/transaction_ephemeral", "");
+        zkRegCenter.executeInTransaction(Arrays.asList(TransactionOperation.opCheckExists("/transaction_ephemeral"),
+                TransactionOperation.opAddEphemeral("/transaction_ephemeral/ephemeral", "ephemeral_value")));
+        assertThat(zkRegCenter.getDirectly("/transaction_ephemeral/ephemeral"), is("ephemeral_value"));
+        assertThat(((CuratorFramework) zkRegCenter.getRawClient()).checkExists().forPath("/transaction_ephemeral/ephemeral").getEphemeralOwner(),
+                is(((CuratorFramework) zkRegCenter.getRawClient()).getZookeeperClient().getZooKeeper().getSessionId()));
+        zkRegCenter.remove("/transaction_ephemeral");
+    }
+    
+    @Test
+    public void assertExecuteInLeader() {
+        AtomicBoolean executed = new AtomicBoolean();
+        zkRegCenter.executeInLeader("/leader/latch", () -> executed.set(true));
+        assertTrue(executed.get());
+        assertFalse(zkRegCenter.isExisted("/leader/latch/lock"));
+        assertTrue(getLeaderMutexes(zkRegCenter).isEmpty());
+    }
+    
+    @Test
+    public void assertExecuteInLeaderWithMutex() {
+        ZookeeperRegistryCenter mutexRegCenter = createMutexRegistryCenter();
+        AtomicBoolean executed = new AtomicBoolean();
+        mutexRegCenter.executeInLeader("/leader_mutex/latch", () -> executed.set(true));
+        mutexRegCenter.close();
+        assertTrue(executed.get());
+        assertThat(zkRegCenter.getNumChildren("/leader_mutex/latch/lock"), is(0));
+    }
+    
+    @Test
+    public void assertExecuteInLeaderWithContention() throws InterruptedException {
+        ZookeeperRegistryCenter otherRegCenter = new ZookeeperRegistryCenter(ZOOKEEPER_CONFIGURATION);
+        otherRegCenter.init();
+        assertOnlyOneLeaderExecuted(zkRegCenter, otherRegCenter, "/contention/latch");
+        otherRegCenter.close();
+    }
+    
+    @Test
+    public void assertExecuteInLeaderWithMutexContention() throws InterruptedException {
+        ZookeeperRegistryCenter mutexRegCenter = createMutexRegistryCenter();
+        ZookeeperRegistryCenter otherMutexRegCenter = createMutexRegistryCenter();
+        assertOnlyOneLeaderExecuted(mutexRegCenter, otherMutexRegCenter, "/mutex_contention/latch");
+        mutexRegCenter.close();
+        otherMutexRegCenter.close();
+        assertThat(zkRegCenter.getNumChildren("/mutex_contention/latch/lock"), is(0));
+    }
+    
+    private void assertOnlyOneLeaderExecuted(final ZookeeperRegistryCenter regCenter, final ZookeeperRegistryCenter otherRegCenter, final String key) throws InterruptedException {
+        AtomicInteger concurrentCount = new AtomicInteger();
+        AtomicInteger maxConcurrentCount = new AtomicInteger();
+        AtomicInteger executedCount = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            ZookeeperRegistryCenter each = 0 == i % 2 ? regCenter : otherRegCenter;
+            threads[i] = new Thread(() -> each.executeInLeader(key, () -> {
+                maxConcurrentCount.accumulateAndGet(concurrentCount.incrementAndGet(), Math::max);
+                sleep();
+                concurrentCount.decrementAndGet();
+                executedCount.incrementAndGet();
+            }));
+            threads[i].start();
+        }
+        for (Thread each : threads) {
+            each.join();
+        }
+        assertThat(executedCount.get(), is(4));
+        assertThat(maxConcurrentCount.get(), is(1));
+    }
+    
+    @Test
+    public void assertExecuteInLeaderWithMutexWhenInterrupted() {
+        ZookeeperRegistryCenter mutexRegCenter = createMutexRegistryCenter();
+        AtomicBoolean executed = new AtomicBoolean();
+        Thread.currentThread().interrupt();
+        try {
+            mutexRegCenter.executeInLeader("/interrupted/latch", () -> executed.set(true));
+            fail();
+        } catch (final RegException ex) {
+            assertThat(ex.getCause(), instanceOf(InterruptedException.class));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+            mutexRegCenter.close();
+        }
+        assertFalse(executed.get());
+    }
+    
+    @Test
+    public void assertEvictLeaderMutexesWithCacheData() {
+        ZookeeperRegistryCenter mutexRegCenter = createMutexRegistryCenter();
+        mutexRegCenter.executeInLeader("/evict_job/leader/latch", () -> { });
+        mutexRegCenter.executeInLeader("/evict_job_other/leader/latch", () -> { });
+        assertTrue(getLeaderMutexes(mutexRegCenter).containsKey("/evict_job/leader/latch"));
+        mutexRegCenter.evictCacheData("/evict_job");
+        assertFalse(getLeaderMutexes(mutexRegCenter).containsKey("/evict_job/leader/latch"));
+        assertTrue(getLeaderMutexes(mutexRegCenter).containsKey("/evict_job_other/leader/latch"));
+        mutexRegCenter.close();
+    }
+    
+    private ZookeeperRegistryCenter createMutexRegistryCenter() {
+        ZookeeperConfiguration zkConfig = new ZookeeperConfiguration(EmbedTestingServer.getConnectionString(), ZookeeperRegistryCenterModifyTest.class.getName());
+        zkConfig.setConnectionTimeoutMilliseconds(30000);
+        zkConfig.setLeaderMutexEnabled(true);
+        ZookeeperRegistryCenter result = new ZookeeperRegistryCenter(zkConfig);
+        result.init();
+        return result;
+    }
+    
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    private Map<String, ?> getLeaderMutexes(final ZookeeperRegistryCenter regCenter) {
+        Field field = ZookeeperRegistryCenter.class.getDeclaredField("leaderMutexes");
+        field.setAccessible(true);
+        return (Map<String, ?>) field.get(regCenter);
+    }
+    
+    private void sleep() {
+        try {
+            Thread.sleep(20L);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -59,4 +59,33 @@ public final class ZookeeperRegistryCenterQueryWithCacheTest {
         assertThat(zkRegCenter.get("/test"), is("test"));
         assertThat(zkRegCenter.get("/test/deep/nested"), is("deepNested"));
     }
+    
+    @Test
+    public void assertGetFromCacheWithManyCaches() {
+        for (int i = 0; i < 100; i++) {
+            zkRegCenter.addCacheData("/test_job_" + i);
+        }
+        try {
+            assertThat(zkRegCenter.get("/test/child"), is("child"));
+            assertThat(zkRegCenter.get("/test/deep/nested"), is("deepNested"));
+            assertNull(zkRegCenter.get("/test_job_0/null"));
+        } finally {
+            for (int i = 0; i < 100; i++) {
+                zkRegCenter.evictCacheData("/test_job_" + i);
+            }
+        }
+    }
+    
+    @Test
+    public void assertGetFromSelectiveCache() {
+        zkRegCenter.evictCacheData("/test");
+        zkRegCenter.addCacheData("/test", path -> path.startsWith("/test/deep"));
+        try {
+            assertThat(zkRegCenter.get("/test/deep/nested"), is("deepNested"));
+            assertThat(zkRegCenter.get("/test/child"), is("child"));
+        } finally {
+            zkRegCenter.evictCacheData("/test");
+            zkRegCenter.addCacheData("/test");
+        }
+    }
 }
@@ -18,7 +18,6 @@
 package org.apache.shardingsphere.elasticjob.lite.api.listener;
 
 import lombok.Setter;
-import org.apache.shardingsphere.elasticjob.infra.concurrent.BlockUtils;
 import org.apache.shardingsphere.elasticjob.infra.env.TimeService;
 import org.apache.shardingsphere.elasticjob.infra.exception.JobSystemException;
 import org.apache.shardingsphere.elasticjob.infra.listener.ElasticJobListener;
@@ -56,11 +55,7 @@ public abstract class AbstractDistributeOnceElasticJobListener implements Elasti
         if (shardingItems.isEmpty()) {
             return;
         }
-        guaranteeService.registerStart(shardingItems);
-        while (!guaranteeService.isRegisterStartSuccess(shardingItems)) {
-            BlockUtils.waitingShortTime();
-        }
-        if (guaranteeService.isAllStarted()) {
+        if (guaranteeService.registerStart(shardingItems)) {
             doBeforeJobExecutedAtLastStarted(shardingContexts);
             guaranteeService.clearAllStartedInfo();
             return;
@@ -85,11 +80,7 @@ public abstract class AbstractDistributeOnceElasticJobListener implements Elasti
         if (shardingItems.isEmpty()) {
             return;
         }
-        guaranteeService.registerComplete(shardingItems);
-        while (!guaranteeService.isRegisterCompleteSuccess(shardingItems)) {
-            BlockUtils.waitingShortTime();
-        }
-        if (guaranteeService.isAllCompleted()) {
+        if (guaranteeService.registerComplete(shardingItems)) {
             doAfterJobExecutedAtLastCompleted(shardingContexts);
             guaranteeService.clearAllCompletedInfo();
             return;
@@ -18,7 +18,6 @@
 package org.apache.shardingsphere.elasticjob.lite.api.registry;
 
 import lombok.RequiredArgsConstructor;
-import org.apache.curator.framework.recipes.cache.CuratorCache;
 import org.apache.shardingsphere.elasticjob.api.ElasticJob;
 import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
@@ -29,6 +28,7 @@ import org.apache.shardingsphere.elasticjob.lite.api.bootstrap.impl.ScheduleJobB
 import org.apache.shardingsphere.elasticjob.lite.internal.listener.AbstractJobListener;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodePath;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
 
 import java.util.Arrays;
 import java.util.regex.Pattern;
@@ -51,15 +51,14 @@ public final class JobInstanceRegistry {
      * Register.
      */
     public void register() {
-        CuratorCache cache = (CuratorCache) regCenter.getRawCache("/");
-        cache.listenable().addListener(new JobInstanceRegistryListener());
+        regCenter.watch("/", new JobInstanceRegistryListener());
     }
     
     public class JobInstanceRegistryListener extends AbstractJobListener {
         
         @Override
         protected void dataChanged(final String path, final Type eventType, final String data) {
-            if (eventType != Type.NODE_CREATED || !isJobConfigPath(path)) {
+            if (eventType != Type.ADDED || !isJobConfigPath(path)) {
                 return;
             }
             JobConfiguration jobConfig = YamlEngine.unmarshal(data, JobConfigurationPOJO.class).toJobConfiguration();
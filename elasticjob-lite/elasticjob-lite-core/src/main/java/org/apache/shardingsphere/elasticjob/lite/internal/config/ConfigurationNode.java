@@ -24,7 +24,7 @@ import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodePath;
  */
 public final class ConfigurationNode {
     
-    static final String ROOT = "config";
+    public static final String ROOT = "config";
     
     private final JobNodePath jobNodePath;
     
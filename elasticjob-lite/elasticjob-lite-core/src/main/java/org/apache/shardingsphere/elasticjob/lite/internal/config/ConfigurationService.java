@@ -23,7 +23,6 @@ import org.apache.shardingsphere.elasticjob.infra.exception.JobExecutionEnvironm
 import org.apache.shardingsphere.elasticjob.infra.pojo.JobConfigurationPOJO;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
-import org.apache.shardingsphere.elasticjob.infra.env.TimeService;
 import org.apache.shardingsphere.elasticjob.infra.yaml.YamlEngine;
 
 /**
@@ -31,13 +30,13 @@ import org.apache.shardingsphere.elasticjob.infra.yaml.YamlEngine;
  */
 public final class ConfigurationService {
     
-    private final TimeService timeService;
-    
     private final JobNodeStorage jobNodeStorage;
     
+    private final RegistryCenterClockOffsetEstimator clockOffsetEstimator;
+    
     public ConfigurationService(final CoordinatorRegistryCenter regCenter, final String jobName) {
         jobNodeStorage = new JobNodeStorage(regCenter, jobName);
-        timeService = new TimeService();
+        clockOffsetEstimator = RegistryCenterClockOffsetEstimator.getInstance(regCenter);
     }
     
     /**
@@ -97,7 +96,7 @@ public final class ConfigurationService {
         if (0 > maxTimeDiffSeconds) {
             return;
         }
-        long timeDiff = Math.abs(timeService.getCurrentMillis() - jobNodeStorage.getRegistryCenterTime());
+        long timeDiff = Math.abs(clockOffsetEstimator.getOffsetMillis(jobNodeStorage));
         if (timeDiff > maxTimeDiffSeconds * 1000L) {
             throw new JobExecutionEnvironmentException(
                     "Time different between job server and register center exceed '%s' seconds, max time different is '%s' seconds.", timeDiff / 1000, maxTimeDiffSeconds);
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.config;
+
+import org.apache.shardingsphere.elasticjob.infra.env.TimeService;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Clock offset estimator between job server and registry center.
+ * 
+ * <p>
+ * One estimator is shared by all jobs of the same registry center.
+ * The offset is measured by writing the registry center time node at most once per refresh interval, other checks use the local estimate.
+ * </p>
+ */
+public final class RegistryCenterClockOffsetEstimator {
+    
+    static final long REFRESH_INTERVAL_MILLIS = 60 * 1000L;
+    
+    private static final Map<CoordinatorRegistryCenter, RegistryCenterClockOffsetEstimator> ESTIMATORS = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    private final TimeService timeService = new TimeService();
+    
+    private volatile boolean estimated;
+    
+    private volatile long offsetMillis;
+    
+    private volatile long lastRefreshMillis;
+    
+    /**
+     * Get clock offset estimator of registry center.
+     * 
+     * @param regCenter registry center
+     * @return clock offset estimator
+     */
+    public static RegistryCenterClockOffsetEstimator getInstance(final CoordinatorRegistryCenter regCenter) {
+        return ESTIMATORS.computeIfAbsent(regCenter, key -> new RegistryCenterClockOffsetEstimator());
+    }
+    
+    /**
+     * Get clock offset in milliseconds, registry center time minus local time.
+     * 
+     * @param jobNodeStorage job node storage used to measure registry center time if estimate expired
+     * @return clock offset in milliseconds
+     */
+    public long getOffsetMillis(final JobNodeStorage jobNodeStorage) {
+        if (!estimated || timeService.getCurrentMillis() - lastRefreshMillis >= REFRESH_INTERVAL_MILLIS) {
+            refresh(jobNodeStorage);
+        }
+        return offsetMillis;
+    }
+    
+    private synchronized void refresh(final JobNodeStorage jobNodeStorage) {
+        long startMillis = timeService.getCurrentMillis();
+        if (estimated && startMillis - lastRefreshMillis < REFRESH_INTERVAL_MILLIS) {
+            return;
+        }
+        long registryCenterTime = jobNodeStorage.getRegistryCenterTime();
+        long endMillis = timeService.getCurrentMillis();
+        offsetMillis = registryCenterTime - (startMillis + endMillis) / 2;
+        lastRefreshMillis = endMillis;
+        estimated = true;
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.shardingsphere.elasticjob.lite.internal.listener.AbstractJobLi
 import org.apache.shardingsphere.elasticjob.lite.internal.listener.AbstractListenerManager;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
 
 /**
  * Reschedule listener manager.
@@ -43,14 +44,14 @@ public final class RescheduleListenerManager extends AbstractListenerManager {
     
     @Override
     public void start() {
-        addDataListener(new CronSettingAndJobEventChangedJobListener());
+        addDataListener(new CronSettingAndJobEventChangedJobListener(), ConfigurationNode.ROOT);
     }
     
     class CronSettingAndJobEventChangedJobListener extends AbstractJobListener {
         
         @Override
         protected void dataChanged(final String path, final Type eventType, final String data) {
-            if (configNode.isConfigPath(path) && Type.NODE_CHANGED == eventType && !JobRegistry.getInstance().isShutdown(jobName)) {
+            if (configNode.isConfigPath(path) && Type.UPDATED == eventType && !JobRegistry.getInstance().isShutdown(jobName)) {
                 JobConfiguration jobConfiguration = YamlEngine.unmarshal(data, JobConfigurationPOJO.class).toJobConfiguration();
                 if (StringUtils.isEmpty(jobConfiguration.getCron())) {
                     JobRegistry.getInstance().getJobScheduleController(jobName).rescheduleJob();
@@ -25,6 +25,7 @@ import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerNode;
 import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerService;
 import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerStatus;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
 
 import java.util.Objects;
 
@@ -54,8 +55,8 @@ public final class ElectionListenerManager extends AbstractListenerManager {
     
     @Override
     public void start() {
-        addDataListener(new LeaderElectionJobListener());
-        addDataListener(new LeaderAbdicationJobListener());
+        addDataListener(new LeaderElectionJobListener(), LeaderNode.ROOT, ServerNode.ROOT);
+        addDataListener(new LeaderAbdicationJobListener(), ServerNode.ROOT);
     }
     
     class LeaderElectionJobListener extends AbstractJobListener {
@@ -77,7 +78,7 @@ public final class ElectionListenerManager extends AbstractListenerManager {
         }
         
         private boolean isLeaderCrashed(final String path, final Type eventType) {
-            return leaderNode.isLeaderInstancePath(path) && Type.NODE_DELETED == eventType;
+            return leaderNode.isLeaderInstancePath(path) && Type.DELETED == eventType;
         }
         
         private boolean isLocalServerEnabled(final String path, final String data) {
@@ -21,10 +21,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerService;
+import org.apache.shardingsphere.elasticjob.lite.internal.sharding.NamespaceShardingCoordinator;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
-import org.apache.shardingsphere.elasticjob.lite.internal.storage.LeaderExecutionCallback;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
-import org.apache.shardingsphere.elasticjob.infra.concurrent.BlockUtils;
+import org.apache.shardingsphere.elasticjob.reg.base.LeaderExecutionCallback;
+
+import java.util.Optional;
 
 /**
  * Leader service.
@@ -32,6 +34,10 @@ import org.apache.shardingsphere.elasticjob.infra.concurrent.BlockUtils;
 @Slf4j
 public final class LeaderService {
     
+    private static final long LEADER_ELECTING_TIMEOUT_MILLISECONDS = 100L;
+    
+    private final CoordinatorRegistryCenter regCenter;
+    
     private final String jobName;
     
     private final ServerService serverService;
@@ -39,6 +45,7 @@ public final class LeaderService {
     private final JobNodeStorage jobNodeStorage;
     
     public LeaderService(final CoordinatorRegistryCenter regCenter, final String jobName) {
+        this.regCenter = regCenter;
         this.jobName = jobName;
         jobNodeStorage = new JobNodeStorage(regCenter, jobName);
         serverService = new ServerService(regCenter, jobName);
@@ -46,10 +53,17 @@ public final class LeaderService {
     
     /**
      * Elect leader.
+     * 
+     * <p>
+     * Election of job coordinated by namespace is delegated to namespace leader if possible.
+     * </p>
      */
     public void electLeader() {
         log.debug("Elect a new leader now.");
-        jobNodeStorage.executeInLeader(LeaderNode.LATCH, new LeaderElectionExecutionCallback());
+        Optional<NamespaceShardingCoordinator> coordinator = NamespaceShardingCoordinator.find(regCenter, jobName);
+        if (!coordinator.isPresent() || !coordinator.get().electLeader(jobName)) {
+            jobNodeStorage.executeInLeader(LeaderNode.LATCH, new LeaderElectionExecutionCallback());
+        }
         log.debug("Leader election completed.");
     }
     
@@ -64,9 +78,9 @@ public final class LeaderService {
      */
     public boolean isLeaderUntilBlock() {
         while (!hasLeader() && serverService.hasAvailableServers()) {
-            log.info("Leader is electing, waiting for {} ms", 100);
-            BlockUtils.waitingShortTime();
-            if (!JobRegistry.getInstance().isShutdown(jobName) && serverService.isAvailableServer(JobRegistry.getInstance().getJobInstance(jobName).getServerIp())) {
+            log.info("Leader is electing, waiting for {} ms at most", LEADER_ELECTING_TIMEOUT_MILLISECONDS);
+            boolean leaderElected = jobNodeStorage.awaitUntil(this::hasLeader, LEADER_ELECTING_TIMEOUT_MILLISECONDS, LeaderNode.INSTANCE);
+            if (!leaderElected && !JobRegistry.getInstance().isShutdown(jobName) && serverService.isAvailableServer(JobRegistry.getInstance().getJobInstance(jobName).getServerIp())) {
                 electLeader();
             }
         }
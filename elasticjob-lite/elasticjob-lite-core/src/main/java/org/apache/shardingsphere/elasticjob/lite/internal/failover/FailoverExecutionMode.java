@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.failover;
+
+import org.apache.shardingsphere.elasticjob.lite.internal.util.JobPropertiesUtils;
+
+import java.util.Properties;
+
+/**
+ * Failover execution mode.
+ */
+public enum FailoverExecutionMode {
+    
+    /**
+     * Execute failover items in separate executions, local sharding items are skipped while failover items existed.
+     * Crashed items are only claimed when job is idle.
+     */
+    SEPARATE,
+    
+    /**
+     * Merge failover items into the execution of local sharding items.
+     * 
+     * <p>
+     * Crashed items are claimed even if job is running, and executed with local sharding items in next execution.
+     * Failover items held by one instance are limited by failover merged max items.
+     * </p>
+     */
+    MERGED;
+    
+    /**
+     * Key of failover execution mode in job properties.
+     */
+    public static final String PROPS_KEY = "failover.execution.mode";
+    
+    /**
+     * Get failover execution mode from job properties.
+     * 
+     * @param props job properties
+     * @return failover execution mode
+     */
+    public static FailoverExecutionMode fromProperties(final Properties props) {
+        return JobPropertiesUtils.getEnum(props, PROPS_KEY, SEPARATE);
+    }
+}
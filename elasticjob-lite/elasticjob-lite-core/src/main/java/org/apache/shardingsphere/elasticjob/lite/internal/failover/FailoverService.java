@@ -17,19 +17,26 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.failover;
 
+import com.google.common.primitives.Ints;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.shardingsphere.elasticjob.lite.internal.config.ConfigurationService;
+import org.apache.shardingsphere.elasticjob.lite.internal.instance.InstanceNode;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobScheduleController;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingNode;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingService;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodePath;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
-import org.apache.shardingsphere.elasticjob.lite.internal.storage.LeaderExecutionCallback;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.LeaderExecutionCallback;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Failover service.
@@ -37,16 +44,36 @@ import java.util.List;
 @Slf4j
 public final class FailoverService {
     
+    /**
+     * Key of max crashed sharding items claimed in one failover in job properties, default is 1.
+     */
+    public static final String BATCH_SIZE_PROPS_KEY = "failover.batch.size";
+    
+    /**
+     * Key of max failover items held by one instance in merged failover execution mode in job properties, not limited if absent.
+     */
+    public static final String MERGED_MAX_ITEMS_PROPS_KEY = "failover.merged.max.items";
+    
+    private static final int DEFAULT_BATCH_SIZE = 1;
+    
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+    
     private final String jobName;
     
     private final JobNodeStorage jobNodeStorage;
     
     private final ShardingService shardingService;
     
+    private final ConfigurationService configService;
+    
+    private final JobNodePath jobNodePath;
+    
     public FailoverService(final CoordinatorRegistryCenter regCenter, final String jobName) {
         this.jobName = jobName;
         jobNodeStorage = new JobNodeStorage(regCenter, jobName);
         shardingService = new ShardingService(regCenter, jobName);
+        configService = new ConfigurationService(regCenter, jobName);
+        jobNodePath = new JobNodePath(jobName);
     }
     
     /**
@@ -75,6 +102,12 @@ public final class FailoverService {
     
     /**
      * Failover if necessary.
+     * 
+     * <p>
+     * Crashed items are claimed in one transaction, up to failover batch size and fair share of crashed items among online instances.
+     * The claim is verified by reading failover nodes directly, and retried with fresh crashed items if it is lost.
+     * In merged failover execution mode, crashed items are claimed even if job is running, up to failover merged max items held by this instance.
+     * </p>
      */
     public void failoverIfNecessary() {
         if (needFailover()) {
@@ -84,7 +117,17 @@ public final class FailoverService {
     
     private boolean needFailover() {
         return jobNodeStorage.isJobNodeExisted(FailoverNode.ITEMS_ROOT) && !jobNodeStorage.getJobNodeChildrenKeys(FailoverNode.ITEMS_ROOT).isEmpty()
-                && !JobRegistry.getInstance().isJobRunning(jobName);
+                && (!JobRegistry.getInstance().isJobRunning(jobName) || isMergedExecution());
+    }
+    
+    private boolean isMergedExecution() {
+        return FailoverExecutionMode.MERGED == FailoverExecutionMode.fromProperties(configService.load(true).getProps());
+    }
+    
+    private int getMergedMaxItems() {
+        String value = configService.load(true).getProps().getProperty(MERGED_MAX_ITEMS_PROPS_KEY);
+        Integer result = null == value ? null : Ints.tryParse(value.trim());
+        return null == result ? Integer.MAX_VALUE : Math.max(1, result);
     }
     
     /**
@@ -151,6 +194,19 @@ public final class FailoverService {
         return getFailoverItems(JobRegistry.getInstance().getJobInstance(jobName).getJobInstanceId());
     }
     
+    /**
+     * Get failover items which execute on localhost and merged into the execution of local sharding items.
+     * 
+     * @param shardingItems local sharding items to be executed
+     * @return failover items to be merged, up to failover merged max items
+     */
+    public List<Integer> getLocalMergedFailoverItems(final Collection<Integer> shardingItems) {
+        List<Integer> result = new ArrayList<>(getLocalFailoverItems());
+        result.removeAll(shardingItems);
+        int mergedMaxItems = getMergedMaxItems();
+        return result.size() > mergedMaxItems ? new ArrayList<>(result.subList(0, mergedMaxItems)) : result;
+    }
+    
     /**
      * Get failover items which crashed on localhost.
      * 
@@ -183,11 +239,64 @@ public final class FailoverService {
             if (JobRegistry.getInstance().isShutdown(jobName) || !needFailover()) {
                 return;
             }
-            int crashedItem = Integer.parseInt(jobNodeStorage.getJobNodeChildrenKeys(FailoverNode.ITEMS_ROOT).get(0));
-            log.debug("Failover job '{}' begin, crashed item '{}'", jobName, crashedItem);
-            jobNodeStorage.fillEphemeralJobNode(FailoverNode.getExecutionFailoverNode(crashedItem), JobRegistry.getInstance().getJobInstance(jobName).getJobInstanceId());
-            jobNodeStorage.fillJobNode(FailoverNode.getExecutingFailoverNode(crashedItem), JobRegistry.getInstance().getJobInstance(jobName).getJobInstanceId());
-            jobNodeStorage.removeJobNodeIfExisted(FailoverNode.getItemsNode(crashedItem));
+            String jobInstanceId = JobRegistry.getInstance().getJobInstance(jobName).getJobInstanceId();
+            for (int i = 0; i < MAX_CLAIM_ATTEMPTS; i++) {
+                List<Integer> crashedItems = getClaimableItems(jobNodeStorage.getJobNodeChildrenKeys(FailoverNode.ITEMS_ROOT));
+                if (crashedItems.isEmpty()) {
+                    return;
+                }
+                log.debug("Failover job '{}' begin, crashed items '{}'", jobName, crashedItems);
+                List<TransactionOperation> operations = createClaimOperations(crashedItems, jobInstanceId);
+                jobNodeStorage.executeInTransaction(() -> operations);
+                if (isClaimed(crashedItems, jobInstanceId)) {
+                    triggerJob();
+                    return;
+                }
+            }
+            log.warn("Failover job '{}' failed to claim crashed items after {} attempts.", jobName, MAX_CLAIM_ATTEMPTS);
+        }
+        
+        private List<Integer> getClaimableItems(final List<String> crashedItems) {
+            int onlineInstanceCount = Math.max(1, jobNodeStorage.getJobNodeChildrenKeys(InstanceNode.ROOT).size());
+            int fairShare = (crashedItems.size() + onlineInstanceCount - 1) / onlineInstanceCount;
+            int claimCount = Math.min(crashedItems.size(), Math.min(getBatchSize(), fairShare));
+            if (isMergedExecution()) {
+                claimCount = Math.min(claimCount, getMergedMaxItems() - getLocalFailoverItems().size());
+            }
+            if (claimCount <= 0) {
+                return Collections.emptyList();
+            }
+            return crashedItems.subList(0, claimCount).stream().map(Integer::parseInt).collect(Collectors.toList());
+        }
+        
+        private int getBatchSize() {
+            String value = configService.load(true).getProps().getProperty(BATCH_SIZE_PROPS_KEY);
+            Integer result = null == value ? null : Ints.tryParse(value.trim());
+            return null == result ? DEFAULT_BATCH_SIZE : Math.max(DEFAULT_BATCH_SIZE, result);
+        }
+        
+        private List<TransactionOperation> createClaimOperations(final List<Integer> crashedItems, final String jobInstanceId) {
+            List<TransactionOperation> result = new LinkedList<>();
+            for (int each : crashedItems) {
+                if (null != jobNodeStorage.getJobNodeDataDirectly(FailoverNode.getExecutionFailoverNode(each))) {
+                    result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(FailoverNode.getExecutionFailoverNode(each))));
+                }
+                result.add(TransactionOperation.opAddEphemeral(jobNodePath.getFullPath(FailoverNode.getExecutionFailoverNode(each)), jobInstanceId));
+                if (null != jobNodeStorage.getJobNodeDataDirectly(FailoverNode.getExecutingFailoverNode(each))) {
+                    result.add(TransactionOperation.opUpdate(jobNodePath.getFullPath(FailoverNode.getExecutingFailoverNode(each)), jobInstanceId));
+                } else {
+                    result.add(TransactionOperation.opAdd(jobNodePath.getFullPath(FailoverNode.getExecutingFailoverNode(each)), jobInstanceId));
+                }
+                result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(FailoverNode.getItemsNode(each))));
+            }
+            return result;
+        }
+        
+        private boolean isClaimed(final List<Integer> crashedItems, final String jobInstanceId) {
+            return crashedItems.stream().allMatch(each -> jobInstanceId.equals(jobNodeStorage.getJobNodeDataDirectly(FailoverNode.getExecutionFailoverNode(each))));
+        }
+        
+        private void triggerJob() {
             // TODO Instead of using triggerJob, use executor for unified scheduling
             JobScheduleController jobScheduleController = JobRegistry.getInstance().getJobScheduleController(jobName);
             if (null != jobScheduleController) {
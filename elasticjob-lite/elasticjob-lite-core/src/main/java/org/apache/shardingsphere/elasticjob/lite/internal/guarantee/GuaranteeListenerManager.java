@@ -22,6 +22,7 @@ import org.apache.shardingsphere.elasticjob.lite.api.listener.AbstractDistribute
 import org.apache.shardingsphere.elasticjob.lite.internal.listener.AbstractJobListener;
 import org.apache.shardingsphere.elasticjob.lite.internal.listener.AbstractListenerManager;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
 
 import java.util.Collection;
 
@@ -42,15 +43,15 @@ public final class GuaranteeListenerManager extends AbstractListenerManager {
     
     @Override
     public void start() {
-        addDataListener(new StartedNodeRemovedJobListener());
-        addDataListener(new CompletedNodeRemovedJobListener());
+        addDataListener(new StartedNodeRemovedJobListener(), GuaranteeNode.ROOT);
+        addDataListener(new CompletedNodeRemovedJobListener(), GuaranteeNode.ROOT);
     }
     
     class StartedNodeRemovedJobListener extends AbstractJobListener {
         
         @Override
         protected void dataChanged(final String path, final Type eventType, final String data) {
-            if (Type.NODE_DELETED == eventType && guaranteeNode.isStartedRootNode(path)) {
+            if (Type.DELETED == eventType && guaranteeNode.isStartedRootNode(path)) {
                 for (ElasticJobListener each : elasticJobListeners) {
                     if (each instanceof AbstractDistributeOnceElasticJobListener) {
                         ((AbstractDistributeOnceElasticJobListener) each).notifyWaitingTaskStart();
@@ -64,7 +65,7 @@ public final class GuaranteeListenerManager extends AbstractListenerManager {
         
         @Override
         protected void dataChanged(final String path, final Type eventType, final String data) {
-            if (Type.NODE_DELETED == eventType && guaranteeNode.isCompletedRootNode(path)) {
+            if (Type.DELETED == eventType && guaranteeNode.isCompletedRootNode(path)) {
                 for (ElasticJobListener each : elasticJobListeners) {
                     if (each instanceof AbstractDistributeOnceElasticJobListener) {
                         ((AbstractDistributeOnceElasticJobListener) each).notifyWaitingTaskComplete();
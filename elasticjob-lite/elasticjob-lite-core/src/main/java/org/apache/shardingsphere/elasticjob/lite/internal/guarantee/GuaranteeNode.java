@@ -21,14 +21,23 @@ import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodePath;
 
 /**
  * Guarantee node.
+ * 
+ * <p>
+ * Started and completed nodes hold bitmaps of registered sharding items. They live under {@code guarantee/items},
+ * apart from {@code guarantee/started} and {@code guarantee/completed} where versions before hold one child node per sharding item,
+ * so instances of both layouts never clear or miscount the barrier of each other.
+ * Distributed once listeners of a job can not reach their barrier while instances of both layouts are running the job during a rolling upgrade.
+ * </p>
  */
 public final class GuaranteeNode {
     
-    private static final String ROOT = "guarantee";
+    static final String ROOT = "guarantee";
     
-    static final String STARTED_ROOT = ROOT + "/started";
+    static final String ITEMS_ROOT = ROOT + "/items";
     
-    static final String COMPLETED_ROOT = ROOT + "/completed";
+    static final String STARTED_ROOT = ITEMS_ROOT + "/started";
+    
+    static final String COMPLETED_ROOT = ITEMS_ROOT + "/completed";
     
     private final JobNodePath jobNodePath;
     
@@ -36,14 +45,6 @@ public final class GuaranteeNode {
         jobNodePath = new JobNodePath(jobName);
     }
     
-    static String getStartedNode(final int shardingItem) {
-        return String.join("/", STARTED_ROOT, shardingItem + "");
-    }
-    
-    static String getCompletedNode(final int shardingItem) {
-        return String.join("/", COMPLETED_ROOT, shardingItem + "");
-    }
-    
     boolean isStartedRootNode(final String path) {
         return jobNodePath.getFullPath(STARTED_ROOT).equals(path);
     }
@@ -18,9 +18,11 @@
 package org.apache.shardingsphere.elasticjob.lite.internal.guarantee;
 
 import org.apache.shardingsphere.elasticjob.lite.internal.config.ConfigurationService;
+import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingItemsBitmap;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
 
+import java.util.BitSet;
 import java.util.Collection;
 
 /**
@@ -39,38 +41,17 @@ public final class GuaranteeService {
     
     /**
      * Register start.
+     * 
+     * <p>
+     * Sharding items are added to a bitmap node by compare and set, so the cost does not grow with count of sharding items,
+     * and sharding items registered again, such as items re-executed by failover, are counted only once.
+     * </p>
      *
      * @param shardingItems to be registered sharding items
+     * @return job's sharding items are all started or not after registered
      */
-    public void registerStart(final Collection<Integer> shardingItems) {
-        for (int each : shardingItems) {
-            jobNodeStorage.createJobNodeIfNeeded(GuaranteeNode.getStartedNode(each));
-        }
-    }
-    
-    /**
-     * Judge whether current sharding items are all register start success.
-     *
-     * @param shardingItems current sharding items
-     * @return current sharding items are all start success or not
-     */
-    public boolean isRegisterStartSuccess(final Collection<Integer> shardingItems) {
-        for (int each : shardingItems) {
-            if (!jobNodeStorage.isJobNodeExisted(GuaranteeNode.getStartedNode(each))) {
-                return false;
-            }
-        }
-        return true;
-    }
-    
-    /**
-     * Judge whether job's sharding items are all started.
-     *
-     * @return job's sharding items are all started or not
-     */
-    public boolean isAllStarted() {
-        return jobNodeStorage.isJobNodeExisted(GuaranteeNode.STARTED_ROOT)
-                && configService.load(false).getShardingTotalCount() == jobNodeStorage.getJobNodeChildrenKeys(GuaranteeNode.STARTED_ROOT).size();
+    public boolean registerStart(final Collection<Integer> shardingItems) {
+        return addShardingItems(GuaranteeNode.STARTED_ROOT, shardingItems) >= configService.load(true).getShardingTotalCount();
     }
     
     /**
@@ -84,36 +65,10 @@ public final class GuaranteeService {
      * Register complete.
      *
      * @param shardingItems to be registered sharding items
+     * @return job's sharding items are all completed or not after registered
      */
-    public void registerComplete(final Collection<Integer> shardingItems) {
-        for (int each : shardingItems) {
-            jobNodeStorage.createJobNodeIfNeeded(GuaranteeNode.getCompletedNode(each));
-        }
-    }
-    
-    /**
-     * Judge whether sharding items are register complete success.
-     *
-     * @param shardingItems current sharding items
-     * @return current sharding items are all complete success or not
-     */
-    public boolean isRegisterCompleteSuccess(final Collection<Integer> shardingItems) {
-        for (int each : shardingItems) {
-            if (!jobNodeStorage.isJobNodeExisted(GuaranteeNode.getCompletedNode(each))) {
-                return false;
-            }
-        }
-        return true;
-    }
-    
-    /**
-     * Judge whether job's sharding items are all completed.
-     *
-     * @return job's sharding items are all completed or not
-     */
-    public boolean isAllCompleted() {
-        return jobNodeStorage.isJobNodeExisted(GuaranteeNode.COMPLETED_ROOT)
-                && configService.load(false).getShardingTotalCount() <= jobNodeStorage.getJobNodeChildrenKeys(GuaranteeNode.COMPLETED_ROOT).size();
+    public boolean registerComplete(final Collection<Integer> shardingItems) {
+        return addShardingItems(GuaranteeNode.COMPLETED_ROOT, shardingItems) >= configService.load(true).getShardingTotalCount();
     }
     
     /**
@@ -122,4 +77,19 @@ public final class GuaranteeService {
     public void clearAllCompletedInfo() {
         jobNodeStorage.removeJobNodeIfExisted(GuaranteeNode.COMPLETED_ROOT);
     }
+    
+    private int addShardingItems(final String node, final Collection<Integer> shardingItems) {
+        while (true) {
+            String current = jobNodeStorage.getJobNodeDataDirectly(node);
+            BitSet registeredItems = ShardingItemsBitmap.decode(current);
+            int registeredCount = registeredItems.cardinality();
+            shardingItems.forEach(registeredItems::set);
+            if (registeredItems.cardinality() == registeredCount && null != current) {
+                return registeredCount;
+            }
+            if (jobNodeStorage.compareAndSetJobNode(node, current, ShardingItemsBitmap.encode(registeredItems))) {
+                return registeredItems.cardinality();
+            }
+        }
+    }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.instance;
 
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
 import org.apache.shardingsphere.elasticjob.infra.yaml.YamlEngine;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodePath;
@@ -28,8 +29,12 @@ public final class InstanceNode {
     
     public static final String ROOT = "instances";
     
+    public static final String LOAD_ROOT = "instance_loads";
+    
     private static final String INSTANCES = ROOT + "/%s";
     
+    private static final String LOADS = LOAD_ROOT + "/%s";
+    
     private final String jobName;
     
     private final JobNodePath jobNodePath;
@@ -73,11 +78,34 @@ public final class InstanceNode {
     
     /**
      * Get local instance value.
+     * 
+     * <p>
+     * Load of job instance is excluded, so versions before which unmarshal the instance node strictly can still read it.
+     * </p>
      *
      * @return local instance value
      */
     public String getLocalInstanceValue() {
-        return YamlEngine.marshal(JobRegistry.getInstance().getJobInstance(jobName));
+        JobInstance jobInstance = JobRegistry.getInstance().getJobInstance(jobName);
+        return YamlEngine.marshal(new JobInstance(jobInstance.getJobInstanceId(), jobInstance.getLabels(), jobInstance.getServerIp()));
+    }
+    
+    /**
+     * Get local load path.
+     *
+     * @return local load path
+     */
+    public String getLocalLoadPath() {
+        return getLoadPath(JobRegistry.getInstance().getJobInstance(jobName).getJobInstanceId());
+    }
+    
+    /**
+     * Get local load value.
+     *
+     * @return local load value
+     */
+    public String getLocalLoadValue() {
+        return YamlEngine.marshal(JobInstanceLoad.fromJobInstance(JobRegistry.getInstance().getJobInstance(jobName)));
     }
     
     /**
@@ -89,4 +117,14 @@ public final class InstanceNode {
     public String getInstancePath(final String instanceId) {
         return String.format(INSTANCES, instanceId);
     }
+    
+    /**
+     * Get load path.
+     *
+     * @param instanceId instance id
+     * @return load path
+     */
+    public String getLoadPath(final String instanceId) {
+        return String.format(LOADS, instanceId);
+    }
 }
@@ -17,13 +17,16 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.instance;
 
+import com.google.common.base.Strings;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
 import org.apache.shardingsphere.elasticjob.infra.yaml.YamlEngine;
+import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerService;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
 import org.apache.shardingsphere.elasticjob.lite.internal.trigger.TriggerNode;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
 
+import java.lang.management.ManagementFactory;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -32,6 +35,15 @@ import java.util.List;
  */
 public final class InstanceService {
     
+    /**
+     * Key of job instance weight in system properties.
+     */
+    public static final String WEIGHT_SYSTEM_PROPERTY_KEY = "elasticjob.sharding.weight";
+    
+    private static final long PERSIST_LOAD_INTERVAL_MILLISECONDS = 10000L;
+    
+    private final String jobName;
+    
     private final JobNodeStorage jobNodeStorage;
     
     private final InstanceNode instanceNode;
@@ -40,7 +52,10 @@ public final class InstanceService {
     
     private final ServerService serverService;
     
+    private long lastPersistLoadTime;
+    
     public InstanceService(final CoordinatorRegistryCenter regCenter, final String jobName) {
+        this.jobName = jobName;
         jobNodeStorage = new JobNodeStorage(regCenter, jobName);
         instanceNode = new InstanceNode(jobName);
         triggerNode = new TriggerNode(jobName);
@@ -52,6 +67,49 @@ public final class InstanceService {
      */
     public void persistOnline() {
         jobNodeStorage.fillEphemeralJobNode(instanceNode.getLocalInstancePath(), instanceNode.getLocalInstanceValue());
+        persistLocalLoad();
+    }
+    
+    /**
+     * Persist load of local job instance.
+     * 
+     * <p>
+     * Load is persisted in an ephemeral node under {@code instance_loads} instead of the instance node,
+     * because versions before unmarshal the instance node strictly and fail on unknown properties.
+     * </p>
+     */
+    public void persistLocalLoad() {
+        jobNodeStorage.fillEphemeralJobNode(instanceNode.getLocalLoadPath(), instanceNode.getLocalLoadValue());
+    }
+    
+    /**
+     * Persist load of local job instance.
+     * 
+     * <p>
+     * Elapsed time per sharding item is smoothed by exponential moving average,
+     * load is persisted at most once in 10 seconds and does not trigger resharding.
+     * </p>
+     * 
+     * @param itemCount count of executed sharding items
+     * @param elapsedMillis elapsed milliseconds of execution
+     */
+    public void persistLoad(final int itemCount, final long elapsedMillis) {
+        JobInstance jobInstance = JobRegistry.getInstance().getJobInstance(jobName);
+        if (null == jobInstance || itemCount <= 0) {
+            return;
+        }
+        long itemElapsedMillis = elapsedMillis / itemCount;
+        jobInstance.setItemElapsedMillis(null == jobInstance.getItemElapsedMillis() ? itemElapsedMillis : (jobInstance.getItemElapsedMillis() * 3 + itemElapsedMillis) / 4);
+        double systemLoadAverage = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
+        if (systemLoadAverage >= 0) {
+            jobInstance.setCpuLoad(Math.round(systemLoadAverage * 100 / Runtime.getRuntime().availableProcessors()) / 100D);
+        }
+        long currentTime = System.currentTimeMillis();
+        if (currentTime - lastPersistLoadTime < PERSIST_LOAD_INTERVAL_MILLISECONDS || !isLocalJobInstanceExisted()) {
+            return;
+        }
+        lastPersistLoadTime = currentTime;
+        persistLocalLoad();
     }
     
     /**
@@ -59,6 +117,7 @@ public final class InstanceService {
      */
     public void removeInstance() {
         jobNodeStorage.removeJobNodeIfExisted(instanceNode.getLocalInstancePath());
+        jobNodeStorage.removeJobNodeIfExisted(instanceNode.getLocalLoadPath());
     }
     
     /**
@@ -71,7 +130,12 @@ public final class InstanceService {
         for (String each : jobNodeStorage.getJobNodeChildrenKeys(InstanceNode.ROOT)) {
             JobInstance jobInstance = YamlEngine.unmarshal(jobNodeStorage.getJobNodeData(instanceNode.getInstancePath(each)), JobInstance.class);
             if (serverService.isEnableServer(jobInstance.getServerIp())) {
-                result.add(new JobInstance(each));
+                jobInstance.setJobInstanceId(each);
+                String load = jobNodeStorage.getJobNodeData(instanceNode.getLoadPath(each));
+                if (!Strings.isNullOrEmpty(load)) {
+                    YamlEngine.unmarshal(load, JobInstanceLoad.class).fillJobInstance(jobInstance);
+                }
+                result.add(jobInstance);
             }
         }
         return result;
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.instance;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+
+/**
+ * Load of job instance.
+ * 
+ * <p>
+ * Load is persisted apart from the job instance node, whose content is unmarshalled strictly by versions before.
+ * </p>
+ */
+@Getter
+@Setter
+public final class JobInstanceLoad {
+    
+    private Integer weight;
+    
+    private Integer availableProcessors;
+    
+    private Long itemElapsedMillis;
+    
+    private Double cpuLoad;
+    
+    /**
+     * Create load from job instance.
+     * 
+     * @param jobInstance job instance
+     * @return load of job instance
+     */
+    public static JobInstanceLoad fromJobInstance(final JobInstance jobInstance) {
+        JobInstanceLoad result = new JobInstanceLoad();
+        result.setWeight(jobInstance.getWeight());
+        result.setAvailableProcessors(jobInstance.getAvailableProcessors());
+        result.setItemElapsedMillis(jobInstance.getItemElapsedMillis());
+        result.setCpuLoad(jobInstance.getCpuLoad());
+        return result;
+    }
+    
+    /**
+     * Fill load into job instance.
+     * 
+     * @param jobInstance job instance to be filled
+     */
+    public void fillJobInstance(final JobInstance jobInstance) {
+        jobInstance.setWeight(weight);
+        jobInstance.setAvailableProcessors(availableProcessors);
+        jobInstance.setItemElapsedMillis(itemElapsedMillis);
+        jobInstance.setCpuLoad(cpuLoad);
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.shardingsphere.elasticjob.lite.internal.listener.AbstractListe
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.SchedulerFacade;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
 
 /**
  * Job instance shutdown listener manager.
@@ -46,7 +47,7 @@ public final class ShutdownListenerManager extends AbstractListenerManager {
     
     @Override
     public void start() {
-        addDataListener(new InstanceShutdownStatusJobListener());
+        addDataListener(new InstanceShutdownStatusJobListener(), InstanceNode.ROOT);
     }
     
     class InstanceShutdownStatusJobListener extends AbstractJobListener {
@@ -60,7 +61,7 @@ public final class ShutdownListenerManager extends AbstractListenerManager {
         }
         
         private boolean isRemoveInstance(final String path, final Type eventType) {
-            return instanceNode.isLocalInstancePath(path) && Type.NODE_DELETED == eventType;
+            return instanceNode.isLocalInstancePath(path) && Type.DELETED == eventType;
         }
         
         private boolean isReconnectedRegistryCenter() {
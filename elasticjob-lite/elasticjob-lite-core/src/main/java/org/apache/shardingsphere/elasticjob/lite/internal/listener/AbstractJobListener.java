@@ -7,7 +7,7 @@
  * the License.  You may obtain a copy of the License at
  *
  *     http://www.apache.org/licenses/LICENSE-2.0
- *
+ *  
  * Unless required by applicable law or agreed to in writing, software
  * distributed under the License is distributed on an "AS IS" BASIS,
  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
@@ -17,27 +17,21 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.listener;
 
-import org.apache.curator.framework.recipes.cache.ChildData;
-import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
-
-import java.nio.charset.StandardCharsets;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEventListener;
 
 /**
  * Job Listener.
  */
-public abstract class AbstractJobListener implements CuratorCacheListener {
+public abstract class AbstractJobListener implements DataChangedEventListener {
     
     @Override
-    public final void event(final Type type, final ChildData oldData, final ChildData newData) {
-        if (null == newData && null == oldData) {
-            return;
-        }
-        String path = Type.NODE_DELETED == type ? oldData.getPath() : newData.getPath();
-        byte[] data = Type.NODE_DELETED == type ? oldData.getData() : newData.getData();
-        if (path.isEmpty()) {
+    public final void onChange(final DataChangedEvent event) {
+        if (event.getKey().isEmpty()) {
             return;
         }
-        dataChanged(path, type, null == data ? "" : new String(data, StandardCharsets.UTF_8));
+        dataChanged(event.getKey(), event.getType(), event.getValue());
     }
     
     protected abstract void dataChanged(String path, Type eventType, String data);
@@ -25,7 +25,6 @@ import org.apache.shardingsphere.elasticjob.lite.internal.guarantee.GuaranteeLis
 import org.apache.shardingsphere.elasticjob.lite.internal.instance.ShutdownListenerManager;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.MonitorExecutionListenerManager;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingListenerManager;
-import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
 import org.apache.shardingsphere.elasticjob.lite.internal.trigger.TriggerListenerManager;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
 
@@ -36,7 +35,9 @@ import java.util.Collection;
  */
 public final class ListenerManager {
     
-    private final JobNodeStorage jobNodeStorage;
+    private final CoordinatorRegistryCenter regCenter;
+    
+    private final String jobName;
     
     private final ElectionListenerManager electionListenerManager;
     
@@ -57,7 +58,8 @@ public final class ListenerManager {
     private final RegistryCenterConnectionStateListener regCenterConnectionStateListener;
     
     public ListenerManager(final CoordinatorRegistryCenter regCenter, final String jobName, final Collection<ElasticJobListener> elasticJobListeners) {
-        jobNodeStorage = new JobNodeStorage(regCenter, jobName);
+        this.regCenter = regCenter;
+        this.jobName = jobName;
         electionListenerManager = new ElectionListenerManager(regCenter, jobName);
         shardingListenerManager = new ShardingListenerManager(regCenter, jobName);
         failoverListenerManager = new FailoverListenerManager(regCenter, jobName);
@@ -81,6 +83,6 @@ public final class ListenerManager {
         triggerListenerManager.start();
         rescheduleListenerManager.start();
         guaranteeListenerManager.start();
-        jobNodeStorage.addConnectionStateListener(regCenterConnectionStateListener);
+        RegistryCenterRecoveryCoordinator.getInstance(regCenter).register(jobName, regCenterConnectionStateListener);
     }
 }
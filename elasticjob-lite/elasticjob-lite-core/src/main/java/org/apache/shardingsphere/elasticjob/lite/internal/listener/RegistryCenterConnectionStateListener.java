@@ -7,7 +7,7 @@
  * the License.  You may obtain a copy of the License at
  *
  *     http://www.apache.org/licenses/LICENSE-2.0
- *
+ *  
  * Unless required by applicable law or agreed to in writing, software
  * distributed under the License is distributed on an "AS IS" BASIS,
  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
@@ -17,27 +17,36 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.listener;
 
-import org.apache.curator.framework.CuratorFramework;
-import org.apache.curator.framework.state.ConnectionState;
-import org.apache.curator.framework.state.ConnectionStateListener;
-import org.apache.shardingsphere.elasticjob.lite.internal.instance.InstanceService;
+import org.apache.shardingsphere.elasticjob.lite.internal.instance.InstanceNode;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobScheduleController;
-import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerService;
+import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerNode;
+import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerStatus;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ExecutionService;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingService;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodePath;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
+import org.apache.shardingsphere.elasticjob.reg.listener.ConnectionStateChangedEventListener;
+
+import java.util.LinkedList;
+import java.util.List;
 
 /**
  * Registry center connection state listener.
  */
-public final class RegistryCenterConnectionStateListener implements ConnectionStateListener {
+public final class RegistryCenterConnectionStateListener implements ConnectionStateChangedEventListener {
     
     private final String jobName;
     
-    private final ServerService serverService;
+    private final JobNodePath jobNodePath;
+    
+    private final ServerNode serverNode;
     
-    private final InstanceService instanceService;
+    private final InstanceNode instanceNode;
+    
+    private final JobNodeStorage jobNodeStorage;
     
     private final ShardingService shardingService;
     
@@ -45,25 +54,66 @@ public final class RegistryCenterConnectionStateListener implements ConnectionSt
     
     public RegistryCenterConnectionStateListener(final CoordinatorRegistryCenter regCenter, final String jobName) {
         this.jobName = jobName;
-        serverService = new ServerService(regCenter, jobName);
-        instanceService = new InstanceService(regCenter, jobName);
+        jobNodePath = new JobNodePath(jobName);
+        serverNode = new ServerNode(jobName);
+        instanceNode = new InstanceNode(jobName);
+        jobNodeStorage = new JobNodeStorage(regCenter, jobName);
         shardingService = new ShardingService(regCenter, jobName);
         executionService = new ExecutionService(regCenter, jobName);
     }
     
     @Override
-    public void stateChanged(final CuratorFramework client, final ConnectionState newState) {
+    public void onStateChanged(final CoordinatorRegistryCenter registryCenter, final State newState) {
         if (JobRegistry.getInstance().isShutdown(jobName)) {
             return;
         }
-        JobScheduleController jobScheduleController = JobRegistry.getInstance().getJobScheduleController(jobName);
-        if (ConnectionState.SUSPENDED == newState || ConnectionState.LOST == newState) {
-            jobScheduleController.pauseJob();
-        } else if (ConnectionState.RECONNECTED == newState) {
-            serverService.persistOnline(serverService.isEnableServer(JobRegistry.getInstance().getJobInstance(jobName).getServerIp()));
-            instanceService.persistOnline();
+        if (State.SUSPENDED == newState || State.LOST == newState) {
+            JobRegistry.getInstance().getJobScheduleController(jobName).pauseJob();
+        } else if (State.RECONNECTED == newState) {
+            recover(true);
+        }
+    }
+    
+    /**
+     * Recover job after registry center reconnected.
+     * 
+     * <p>
+     * Missing server and instance nodes are re-registered in one transaction, load of instance is re-registered after session lost.
+     * If session was not lost, existed nodes are kept untouched, so other instances observe no change and do not reshard.
+     * </p>
+     * 
+     * @param sessionLost whether session of registry center was lost during disconnection
+     */
+    public void recover(final boolean sessionLost) {
+        if (JobRegistry.getInstance().isShutdown(jobName)) {
+            return;
+        }
+        List<TransactionOperation> operations = createRecoveryOperations(sessionLost);
+        if (!operations.isEmpty()) {
+            jobNodeStorage.executeInTransaction(() -> operations);
+        }
+        if (sessionLost) {
+            jobNodeStorage.fillEphemeralJobNode(instanceNode.getLocalLoadPath(), instanceNode.getLocalLoadValue());
             executionService.clearRunningInfo(shardingService.getLocalShardingItems());
-            jobScheduleController.resumeJob();
         }
+        JobScheduleController jobScheduleController = JobRegistry.getInstance().getJobScheduleController(jobName);
+        jobScheduleController.resumeJob();
+    }
+    
+    private List<TransactionOperation> createRecoveryOperations(final boolean sessionLost) {
+        List<TransactionOperation> result = new LinkedList<>();
+        String serverPath = serverNode.getServerNode(JobRegistry.getInstance().getJobInstance(jobName).getServerIp());
+        if (!jobNodeStorage.isJobNodeExisted(serverPath)) {
+            result.add(TransactionOperation.opAdd(jobNodePath.getFullPath(serverPath), ServerStatus.ENABLED.name()));
+        }
+        String instancePath = instanceNode.getLocalInstancePath();
+        boolean instanceExisted = jobNodeStorage.isJobNodeExisted(instancePath);
+        if (instanceExisted && sessionLost) {
+            result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(instancePath)));
+        }
+        if (!instanceExisted || sessionLost) {
+            result.add(TransactionOperation.opAddEphemeral(jobNodePath.getFullPath(instancePath), instanceNode.getLocalInstanceValue()));
+        }
+        return result;
     }
 }
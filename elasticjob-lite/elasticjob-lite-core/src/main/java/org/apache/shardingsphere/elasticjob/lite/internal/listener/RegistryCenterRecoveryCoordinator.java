@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.listener.ConnectionStateChangedEventListener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Registry center recovery coordinator.
+ * 
+ * <p>
+ * Only one coordinator is registered to a registry center, it tracks whether the session was lost during disconnection,
+ * and recovers all jobs sharing the registry center with bounded concurrency after reconnected.
+ * Recovery runs off the connection state thread, one round at a time, and skips jobs which have been shutdown.
+ * </p>
+ */
+@Slf4j
+public final class RegistryCenterRecoveryCoordinator implements ConnectionStateChangedEventListener {
+    
+    private static final int MAX_RECOVERY_CONCURRENCY = 16;
+    
+    private static final Map<CoordinatorRegistryCenter, RegistryCenterRecoveryCoordinator> COORDINATORS = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    private final Map<String, RegistryCenterConnectionStateListener> jobListeners = new ConcurrentHashMap<>();
+    
+    private final ExecutorService recoveryDispatcher;
+    
+    private final ThreadPoolExecutor executor;
+    
+    private volatile boolean sessionLost;
+    
+    RegistryCenterRecoveryCoordinator() {
+        recoveryDispatcher = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder().namingPattern("registry-center-recovery-dispatcher-%s").daemon(true).build());
+        executor = new ThreadPoolExecutor(MAX_RECOVERY_CONCURRENCY, MAX_RECOVERY_CONCURRENCY, 1L, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+                new BasicThreadFactory.Builder().namingPattern("registry-center-recovery-%s").daemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+    }
+    
+    /**
+     * Get coordinator of the registry center, create and register it to the registry center if absent.
+     * 
+     * @param regCenter registry center
+     * @return coordinator of the registry center
+     */
+    public static RegistryCenterRecoveryCoordinator getInstance(final CoordinatorRegistryCenter regCenter) {
+        return COORDINATORS.computeIfAbsent(regCenter, key -> {
+            RegistryCenterRecoveryCoordinator result = new RegistryCenterRecoveryCoordinator();
+            key.addConnectionStateChangedEventListener(result);
+            return result;
+        });
+    }
+    
+    /**
+     * Register connection state listener of job.
+     * 
+     * @param jobName job name
+     * @param listener connection state listener of job
+     */
+    public void register(final String jobName, final RegistryCenterConnectionStateListener listener) {
+        jobListeners.put(jobName, listener);
+    }
+    
+    /**
+     * Unregister connection state listener of job.
+     * 
+     * @param jobName job name
+     */
+    public void unregister(final String jobName) {
+        jobListeners.remove(jobName);
+    }
+    
+    /**
+     * Unregister connection state listener of job from the coordinator of the registry center if the coordinator exists.
+     * 
+     * @param regCenter registry center
+     * @param jobName job name
+     */
+    public static void unregister(final CoordinatorRegistryCenter regCenter, final String jobName) {
+        Optional.ofNullable(COORDINATORS.get(regCenter)).ifPresent(each -> each.unregister(jobName));
+    }
+    
+    @Override
+    public void onStateChanged(final CoordinatorRegistryCenter registryCenter, final State newState) {
+        if (State.RECONNECTED == newState) {
+            boolean lost = sessionLost;
+            sessionLost = false;
+            recoveryDispatcher.execute(() -> recoverAll(lost));
+            return;
+        }
+        if (State.LOST == newState) {
+            sessionLost = true;
+        }
+        for (RegistryCenterConnectionStateListener each : jobListeners.values()) {
+            each.onStateChanged(registryCenter, newState);
+        }
+    }
+    
+    private void recoverAll(final boolean lost) {
+        Collection<Callable<Void>> tasks = jobListeners.entrySet().stream().map(entry -> (Callable<Void>) () -> {
+            recover(entry.getKey(), entry.getValue(), lost);
+            return null;
+        }).collect(Collectors.toList());
+        try {
+            executor.invokeAll(tasks);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void recover(final String jobName, final RegistryCenterConnectionStateListener listener, final boolean lost) {
+        if (listener != jobListeners.get(jobName)) {
+            return;
+        }
+        try {
+            listener.recover(lost);
+            //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            //CHECKSTYLE:ON
+            log.error("Recover job `{}` after registry center reconnected failure.", jobName, ex);
+        }
+    }
+}
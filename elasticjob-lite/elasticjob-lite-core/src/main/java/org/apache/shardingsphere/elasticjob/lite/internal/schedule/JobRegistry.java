@@ -20,10 +20,15 @@ package org.apache.shardingsphere.elasticjob.lite.internal.schedule;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+import org.apache.shardingsphere.elasticjob.lite.internal.listener.RegistryCenterRecoveryCoordinator;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobCacheProfile;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobDataListenerDispatcher;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
 
 import java.util.Map;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -44,6 +49,8 @@ public final class JobRegistry {
     
     private final Map<String, Integer> currentShardingTotalCountMap = new ConcurrentHashMap<>();
     
+    private final Map<String, Set<Integer>> localRunningItemsMap = new ConcurrentHashMap<>();
+    
     /**
      * Get instance of job registry.
      * 
@@ -67,8 +74,23 @@ public final class JobRegistry {
      * @param regCenter registry center
      */
     public void registerRegistryCenter(final String jobName, final CoordinatorRegistryCenter regCenter) {
+        registerRegistryCenter(jobName, regCenter, JobCacheProfile.FULL);
+    }
+    
+    /**
+     * Register registry center with job cache profile.
+     *
+     * @param jobName job name
+     * @param regCenter registry center
+     * @param cacheProfile job cache profile
+     */
+    public void registerRegistryCenter(final String jobName, final CoordinatorRegistryCenter regCenter, final JobCacheProfile cacheProfile) {
         regCenterMap.put(jobName, regCenter);
-        regCenter.addCacheData("/" + jobName);
+        if (JobCacheProfile.FULL == cacheProfile) {
+            regCenter.addCacheData("/" + jobName);
+        } else {
+            regCenter.addCacheData("/" + jobName, path -> cacheProfile.isValueCached(jobName, path));
+        }
     }
     
     /**
@@ -161,6 +183,18 @@ public final class JobRegistry {
         currentShardingTotalCountMap.put(jobName, currentShardingTotalCount);
     }
     
+    /**
+     * Get sharding items running on current job server.
+     * 
+     * <p>The returned set is shared by all services of the job, synchronize on it while reading or changing it.</p>
+     *
+     * @param jobName job name
+     * @return sharding items running on current job server
+     */
+    public Set<Integer> getLocalRunningItems(final String jobName) {
+        return localRunningItemsMap.computeIfAbsent(jobName, key -> new HashSet<>());
+    }
+    
     /**
      * Shutdown job schedule.
      * 
@@ -168,10 +202,15 @@ public final class JobRegistry {
      */
     public void shutdown(final String jobName) {
         Optional.ofNullable(schedulerMap.remove(jobName)).ifPresent(JobScheduleController::shutdown);
-        Optional.ofNullable(regCenterMap.remove(jobName)).ifPresent(regCenter -> regCenter.evictCacheData("/" + jobName));
+        Optional.ofNullable(regCenterMap.remove(jobName)).ifPresent(regCenter -> {
+            RegistryCenterRecoveryCoordinator.unregister(regCenter, jobName);
+            JobDataListenerDispatcher.removeDispatcher(regCenter, jobName);
+            regCenter.evictCacheData("/" + jobName);
+        });
         jobInstanceMap.remove(jobName);
         jobRunningMap.remove(jobName);
         currentShardingTotalCountMap.remove(jobName);
+        localRunningItemsMap.remove(jobName);
     }
     
     /**
@@ -19,20 +19,29 @@ package org.apache.shardingsphere.elasticjob.lite.internal.schedule;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
 import lombok.Getter;
 import org.apache.shardingsphere.elasticjob.api.ElasticJob;
 import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
 import org.apache.shardingsphere.elasticjob.error.handler.JobErrorHandlerPropertiesValidator;
 import org.apache.shardingsphere.elasticjob.executor.ElasticJobExecutor;
+import org.apache.shardingsphere.elasticjob.infra.exception.JobConfigurationException;
 import org.apache.shardingsphere.elasticjob.infra.exception.JobSystemException;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
 import org.apache.shardingsphere.elasticjob.infra.listener.ElasticJobListener;
 import org.apache.shardingsphere.elasticjob.infra.listener.ElasticJobListenerFactory;
 import org.apache.shardingsphere.elasticjob.infra.spi.ElasticJobServiceLoader;
 import org.apache.shardingsphere.elasticjob.lite.api.listener.AbstractDistributeOnceElasticJobListener;
+import org.apache.shardingsphere.elasticjob.lite.internal.failover.FailoverService;
 import org.apache.shardingsphere.elasticjob.lite.internal.guarantee.GuaranteeService;
+import org.apache.shardingsphere.elasticjob.lite.internal.instance.InstanceService;
 import org.apache.shardingsphere.elasticjob.lite.internal.setup.JobClassNameProviderFactory;
 import org.apache.shardingsphere.elasticjob.lite.internal.setup.SetUpFacade;
+import org.apache.shardingsphere.elasticjob.lite.internal.sharding.NamespaceShardingCoordinator;
+import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ReshardingDebouncer;
+import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingCoordinatorMode;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobCacheProfile;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
 import org.apache.shardingsphere.elasticjob.tracing.api.TracingConfiguration;
 import org.quartz.JobBuilder;
@@ -116,6 +125,10 @@ public final class JobScheduler {
     
     private void validateJobProperties() {
         validateJobErrorHandlerProperties();
+        validateShardingWeight();
+        validateReshardingDelay();
+        validatePositiveIntProperty(FailoverService.BATCH_SIZE_PROPS_KEY);
+        validatePositiveIntProperty(FailoverService.MERGED_MAX_ITEMS_PROPS_KEY);
     }
     
     private void validateJobErrorHandlerProperties() {
@@ -125,6 +138,49 @@ public final class JobScheduler {
         }
     }
     
+    private void validateShardingWeight() {
+        String weight = System.getProperty(InstanceService.WEIGHT_SYSTEM_PROPERTY_KEY);
+        if (Strings.isNullOrEmpty(weight)) {
+            return;
+        }
+        Integer value = Ints.tryParse(weight.trim());
+        if (null == value || value <= 0) {
+            throw new JobConfigurationException("System property `%s` should be a positive integer, but is `%s`.", InstanceService.WEIGHT_SYSTEM_PROPERTY_KEY, weight);
+        }
+    }
+    
+    private void validateReshardingDelay() {
+        Long window = getNonNegativeLongProperty(ReshardingDebouncer.WINDOW_PROPS_KEY);
+        Long maxDelay = getNonNegativeLongProperty(ReshardingDebouncer.MAX_DELAY_PROPS_KEY);
+        if (null != window && null != maxDelay && maxDelay < window) {
+            throw new JobConfigurationException(
+                    "Job property `%s` should not be less than `%s`, but is `%s`.", ReshardingDebouncer.MAX_DELAY_PROPS_KEY, ReshardingDebouncer.WINDOW_PROPS_KEY, maxDelay);
+        }
+    }
+    
+    private Long getNonNegativeLongProperty(final String key) {
+        String value = jobConfig.getProps().getProperty(key);
+        if (Strings.isNullOrEmpty(value)) {
+            return null;
+        }
+        Long result = Longs.tryParse(value.trim());
+        if (null == result || result < 0L) {
+            throw new JobConfigurationException("Job property `%s` should be a non-negative long, but is `%s`.", key, value);
+        }
+        return result;
+    }
+    
+    private void validatePositiveIntProperty(final String key) {
+        String value = jobConfig.getProps().getProperty(key);
+        if (Strings.isNullOrEmpty(value)) {
+            return;
+        }
+        Integer result = Ints.tryParse(value.trim());
+        if (null == result || result <= 0) {
+            throw new JobConfigurationException("Job property `%s` should be a positive integer, but is `%s`.", key, value);
+        }
+    }
+    
     private void setGuaranteeServiceForElasticJobListeners(final CoordinatorRegistryCenter regCenter, final Collection<ElasticJobListener> elasticJobListeners) {
         GuaranteeService guaranteeService = new GuaranteeService(regCenter, jobConfig.getJobName());
         for (ElasticJobListener each : elasticJobListeners) {
@@ -171,10 +227,23 @@ public final class JobScheduler {
         return result;
     }
     
+    private JobInstance createJobInstance() {
+        JobInstance result = new JobInstance();
+        result.setAvailableProcessors(Runtime.getRuntime().availableProcessors());
+        String weight = System.getProperty(InstanceService.WEIGHT_SYSTEM_PROPERTY_KEY);
+        if (!Strings.isNullOrEmpty(weight)) {
+            result.setWeight(Integer.parseInt(weight.trim()));
+        }
+        return result;
+    }
+    
     private void registerStartUpInfo() {
-        JobRegistry.getInstance().registerRegistryCenter(jobConfig.getJobName(), regCenter);
-        JobRegistry.getInstance().addJobInstance(jobConfig.getJobName(), new JobInstance());
+        JobRegistry.getInstance().registerRegistryCenter(jobConfig.getJobName(), regCenter, JobCacheProfile.fromProperties(jobConfig.getProps()));
+        JobRegistry.getInstance().addJobInstance(jobConfig.getJobName(), createJobInstance());
         JobRegistry.getInstance().setCurrentShardingTotalCount(jobConfig.getJobName(), jobConfig.getShardingTotalCount());
+        if (ShardingCoordinatorMode.NAMESPACE == ShardingCoordinatorMode.fromProperties(jobConfig.getProps())) {
+            NamespaceShardingCoordinator.register(regCenter, jobConfig.getJobName());
+        }
         setUpFacade.registerStartUpInfo(!jobConfig.isDisabled());
     }
     
@@ -183,7 +252,9 @@ public final class JobScheduler {
      */
     public void shutdown() {
         setUpFacade.tearDown();
+        NamespaceShardingCoordinator.unregister(regCenter, jobConfig.getJobName());
         schedulerFacade.shutdownInstance();
         jobExecutor.shutdown();
+        jobFacade.shutdown();
     }
 }
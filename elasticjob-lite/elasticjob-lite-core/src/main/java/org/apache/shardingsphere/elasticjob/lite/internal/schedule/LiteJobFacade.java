@@ -23,10 +23,14 @@ import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
 import org.apache.shardingsphere.elasticjob.executor.JobFacade;
 import org.apache.shardingsphere.elasticjob.infra.context.TaskContext;
 import org.apache.shardingsphere.elasticjob.infra.exception.JobExecutionEnvironmentException;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobShardingStrategyFactory;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.impl.WeightedJobShardingStrategy;
 import org.apache.shardingsphere.elasticjob.infra.listener.ElasticJobListener;
 import org.apache.shardingsphere.elasticjob.infra.listener.ShardingContexts;
 import org.apache.shardingsphere.elasticjob.lite.internal.config.ConfigurationService;
+import org.apache.shardingsphere.elasticjob.lite.internal.failover.FailoverExecutionMode;
 import org.apache.shardingsphere.elasticjob.lite.internal.failover.FailoverService;
+import org.apache.shardingsphere.elasticjob.lite.internal.instance.InstanceService;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ExecutionContextService;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ExecutionService;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingService;
@@ -39,6 +43,7 @@ import org.apache.shardingsphere.elasticjob.tracing.event.JobStatusTraceEvent.So
 import org.apache.shardingsphere.elasticjob.tracing.event.JobStatusTraceEvent.State;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -57,16 +62,21 @@ public final class LiteJobFacade implements JobFacade {
     
     private final FailoverService failoverService;
     
+    private final InstanceService instanceService;
+    
     private final Collection<ElasticJobListener> elasticJobListeners;
     
     private final JobTracingEventBus jobTracingEventBus;
     
+    private long jobBeginTime;
+    
     public LiteJobFacade(final CoordinatorRegistryCenter regCenter, final String jobName, final Collection<ElasticJobListener> elasticJobListeners, final TracingConfiguration<?> tracingConfig) {
         configService = new ConfigurationService(regCenter, jobName);
         shardingService = new ShardingService(regCenter, jobName);
         executionContextService = new ExecutionContextService(regCenter, jobName);
         executionService = new ExecutionService(regCenter, jobName);
         failoverService = new FailoverService(regCenter, jobName);
+        instanceService = new InstanceService(regCenter, jobName);
         this.elasticJobListeners = elasticJobListeners;
         this.jobTracingEventBus = null == tracingConfig ? new JobTracingEventBus() : new JobTracingEventBus(tracingConfig);
     }
@@ -90,21 +100,28 @@ public final class LiteJobFacade implements JobFacade {
     
     @Override
     public void registerJobBegin(final ShardingContexts shardingContexts) {
+        jobBeginTime = System.currentTimeMillis();
         executionService.registerJobBegin(shardingContexts);
     }
     
     @Override
     public void registerJobCompleted(final ShardingContexts shardingContexts) {
         executionService.registerJobCompleted(shardingContexts);
-        if (configService.load(true).isFailover()) {
+        JobConfiguration jobConfig = configService.load(true);
+        if (JobShardingStrategyFactory.getStrategy(jobConfig.getJobShardingStrategyType()) instanceof WeightedJobShardingStrategy) {
+            instanceService.persistLoad(shardingContexts.getShardingItemParameters().size(), System.currentTimeMillis() - jobBeginTime);
+        }
+        if (jobConfig.isFailover()) {
             failoverService.updateFailoverComplete(shardingContexts.getShardingItemParameters().keySet());
         }
     }
     
     @Override
     public ShardingContexts getShardingContexts() {
-        boolean isFailover = configService.load(true).isFailover();
-        if (isFailover) {
+        JobConfiguration jobConfig = configService.load(true);
+        boolean isFailover = jobConfig.isFailover();
+        boolean isMergedFailover = isFailover && FailoverExecutionMode.MERGED == FailoverExecutionMode.fromProperties(jobConfig.getProps());
+        if (isFailover && !isMergedFailover) {
             List<Integer> failoverShardingItems = failoverService.getLocalFailoverItems();
             if (!failoverShardingItems.isEmpty()) {
                 return executionContextService.getJobShardingContext(failoverShardingItems);
@@ -116,11 +133,14 @@ public final class LiteJobFacade implements JobFacade {
             shardingItems.removeAll(failoverService.getLocalTakeOffItems());
         }
         shardingItems.removeAll(executionService.getDisabledItems(shardingItems));
+        if (isMergedFailover) {
+            shardingItems.addAll(failoverService.getLocalMergedFailoverItems(shardingItems));
+        }
         return executionContextService.getJobShardingContext(shardingItems);
     }
     
     @Override
-    public boolean misfireIfRunning(final Collection<Integer> shardingItems) {
+    public Collection<Integer> misfireIfRunning(final Collection<Integer> shardingItems) {
         return executionService.misfireIfHasRunningItems(shardingItems);
     }
     
@@ -130,8 +150,11 @@ public final class LiteJobFacade implements JobFacade {
     }
     
     @Override
-    public boolean isExecuteMisfired(final Collection<Integer> shardingItems) {
-        return configService.load(true).isMisfire() && !isNeedSharding() && !executionService.getMisfiredJobItems(shardingItems).isEmpty();
+    public Collection<Integer> getMisfiredItems(final Collection<Integer> shardingItems) {
+        if (!configService.load(true).isMisfire() || isNeedSharding()) {
+            return Collections.emptyList();
+        }
+        return executionService.getMisfiredJobItems(shardingItems);
     }
     
     @Override
@@ -167,4 +190,11 @@ public final class LiteJobFacade implements JobFacade {
             log.trace(message);
         }
     }
+    
+    /**
+     * Shutdown job facade and release tracing storage.
+     */
+    public void shutdown() {
+        jobTracingEventBus.close();
+    }
 }
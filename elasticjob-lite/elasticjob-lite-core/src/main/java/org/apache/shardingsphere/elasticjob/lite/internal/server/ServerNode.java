@@ -67,7 +67,13 @@ public final class ServerNode {
         return path.equals(jobNodePath.getFullPath(String.format(SERVERS, jobInstance.getServerIp())));
     }
     
-    String getServerNode(final String ip) {
+    /**
+     * Get server node.
+     *
+     * @param ip IP address of server
+     * @return server node
+     */
+    public String getServerNode(final String ip) {
         return String.format(SERVERS, ip);
     }
 }
@@ -22,7 +22,6 @@ import org.apache.shardingsphere.elasticjob.lite.internal.instance.InstanceNode;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
-import org.apache.shardingsphere.elasticjob.infra.concurrent.BlockUtils;
 
 import java.util.List;
 
@@ -31,6 +30,8 @@ import java.util.List;
  */
 public final class ServerService {
     
+    private static final long WAITING_TIMEOUT_MILLISECONDS = 1000L;
+    
     private final String jobName;
     
     private final JobNodeStorage jobNodeStorage;
@@ -95,10 +96,11 @@ public final class ServerService {
      * @return is server enabled or not
      */
     public boolean isEnableServer(final String ip) {
-        String serverStatus = jobNodeStorage.getJobNodeData(serverNode.getServerNode(ip));
+        String serverNodePath = serverNode.getServerNode(ip);
+        String serverStatus = jobNodeStorage.getJobNodeData(serverNodePath);
         while (Strings.isNullOrEmpty(serverStatus)) {
-            BlockUtils.waitingShortTime();
-            serverStatus = jobNodeStorage.getJobNodeData(serverNode.getServerNode(ip));
+            jobNodeStorage.awaitUntil(() -> !Strings.isNullOrEmpty(jobNodeStorage.getJobNodeData(serverNodePath)), WAITING_TIMEOUT_MILLISECONDS, serverNodePath);
+            serverStatus = jobNodeStorage.getJobNodeData(serverNodePath);
         }
         return !ServerStatus.DISABLED.name().equals(serverStatus);
     }
@@ -27,6 +27,7 @@ import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -44,10 +45,13 @@ public final class ExecutionContextService {
     
     private final ConfigurationService configService;
     
+    private final ExecutionService executionService;
+    
     public ExecutionContextService(final CoordinatorRegistryCenter regCenter, final String jobName) {
         this.jobName = jobName;
         jobNodeStorage = new JobNodeStorage(regCenter, jobName);
         configService = new ConfigurationService(regCenter, jobName);
+        executionService = new ExecutionService(regCenter, jobName);
     }
     
     /**
@@ -58,7 +62,7 @@ public final class ExecutionContextService {
      */
     public ShardingContexts getJobShardingContext(final List<Integer> shardingItems) {
         JobConfiguration jobConfig = configService.load(false);
-        removeRunningIfMonitorExecution(jobConfig.isMonitorExecution(), shardingItems);
+        removeRunningIfMonitorExecution(jobConfig, shardingItems);
         if (shardingItems.isEmpty()) {
             return new ShardingContexts(buildTaskId(jobConfig, shardingItems), jobConfig.getJobName(), jobConfig.getShardingTotalCount(), 
                     jobConfig.getJobParameter(), Collections.emptyMap());
@@ -75,8 +79,13 @@ public final class ExecutionContextService {
         return String.join("@-@", jobConfig.getJobName(), shardingItemsString, "READY", jobInstanceId); 
     }
     
-    private void removeRunningIfMonitorExecution(final boolean monitorExecution, final List<Integer> shardingItems) {
-        if (!monitorExecution) {
+    private void removeRunningIfMonitorExecution(final JobConfiguration jobConfig, final List<Integer> shardingItems) {
+        if (!jobConfig.isMonitorExecution()) {
+            return;
+        }
+        if (RunningStateFormat.PER_INSTANCE == RunningStateFormat.fromProperties(jobConfig.getProps())) {
+            BitSet runningItems = executionService.getInstanceRunningItems();
+            shardingItems.removeIf(runningItems::get);
             return;
         }
         List<Integer> runningShardingItems = new ArrayList<>(shardingItems.size());
@@ -17,16 +17,28 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
 
+import com.google.common.base.Strings;
 import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
 import org.apache.shardingsphere.elasticjob.infra.listener.ShardingContexts;
 import org.apache.shardingsphere.elasticjob.lite.internal.config.ConfigurationService;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodePath;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Execution service.
@@ -39,20 +51,32 @@ public final class ExecutionService {
     
     private final ConfigurationService configService;
     
+    private final JobNodePath jobNodePath;
+    
     public ExecutionService(final CoordinatorRegistryCenter regCenter, final String jobName) {
         this.jobName = jobName;
         jobNodeStorage = new JobNodeStorage(regCenter, jobName);
         configService = new ConfigurationService(regCenter, jobName);
+        jobNodePath = new JobNodePath(jobName);
     }
         
     /**
      * Register job begin.
      * 
+     * <p>
+     * Running node of local job instance is updated once if running state format is per instance.
+     * </p>
+     * 
      * @param shardingContexts sharding contexts
      */
     public void registerJobBegin(final ShardingContexts shardingContexts) {
         JobRegistry.getInstance().setJobRunning(jobName, true);
-        if (!configService.load(true).isMonitorExecution()) {
+        JobConfiguration jobConfig = configService.load(true);
+        if (!jobConfig.isMonitorExecution()) {
+            return;
+        }
+        if (RunningStateFormat.PER_INSTANCE == RunningStateFormat.fromProperties(jobConfig.getProps())) {
+            addLocalRunningItems(shardingContexts.getShardingItemParameters().keySet());
             return;
         }
         for (int each : shardingContexts.getShardingItemParameters().keySet()) {
@@ -63,15 +87,122 @@ public final class ExecutionService {
     /**
      * Register job completed.
      * 
+     * <p>
+     * Sharding items waiting for hand off are handed off to their new owners after completed;
+     * Running node of local job instance is updated once if running state format is per instance.
+     * </p>
+     * 
      * @param shardingContexts sharding contexts
      */
     public void registerJobCompleted(final ShardingContexts shardingContexts) {
         JobRegistry.getInstance().setJobRunning(jobName, false);
-        if (!configService.load(true).isMonitorExecution()) {
+        JobConfiguration jobConfig = configService.load(true);
+        if (!jobConfig.isMonitorExecution()) {
             return;
         }
-        for (int each : shardingContexts.getShardingItemParameters().keySet()) {
-            jobNodeStorage.removeJobNodeIfExisted(ShardingNode.getRunningNode(each));
+        boolean perInstance = RunningStateFormat.PER_INSTANCE == RunningStateFormat.fromProperties(jobConfig.getProps());
+        if (perInstance) {
+            removeLocalRunningItems(shardingContexts.getShardingItemParameters().keySet());
+        }
+        if (!perInstance) {
+            for (int each : shardingContexts.getShardingItemParameters().keySet()) {
+                jobNodeStorage.removeJobNodeIfExisted(ShardingNode.getRunningNode(each));
+            }
+        }
+        handOffIfNecessary(shardingContexts.getShardingItemParameters().keySet());
+    }
+    
+    private void addLocalRunningItems(final Collection<Integer> items) {
+        Set<Integer> localRunningItems = JobRegistry.getInstance().getLocalRunningItems(jobName);
+        synchronized (localRunningItems) {
+            boolean instanceRunningNodeExisted = !localRunningItems.isEmpty();
+            localRunningItems.addAll(items);
+            String instanceRunningNode = getLocalInstanceRunningNode();
+            if (instanceRunningNodeExisted) {
+                jobNodeStorage.updateJobNode(instanceRunningNode, ShardingItemsBitmap.encode(localRunningItems));
+            } else {
+                jobNodeStorage.fillEphemeralJobNode(instanceRunningNode, ShardingItemsBitmap.encode(localRunningItems));
+            }
+        }
+    }
+    
+    private void removeLocalRunningItems(final Collection<Integer> items) {
+        JobInstance jobInstance = JobRegistry.getInstance().getJobInstance(jobName);
+        if (null == jobInstance) {
+            return;
+        }
+        Set<Integer> localRunningItems = JobRegistry.getInstance().getLocalRunningItems(jobName);
+        synchronized (localRunningItems) {
+            localRunningItems.removeAll(items);
+            String instanceRunningNode = ShardingNode.getInstanceRunningNode(jobInstance.getJobInstanceId());
+            if (localRunningItems.isEmpty()) {
+                jobNodeStorage.removeJobNodeIfExisted(instanceRunningNode);
+            } else {
+                jobNodeStorage.updateJobNode(instanceRunningNode, ShardingItemsBitmap.encode(localRunningItems));
+            }
+        }
+    }
+    
+    private String getLocalInstanceRunningNode() {
+        return ShardingNode.getInstanceRunningNode(JobRegistry.getInstance().getJobInstance(jobName).getJobInstanceId());
+    }
+    
+    /**
+     * Hand off sharding items which are not running.
+     * 
+     * <p>
+     * Leader persists hand off node after checking running state, the owner might complete the sharding item and miss the hand off node in between.
+     * Running state is read directly from registry center here, after hand off nodes persisted.
+     * </p>
+     * 
+     * @param items sharding items waiting for hand off
+     */
+    void handOffCompletedItems(final Collection<Integer> items) {
+        Set<Integer> runningItems = filterRunningItemsDirectly(items).collect(Collectors.toSet());
+        handOffIfNecessary(items.stream().filter(each -> !runningItems.contains(each)).collect(Collectors.toList()));
+    }
+    
+    private void handOffIfNecessary(final Collection<Integer> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        String compactAssignment = jobNodeStorage.getJobNodeDataDirectly(ShardingNode.ASSIGNMENT);
+        if (Strings.isNullOrEmpty(compactAssignment)) {
+            items.forEach(this::handOffPerItemAssignmentIfNecessary);
+        } else {
+            handOffCompactAssignmentIfNecessary(items, compactAssignment);
+        }
+    }
+    
+    private void handOffPerItemAssignmentIfNecessary(final int item) {
+        String jobInstanceId = jobNodeStorage.getJobNodeDataDirectly(ShardingNode.getHandOffNode(item));
+        if (Strings.isNullOrEmpty(jobInstanceId)) {
+            return;
+        }
+        jobNodeStorage.executeInTransaction(() -> Arrays.asList(
+                TransactionOperation.opUpdate(jobNodePath.getFullPath(ShardingNode.getInstanceNode(item)), jobInstanceId),
+                TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.getHandOffNode(item)))));
+    }
+    
+    private void handOffCompactAssignmentIfNecessary(final Collection<Integer> items, final String compactAssignment) {
+        String current = compactAssignment;
+        while (!Strings.isNullOrEmpty(current)) {
+            Map<Integer, String> handOffs = ShardingAssignmentCodec.decodeHandOffs(current);
+            if (items.stream().noneMatch(handOffs::containsKey)) {
+                return;
+            }
+            Map<Integer, String> assignment = ShardingAssignmentCodec.decode(current);
+            for (int each : items) {
+                String jobInstanceId = handOffs.remove(each);
+                if (null != jobInstanceId) {
+                    assignment.put(each, jobInstanceId);
+                }
+            }
+            int shardingTotalCount = Math.max(configService.load(true).getShardingTotalCount(), Collections.max(items) + 1);
+            if (jobNodeStorage.compareAndSetJobNode(ShardingNode.ASSIGNMENT, current, ShardingAssignmentCodec.encode(assignment, handOffs, shardingTotalCount))) {
+                return;
+            }
+            current = jobNodeStorage.getJobNodeDataDirectly(ShardingNode.ASSIGNMENT);
         }
     }
     
@@ -91,6 +222,7 @@ public final class ExecutionService {
         for (int each : items) {
             jobNodeStorage.removeJobNodeIfExisted(ShardingNode.getRunningNode(each));
         }
+        removeLocalRunningItems(items);
     }
     
     /**
@@ -100,16 +232,7 @@ public final class ExecutionService {
      * @return has running items or not
      */
     public boolean hasRunningItems(final Collection<Integer> items) {
-        JobConfiguration jobConfig = configService.load(true);
-        if (!jobConfig.isMonitorExecution()) {
-            return false;
-        }
-        for (int each : items) {
-            if (jobNodeStorage.isJobNodeExisted(ShardingNode.getRunningNode(each))) {
-                return true;
-            }
-        }
-        return false;
+        return filterRunningItems(items).findAny().isPresent();
     }
     
     /**
@@ -121,6 +244,19 @@ public final class ExecutionService {
         return hasRunningItems(getAllItems());
     }
     
+    /**
+     * Get running items of all job instances from per instance running nodes.
+     * 
+     * @return bitmap of running items
+     */
+    BitSet getInstanceRunningItems() {
+        BitSet result = new BitSet();
+        for (String each : jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.INSTANCE_RUNNING_ROOT)) {
+            result.or(ShardingItemsBitmap.decode(jobNodeStorage.getJobNodeData(ShardingNode.getInstanceRunningNode(each))));
+        }
+        return result;
+    }
+    
     private List<Integer> getAllItems() {
         int shardingTotalCount = configService.load(true).getShardingTotalCount();
         List<Integer> result = new ArrayList<>(shardingTotalCount);
@@ -131,17 +267,42 @@ public final class ExecutionService {
     }
     
     /**
-     * Set misfire flag if sharding items still running.
+     * Set misfire flag for sharding items still running.
      * 
      * @param items sharding items need to be set misfire flag
-     * @return is misfired for this schedule time or not
+     * @return misfired sharding items which are still running
      */
-    public boolean misfireIfHasRunningItems(final Collection<Integer> items) {
-        if (!hasRunningItems(items)) {
-            return false;
+    public List<Integer> misfireIfHasRunningItems(final Collection<Integer> items) {
+        List<Integer> result = filterRunningItems(items).collect(Collectors.toList());
+        setMisfire(result);
+        return result;
+    }
+    
+    private Stream<Integer> filterRunningItems(final Collection<Integer> items) {
+        JobConfiguration jobConfig = configService.load(true);
+        if (!jobConfig.isMonitorExecution()) {
+            return Stream.empty();
         }
-        setMisfire(items);
-        return true;
+        if (RunningStateFormat.PER_INSTANCE == RunningStateFormat.fromProperties(jobConfig.getProps())) {
+            BitSet runningItems = getInstanceRunningItems();
+            return items.stream().filter(runningItems::get);
+        }
+        return items.stream().filter(each -> jobNodeStorage.isJobNodeExisted(ShardingNode.getRunningNode(each)));
+    }
+    
+    private Stream<Integer> filterRunningItemsDirectly(final Collection<Integer> items) {
+        JobConfiguration jobConfig = configService.load(false);
+        if (!jobConfig.isMonitorExecution()) {
+            return Stream.empty();
+        }
+        if (RunningStateFormat.PER_INSTANCE == RunningStateFormat.fromProperties(jobConfig.getProps())) {
+            BitSet runningItems = new BitSet();
+            for (String each : jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.INSTANCE_RUNNING_ROOT)) {
+                runningItems.or(ShardingItemsBitmap.decode(jobNodeStorage.getJobNodeDataDirectly(ShardingNode.getInstanceRunningNode(each))));
+            }
+            return items.stream().filter(runningItems::get);
+        }
+        return items.stream().filter(each -> jobNodeStorage.isJobNodeExisted(ShardingNode.getRunningNode(each)));
     }
     
     /**
@@ -158,12 +319,14 @@ public final class ExecutionService {
     /**
      * Get misfired job sharding items.
      * 
+     * <p>Sharding item nodes are listed once, and only the existing sharding items are checked.</p>
+     * 
      * @param items sharding items need to be judged
      * @return misfired job sharding items
      */
     public List<Integer> getMisfiredJobItems(final Collection<Integer> items) {
         List<Integer> result = new ArrayList<>(items.size());
-        for (int each : items) {
+        for (int each : filterExistedShardingItems(items)) {
             if (jobNodeStorage.isJobNodeExisted(ShardingNode.getMisfireNode(each))) {
                 result.add(each);
             }
@@ -185,16 +348,26 @@ public final class ExecutionService {
     /**
      * Get disabled sharding items.
      *
+     * <p>Sharding item nodes are listed once, and only the existing sharding items are checked.</p>
+     *
      * @param items sharding items need to be got
      * @return disabled sharding items
      */
     public List<Integer> getDisabledItems(final List<Integer> items) {
         List<Integer> result = new ArrayList<>(items.size());
-        for (int each : items) {
+        for (int each : filterExistedShardingItems(items)) {
             if (jobNodeStorage.isJobNodeExisted(ShardingNode.getDisabledNode(each))) {
                 result.add(each);
             }
         }
         return result;
     }
+    
+    private List<Integer> filterExistedShardingItems(final Collection<Integer> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> existedShardingItems = new HashSet<>(jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT));
+        return items.stream().filter(each -> existedShardingItems.contains(String.valueOf(each))).collect(Collectors.toList());
+    }
 }
@@ -23,6 +23,7 @@ import org.apache.shardingsphere.elasticjob.infra.pojo.JobConfigurationPOJO;
 import org.apache.shardingsphere.elasticjob.lite.internal.listener.AbstractJobListener;
 import org.apache.shardingsphere.elasticjob.lite.internal.listener.AbstractListenerManager;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
 
 /**
  * Monitor execution listener manager.
@@ -41,14 +42,14 @@ public final class MonitorExecutionListenerManager extends AbstractListenerManag
     
     @Override
     public void start() {
-        addDataListener(new MonitorExecutionSettingsChangedJobListener());
+        addDataListener(new MonitorExecutionSettingsChangedJobListener(), ConfigurationNode.ROOT);
     }
     
     class MonitorExecutionSettingsChangedJobListener extends AbstractJobListener {
         
         @Override
         protected void dataChanged(final String path, final Type eventType, final String data) {
-            if (configNode.isConfigPath(path) && Type.NODE_CHANGED == eventType && !YamlEngine.unmarshal(data, JobConfigurationPOJO.class).toJobConfiguration().isMonitorExecution()) {
+            if (configNode.isConfigPath(path) && Type.UPDATED == eventType && !YamlEngine.unmarshal(data, JobConfigurationPOJO.class).toJobConfiguration().isMonitorExecution()) {
                 executionService.clearAllRunningInfo();
             }
         }
@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
+import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerStatus;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodePath;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
+import org.apache.shardingsphere.elasticjob.reg.exception.RegExceptionHandler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Namespace sharding coordinator.
+ * 
+ * <p>
+ * Only one coordinator is created for a registry center, it takes part in the election of the namespace leader on behalf of all jobs registered to it.
+ * The namespace leader claims leaderships of all hosted jobs without leader, and resharding of jobs is coalesced and persisted in batched transactions,
+ * so that elections and sharding cost a few round trips instead of a few per job.
+ * </p>
+ */
+@Slf4j
+public final class NamespaceShardingCoordinator {
+    
+    static final String ROOT = "/.sharding-coordinator";
+    
+    static final String LATCH = ROOT + "/latch";
+    
+    static final String LEADER = ROOT + "/leader";
+    
+    private static final int MAX_OPERATIONS_PER_TRANSACTION = 500;
+    
+    private static final long SHARDING_COALESCE_MILLISECONDS = 100L;
+    
+    private static final Map<CoordinatorRegistryCenter, NamespaceShardingCoordinator> COORDINATORS = new HashMap<>();
+    
+    private final CoordinatorRegistryCenter regCenter;
+    
+    private final String instanceId;
+    
+    private final Map<String, ShardingService> shardingServices = new ConcurrentHashMap<>();
+    
+    private final Map<String, Lock> shardingLocks = new ConcurrentHashMap<>();
+    
+    private final Set<String> pendingJobNames = ConcurrentHashMap.newKeySet();
+    
+    private final AtomicBoolean shardingScheduled = new AtomicBoolean();
+    
+    private final ScheduledExecutorService executor;
+    
+    NamespaceShardingCoordinator(final CoordinatorRegistryCenter regCenter) {
+        this.regCenter = regCenter;
+        instanceId = new JobInstance().getJobInstanceId();
+        executor = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder().namingPattern("namespace-sharding-coordinator-%s").daemon(true).build());
+    }
+    
+    /**
+     * Register job to coordinator of the registry center, create the coordinator if absent.
+     * 
+     * @param regCenter registry center
+     * @param jobName job name
+     */
+    public static void register(final CoordinatorRegistryCenter regCenter, final String jobName) {
+        synchronized (COORDINATORS) {
+            NamespaceShardingCoordinator coordinator = COORDINATORS.computeIfAbsent(regCenter, NamespaceShardingCoordinator::new);
+            coordinator.shardingServices.put(jobName, new ShardingService(regCenter, jobName));
+            coordinator.shardingLocks.putIfAbsent(jobName, new ReentrantLock());
+        }
+    }
+    
+    /**
+     * Unregister job from coordinator of the registry center.
+     * 
+     * <p>
+     * Coordinator resigns namespace leadership and is closed after the last job unregistered.
+     * </p>
+     * 
+     * @param regCenter registry center
+     * @param jobName job name
+     */
+    public static void unregister(final CoordinatorRegistryCenter regCenter, final String jobName) {
+        synchronized (COORDINATORS) {
+            NamespaceShardingCoordinator coordinator = COORDINATORS.get(regCenter);
+            if (null == coordinator || null == coordinator.shardingServices.remove(jobName)) {
+                return;
+            }
+            coordinator.pendingJobNames.remove(jobName);
+            if (coordinator.shardingServices.isEmpty()) {
+                COORDINATORS.remove(regCenter);
+                coordinator.close();
+            }
+        }
+    }
+    
+    /**
+     * Find coordinator of the registry center which the job registered to.
+     * 
+     * @param regCenter registry center
+     * @param jobName job name
+     * @return coordinator of the registry center, empty if the job is not coordinated by namespace
+     */
+    public static Optional<NamespaceShardingCoordinator> find(final CoordinatorRegistryCenter regCenter, final String jobName) {
+        synchronized (COORDINATORS) {
+            return Optional.ofNullable(COORDINATORS.get(regCenter)).filter(each -> each.shardingServices.containsKey(jobName));
+        }
+    }
+    
+    /**
+     * Elect leader of job by namespace leader.
+     * 
+     * <p>
+     * If current instance is namespace leader, leaderships of all hosted jobs without leader are claimed in batched transactions.
+     * If another instance is namespace leader and hosts the job, it will claim the leadership.
+     * </p>
+     * 
+     * @param jobName job name
+     * @return election handled by namespace leader or not, should elect leader of the job separately if not handled
+     */
+    public boolean electLeader(final String jobName) {
+        String leaderInstanceId = regCenter.getDirectly(LEADER);
+        if (null == leaderInstanceId) {
+            regCenter.executeInLeader(LATCH, () -> {
+                if (!regCenter.isExisted(LEADER)) {
+                    regCenter.persistEphemeral(LEADER, instanceId);
+                }
+            });
+            leaderInstanceId = regCenter.getDirectly(LEADER);
+        }
+        if (instanceId.equals(leaderInstanceId)) {
+            claimLeaderships();
+            return true;
+        }
+        return null != leaderInstanceId && isHostedBy(jobName, leaderInstanceId);
+    }
+    
+    private synchronized void claimLeaderships() {
+        Map<String, List<TransactionOperation>> operations = new LinkedHashMap<>();
+        for (String each : shardingServices.keySet()) {
+            if (isLeaderClaimable(each)) {
+                String leaderHostNodePath = new JobNodePath(each).getLeaderHostNodePath();
+                createParentIfNeeded(leaderHostNodePath);
+                operations.put(each, Collections.singletonList(TransactionOperation.opAddEphemeral(leaderHostNodePath, JobRegistry.getInstance().getJobInstance(each).getJobInstanceId())));
+            }
+        }
+        executeInTransactions(operations);
+    }
+    
+    private void createParentIfNeeded(final String path) {
+        String parentPath = path.substring(0, path.lastIndexOf('/'));
+        if (!regCenter.isExisted(parentPath)) {
+            regCenter.persist(parentPath, "");
+        }
+    }
+    
+    private boolean isLeaderClaimable(final String jobName) {
+        if (JobRegistry.getInstance().isShutdown(jobName)) {
+            return false;
+        }
+        JobNodePath jobNodePath = new JobNodePath(jobName);
+        return !regCenter.isExisted(jobNodePath.getLeaderHostNodePath())
+                && !ServerStatus.DISABLED.name().equals(regCenter.getDirectly(jobNodePath.getServerNodePath(JobRegistry.getInstance().getJobInstance(jobName).getServerIp())));
+    }
+    
+    private boolean isHostedBy(final String jobName, final String leaderInstanceId) {
+        JobNodePath jobNodePath = new JobNodePath(jobName);
+        String serverIp = leaderInstanceId.substring(0, leaderInstanceId.indexOf(JobInstance.DELIMITER));
+        return regCenter.isExisted(jobNodePath.getInstanceNodePath(leaderInstanceId)) && !ServerStatus.DISABLED.name().equals(regCenter.getDirectly(jobNodePath.getServerNodePath(serverIp)));
+    }
+    
+    /**
+     * Request resharding of job, requests within a short window are coalesced and persisted in batched transactions.
+     * 
+     * <p>
+     * Jobs which still have running items are skipped, and will be sharded by the leader before next execution.
+     * </p>
+     * 
+     * @param jobName job name
+     */
+    public void requestSharding(final String jobName) {
+        pendingJobNames.add(jobName);
+        if (shardingScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::shardPendingJobs, SHARDING_COALESCE_MILLISECONDS, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    void shardPendingJobs() {
+        shardingScheduled.set(false);
+        Collection<String> jobNames = new ArrayList<>(pendingJobNames);
+        pendingJobNames.removeAll(jobNames);
+        Map<String, List<TransactionOperation>> operations = new LinkedHashMap<>();
+        Collection<Lock> lockedLocks = new LinkedList<>();
+        try {
+            for (String each : jobNames) {
+                Lock lock = shardingLocks.get(each);
+                if (null == lock || !lock.tryLock()) {
+                    continue;
+                }
+                lockedLocks.add(lock);
+                List<TransactionOperation> jobOperations = createShardingOperations(each);
+                if (!jobOperations.isEmpty()) {
+                    operations.put(each, jobOperations);
+                }
+            }
+            executeInTransactions(operations);
+            operations.keySet().forEach(this::handOffCompletedItems);
+        } finally {
+            lockedLocks.forEach(Lock::unlock);
+        }
+    }
+    
+    private List<TransactionOperation> createShardingOperations(final String jobName) {
+        ShardingService shardingService = shardingServices.get(jobName);
+        if (null == shardingService || JobRegistry.getInstance().isShutdown(jobName)) {
+            return Collections.emptyList();
+        }
+        try {
+            return shardingService.createShardingOperations();
+            //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            //CHECKSTYLE:ON
+            log.error("Create sharding operations of job `{}` failure.", jobName, ex);
+            return Collections.emptyList();
+        }
+    }
+    
+    private void handOffCompletedItems(final String jobName) {
+        ShardingService shardingService = shardingServices.get(jobName);
+        if (null == shardingService) {
+            return;
+        }
+        try {
+            shardingService.handOffCompletedItems();
+            //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            //CHECKSTYLE:ON
+            log.error("Hand off completed sharding items of job `{}` failure.", jobName, ex);
+        }
+    }
+    
+    /**
+     * Sharding job if necessary, after other sharding items of the job completed.
+     * 
+     * @param jobName job name
+     */
+    public void shardingIfNecessary(final String jobName) {
+        ShardingService shardingService = shardingServices.get(jobName);
+        Lock lock = shardingLocks.get(jobName);
+        if (null == shardingService || null == lock) {
+            return;
+        }
+        lock.lock();
+        try {
+            shardingService.waitingOtherShardingItemCompleted();
+            List<TransactionOperation> operations = shardingService.createShardingOperations();
+            if (!operations.isEmpty()) {
+                executeInTransaction(operations);
+                shardingService.handOffCompletedItems();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void executeInTransaction(final List<TransactionOperation> operations) {
+        try {
+            regCenter.executeInTransaction(operations);
+            //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            //CHECKSTYLE:ON
+            RegExceptionHandler.handleException(ex);
+        }
+    }
+    
+    private void executeInTransactions(final Map<String, List<TransactionOperation>> operations) {
+        Map<String, List<TransactionOperation>> batch = new LinkedHashMap<>();
+        int batchSize = 0;
+        for (Entry<String, List<TransactionOperation>> entry : operations.entrySet()) {
+            if (!batch.isEmpty() && batchSize + entry.getValue().size() > MAX_OPERATIONS_PER_TRANSACTION) {
+                executeBatchInTransaction(batch);
+                batch = new LinkedHashMap<>();
+                batchSize = 0;
+            }
+            batch.put(entry.getKey(), entry.getValue());
+            batchSize += entry.getValue().size();
+        }
+        if (!batch.isEmpty()) {
+            executeBatchInTransaction(batch);
+        }
+    }
+    
+    private void executeBatchInTransaction(final Map<String, List<TransactionOperation>> batch) {
+        List<TransactionOperation> operations = new LinkedList<>();
+        batch.values().forEach(operations::addAll);
+        try {
+            regCenter.executeInTransaction(operations);
+            //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            //CHECKSTYLE:ON
+            log.warn("Execute batched transaction of jobs {} failure, retry job by job.", batch.keySet(), ex);
+            batch.forEach(this::executeJobInTransaction);
+        }
+    }
+    
+    private void executeJobInTransaction(final String jobName, final List<TransactionOperation> operations) {
+        try {
+            regCenter.executeInTransaction(operations);
+            //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            //CHECKSTYLE:ON
+            log.error("Execute transaction of job `{}` failure.", jobName, ex);
+        }
+    }
+    
+    private void close() {
+        executor.shutdownNow();
+        if (instanceId.equals(regCenter.getDirectly(LEADER))) {
+            regCenter.remove(LEADER);
+        }
+    }
+}
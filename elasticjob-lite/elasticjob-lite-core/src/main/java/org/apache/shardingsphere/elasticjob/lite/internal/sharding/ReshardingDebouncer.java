@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
+
+import com.google.common.base.Strings;
+import com.google.common.primitives.Longs;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
+
+import java.util.Properties;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resharding debouncer.
+ * 
+ * <p>
+ * Membership changes within the stabilization window are coalesced into one resharding,
+ * resharding is delayed at most max delay since the first coalesced change.
+ * Crashed sharding items are still served by failover if enabled while resharding is delayed.
+ * </p>
+ */
+@Slf4j
+public final class ReshardingDebouncer {
+    
+    /**
+     * Key of resharding stabilization window milliseconds in job properties, resharding is not delayed if absent.
+     */
+    public static final String WINDOW_PROPS_KEY = "resharding.stabilization.window.milliseconds";
+    
+    /**
+     * Key of resharding max delay milliseconds in job properties, default is 5 times of stabilization window.
+     */
+    public static final String MAX_DELAY_PROPS_KEY = "resharding.max.delay.milliseconds";
+    
+    private static final int DEFAULT_MAX_DELAY_WINDOWS = 5;
+    
+    private final String jobName;
+    
+    private final ScheduledThreadPoolExecutor executor;
+    
+    private ScheduledFuture<?> pendingFuture;
+    
+    private long firstChangedTime;
+    
+    ReshardingDebouncer(final String jobName) {
+        this.jobName = jobName;
+        executor = new ScheduledThreadPoolExecutor(1, new BasicThreadFactory.Builder().namingPattern("resharding-debouncer-" + jobName + "-%s").daemon(true).build());
+        executor.setKeepAliveTime(1L, TimeUnit.MINUTES);
+        executor.allowCoreThreadTimeOut(true);
+    }
+    
+    /**
+     * Execute resharding callback after membership stabilized.
+     * 
+     * @param props job properties
+     * @param reshardingCallback resharding callback
+     */
+    synchronized void execute(final Properties props, final Runnable reshardingCallback) {
+        long window = getMilliseconds(props, WINDOW_PROPS_KEY, 0L);
+        if (window <= 0L) {
+            reshardingCallback.run();
+            return;
+        }
+        long maxDelay = getMilliseconds(props, MAX_DELAY_PROPS_KEY, window * DEFAULT_MAX_DELAY_WINDOWS);
+        long currentTime = System.currentTimeMillis();
+        if (null == pendingFuture) {
+            firstChangedTime = currentTime;
+        } else {
+            pendingFuture.cancel(false);
+        }
+        long delay = Math.max(0L, Math.min(window, firstChangedTime + maxDelay - currentTime));
+        pendingFuture = executor.schedule(() -> reshard(reshardingCallback), delay, TimeUnit.MILLISECONDS);
+    }
+    
+    private long getMilliseconds(final Properties props, final String key, final long defaultValue) {
+        String value = props.getProperty(key);
+        if (Strings.isNullOrEmpty(value)) {
+            return defaultValue;
+        }
+        Long result = Longs.tryParse(value.trim());
+        if (null == result || result < 0L) {
+            log.warn("Job property `{}` of job `{}` should be a non-negative long, but is `{}`, use `{}` instead.", key, jobName, value, defaultValue);
+            return defaultValue;
+        }
+        return result;
+    }
+    
+    private void reshard(final Runnable reshardingCallback) {
+        synchronized (this) {
+            pendingFuture = null;
+        }
+        if (JobRegistry.getInstance().isShutdown(jobName)) {
+            return;
+        }
+        try {
+            reshardingCallback.run();
+            //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            //CHECKSTYLE:ON
+            log.error("Set resharding flag of job `{}` failure.", jobName, ex);
+        }
+    }
+}
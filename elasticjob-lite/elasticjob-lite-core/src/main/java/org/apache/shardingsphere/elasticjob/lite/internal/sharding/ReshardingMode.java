@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
+
+import org.apache.shardingsphere.elasticjob.lite.internal.util.JobPropertiesUtils;
+
+import java.util.Properties;
+
+/**
+ * Resharding mode.
+ */
+public enum ReshardingMode {
+    
+    /**
+     * Wait until no sharding item is running, then reset and persist all sharding items.
+     */
+    FULL,
+    
+    /**
+     * Only hand off sharding items whose owners changed, each running sharding item is handed off after it completed.
+     * 
+     * <p>
+     * Sharding items are handed off only if monitor execution is enabled, otherwise they are reassigned directly.
+     * </p>
+     */
+    INCREMENTAL;
+    
+    /**
+     * Key of resharding mode in job properties.
+     */
+    public static final String PROPS_KEY = "resharding.mode";
+    
+    /**
+     * Get resharding mode from job properties.
+     * 
+     * @param props job properties
+     * @return resharding mode
+     */
+    public static ReshardingMode fromProperties(final Properties props) {
+        return JobPropertiesUtils.getEnum(props, PROPS_KEY, FULL);
+    }
+}
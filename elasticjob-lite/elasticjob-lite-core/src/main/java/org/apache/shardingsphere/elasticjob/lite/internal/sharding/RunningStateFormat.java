@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
+
+import org.apache.shardingsphere.elasticjob.lite.internal.util.JobPropertiesUtils;
+
+import java.util.Properties;
+
+/**
+ * Running state format.
+ */
+public enum RunningStateFormat {
+    
+    /**
+     * Persist one ephemeral running node for each running sharding item.
+     */
+    PER_ITEM,
+    
+    /**
+     * Persist one ephemeral running node for each job instance, which holds bitmap of its running sharding items.
+     * 
+     * <p>
+     * Running node is only updated once when job begin and once when job completed, whatever how many sharding items are running.
+     * </p>
+     */
+    PER_INSTANCE;
+    
+    /**
+     * Key of running state format in job properties.
+     */
+    public static final String PROPS_KEY = "running.state.format";
+    
+    /**
+     * Get running state format from job properties.
+     * 
+     * @param props job properties
+     * @return running state format
+     */
+    public static RunningStateFormat fromProperties(final Properties props) {
+        return JobPropertiesUtils.getEnum(props, PROPS_KEY, PER_ITEM);
+    }
+}
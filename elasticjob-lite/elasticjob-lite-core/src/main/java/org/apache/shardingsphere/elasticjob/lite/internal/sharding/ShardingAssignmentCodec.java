@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Codec of compact sharding assignment.
+ * 
+ * <p>
+ * First line is instance table, job instance IDs are separated by comma;
+ * second line is run length item array, each run is {@code instanceIndex*length}, index {@code -1} means unassigned;
+ * optional third line is hand off table, each element is {@code item:instanceIndex} of the new owner waiting for the item completed.
+ * For example, {@code 127.0.0.1@-@1,127.0.0.1@-@2\n0*3,1*2\n2:1} assigns items 0-2 to first instance and items 3-4 to second instance,
+ * and item 2 will be handed off to second instance.
+ * </p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ShardingAssignmentCodec {
+    
+    private static final String LINE_DELIMITER = "\n";
+    
+    private static final String ELEMENT_DELIMITER = ",";
+    
+    private static final String RUN_DELIMITER = "*";
+    
+    private static final String HAND_OFF_DELIMITER = ":";
+    
+    private static final int UNASSIGNED = -1;
+    
+    /**
+     * Encode sharding assignment.
+     * 
+     * @param assignment job instance ID of each sharding item
+     * @param shardingTotalCount sharding total count
+     * @return encoded sharding assignment
+     */
+    static String encode(final Map<Integer, String> assignment, final int shardingTotalCount) {
+        return encode(assignment, Collections.emptyMap(), shardingTotalCount);
+    }
+    
+    /**
+     * Encode sharding assignment with hand off items.
+     * 
+     * @param assignment job instance ID of each sharding item
+     * @param handOffs job instance ID of new owner of each sharding item waiting for hand off
+     * @param shardingTotalCount sharding total count
+     * @return encoded sharding assignment
+     */
+    static String encode(final Map<Integer, String> assignment, final Map<Integer, String> handOffs, final int shardingTotalCount) {
+        Map<String, Integer> instanceTable = new LinkedHashMap<>();
+        List<String> runs = new ArrayList<>();
+        int currentIndex = UNASSIGNED;
+        int currentLength = 0;
+        for (int i = 0; i < shardingTotalCount; i++) {
+            String jobInstanceId = assignment.get(i);
+            int index = null == jobInstanceId ? UNASSIGNED : instanceTable.computeIfAbsent(jobInstanceId, key -> instanceTable.size());
+            if (index != currentIndex && currentLength > 0) {
+                runs.add(currentIndex + RUN_DELIMITER + currentLength);
+                currentLength = 0;
+            }
+            currentIndex = index;
+            currentLength++;
+        }
+        if (currentLength > 0) {
+            runs.add(currentIndex + RUN_DELIMITER + currentLength);
+        }
+        List<String> handOffElements = new ArrayList<>(handOffs.size());
+        for (Entry<Integer, String> entry : new TreeMap<>(handOffs).entrySet()) {
+            if (entry.getKey() < shardingTotalCount) {
+                handOffElements.add(entry.getKey() + HAND_OFF_DELIMITER + instanceTable.computeIfAbsent(entry.getValue(), key -> instanceTable.size()));
+            }
+        }
+        String result = String.join(ELEMENT_DELIMITER, instanceTable.keySet()) + LINE_DELIMITER + String.join(ELEMENT_DELIMITER, runs);
+        return handOffElements.isEmpty() ? result : result + LINE_DELIMITER + String.join(ELEMENT_DELIMITER, handOffElements);
+    }
+    
+    /**
+     * Decode sharding assignment.
+     * 
+     * @param data encoded sharding assignment
+     * @return job instance ID of each assigned sharding item
+     */
+    public static Map<Integer, String> decode(final String data) {
+        String[] lines = data.split(LINE_DELIMITER, -1);
+        String[] instanceTable = lines[0].split(ELEMENT_DELIMITER);
+        Map<Integer, String> result = new HashMap<>();
+        if (lines[1].isEmpty()) {
+            return result;
+        }
+        int item = 0;
+        for (String each : lines[1].split(ELEMENT_DELIMITER)) {
+            int runDelimiterIndex = each.indexOf(RUN_DELIMITER);
+            int index = Integer.parseInt(each.substring(0, runDelimiterIndex));
+            int length = Integer.parseInt(each.substring(runDelimiterIndex + 1));
+            for (int i = 0; i < length; i++) {
+                if (UNASSIGNED != index) {
+                    result.put(item, instanceTable[index]);
+                }
+                item++;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Decode hand off items of sharding assignment.
+     * 
+     * @param data encoded sharding assignment
+     * @return job instance ID of new owner of each sharding item waiting for hand off
+     */
+    static Map<Integer, String> decodeHandOffs(final String data) {
+        String[] lines = data.split(LINE_DELIMITER, -1);
+        if (lines.length < 3 || lines[2].isEmpty()) {
+            return new HashMap<>();
+        }
+        String[] instanceTable = lines[0].split(ELEMENT_DELIMITER);
+        Map<Integer, String> result = new HashMap<>();
+        for (String each : lines[2].split(ELEMENT_DELIMITER)) {
+            int handOffDelimiterIndex = each.indexOf(HAND_OFF_DELIMITER);
+            result.put(Integer.parseInt(each.substring(0, handOffDelimiterIndex)), instanceTable[Integer.parseInt(each.substring(handOffDelimiterIndex + 1))]);
+        }
+        return result;
+    }
+}
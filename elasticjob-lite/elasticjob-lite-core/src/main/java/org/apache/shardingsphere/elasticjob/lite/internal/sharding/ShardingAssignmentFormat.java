@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
+
+import org.apache.shardingsphere.elasticjob.lite.internal.util.JobPropertiesUtils;
+
+import java.util.Properties;
+
+/**
+ * Sharding assignment format.
+ */
+public enum ShardingAssignmentFormat {
+    
+    /**
+     * Persist owner of each sharding item to its own instance node.
+     */
+    PER_ITEM,
+    
+    /**
+     * Persist owners of all sharding items to one assignment node, encoded by instance table and run length item array.
+     * 
+     * <p>
+     * Suit for very large sharding total count, which makes per item transaction too large.
+     * </p>
+     */
+    COMPACT;
+    
+    /**
+     * Key of sharding assignment format in job properties.
+     */
+    public static final String PROPS_KEY = "sharding.assignment.format";
+    
+    /**
+     * Get sharding assignment format from job properties.
+     * 
+     * @param props job properties
+     * @return sharding assignment format
+     */
+    public static ShardingAssignmentFormat fromProperties(final Properties props) {
+        return JobPropertiesUtils.getEnum(props, PROPS_KEY, PER_ITEM);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
+
+import org.apache.shardingsphere.elasticjob.lite.internal.util.JobPropertiesUtils;
+
+import java.util.Properties;
+
+/**
+ * Sharding coordinator mode.
+ */
+public enum ShardingCoordinatorMode {
+    
+    /**
+     * Elect leader and shard for each job separately.
+     */
+    JOB,
+    
+    /**
+     * Elect leaders and shard for jobs of the same namespace by one coordinator, in batched transactions.
+     * 
+     * <p>
+     * All instances of a job should use the same mode.
+     * </p>
+     */
+    NAMESPACE;
+    
+    /**
+     * Key of sharding coordinator mode in job properties.
+     */
+    public static final String PROPS_KEY = "sharding.coordinator";
+    
+    /**
+     * Get sharding coordinator mode from job properties.
+     * 
+     * @param props job properties
+     * @return sharding coordinator mode
+     */
+    public static ShardingCoordinatorMode fromProperties(final Properties props) {
+        return JobPropertiesUtils.getEnum(props, PROPS_KEY, JOB);
+    }
+}
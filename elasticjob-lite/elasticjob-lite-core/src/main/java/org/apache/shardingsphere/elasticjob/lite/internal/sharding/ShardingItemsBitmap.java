@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
+
+import com.google.common.base.Strings;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Bitmap of sharding items, encoded by base64.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ShardingItemsBitmap {
+    
+    /**
+     * Encode sharding items to bitmap.
+     * 
+     * @param items sharding items
+     * @return encoded bitmap
+     */
+    public static String encode(final Collection<Integer> items) {
+        BitSet bitmap = new BitSet();
+        items.forEach(bitmap::set);
+        return encode(bitmap);
+    }
+    
+    /**
+     * Encode bitmap of sharding items.
+     * 
+     * @param bitmap bitmap of sharding items
+     * @return encoded bitmap
+     */
+    public static String encode(final BitSet bitmap) {
+        return Base64.getEncoder().encodeToString(bitmap.toByteArray());
+    }
+    
+    /**
+     * Decode sharding items from bitmap.
+     * 
+     * @param data encoded bitmap
+     * @return bitmap of sharding items
+     */
+    public static BitSet decode(final String data) {
+        return Strings.isNullOrEmpty(data) ? new BitSet() : BitSet.valueOf(Base64.getDecoder().decode(data));
+    }
+}
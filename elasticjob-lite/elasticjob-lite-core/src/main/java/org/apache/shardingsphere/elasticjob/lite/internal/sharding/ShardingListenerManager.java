@@ -28,6 +28,7 @@ import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerNode;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodePath;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
 
 /**
  * Sharding listener manager.
@@ -48,6 +49,8 @@ public final class ShardingListenerManager extends AbstractListenerManager {
     
     private final ConfigurationService configService;
     
+    private final ReshardingDebouncer reshardingDebouncer;
+    
     public ShardingListenerManager(final CoordinatorRegistryCenter regCenter, final String jobName) {
         super(regCenter, jobName);
         this.jobName = jobName;
@@ -57,12 +60,13 @@ public final class ShardingListenerManager extends AbstractListenerManager {
         shardingService = new ShardingService(regCenter, jobName);
         jobNodePath = new JobNodePath(jobName);
         configService = new ConfigurationService(regCenter, jobName);
+        reshardingDebouncer = new ReshardingDebouncer(jobName);
     }
     
     @Override
     public void start() {
-        addDataListener(new ShardingTotalCountChangedJobListener());
-        addDataListener(new ListenServersChangedJobListener());
+        addDataListener(new ShardingTotalCountChangedJobListener(), ConfigurationNode.ROOT);
+        addDataListener(new ListenServersChangedJobListener(), InstanceNode.ROOT, ServerNode.ROOT);
     }
     
     class ShardingTotalCountChangedJobListener extends AbstractJobListener {
@@ -84,7 +88,7 @@ public final class ShardingListenerManager extends AbstractListenerManager {
         @Override
         protected void dataChanged(final String path, final Type eventType, final String data) {
             if (!JobRegistry.getInstance().isShutdown(jobName) && (isInstanceChange(eventType, path) || isServerChange(path)) && !(isStaticSharding() && hasShardingInfo())) {
-                shardingService.setReshardingFlag();
+                reshardingDebouncer.execute(configService.load(true).getProps(), shardingService::setReshardingFlag);
             }
         }
         
@@ -97,7 +101,7 @@ public final class ShardingListenerManager extends AbstractListenerManager {
         }
         
         private boolean isInstanceChange(final Type eventType, final String path) {
-            return instanceNode.isInstancePath(path) && Type.NODE_CHANGED != eventType;
+            return instanceNode.isInstancePath(path) && Type.UPDATED != eventType;
         }
         
         private boolean isServerChange(final String path) {
@@ -27,7 +27,13 @@ public final class ShardingNode {
     
     public static final String ROOT = "sharding";
     
-    private static final String INSTANCE_APPENDIX = "instance";
+    public static final String ASSIGNMENT = "assignment";
+    
+    static final String INSTANCE_RUNNING_ROOT = "running";
+    
+    static final String INSTANCE_APPENDIX = "instance";
+    
+    static final String HAND_OFF_APPENDIX = "handoff";
     
     private static final String INSTANCE = ROOT + "/%s/" + INSTANCE_APPENDIX;
     
@@ -39,6 +45,10 @@ public final class ShardingNode {
     
     private static final String DISABLED = ROOT + "/%s/disabled";
     
+    private static final String HAND_OFF = ROOT + "/%s/" + HAND_OFF_APPENDIX;
+    
+    private static final String INSTANCE_RUNNING = INSTANCE_RUNNING_ROOT + "/%s";
+    
     private static final String LEADER_ROOT = LeaderNode.ROOT + "/" + ROOT;
     
     static final String NECESSARY = LEADER_ROOT + "/necessary";
@@ -71,6 +81,10 @@ public final class ShardingNode {
         return String.format(RUNNING, item);
     }
     
+    static String getInstanceRunningNode(final String jobInstanceId) {
+        return String.format(INSTANCE_RUNNING, jobInstanceId);
+    }
+    
     static String getMisfireNode(final int item) {
         return String.format(MISFIRE, item);
     }
@@ -79,6 +93,10 @@ public final class ShardingNode {
         return String.format(DISABLED, item);
     }
     
+    static String getHandOffNode(final int item) {
+        return String.format(HAND_OFF, item);
+    }
+    
     /**
      * Get item by running item path.
      *
@@ -17,12 +17,10 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
 
+import com.google.common.base.Strings;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.curator.framework.api.transaction.CuratorOp;
-import org.apache.curator.framework.api.transaction.TransactionOp;
 import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
-import org.apache.shardingsphere.elasticjob.infra.concurrent.BlockUtils;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobShardingStrategy;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobShardingStrategyFactory;
@@ -37,12 +35,19 @@ import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodePath;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.TransactionExecutionCallback;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Sharding service.
@@ -50,6 +55,10 @@ import java.util.Map.Entry;
 @Slf4j
 public final class ShardingService {
     
+    private static final long WAITING_TIMEOUT_MILLISECONDS = 1000L;
+    
+    private final CoordinatorRegistryCenter regCenter;
+    
     private final String jobName;
     
     private final JobNodeStorage jobNodeStorage;
@@ -68,7 +77,10 @@ public final class ShardingService {
 
     private final JobNodePath jobNodePath;
     
+    private final Set<Integer> pendingHandOffItems = ConcurrentHashMap.newKeySet();
+    
     public ShardingService(final CoordinatorRegistryCenter regCenter, final String jobName) {
+        this.regCenter = regCenter;
         this.jobName = jobName;
         jobNodeStorage = new JobNodeStorage(regCenter, jobName);
         leaderService = new LeaderService(regCenter, jobName);
@@ -88,6 +100,7 @@ public final class ShardingService {
             return;
         }
         jobNodeStorage.createJobNodeIfNeeded(ShardingNode.NECESSARY);
+        NamespaceShardingCoordinator.find(regCenter, jobName).ifPresent(coordinator -> coordinator.requestSharding(jobName));
     }
     
     /**
@@ -104,7 +117,10 @@ public final class ShardingService {
      * 
      * <p>
      * Sharding if current job server is leader server;
-     * Do not sharding if no available job server. 
+     * Do not sharding if no available job server;
+     * Only hand off sharding items whose owners changed if resharding mode is incremental;
+     * Persist sharding info and hand off items to one assignment node if sharding assignment format is compact, and migrate from the other format;
+     * Sharding item nodes are not created if sharding assignment format is compact, they only exist when running, misfire, failover or disabled state is set.
      * </p>
      */
     public void shardingIfNecessary() {
@@ -116,44 +132,260 @@ public final class ShardingService {
             blockUntilShardingCompleted();
             return;
         }
+        Optional<NamespaceShardingCoordinator> coordinator = NamespaceShardingCoordinator.find(regCenter, jobName);
+        if (coordinator.isPresent()) {
+            coordinator.get().shardingIfNecessary(jobName);
+            return;
+        }
         waitingOtherShardingItemCompleted();
         JobConfiguration jobConfig = configService.load(false);
         int shardingTotalCount = jobConfig.getShardingTotalCount();
+        boolean incremental = ReshardingMode.INCREMENTAL == ReshardingMode.fromProperties(jobConfig.getProps());
         log.debug("Job '{}' sharding begin.", jobName);
         jobNodeStorage.fillEphemeralJobNode(ShardingNode.PROCESSING, "");
-        resetShardingInfo(shardingTotalCount);
+        Map<Integer, String> previousAssignment = getAssignment(shardingTotalCount);
         JobShardingStrategy jobShardingStrategy = JobShardingStrategyFactory.getStrategy(jobConfig.getJobShardingStrategyType());
-        jobNodeStorage.executeInTransaction(new PersistShardingInfoTransactionExecutionCallback(jobShardingStrategy.sharding(availableJobInstances, jobName, shardingTotalCount)));
+        Map<JobInstance, List<Integer>> shardingResults = jobShardingStrategy.sharding(availableJobInstances, jobName, shardingTotalCount, previousAssignment);
+        if (ShardingAssignmentFormat.COMPACT == ShardingAssignmentFormat.fromProperties(jobConfig.getProps())) {
+            removeRedundantShardingItems(shardingTotalCount);
+            jobNodeStorage.executeInTransaction(new PersistCompactShardingInfoTransactionExecutionCallback(shardingResults, previousAssignment, incremental, shardingTotalCount));
+        } else if (incremental) {
+            createMissingShardingItems(shardingTotalCount);
+            removeRedundantShardingItems(shardingTotalCount);
+            jobNodeStorage.executeInTransaction(new PersistHandOffTransactionExecutionCallback(shardingResults, previousAssignment));
+        } else {
+            resetShardingInfo(shardingTotalCount);
+            jobNodeStorage.executeInTransaction(new PersistShardingInfoTransactionExecutionCallback(shardingResults));
+        }
+        handOffCompletedItems();
         log.debug("Job '{}' sharding complete.", jobName);
     }
     
+    /**
+     * Hand off sharding items which completed before their hand off nodes persisted.
+     * 
+     * <p>
+     * Should be called after the transaction of sharding operations executed.
+     * Owner checks hand off node after removing running state, so sharding items completed between leader checking running state and persisting hand off node
+     * would never be handed off by their owners.
+     * </p>
+     */
+    void handOffCompletedItems() {
+        Collection<Integer> items = new ArrayList<>(pendingHandOffItems);
+        pendingHandOffItems.removeAll(items);
+        if (!items.isEmpty()) {
+            executionService.handOffCompletedItems(items);
+        }
+    }
+    
+    private boolean isIncrementalResharding() {
+        return ReshardingMode.INCREMENTAL == ReshardingMode.fromProperties(configService.load(true).getProps());
+    }
+    
     private void blockUntilShardingCompleted() {
-        while (!leaderService.isLeaderUntilBlock() && (jobNodeStorage.isJobNodeExisted(ShardingNode.NECESSARY) || jobNodeStorage.isJobNodeExisted(ShardingNode.PROCESSING))) {
-            log.debug("Job '{}' sleep short time until sharding completed.", jobName);
-            BlockUtils.waitingShortTime();
+        while (!leaderService.isLeaderUntilBlock() && isShardingInProgress()) {
+            log.debug("Job '{}' wait until sharding completed.", jobName);
+            jobNodeStorage.awaitUntil(() -> !isShardingInProgress(), WAITING_TIMEOUT_MILLISECONDS, ShardingNode.NECESSARY, ShardingNode.PROCESSING);
         }
     }
     
-    private void waitingOtherShardingItemCompleted() {
+    private boolean isShardingInProgress() {
+        return jobNodeStorage.isJobNodeExisted(ShardingNode.NECESSARY) || jobNodeStorage.isJobNodeExisted(ShardingNode.PROCESSING);
+    }
+    
+    void waitingOtherShardingItemCompleted() {
+        if (isIncrementalResharding()) {
+            return;
+        }
         while (executionService.hasRunningItems()) {
-            log.debug("Job '{}' sleep short time until other job completed.", jobName);
-            BlockUtils.waitingShortTime();
+            log.debug("Job '{}' wait until other job completed.", jobName);
+            jobNodeStorage.awaitUntil(() -> !executionService.hasRunningItems(), WAITING_TIMEOUT_MILLISECONDS, ShardingNode.ROOT, ShardingNode.INSTANCE_RUNNING_ROOT);
+        }
+    }
+    
+    private Map<Integer, String> getAssignment(final int shardingTotalCount) {
+        String compactAssignment = jobNodeStorage.getJobNodeData(ShardingNode.ASSIGNMENT);
+        if (!Strings.isNullOrEmpty(compactAssignment)) {
+            Map<Integer, String> result = ShardingAssignmentCodec.decode(compactAssignment);
+            result.keySet().removeIf(each -> each >= shardingTotalCount);
+            return result;
         }
+        Map<Integer, String> result = new HashMap<>(shardingTotalCount, 1);
+        for (int i = 0; i < shardingTotalCount; i++) {
+            String jobInstanceId = jobNodeStorage.getJobNodeData(ShardingNode.getInstanceNode(i));
+            if (!Strings.isNullOrEmpty(jobInstanceId)) {
+                result.put(i, jobInstanceId);
+            }
+        }
+        return result;
     }
     
     private void resetShardingInfo(final int shardingTotalCount) {
         for (int i = 0; i < shardingTotalCount; i++) {
             jobNodeStorage.removeJobNodeIfExisted(ShardingNode.getInstanceNode(i));
+            if (jobNodeStorage.isJobNodeExisted(ShardingNode.getHandOffNode(i))) {
+                jobNodeStorage.removeJobNodeIfExisted(ShardingNode.getHandOffNode(i));
+            }
             jobNodeStorage.createJobNodeIfNeeded(ShardingNode.ROOT + "/" + i);
         }
-        int actualShardingTotalCount = jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT).size();
-        if (actualShardingTotalCount > shardingTotalCount) {
-            for (int i = shardingTotalCount; i < actualShardingTotalCount; i++) {
-                jobNodeStorage.removeJobNodeIfExisted(ShardingNode.ROOT + "/" + i);
+        removeRedundantShardingItems(shardingTotalCount);
+    }
+    
+    private void createMissingShardingItems(final int shardingTotalCount) {
+        for (int i = 0; i < shardingTotalCount; i++) {
+            if (!jobNodeStorage.isJobNodeExisted(ShardingNode.ROOT + "/" + i)) {
+                jobNodeStorage.createJobNodeIfNeeded(ShardingNode.ROOT + "/" + i);
+            }
+        }
+    }
+    
+    private void removeRedundantShardingItems(final int shardingTotalCount) {
+        for (String each : jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT)) {
+            if (Integer.parseInt(each) >= shardingTotalCount) {
+                jobNodeStorage.removeJobNodeIfExisted(ShardingNode.ROOT + "/" + each);
             }
         }
     }
     
+    /**
+     * Create transaction operations to reset and persist sharding info if current server is leader and sharding is necessary.
+     * 
+     * <p>
+     * Missing sharding items are created unless sharding assignment format is compact, and redundant sharding items are removed directly.
+     * No operation is created if other sharding items are still running, unless resharding mode is incremental;
+     * {@link #handOffCompletedItems()} should be called after the operations executed if resharding mode is incremental.
+     * </p>
+     * 
+     * @return transaction operations of sharding
+     */
+    List<TransactionOperation> createShardingOperations() {
+        List<JobInstance> availableJobInstances = instanceService.getAvailableJobInstances();
+        if (!isNeedSharding() || availableJobInstances.isEmpty() || !leaderService.isLeader()) {
+            return Collections.emptyList();
+        }
+        JobConfiguration jobConfig = configService.load(false);
+        boolean incremental = ReshardingMode.INCREMENTAL == ReshardingMode.fromProperties(jobConfig.getProps());
+        if (!incremental && executionService.hasRunningItems()) {
+            return Collections.emptyList();
+        }
+        int shardingTotalCount = jobConfig.getShardingTotalCount();
+        Map<Integer, String> previousAssignment = getAssignment(shardingTotalCount);
+        removeRedundantShardingItems(shardingTotalCount);
+        if (ShardingAssignmentFormat.COMPACT == ShardingAssignmentFormat.fromProperties(jobConfig.getProps())) {
+            JobShardingStrategy jobShardingStrategy = JobShardingStrategyFactory.getStrategy(jobConfig.getJobShardingStrategyType());
+            List<TransactionOperation> result = createCompactAssignmentOperations(
+                    jobShardingStrategy.sharding(availableJobInstances, jobName, shardingTotalCount, previousAssignment), previousAssignment, incremental, shardingTotalCount);
+            result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.NECESSARY)));
+            return result;
+        }
+        if (incremental) {
+            createMissingShardingItems(shardingTotalCount);
+            JobShardingStrategy jobShardingStrategy = JobShardingStrategyFactory.getStrategy(jobConfig.getJobShardingStrategyType());
+            List<TransactionOperation> result = createHandOffOperations(jobShardingStrategy.sharding(availableJobInstances, jobName, shardingTotalCount, previousAssignment), previousAssignment);
+            result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.NECESSARY)));
+            return result;
+        }
+        List<TransactionOperation> result = new LinkedList<>();
+        for (int i = 0; i < shardingTotalCount; i++) {
+            if (!jobNodeStorage.isJobNodeExisted(ShardingNode.ROOT + "/" + i)) {
+                jobNodeStorage.createJobNodeIfNeeded(ShardingNode.ROOT + "/" + i);
+            } else if (jobNodeStorage.isJobNodeExisted(ShardingNode.getInstanceNode(i))) {
+                result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.getInstanceNode(i))));
+            }
+        }
+        JobShardingStrategy jobShardingStrategy = JobShardingStrategyFactory.getStrategy(jobConfig.getJobShardingStrategyType());
+        for (Entry<JobInstance, List<Integer>> entry : jobShardingStrategy.sharding(availableJobInstances, jobName, shardingTotalCount, previousAssignment).entrySet()) {
+            for (int shardingItem : entry.getValue()) {
+                result.add(TransactionOperation.opAdd(jobNodePath.getFullPath(ShardingNode.getInstanceNode(shardingItem)), entry.getKey().getJobInstanceId()));
+            }
+        }
+        result.addAll(createRemoveCompactAssignmentOperations());
+        result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.NECESSARY)));
+        return result;
+    }
+    
+    private List<TransactionOperation> createHandOffOperations(final Map<JobInstance, List<Integer>> shardingResults, final Map<Integer, String> previousAssignment) {
+        List<TransactionOperation> result = new LinkedList<>();
+        boolean migrateFromCompactAssignment = jobNodeStorage.isJobNodeExisted(ShardingNode.ASSIGNMENT);
+        for (Entry<JobInstance, List<Integer>> entry : shardingResults.entrySet()) {
+            String jobInstanceId = entry.getKey().getJobInstanceId();
+            for (int shardingItem : entry.getValue()) {
+                List<String> shardingItemChildrenKeys = getShardingItemChildrenKeys(shardingItem);
+                if (shardingItemChildrenKeys.contains(ShardingNode.HAND_OFF_APPENDIX)) {
+                    result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.getHandOffNode(shardingItem))));
+                }
+                String ownerJobInstanceId = getOwnerJobInstanceId(shardingItem, jobInstanceId, previousAssignment.get(shardingItem));
+                if (!ownerJobInstanceId.equals(jobInstanceId)) {
+                    result.add(TransactionOperation.opAdd(jobNodePath.getFullPath(ShardingNode.getHandOffNode(shardingItem)), jobInstanceId));
+                    pendingHandOffItems.add(shardingItem);
+                }
+                if (migrateFromCompactAssignment) {
+                    result.add(TransactionOperation.opAdd(jobNodePath.getFullPath(ShardingNode.getInstanceNode(shardingItem)), ownerJobInstanceId));
+                } else if (!ownerJobInstanceId.equals(previousAssignment.get(shardingItem))) {
+                    result.add(shardingItemChildrenKeys.contains(ShardingNode.INSTANCE_APPENDIX)
+                            ? TransactionOperation.opUpdate(jobNodePath.getFullPath(ShardingNode.getInstanceNode(shardingItem)), ownerJobInstanceId)
+                            : TransactionOperation.opAdd(jobNodePath.getFullPath(ShardingNode.getInstanceNode(shardingItem)), ownerJobInstanceId));
+                }
+            }
+        }
+        result.addAll(createRemoveCompactAssignmentOperations());
+        return result;
+    }
+    
+    private List<TransactionOperation> createCompactAssignmentOperations(final Map<JobInstance, List<Integer>> shardingResults, final Map<Integer, String> previousAssignment,
+                                                                         final boolean incremental, final int shardingTotalCount) {
+        boolean compactAssignmentExisted = jobNodeStorage.isJobNodeExisted(ShardingNode.ASSIGNMENT);
+        List<TransactionOperation> result = compactAssignmentExisted ? new LinkedList<>() : createRemovePerItemAssignmentOperations();
+        Map<Integer, String> assignment = new HashMap<>(shardingTotalCount, 1);
+        Map<Integer, String> handOffs = new HashMap<>();
+        for (Entry<JobInstance, List<Integer>> entry : shardingResults.entrySet()) {
+            String jobInstanceId = entry.getKey().getJobInstanceId();
+            for (int shardingItem : entry.getValue()) {
+                String ownerJobInstanceId = incremental ? getOwnerJobInstanceId(shardingItem, jobInstanceId, previousAssignment.get(shardingItem)) : jobInstanceId;
+                if (!ownerJobInstanceId.equals(jobInstanceId)) {
+                    handOffs.put(shardingItem, jobInstanceId);
+                    pendingHandOffItems.add(shardingItem);
+                }
+                assignment.put(shardingItem, ownerJobInstanceId);
+            }
+        }
+        String data = ShardingAssignmentCodec.encode(assignment, handOffs, shardingTotalCount);
+        result.add(compactAssignmentExisted
+                ? TransactionOperation.opUpdate(jobNodePath.getFullPath(ShardingNode.ASSIGNMENT), data) : TransactionOperation.opAdd(jobNodePath.getFullPath(ShardingNode.ASSIGNMENT), data));
+        return result;
+    }
+    
+    private List<TransactionOperation> createRemovePerItemAssignmentOperations() {
+        List<TransactionOperation> result = new LinkedList<>();
+        for (String each : jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT)) {
+            int shardingItem = Integer.parseInt(each);
+            List<String> shardingItemChildrenKeys = getShardingItemChildrenKeys(shardingItem);
+            if (shardingItemChildrenKeys.contains(ShardingNode.INSTANCE_APPENDIX)) {
+                result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.getInstanceNode(shardingItem))));
+            }
+            if (shardingItemChildrenKeys.contains(ShardingNode.HAND_OFF_APPENDIX)) {
+                result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.getHandOffNode(shardingItem))));
+            }
+        }
+        return result;
+    }
+    
+    private List<String> getShardingItemChildrenKeys(final int shardingItem) {
+        return jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT + "/" + shardingItem);
+    }
+    
+    private String getOwnerJobInstanceId(final int shardingItem, final String jobInstanceId, final String previousJobInstanceId) {
+        if (null != previousJobInstanceId && !jobInstanceId.equals(previousJobInstanceId) && executionService.hasRunningItems(Collections.singletonList(shardingItem))) {
+            return previousJobInstanceId;
+        }
+        return jobInstanceId;
+    }
+    
+    private List<TransactionOperation> createRemoveCompactAssignmentOperations() {
+        return jobNodeStorage.isJobNodeExisted(ShardingNode.ASSIGNMENT)
+                ? Collections.singletonList(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.ASSIGNMENT))) : Collections.emptyList();
+    }
+    
     /**
      * Get sharding items.
      *
@@ -167,8 +399,9 @@ public final class ShardingService {
         }
         List<Integer> result = new LinkedList<>();
         int shardingTotalCount = configService.load(true).getShardingTotalCount();
+        Map<Integer, String> assignment = getAssignment(shardingTotalCount);
         for (int i = 0; i < shardingTotalCount; i++) {
-            if (jobInstance.getJobInstanceId().equals(jobNodeStorage.getJobNodeData(ShardingNode.getInstanceNode(i)))) {
+            if (jobInstance.getJobInstanceId().equals(assignment.get(i))) {
                 result.add(i);
             }
         }
@@ -188,8 +421,9 @@ public final class ShardingService {
         }
         List<Integer> result = new LinkedList<>();
         int shardingTotalCount = configService.load(true).getShardingTotalCount();
+        Map<Integer, String> assignment = getAssignment(shardingTotalCount);
         for (int i = 0; i < shardingTotalCount; i++) {
-            if (jobInstanceId.equals(jobNodeStorage.getJobNodeData(ShardingNode.getInstanceNode(i)))) {
+            if (jobInstanceId.equals(assignment.get(i))) {
                 result.add(i);
             }
         }
@@ -216,8 +450,9 @@ public final class ShardingService {
     public boolean hasShardingInfoInOfflineServers() {
         List<String> onlineInstances = jobNodeStorage.getJobNodeChildrenKeys(InstanceNode.ROOT);
         int shardingTotalCount = configService.load(true).getShardingTotalCount();
+        Map<Integer, String> assignment = getAssignment(shardingTotalCount);
         for (int i = 0; i < shardingTotalCount; i++) {
-            if (!onlineInstances.contains(jobNodeStorage.getJobNodeData(ShardingNode.getInstanceNode(i)))) {
+            if (!onlineInstances.contains(assignment.get(i))) {
                 return true;
             }
         }
@@ -230,15 +465,52 @@ public final class ShardingService {
         private final Map<JobInstance, List<Integer>> shardingResults;
         
         @Override
-        public List<CuratorOp> createCuratorOperators(final TransactionOp transactionOp) throws Exception {
-            List<CuratorOp> result = new LinkedList<>();
+        public List<TransactionOperation> createTransactionOperations() {
+            List<TransactionOperation> result = new LinkedList<>();
             for (Entry<JobInstance, List<Integer>> entry : shardingResults.entrySet()) {
                 for (int shardingItem : entry.getValue()) {
-                    result.add(transactionOp.create().forPath(jobNodePath.getFullPath(ShardingNode.getInstanceNode(shardingItem)), entry.getKey().getJobInstanceId().getBytes()));
+                    result.add(TransactionOperation.opAdd(jobNodePath.getFullPath(ShardingNode.getInstanceNode(shardingItem)), entry.getKey().getJobInstanceId()));
                 }
             }
-            result.add(transactionOp.delete().forPath(jobNodePath.getFullPath(ShardingNode.NECESSARY)));
-            result.add(transactionOp.delete().forPath(jobNodePath.getFullPath(ShardingNode.PROCESSING)));
+            result.addAll(createRemoveCompactAssignmentOperations());
+            result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.NECESSARY)));
+            result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.PROCESSING)));
+            return result;
+        }
+    }
+    
+    @RequiredArgsConstructor
+    class PersistHandOffTransactionExecutionCallback implements TransactionExecutionCallback {
+        
+        private final Map<JobInstance, List<Integer>> shardingResults;
+        
+        private final Map<Integer, String> previousAssignment;
+        
+        @Override
+        public List<TransactionOperation> createTransactionOperations() {
+            List<TransactionOperation> result = createHandOffOperations(shardingResults, previousAssignment);
+            result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.NECESSARY)));
+            result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.PROCESSING)));
+            return result;
+        }
+    }
+    
+    @RequiredArgsConstructor
+    class PersistCompactShardingInfoTransactionExecutionCallback implements TransactionExecutionCallback {
+        
+        private final Map<JobInstance, List<Integer>> shardingResults;
+        
+        private final Map<Integer, String> previousAssignment;
+        
+        private final boolean incremental;
+        
+        private final int shardingTotalCount;
+        
+        @Override
+        public List<TransactionOperation> createTransactionOperations() {
+            List<TransactionOperation> result = createCompactAssignmentOperations(shardingResults, previousAssignment, incremental, shardingTotalCount);
+            result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.NECESSARY)));
+            result.add(TransactionOperation.opDelete(jobNodePath.getFullPath(ShardingNode.PROCESSING)));
             return result;
         }
     }
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.storage;
+
+import org.apache.shardingsphere.elasticjob.lite.internal.util.JobPropertiesUtils;
+
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Job cache profile.
+ */
+public enum JobCacheProfile {
+    
+    /**
+     * Cache values of all nodes under job root.
+     */
+    FULL,
+    
+    /**
+     * Only cache values of config, servers, instances, leader election, leader sharding flags, leader failover items,
+     * sharding assignment and per instance running nodes.
+     * 
+     * <p>
+     * Leader sharding and failover nodes only hold empty or short values and are checked on every trigger, so keeping them costs little.
+     * Values of churny nodes such as per item running, misfire, failover, guarantee and trigger are read from registry center directly.
+     * </p>
+     */
+    SELECTIVE;
+    
+    /**
+     * Key of job cache profile in job properties.
+     */
+    public static final String PROPS_KEY = "cache.profile";
+    
+    private static final Pattern SELECTIVE_CACHED_NODE = Pattern.compile("^(config|servers(/.*)?|instances(/.*)?"
+            + "|leader/election(/.*)?|leader/sharding/(necessary|processing)|leader/failover/items(/.*)?|sharding/\\d+/instance|assignment|running/.+)$");
+    
+    /**
+     * Get job cache profile from job properties.
+     * 
+     * @param props job properties
+     * @return job cache profile
+     */
+    public static JobCacheProfile fromProperties(final Properties props) {
+        return JobPropertiesUtils.getEnum(props, PROPS_KEY, FULL);
+    }
+    
+    /**
+     * Judge whether the value of job node path should be cached.
+     * 
+     * @param jobName job name
+     * @param path full path of job node
+     * @return value should be cached or not
+     */
+    public boolean isValueCached(final String jobName, final String path) {
+        if (FULL == this) {
+            return true;
+        }
+        String jobRootPath = "/" + jobName + "/";
+        return path.startsWith(jobRootPath) && SELECTIVE_CACHED_NODE.matcher(path.substring(jobRootPath.length())).matches();
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEventListener;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Job data listener dispatcher.
+ * 
+ * <p>
+ * Only one dispatcher is registered to the cache of a job per registry center, it routes each event by the root node of its path to the listeners interested in that root node,
+ * and runs them on a single thread executor without blocking the cache thread.
+ * </p>
+ * 
+ * <p>
+ * Only consecutive updates of a path waiting for delivery are coalesced, a new update replaces the pending update of the same path and moves to the tail.
+ * Added and deleted events are never coalesced, so listeners always receive them in order, and an update is never delivered as added.
+ * </p>
+ * 
+ * <p>
+ * Events are not delivered after the dispatcher removed or the job shutdown, and removing waits for the event being delivered.
+ * </p>
+ */
+@Slf4j
+public final class JobDataListenerDispatcher implements DataChangedEventListener {
+    
+    private static final Map<CoordinatorRegistryCenter, Map<String, JobDataListenerDispatcher>> DISPATCHERS = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    private static final long CLOSE_TIMEOUT_MILLISECONDS = 10000L;
+    
+    private final String jobName;
+    
+    private final String jobRootPath;
+    
+    private final Map<String, Collection<DataChangedEventListener>> rootNodeListeners = new ConcurrentHashMap<>();
+    
+    private final Collection<DataChangedEventListener> allNodeListeners = new CopyOnWriteArrayList<>();
+    
+    private final Map<String, JobNodeAwaiter> awaiters = new ConcurrentHashMap<>();
+    
+    private final Map<Long, DataChangedEvent> pendingEvents = new LinkedHashMap<>();
+    
+    private final Map<String, Long> pendingUpdateSequences = new HashMap<>();
+    
+    private final ReentrantLock deliveryLock = new ReentrantLock();
+    
+    private final ThreadPoolExecutor executor;
+    
+    private long sequence;
+    
+    private volatile boolean closed;
+    
+    JobDataListenerDispatcher(final String jobName) {
+        this.jobName = jobName;
+        jobRootPath = "/" + jobName + "/";
+        executor = new ThreadPoolExecutor(1, 1, 1L, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+                new BasicThreadFactory.Builder().namingPattern(String.join("-", "job-data-listener", jobName, "%s")).daemon(true).build(), new ThreadPoolExecutor.DiscardPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+    
+    /**
+     * Get dispatcher of the job cache, create and register it to the cache if absent.
+     * 
+     * @param regCenter registry center
+     * @param jobName job name
+     * @return dispatcher of the job cache
+     */
+    public static JobDataListenerDispatcher getDispatcher(final CoordinatorRegistryCenter regCenter, final String jobName) {
+        return DISPATCHERS.computeIfAbsent(regCenter, key -> new ConcurrentHashMap<>()).computeIfAbsent(jobName, key -> {
+            JobDataListenerDispatcher result = new JobDataListenerDispatcher(jobName);
+            regCenter.watch("/" + jobName, result);
+            return result;
+        });
+    }
+    
+    /**
+     * Remove dispatcher of the job cache, stop delivering its pending events and wait for the event being delivered.
+     * 
+     * @param regCenter registry center
+     * @param jobName job name
+     */
+    public static void removeDispatcher(final CoordinatorRegistryCenter regCenter, final String jobName) {
+        Map<String, JobDataListenerDispatcher> dispatchers = DISPATCHERS.get(regCenter);
+        JobDataListenerDispatcher dispatcher = null == dispatchers ? null : dispatchers.remove(jobName);
+        if (null != dispatcher) {
+            dispatcher.close();
+        }
+    }
+    
+    /**
+     * Register listener.
+     * 
+     * @param listener data listener
+     * @param rootNodes root nodes of job which listener interested in, listen all nodes if empty
+     */
+    public void register(final DataChangedEventListener listener, final String... rootNodes) {
+        if (0 == rootNodes.length) {
+            allNodeListeners.add(listener);
+            return;
+        }
+        for (String each : rootNodes) {
+            rootNodeListeners.computeIfAbsent(each, key -> new CopyOnWriteArrayList<>()).add(listener);
+        }
+    }
+    
+    /**
+     * Await until condition satisfied or timeout, waiters are woken up once data of any job node under the root nodes of the nodes changed.
+     * 
+     * @param condition condition to await
+     * @param timeoutMillis timeout in milliseconds
+     * @param nodes job nodes which condition depends on
+     * @return condition satisfied or not
+     */
+    public boolean await(final BooleanSupplier condition, final long timeoutMillis, final String... nodes) {
+        Collection<String> rootNodes = Arrays.stream(nodes).map(each -> each.split("/")[0]).distinct().sorted().collect(Collectors.toList());
+        return awaiters.computeIfAbsent(String.join(",", rootNodes), key -> new JobNodeAwaiter(rootNodes)).await(condition, timeoutMillis);
+    }
+    
+    @Override
+    public void onChange(final DataChangedEvent event) {
+        String rootNode = getRootNode(event.getKey());
+        for (JobNodeAwaiter each : awaiters.values()) {
+            if (each.isInterested(rootNode)) {
+                each.signal();
+            }
+        }
+        if (!rootNodeListeners.containsKey(rootNode) && allNodeListeners.isEmpty()) {
+            return;
+        }
+        boolean drainRequired;
+        synchronized (pendingEvents) {
+            drainRequired = pendingEvents.isEmpty();
+            addPendingEvent(event);
+        }
+        if (drainRequired) {
+            executor.execute(this::drainPendingEvents);
+        }
+    }
+    
+    private void addPendingEvent(final DataChangedEvent event) {
+        Long pendingUpdateSequence = pendingUpdateSequences.remove(event.getKey());
+        if (Type.UPDATED == event.getType()) {
+            if (null != pendingUpdateSequence) {
+                pendingEvents.remove(pendingUpdateSequence);
+            }
+            pendingUpdateSequences.put(event.getKey(), sequence);
+        }
+        pendingEvents.put(sequence++, event);
+    }
+    
+    private DataChangedEvent pollPendingEvent() {
+        synchronized (pendingEvents) {
+            Iterator<Entry<Long, DataChangedEvent>> iterator = pendingEvents.entrySet().iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            Entry<Long, DataChangedEvent> result = iterator.next();
+            iterator.remove();
+            pendingUpdateSequences.remove(result.getValue().getKey(), result.getKey());
+            return result.getValue();
+        }
+    }
+    
+    private void drainPendingEvents() {
+        while (true) {
+            DataChangedEvent event = pollPendingEvent();
+            if (null == event) {
+                return;
+            }
+            deliver(event);
+        }
+    }
+    
+    private void deliver(final DataChangedEvent event) {
+        deliveryLock.lock();
+        try {
+            if (closed || JobRegistry.getInstance().isShutdown(jobName)) {
+                return;
+            }
+            notifyListeners(rootNodeListeners.getOrDefault(getRootNode(event.getKey()), Collections.emptyList()), event);
+            notifyListeners(allNodeListeners, event);
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
+    
+    private void close() {
+        closed = true;
+        synchronized (pendingEvents) {
+            pendingEvents.clear();
+            pendingUpdateSequences.clear();
+        }
+        executor.shutdown();
+        try {
+            if (deliveryLock.tryLock(CLOSE_TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS)) {
+                deliveryLock.unlock();
+            } else {
+                log.warn("Job '{}' data listener is still running after dispatcher removed.", jobName);
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private String getRootNode(final String path) {
+        if (!path.startsWith(jobRootPath)) {
+            return "";
+        }
+        int end = path.indexOf('/', jobRootPath.length());
+        return -1 == end ? path.substring(jobRootPath.length()) : path.substring(jobRootPath.length(), end);
+    }
+    
+    private void notifyListeners(final Collection<DataChangedEventListener> listeners, final DataChangedEvent event) {
+        for (DataChangedEventListener each : listeners) {
+            try {
+                each.onChange(event);
+                //CHECKSTYLE:OFF
+            } catch (final Exception ex) {
+                //CHECKSTYLE:ON
+                log.error("Notify job data listener failure.", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.storage;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Job node awaiter.
+ * 
+ * <p>
+ * Waiters are woken up once data of interested root nodes changed, instead of polling registry center in fixed interval.
+ * </p>
+ */
+@RequiredArgsConstructor
+final class JobNodeAwaiter {
+    
+    private final Collection<String> rootNodes;
+    
+    private long version;
+    
+    /**
+     * Judge whether the awaiter is interested in the root node.
+     * 
+     * @param rootNode root node of job
+     * @return interested or not
+     */
+    boolean isInterested(final String rootNode) {
+        return rootNodes.contains(rootNode);
+    }
+    
+    /**
+     * Wake up all waiters.
+     */
+    synchronized void signal() {
+        version++;
+        notifyAll();
+    }
+    
+    /**
+     * Await until condition satisfied or timeout.
+     * 
+     * @param condition condition to await
+     * @param timeoutMillis timeout in milliseconds
+     * @return condition satisfied or not
+     */
+    boolean await(final BooleanSupplier condition, final long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long observedVersion = getVersion();
+        while (!condition.getAsBoolean()) {
+            long remainingMillis = deadline - System.currentTimeMillis();
+            if (remainingMillis <= 0 || !waitForSignal(observedVersion, remainingMillis)) {
+                return false;
+            }
+            observedVersion = getVersion();
+        }
+        return true;
+    }
+    
+    private synchronized long getVersion() {
+        return version;
+    }
+    
+    private synchronized boolean waitForSignal(final long observedVersion, final long timeoutMillis) {
+        if (observedVersion != version) {
+            return true;
+        }
+        try {
+            wait(timeoutMillis);
+            return true;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
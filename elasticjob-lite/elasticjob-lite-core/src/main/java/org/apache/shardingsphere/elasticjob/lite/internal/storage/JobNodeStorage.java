@@ -17,19 +17,17 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.storage;
 
-import org.apache.curator.framework.CuratorFramework;
-import org.apache.curator.framework.api.transaction.CuratorOp;
-import org.apache.curator.framework.api.transaction.TransactionOp;
-import org.apache.curator.framework.recipes.cache.CuratorCache;
-import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
-import org.apache.curator.framework.recipes.leader.LeaderLatch;
-import org.apache.curator.framework.state.ConnectionStateListener;
 import org.apache.shardingsphere.elasticjob.infra.exception.JobSystemException;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.LeaderExecutionCallback;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
+import org.apache.shardingsphere.elasticjob.reg.exception.RegException;
 import org.apache.shardingsphere.elasticjob.reg.exception.RegExceptionHandler;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEventListener;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
 /**
  * Job node storage.
@@ -170,6 +168,18 @@ public final class JobNodeStorage {
         regCenter.persist(jobNodePath.getFullPath(node), value.toString());
     }
     
+    /**
+     * Set data of job node if current data equals to the expected data, atomically.
+     * 
+     * @param node node
+     * @param expectedValue expected current data, null means node should not be existed
+     * @param newValue new data
+     * @return set success or not
+     */
+    public boolean compareAndSetJobNode(final String node, final String expectedValue, final String newValue) {
+        return regCenter.compareAndSet(jobNodePath.getFullPath(node), expectedValue, newValue);
+    }
+    
     /**
      * Replace data to root node.
      *
@@ -186,12 +196,10 @@ public final class JobNodeStorage {
      */
     public void executeInTransaction(final TransactionExecutionCallback callback) {
         try {
-            List<CuratorOp> operations = new LinkedList<>();
-            CuratorFramework client = getClient();
-            TransactionOp transactionOp = client.transactionOp();
-            operations.add(transactionOp.check().forPath("/"));
-            operations.addAll(callback.createCuratorOperators(transactionOp));
-            client.transaction().forOperations(operations);
+            List<TransactionOperation> transactionOperations = new LinkedList<>();
+            transactionOperations.add(TransactionOperation.opCheckExists("/"));
+            transactionOperations.addAll(callback.createTransactionOperations());
+            regCenter.executeInTransaction(transactionOperations);
         //CHECKSTYLE:OFF
         } catch (final Exception ex) {
         //CHECKSTYLE:ON
@@ -206,46 +214,37 @@ public final class JobNodeStorage {
      * @param callback execute callback
      */
     public void executeInLeader(final String latchNode, final LeaderExecutionCallback callback) {
-        try (LeaderLatch latch = new LeaderLatch(getClient(), jobNodePath.getFullPath(latchNode))) {
-            latch.start();
-            latch.await();
-            callback.execute();
-        //CHECKSTYLE:OFF
-        } catch (final Exception ex) {
-        //CHECKSTYLE:ON
-            handleException(ex);
-        }
-    }
-    
-    private void handleException(final Exception ex) {
-        if (ex instanceof InterruptedException) {
-            Thread.currentThread().interrupt();
-        } else {
+        try {
+            regCenter.executeInLeader(jobNodePath.getFullPath(latchNode), callback);
+        } catch (final RegException ex) {
             throw new JobSystemException(ex);
         }
     }
     
     /**
-     * Add connection state listener.
+     * Add data listener.
      * 
-     * @param listener connection state listener
+     * @param listener data listener
+     * @param rootNodes root nodes of job which listener interested in, listen all nodes if empty
      */
-    public void addConnectionStateListener(final ConnectionStateListener listener) {
-        getClient().getConnectionStateListenable().addListener(listener);
-    }
-    
-    private CuratorFramework getClient() {
-        return (CuratorFramework) regCenter.getRawClient();
+    public void addDataListener(final DataChangedEventListener listener, final String... rootNodes) {
+        JobDataListenerDispatcher.getDispatcher(regCenter, jobName).register(listener, rootNodes);
     }
     
     /**
-     * Add data listener.
+     * Await until condition satisfied or timeout.
      * 
-     * @param listener data listener
+     * <p>
+     * Waiters are woken up by data changed events of job cache instead of polling registry center.
+     * </p>
+     * 
+     * @param condition condition to await
+     * @param timeoutMillis timeout in milliseconds
+     * @param nodes job nodes which condition depends on
+     * @return condition satisfied or not
      */
-    public void addDataListener(final CuratorCacheListener listener) {
-        CuratorCache cache = (CuratorCache) regCenter.getRawCache("/" + jobName);
-        cache.listenable().addListener(listener);
+    public boolean awaitUntil(final BooleanSupplier condition, final long timeoutMillis, final String... nodes) {
+        return JobDataListenerDispatcher.getDispatcher(regCenter, jobName).await(condition, timeoutMillis, nodes);
     }
     
     /**
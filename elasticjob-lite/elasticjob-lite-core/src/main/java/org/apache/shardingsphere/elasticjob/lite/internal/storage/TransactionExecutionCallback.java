@@ -17,8 +17,7 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.storage;
 
-import org.apache.curator.framework.api.transaction.CuratorOp;
-import org.apache.curator.framework.api.transaction.TransactionOp;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
 
 import java.util.List;
 
@@ -28,11 +27,10 @@ import java.util.List;
 public interface TransactionExecutionCallback {
     
     /**
-     * Create curator operators.
+     * Create transaction operations.
      * 
-     * @param transactionOp transaction operation
-     * @return curator operations
+     * @return transaction operations
      * @throws Exception exception
      */
-    List<CuratorOp> createCuratorOperators(TransactionOp transactionOp) throws Exception;
+    List<TransactionOperation> createTransactionOperations() throws Exception;
 }
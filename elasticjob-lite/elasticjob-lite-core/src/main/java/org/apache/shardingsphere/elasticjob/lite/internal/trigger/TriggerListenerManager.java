@@ -21,6 +21,7 @@ import org.apache.shardingsphere.elasticjob.lite.internal.listener.AbstractJobLi
 import org.apache.shardingsphere.elasticjob.lite.internal.listener.AbstractListenerManager;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
 
 /**
  * Job trigger listener manager.
@@ -42,14 +43,14 @@ public final class TriggerListenerManager extends AbstractListenerManager {
     
     @Override
     public void start() {
-        addDataListener(new JobTriggerStatusJobListener());
+        addDataListener(new JobTriggerStatusJobListener(), TriggerNode.ROOT);
     }
     
     class JobTriggerStatusJobListener extends AbstractJobListener {
         
         @Override
         protected void dataChanged(final String path, final Type eventType, final String data) {
-            if (!triggerNode.isLocalTriggerPath(path) || Type.NODE_CREATED != eventType) {
+            if (!triggerNode.isLocalTriggerPath(path) || Type.ADDED != eventType) {
                 return;
             }
             triggerService.removeTriggerFlag();
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Properties;
+
+/**
+ * Job properties utility.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JobPropertiesUtils {
+    
+    /**
+     * Get enum value of job property, the value is trimmed and case insensitive.
+     * 
+     * @param props job properties
+     * @param key key of job property
+     * @param defaultValue default value if job property is absent or blank
+     * @param <T> type of enum
+     * @return enum value of job property
+     * @throws IllegalArgumentException if the value is not a name of the enum
+     */
+    public static <T extends Enum<T>> T getEnum(final Properties props, final String key, final T defaultValue) {
+        String value = props.getProperty(key);
+        return null == value || value.trim().isEmpty() ? defaultValue : Enum.valueOf(defaultValue.getDeclaringClass(), value.trim().toUpperCase());
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.shardingsphere.elasticjob.lite.api.bootstrap.impl;
 
 import lombok.SneakyThrows;
 import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
+import org.apache.shardingsphere.elasticjob.infra.exception.JobConfigurationException;
 import org.apache.shardingsphere.elasticjob.lite.fixture.EmbedTestingServer;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobScheduleController;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobScheduler;
@@ -69,6 +70,43 @@ public final class OneOffJobBootstrapTest {
         }, JobConfiguration.newBuilder("test_one_off_job_execute_with_config_cron", SHARDING_TOTAL_COUNT).cron("0/5 * * * * ?").build());
     }
 
+    @Test(expected = JobConfigurationException.class)
+    public void assertConfigFailedWithInvalidShardingWeight() {
+        System.setProperty("elasticjob.sharding.weight", "0");
+        try {
+            new OneOffJobBootstrap(zkRegCenter, (SimpleJob) shardingContext -> {
+            }, JobConfiguration.newBuilder("test_one_off_job_execute_with_invalid_sharding_weight", SHARDING_TOTAL_COUNT).build());
+        } finally {
+            System.clearProperty("elasticjob.sharding.weight");
+        }
+    }
+
+    @Test(expected = JobConfigurationException.class)
+    public void assertConfigFailedWithNegativeReshardingWindow() {
+        new OneOffJobBootstrap(zkRegCenter, (SimpleJob) shardingContext -> {
+        }, JobConfiguration.newBuilder("test_one_off_job_execute_with_negative_resharding_window", SHARDING_TOTAL_COUNT)
+                .setProperty("resharding.stabilization.window.milliseconds", "-1").build());
+    }
+
+    @Test(expected = JobConfigurationException.class)
+    public void assertConfigFailedWithReshardingMaxDelayLessThanWindow() {
+        new OneOffJobBootstrap(zkRegCenter, (SimpleJob) shardingContext -> {
+        }, JobConfiguration.newBuilder("test_one_off_job_execute_with_invalid_resharding_max_delay", SHARDING_TOTAL_COUNT)
+                .setProperty("resharding.stabilization.window.milliseconds", "1000").setProperty("resharding.max.delay.milliseconds", "100").build());
+    }
+
+    @Test(expected = JobConfigurationException.class)
+    public void assertConfigFailedWithInvalidFailoverBatchSize() {
+        new OneOffJobBootstrap(zkRegCenter, (SimpleJob) shardingContext -> {
+        }, JobConfiguration.newBuilder("test_one_off_job_execute_with_invalid_failover_batch_size", SHARDING_TOTAL_COUNT).setProperty("failover.batch.size", "abc").build());
+    }
+
+    @Test(expected = JobConfigurationException.class)
+    public void assertConfigFailedWithInvalidFailoverMergedMaxItems() {
+        new OneOffJobBootstrap(zkRegCenter, (SimpleJob) shardingContext -> {
+        }, JobConfiguration.newBuilder("test_one_off_job_execute_with_invalid_failover_merged_max_items", SHARDING_TOTAL_COUNT).setProperty("failover.merged.max.items", "0").build());
+    }
+
     @Test
     public void assertExecute() {
         AtomicInteger counter = new AtomicInteger(0);
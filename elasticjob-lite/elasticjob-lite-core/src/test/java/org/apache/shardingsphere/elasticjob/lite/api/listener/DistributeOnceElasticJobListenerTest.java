@@ -68,8 +68,7 @@ public final class DistributeOnceElasticJobListenerTest {
     
     @Test
     public void assertBeforeJobExecutedWhenIsAllStarted() {
-        when(guaranteeService.isRegisterStartSuccess(Sets.newHashSet(0, 1))).thenReturn(true);
-        when(guaranteeService.isAllStarted()).thenReturn(true);
+        when(guaranteeService.registerStart(Sets.newHashSet(0, 1))).thenReturn(true);
         distributeOnceElasticJobListener.beforeJobExecuted(shardingContexts);
         verify(guaranteeService).registerStart(Sets.newHashSet(0, 1));
         verify(elasticJobListenerCaller).before();
@@ -78,8 +77,6 @@ public final class DistributeOnceElasticJobListenerTest {
     
     @Test
     public void assertBeforeJobExecutedWhenIsNotAllStartedAndNotTimeout() {
-        when(guaranteeService.isRegisterStartSuccess(Sets.newHashSet(0, 1))).thenReturn(true);
-        when(guaranteeService.isAllStarted()).thenReturn(false);
         when(timeService.getCurrentMillis()).thenReturn(0L);
         distributeOnceElasticJobListener.beforeJobExecuted(shardingContexts);
         verify(guaranteeService).registerStart(Sets.newHashSet(0, 1));
@@ -88,8 +85,6 @@ public final class DistributeOnceElasticJobListenerTest {
     
     @Test(expected = JobSystemException.class)
     public void assertBeforeJobExecutedWhenIsNotAllStartedAndTimeout() {
-        when(guaranteeService.isRegisterStartSuccess(Sets.newHashSet(0, 1))).thenReturn(true);
-        when(guaranteeService.isAllStarted()).thenReturn(false);
         when(timeService.getCurrentMillis()).thenReturn(0L, 2L);
         distributeOnceElasticJobListener.beforeJobExecuted(shardingContexts);
         verify(guaranteeService).registerStart(Arrays.asList(0, 1));
@@ -98,8 +93,7 @@ public final class DistributeOnceElasticJobListenerTest {
     
     @Test
     public void assertAfterJobExecutedWhenIsAllCompleted() {
-        when(guaranteeService.isRegisterCompleteSuccess(Sets.newHashSet(0, 1))).thenReturn(true);
-        when(guaranteeService.isAllCompleted()).thenReturn(true);
+        when(guaranteeService.registerComplete(Sets.newHashSet(0, 1))).thenReturn(true);
         distributeOnceElasticJobListener.afterJobExecuted(shardingContexts);
         verify(guaranteeService).registerComplete(Sets.newHashSet(0, 1));
         verify(elasticJobListenerCaller).after();
@@ -108,8 +102,6 @@ public final class DistributeOnceElasticJobListenerTest {
     
     @Test
     public void assertAfterJobExecutedWhenIsAllCompletedAndNotTimeout() {
-        when(guaranteeService.isRegisterCompleteSuccess(Sets.newHashSet(0, 1))).thenReturn(true);
-        when(guaranteeService.isAllCompleted()).thenReturn(false);
         when(timeService.getCurrentMillis()).thenReturn(0L);
         distributeOnceElasticJobListener.afterJobExecuted(shardingContexts);
         verify(guaranteeService).registerComplete(Sets.newHashSet(0, 1));
@@ -118,8 +110,6 @@ public final class DistributeOnceElasticJobListenerTest {
     
     @Test(expected = JobSystemException.class)
     public void assertAfterJobExecutedWhenIsAllCompletedAndTimeout() {
-        when(guaranteeService.isRegisterCompleteSuccess(Sets.newHashSet(0, 1))).thenReturn(true);
-        when(guaranteeService.isAllCompleted()).thenReturn(false);
         when(timeService.getCurrentMillis()).thenReturn(0L, 2L);
         distributeOnceElasticJobListener.afterJobExecuted(shardingContexts);
         verify(guaranteeService).registerComplete(Arrays.asList(0, 1));
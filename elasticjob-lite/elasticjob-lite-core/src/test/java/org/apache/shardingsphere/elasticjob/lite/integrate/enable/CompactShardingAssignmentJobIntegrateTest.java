@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.integrate.enable;
+
+import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
+import org.apache.shardingsphere.elasticjob.lite.fixture.job.DetailedFooJob;
+import org.apache.shardingsphere.elasticjob.infra.concurrent.BlockUtils;
+import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingAssignmentFormat;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class CompactShardingAssignmentJobIntegrateTest extends EnabledJobIntegrateTest {
+    
+    public CompactShardingAssignmentJobIntegrateTest() {
+        super(TestType.SCHEDULE, new DetailedFooJob());
+    }
+    
+    @Override
+    protected JobConfiguration getJobConfiguration(final String jobName) {
+        return JobConfiguration.newBuilder(jobName, 3).cron("0/1 * * * * ?").shardingItemParameters("0=A,1=B,2=C")
+                .jobListenerTypes("INTEGRATE-TEST", "INTEGRATE-DISTRIBUTE").setProperty(ShardingAssignmentFormat.PROPS_KEY, ShardingAssignmentFormat.COMPACT.name()).overwrite(true).build();
+    }
+    
+    @Test
+    public void assertJobInit() {
+        while (!((DetailedFooJob) getElasticJob()).isCompleted()) {
+            BlockUtils.waitingShortTime();
+        }
+        assertTrue(getREGISTRY_CENTER().isExisted("/" + getJobName() + "/assignment"));
+        assertFalse(getREGISTRY_CENTER().isExisted("/" + getJobName() + "/sharding/0/instance"));
+    }
+}
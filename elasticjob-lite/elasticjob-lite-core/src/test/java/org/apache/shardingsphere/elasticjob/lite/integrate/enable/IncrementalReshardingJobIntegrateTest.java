@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.integrate.enable;
+
+import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
+import org.apache.shardingsphere.elasticjob.infra.concurrent.BlockUtils;
+import org.apache.shardingsphere.elasticjob.infra.env.IpUtils;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+import org.apache.shardingsphere.elasticjob.infra.listener.ShardingContexts;
+import org.apache.shardingsphere.elasticjob.infra.yaml.YamlEngine;
+import org.apache.shardingsphere.elasticjob.lite.fixture.job.DetailedFooJob;
+import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
+import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ExecutionService;
+import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ReshardingMode;
+import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingService;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class IncrementalReshardingJobIntegrateTest extends EnabledJobIntegrateTest {
+    
+    private static final String NEW_JOB_INSTANCE_ID = IpUtils.getIp() + JobInstance.DELIMITER + "incremental";
+    
+    public IncrementalReshardingJobIntegrateTest() {
+        super(TestType.ONE_OFF, new DetailedFooJob());
+    }
+    
+    @Override
+    protected JobConfiguration getJobConfiguration(final String jobName) {
+        return JobConfiguration.newBuilder(jobName, 3).shardingItemParameters("0=A,1=B,2=C")
+                .jobListenerTypes("INTEGRATE-TEST", "INTEGRATE-DISTRIBUTE").setProperty(ReshardingMode.PROPS_KEY, ReshardingMode.INCREMENTAL.name()).overwrite(true).build();
+    }
+    
+    @Test
+    public void assertHandOffRunningItemsAfterCompleted() {
+        while (!((DetailedFooJob) getElasticJob()).isCompleted()) {
+            BlockUtils.waitingShortTime();
+        }
+        while (isAnyItemRunning()) {
+            BlockUtils.waitingShortTime();
+        }
+        String localJobInstanceId = JobRegistry.getInstance().getJobInstance(getJobName()).getJobInstanceId();
+        for (int i = 0; i < 3; i++) {
+            assertThat(getREGISTRY_CENTER().get("/" + getJobName() + "/sharding/" + i + "/instance"), is(localJobInstanceId));
+            getREGISTRY_CENTER().persistEphemeral("/" + getJobName() + "/sharding/" + i + "/running", "");
+        }
+        getREGISTRY_CENTER().persistEphemeral("/" + getJobName() + "/instances/" + NEW_JOB_INSTANCE_ID, YamlEngine.marshal(new JobInstance(NEW_JOB_INSTANCE_ID, null, IpUtils.getIp())));
+        getREGISTRY_CENTER().persist("/" + getJobName() + "/leader/sharding/necessary", "");
+        new ShardingService(getREGISTRY_CENTER(), getJobName()).shardingIfNecessary();
+        List<Integer> handOffItems = new LinkedList<>();
+        for (int i = 0; i < 3; i++) {
+            assertThat(getREGISTRY_CENTER().getDirectly("/" + getJobName() + "/sharding/" + i + "/instance"), is(localJobInstanceId));
+            if (getREGISTRY_CENTER().isExisted("/" + getJobName() + "/sharding/" + i + "/handoff")) {
+                assertThat(getREGISTRY_CENTER().getDirectly("/" + getJobName() + "/sharding/" + i + "/handoff"), is(NEW_JOB_INSTANCE_ID));
+                handOffItems.add(i);
+            }
+        }
+        assertFalse(handOffItems.isEmpty());
+        Map<Integer, String> shardingItemParameters = new HashMap<>(3, 1);
+        handOffItems.forEach(each -> shardingItemParameters.put(each, ""));
+        new ExecutionService(getREGISTRY_CENTER(), getJobName()).registerJobCompleted(new ShardingContexts("fake_task_id", getJobName(), 3, "", shardingItemParameters));
+        for (int each : handOffItems) {
+            assertThat(getREGISTRY_CENTER().getDirectly("/" + getJobName() + "/sharding/" + each + "/instance"), is(NEW_JOB_INSTANCE_ID));
+            assertFalse(getREGISTRY_CENTER().isExisted("/" + getJobName() + "/sharding/" + each + "/handoff"));
+            assertFalse(getREGISTRY_CENTER().isExisted("/" + getJobName() + "/sharding/" + each + "/running"));
+        }
+        assertTrue(getREGISTRY_CENTER().isExisted("/" + getJobName() + "/instances/" + NEW_JOB_INSTANCE_ID));
+    }
+    
+    private boolean isAnyItemRunning() {
+        for (int i = 0; i < 3; i++) {
+            if (getREGISTRY_CENTER().isExisted("/" + getJobName() + "/sharding/" + i + "/running")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.integrate.enable;
+
+import lombok.Getter;
+import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
+import org.apache.shardingsphere.elasticjob.api.ShardingContext;
+import org.apache.shardingsphere.elasticjob.infra.concurrent.BlockUtils;
+import org.apache.shardingsphere.elasticjob.lite.fixture.job.FooJob;
+import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
+import org.apache.shardingsphere.elasticjob.lite.internal.sharding.RunningStateFormat;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public final class PerInstanceRunningStateJobIntegrateTest extends EnabledJobIntegrateTest {
+    
+    public PerInstanceRunningStateJobIntegrateTest() {
+        super(TestType.SCHEDULE, new RunningStateRecordingJob());
+    }
+    
+    @Override
+    protected JobConfiguration getJobConfiguration(final String jobName) {
+        return JobConfiguration.newBuilder(jobName, 3).cron("0/1 * * * * ?").shardingItemParameters("0=A,1=B,2=C")
+                .jobListenerTypes("INTEGRATE-TEST", "INTEGRATE-DISTRIBUTE").setProperty(RunningStateFormat.PROPS_KEY, RunningStateFormat.PER_INSTANCE.name()).overwrite(true).build();
+    }
+    
+    @Test
+    public void assertJobInit() {
+        RunningStateRecordingJob job = (RunningStateRecordingJob) getElasticJob();
+        while (!job.isCompleted()) {
+            BlockUtils.waitingShortTime();
+        }
+        assertThat(job.getInstanceRunningNodeData(), hasItem("Bw=="));
+        assertThat(job.getItemRunningNodeExisted(), is(Collections.singleton(false)));
+        String instanceRunningNode = "/" + getJobName() + "/running/" + JobRegistry.getInstance().getJobInstance(getJobName()).getJobInstanceId();
+        for (int i = 0; i < 100 && getREGISTRY_CENTER().isExisted(instanceRunningNode); i++) {
+            BlockUtils.waitingShortTime();
+        }
+        assertFalse(getREGISTRY_CENTER().isExisted(instanceRunningNode));
+    }
+    
+    @Getter
+    private static final class RunningStateRecordingJob implements FooJob {
+        
+        private final Collection<Integer> completedJobItems = new CopyOnWriteArraySet<>();
+        
+        private final Collection<String> instanceRunningNodeData = new CopyOnWriteArrayList<>();
+        
+        private final Collection<Boolean> itemRunningNodeExisted = new CopyOnWriteArraySet<>();
+        
+        private volatile boolean completed;
+        
+        @Override
+        public void foo(final ShardingContext shardingContext) {
+            String jobRootPath = "/" + shardingContext.getJobName();
+            instanceRunningNodeData.add(getREGISTRY_CENTER().getDirectly(jobRootPath + "/running/" + JobRegistry.getInstance().getJobInstance(shardingContext.getJobName()).getJobInstanceId()));
+            itemRunningNodeExisted.add(getREGISTRY_CENTER().isExisted(jobRootPath + "/sharding/" + shardingContext.getShardingItem() + "/running"));
+            completedJobItems.add(shardingContext.getShardingItem());
+            completed = completedJobItems.size() == shardingContext.getShardingTotalCount();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.integrate.reg;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
+import org.apache.shardingsphere.elasticjob.infra.concurrent.BlockUtils;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+import org.apache.shardingsphere.elasticjob.infra.yaml.YamlEngine;
+import org.apache.shardingsphere.elasticjob.lite.api.bootstrap.impl.ScheduleJobBootstrap;
+import org.apache.shardingsphere.elasticjob.lite.fixture.job.DetailedFooJob;
+import org.apache.shardingsphere.elasticjob.lite.internal.election.LeaderService;
+import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
+import org.apache.shardingsphere.elasticjob.lite.util.ReflectionUtils;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.function.BooleanSupplier;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+@Getter(AccessLevel.PROTECTED)
+public abstract class BaseRegistryCenterIntegrateTest {
+    
+    private static final int SHARDING_TOTAL_COUNT = 3;
+    
+    private static final long AWAIT_TIMEOUT_MILLISECONDS = 30000L;
+    
+    private final String jobName = System.nanoTime() + "_test_job";
+    
+    private final DetailedFooJob elasticJob = new DetailedFooJob();
+    
+    private CoordinatorRegistryCenter regCenter;
+    
+    private ScheduleJobBootstrap jobBootstrap;
+    
+    @Before
+    public void setUp() {
+        regCenter = createRegistryCenter();
+        jobBootstrap = new ScheduleJobBootstrap(regCenter, elasticJob,
+                JobConfiguration.newBuilder(jobName, SHARDING_TOTAL_COUNT).cron("0/1 * * * * ?").shardingItemParameters("0=A,1=B,2=C").overwrite(true).build());
+        jobBootstrap.schedule();
+    }
+    
+    @After
+    public void tearDown() {
+        JobRegistry.getInstance().getJobScheduleController(jobName).shutdown(true);
+        jobBootstrap.shutdown();
+        ReflectionUtils.setFieldValue(JobRegistry.getInstance(), "instance", null);
+        closeRegistryCenter();
+    }
+    
+    protected abstract CoordinatorRegistryCenter createRegistryCenter();
+    
+    protected abstract void closeRegistryCenter();
+    
+    /**
+     * Register online instance of another job process.
+     * 
+     * @param instancePath path of instance node
+     * @param instanceValue value of instance node
+     */
+    protected abstract void registerOtherInstance(String instancePath, String instanceValue);
+    
+    /**
+     * Expire the instance registered by {@link #registerOtherInstance(String, String)}.
+     * 
+     * @param instancePath path of instance node
+     */
+    protected abstract void expireOtherInstance(String instancePath);
+    
+    @Test
+    public void assertShardingAndLeaderElection() {
+        assertAwait(elasticJob::isCompleted);
+        String localInstanceId = JobRegistry.getInstance().getJobInstance(jobName).getJobInstanceId();
+        assertTrue(new LeaderService(regCenter, jobName).isLeader());
+        assertThat(regCenter.getDirectly("/" + jobName + "/leader/election/instance"), is(localInstanceId));
+        for (int i = 0; i < SHARDING_TOTAL_COUNT; i++) {
+            assertThat(getShardingInstance(i), is(localInstanceId));
+        }
+    }
+    
+    @Test
+    public void assertReshardingWhenInstanceExpired() {
+        assertAwait(elasticJob::isCompleted);
+        String localInstanceId = JobRegistry.getInstance().getJobInstance(jobName).getJobInstanceId();
+        JobInstance otherInstance = new JobInstance(localInstanceId.substring(0, localInstanceId.indexOf(JobInstance.DELIMITER)) + JobInstance.DELIMITER + "0");
+        String otherInstancePath = "/" + jobName + "/instances/" + otherInstance.getJobInstanceId();
+        registerOtherInstance(otherInstancePath, YamlEngine.marshal(otherInstance));
+        assertAwait(() -> isShardingInstance(otherInstance.getJobInstanceId()));
+        expireOtherInstance(otherInstancePath);
+        assertAwait(() -> !regCenter.isExisted(otherInstancePath));
+        assertAwait(() -> isOnlyShardingInstance(localInstanceId));
+        assertThat(regCenter.getDirectly("/" + jobName + "/leader/election/instance"), is(localInstanceId));
+    }
+    
+    private boolean isShardingInstance(final String jobInstanceId) {
+        for (int i = 0; i < SHARDING_TOTAL_COUNT; i++) {
+            if (jobInstanceId.equals(getShardingInstance(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private boolean isOnlyShardingInstance(final String jobInstanceId) {
+        for (int i = 0; i < SHARDING_TOTAL_COUNT; i++) {
+            if (!jobInstanceId.equals(getShardingInstance(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private String getShardingInstance(final int item) {
+        return regCenter.getDirectly("/" + jobName + "/sharding/" + item + "/instance");
+    }
+    
+    private void assertAwait(final BooleanSupplier condition) {
+        long startTime = System.currentTimeMillis();
+        while (!condition.getAsBoolean() && System.currentTimeMillis() - startTime < AWAIT_TIMEOUT_MILLISECONDS) {
+            BlockUtils.waitingShortTime();
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
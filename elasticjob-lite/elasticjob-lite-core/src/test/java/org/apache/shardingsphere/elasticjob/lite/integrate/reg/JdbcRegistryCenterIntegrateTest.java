@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.integrate.reg;
+
+import org.apache.shardingsphere.elasticjob.lite.util.ReflectionUtils;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.jdbc.JdbcConfiguration;
+import org.apache.shardingsphere.elasticjob.reg.jdbc.JdbcRegistryCenter;
+import org.h2.jdbcx.JdbcDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledExecutorService;
+
+public final class JdbcRegistryCenterIntegrateTest extends BaseRegistryCenterIntegrateTest {
+    
+    private JdbcDataSource dataSource;
+    
+    private JdbcRegistryCenter regCenter;
+    
+    private JdbcRegistryCenter otherRegCenter;
+    
+    @Override
+    protected CoordinatorRegistryCenter createRegistryCenter() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:jdbc_reg_center_integrate;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        dataSource.setUser("sa");
+        regCenter = createJdbcRegistryCenter();
+        return regCenter;
+    }
+    
+    private JdbcRegistryCenter createJdbcRegistryCenter() {
+        JdbcConfiguration jdbcConfig = new JdbcConfiguration(dataSource, JdbcRegistryCenterIntegrateTest.class.getSimpleName());
+        jdbcConfig.setSessionTimeoutMilliseconds(1500);
+        jdbcConfig.setPollIntervalMilliseconds(50);
+        JdbcRegistryCenter result = new JdbcRegistryCenter(jdbcConfig);
+        result.init();
+        return result;
+    }
+    
+    @Override
+    protected void closeRegistryCenter() {
+        if (null != otherRegCenter) {
+            otherRegCenter.close();
+        }
+        regCenter.close();
+        try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        } catch (final SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+    
+    @Override
+    protected void registerOtherInstance(final String instancePath, final String instanceValue) {
+        otherRegCenter = createJdbcRegistryCenter();
+        otherRegCenter.persistEphemeral(instancePath, instanceValue);
+    }
+    
+    @Override
+    protected void expireOtherInstance(final String instancePath) {
+        ReflectionUtils.<ScheduledExecutorService>getFieldValue(otherRegCenter, "heartbeatExecutor").shutdownNow();
+    }
+}
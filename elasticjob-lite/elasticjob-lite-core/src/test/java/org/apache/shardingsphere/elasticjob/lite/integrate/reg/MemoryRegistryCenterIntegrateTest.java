@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.integrate.reg;
+
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.memory.MemoryConfiguration;
+import org.apache.shardingsphere.elasticjob.reg.memory.MemoryRegistryCenter;
+
+public final class MemoryRegistryCenterIntegrateTest extends BaseRegistryCenterIntegrateTest {
+    
+    private MemoryRegistryCenter regCenter;
+    
+    @Override
+    protected CoordinatorRegistryCenter createRegistryCenter() {
+        regCenter = new MemoryRegistryCenter(new MemoryConfiguration());
+        regCenter.init();
+        return regCenter;
+    }
+    
+    @Override
+    protected void closeRegistryCenter() {
+        regCenter.close();
+    }
+    
+    @Override
+    protected void registerOtherInstance(final String instancePath, final String instanceValue) {
+        regCenter.persistEphemeral(instancePath, instanceValue);
+    }
+    
+    @Override
+    protected void expireOtherInstance(final String instancePath) {
+        regCenter.remove(instancePath);
+    }
+}
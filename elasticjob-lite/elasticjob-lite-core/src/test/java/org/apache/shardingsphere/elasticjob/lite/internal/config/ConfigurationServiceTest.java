@@ -49,6 +49,7 @@ public final class ConfigurationServiceTest {
     @Before
     public void setUp() {
         ReflectionUtils.setFieldValue(configService, "jobNodeStorage", jobNodeStorage);
+        ReflectionUtils.setFieldValue(configService, "clockOffsetEstimator", new RegistryCenterClockOffsetEstimator());
     }
     
     @Test
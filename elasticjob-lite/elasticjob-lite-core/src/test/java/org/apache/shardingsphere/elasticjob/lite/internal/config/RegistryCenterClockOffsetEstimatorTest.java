@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.config;
+
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
+import org.apache.shardingsphere.elasticjob.lite.util.ReflectionUtils;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class RegistryCenterClockOffsetEstimatorTest {
+    
+    @Mock
+    private JobNodeStorage jobNodeStorage;
+    
+    @Test
+    public void assertGetInstance() {
+        CoordinatorRegistryCenter regCenter = mock(CoordinatorRegistryCenter.class);
+        assertThat(RegistryCenterClockOffsetEstimator.getInstance(regCenter), is(RegistryCenterClockOffsetEstimator.getInstance(regCenter)));
+        assertThat(RegistryCenterClockOffsetEstimator.getInstance(regCenter), not(RegistryCenterClockOffsetEstimator.getInstance(mock(CoordinatorRegistryCenter.class))));
+    }
+    
+    @Test
+    public void assertGetOffsetMillisOnlyMeasureOncePerInterval() {
+        RegistryCenterClockOffsetEstimator estimator = new RegistryCenterClockOffsetEstimator();
+        when(jobNodeStorage.getRegistryCenterTime()).thenReturn(System.currentTimeMillis() + 10000L);
+        long actual = estimator.getOffsetMillis(jobNodeStorage);
+        assertTrue(actual > 9000L && actual <= 10000L);
+        assertThat(estimator.getOffsetMillis(jobNodeStorage), is(actual));
+        verify(jobNodeStorage, times(1)).getRegistryCenterTime();
+    }
+    
+    @Test
+    public void assertGetOffsetMillisAfterIntervalExpired() {
+        RegistryCenterClockOffsetEstimator estimator = new RegistryCenterClockOffsetEstimator();
+        when(jobNodeStorage.getRegistryCenterTime()).thenReturn(System.currentTimeMillis());
+        estimator.getOffsetMillis(jobNodeStorage);
+        ReflectionUtils.setFieldValue(estimator, "lastRefreshMillis", System.currentTimeMillis() - RegistryCenterClockOffsetEstimator.REFRESH_INTERVAL_MILLIS);
+        estimator.getOffsetMillis(jobNodeStorage);
+        verify(jobNodeStorage, times(2)).getRegistryCenterTime();
+    }
+}
@@ -17,10 +17,11 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.election;
 
-import org.apache.curator.framework.recipes.cache.CuratorCacheListener.Type;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobScheduleController;
+import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerNode;
 import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerService;
 import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerStatus;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
@@ -68,30 +69,31 @@ public final class ElectionListenerManagerTest {
     @Test
     public void assertStart() {
         electionListenerManager.start();
-        verify(jobNodeStorage, times(2)).addDataListener(ArgumentMatchers.<ElectionListenerManager.LeaderElectionJobListener>any());
+        verify(jobNodeStorage).addDataListener(ArgumentMatchers.<ElectionListenerManager.LeaderElectionJobListener>any(), ArgumentMatchers.eq(LeaderNode.ROOT), ArgumentMatchers.eq(ServerNode.ROOT));
+        verify(jobNodeStorage).addDataListener(ArgumentMatchers.<ElectionListenerManager.LeaderAbdicationJobListener>any(), ArgumentMatchers.eq(ServerNode.ROOT));
     }
     
     @Test
     public void assertIsNotLeaderInstancePathAndServerPath() {
-        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/leader/election/other", Type.NODE_DELETED, "127.0.0.1");
+        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/leader/election/other", Type.DELETED, "127.0.0.1");
         verify(leaderService, times(0)).electLeader();
     }
     
     @Test
     public void assertLeaderElectionWhenAddLeaderInstancePath() {
-        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/leader/election/instance", Type.NODE_CREATED, "127.0.0.1");
+        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/leader/election/instance", Type.ADDED, "127.0.0.1");
         verify(leaderService, times(0)).electLeader();
     }
     
     @Test
     public void assertLeaderElectionWhenRemoveLeaderInstancePathWithoutAvailableServers() {
-        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/leader/election/instance", Type.NODE_DELETED, "127.0.0.1");
+        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/leader/election/instance", Type.DELETED, "127.0.0.1");
         verify(leaderService, times(0)).electLeader();
     }
     
     @Test
     public void assertLeaderElectionWhenRemoveLeaderInstancePathWithAvailableServerButJobInstanceIsShutdown() {
-        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/leader/election/instance", Type.NODE_DELETED, "127.0.0.1");
+        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/leader/election/instance", Type.DELETED, "127.0.0.1");
         verify(leaderService, times(0)).electLeader();
     }
     
@@ -100,20 +102,20 @@ public final class ElectionListenerManagerTest {
         JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
         when(serverService.isAvailableServer("127.0.0.1")).thenReturn(true);
-        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/leader/election/instance", Type.NODE_DELETED, "127.0.0.1");
+        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/leader/election/instance", Type.DELETED, "127.0.0.1");
         verify(leaderService).electLeader();
         JobRegistry.getInstance().shutdown("test_job");
     }
     
     @Test
     public void assertLeaderElectionWhenServerDisableWithoutLeader() {
-        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/servers/127.0.0.1", Type.NODE_DELETED, ServerStatus.DISABLED.name());
+        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/servers/127.0.0.1", Type.DELETED, ServerStatus.DISABLED.name());
         verify(leaderService, times(0)).electLeader();
     }
     
     @Test
     public void assertLeaderElectionWhenServerEnableWithLeader() {
-        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/servers/127.0.0.1", Type.NODE_CHANGED, "");
+        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/servers/127.0.0.1", Type.UPDATED, "");
         verify(leaderService, times(0)).electLeader();
     }
     
@@ -121,21 +123,21 @@ public final class ElectionListenerManagerTest {
     public void assertLeaderElectionWhenServerEnableWithoutLeader() {
         JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
-        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/servers/127.0.0.1", Type.NODE_CHANGED, "");
+        electionListenerManager.new LeaderElectionJobListener().dataChanged("/test_job/servers/127.0.0.1", Type.UPDATED, "");
         verify(leaderService).electLeader();
         JobRegistry.getInstance().shutdown("test_job");
     }
     
     @Test
     public void assertLeaderAbdicationWhenFollowerDisable() {
-        electionListenerManager.new LeaderAbdicationJobListener().dataChanged("/test_job/servers/127.0.0.1", Type.NODE_CHANGED, ServerStatus.DISABLED.name());
+        electionListenerManager.new LeaderAbdicationJobListener().dataChanged("/test_job/servers/127.0.0.1", Type.UPDATED, ServerStatus.DISABLED.name());
         verify(leaderService, times(0)).removeLeader();
     }
     
     @Test
     public void assertLeaderAbdicationWhenLeaderDisable() {
         when(leaderService.isLeader()).thenReturn(true);
-        electionListenerManager.new LeaderAbdicationJobListener().dataChanged("/test_job/servers/127.0.0.1", Type.NODE_CHANGED, ServerStatus.DISABLED.name());
+        electionListenerManager.new LeaderAbdicationJobListener().dataChanged("/test_job/servers/127.0.0.1", Type.UPDATED, ServerStatus.DISABLED.name());
         verify(leaderService).removeLeader();
     }
 }
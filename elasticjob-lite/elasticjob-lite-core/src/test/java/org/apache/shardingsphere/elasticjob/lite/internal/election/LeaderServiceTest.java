@@ -34,6 +34,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -108,6 +109,19 @@ public final class LeaderServiceTest {
         JobRegistry.getInstance().shutdown("test_job");
     }
     
+    @Test
+    public void assertIsLeaderUntilBlockWhenLeaderElectedByOthersDuringWaiting() {
+        JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
+        JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
+        when(jobNodeStorage.isJobNodeExisted("leader/election/instance")).thenReturn(false, true);
+        when(serverService.hasAvailableServers()).thenReturn(true);
+        when(jobNodeStorage.awaitUntil(any(), eq(100L), eq("leader/election/instance"))).thenReturn(true);
+        when(jobNodeStorage.getJobNodeData("leader/election/instance")).thenReturn("127.0.0.1@-@1");
+        assertFalse(leaderService.isLeaderUntilBlock());
+        verify(jobNodeStorage, times(0)).executeInLeader(eq("leader/election/latch"), ArgumentMatchers.<LeaderElectionExecutionCallback>any());
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
     @Test
     public void assertIsLeader() {
         JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
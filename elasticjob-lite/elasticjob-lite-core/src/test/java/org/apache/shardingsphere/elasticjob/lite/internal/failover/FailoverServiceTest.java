@@ -17,16 +17,21 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.failover;
 
+import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+import org.apache.shardingsphere.elasticjob.lite.internal.config.ConfigurationService;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobScheduleController;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingService;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.TransactionExecutionCallback;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
 import org.apache.shardingsphere.elasticjob.lite.util.ReflectionUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -36,6 +41,7 @@ import java.util.Collections;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -56,12 +62,16 @@ public final class FailoverServiceTest {
     @Mock
     private ShardingService shardingService;
     
+    @Mock
+    private ConfigurationService configService;
+    
     private final FailoverService failoverService = new FailoverService(null, "test_job");
     
     @Before
     public void setUp() {
         ReflectionUtils.setFieldValue(failoverService, "jobNodeStorage", jobNodeStorage);
         ReflectionUtils.setFieldValue(failoverService, "shardingService", shardingService);
+        ReflectionUtils.setFieldValue(failoverService, "configService", configService);
         ReflectionUtils.setFieldValue(failoverService, "jobName", "test_job");
         JobRegistry.getInstance().addJobInstance("test_job", new JobInstance("127.0.0.1@-@0"));
     }
@@ -109,6 +119,7 @@ public final class FailoverServiceTest {
     @Test
     public void assertFailoverIfUnnecessaryWhenServerIsNotReady() {
         JobRegistry.getInstance().setJobRunning("test_job", true);
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").build());
         when(jobNodeStorage.isJobNodeExisted("leader/failover/items")).thenReturn(true);
         when(jobNodeStorage.getJobNodeChildrenKeys("leader/failover/items")).thenReturn(Arrays.asList("0", "1", "2"));
         failoverService.failoverIfNecessary();
@@ -129,6 +140,17 @@ public final class FailoverServiceTest {
         JobRegistry.getInstance().setJobRunning("test_job", false);
     }
     
+    @Test
+    public void assertFailoverIfNecessaryWhenJobIsRunningWithMergedExecution() {
+        JobRegistry.getInstance().setJobRunning("test_job", true);
+        when(jobNodeStorage.isJobNodeExisted("leader/failover/items")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeChildrenKeys("leader/failover/items")).thenReturn(Arrays.asList("0", "1", "2"));
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").setProperty(FailoverExecutionMode.PROPS_KEY, "MERGED").build());
+        failoverService.failoverIfNecessary();
+        verify(jobNodeStorage).executeInLeader(eq("leader/failover/latch"), ArgumentMatchers.<FailoverService.FailoverLeaderExecutionCallback>any());
+        JobRegistry.getInstance().setJobRunning("test_job", false);
+    }
+    
     @Test
     public void assertFailoverLeaderExecutionCallbackIfNotNecessary() {
         JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
@@ -142,23 +164,115 @@ public final class FailoverServiceTest {
     }
     
     @Test
-    public void assertFailoverLeaderExecutionCallbackIfNecessary() {
+    public void assertFailoverLeaderExecutionCallbackIfNecessary() throws Exception {
         JobRegistry.getInstance().setJobRunning("test_job", false);
         when(jobNodeStorage.isJobNodeExisted("leader/failover/items")).thenReturn(true);
         when(jobNodeStorage.getJobNodeChildrenKeys("leader/failover/items")).thenReturn(Arrays.asList("0", "1", "2"));
+        when(jobNodeStorage.getJobNodeDataDirectly("sharding/0/failover")).thenReturn(null, "127.0.0.1@-@0");
         JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").build());
         failoverService.new FailoverLeaderExecutionCallback().execute();
         verify(jobNodeStorage).isJobNodeExisted("leader/failover/items");
         verify(jobNodeStorage, times(2)).getJobNodeChildrenKeys("leader/failover/items");
-        verify(jobNodeStorage).fillEphemeralJobNode("sharding/0/failover", "127.0.0.1@-@0");
-        verify(jobNodeStorage).fillJobNode("sharding/0/failovering", "127.0.0.1@-@0");
-        verify(jobNodeStorage).removeJobNodeIfExisted("leader/failover/items/0");
+        ArgumentCaptor<TransactionExecutionCallback> callback = ArgumentCaptor.forClass(TransactionExecutionCallback.class);
+        verify(jobNodeStorage).executeInTransaction(callback.capture());
+        assertThat(callback.getValue().createTransactionOperations(), is(Arrays.asList(
+                TransactionOperation.opAddEphemeral("/test_job/sharding/0/failover", "127.0.0.1@-@0"),
+                TransactionOperation.opAdd("/test_job/sharding/0/failovering", "127.0.0.1@-@0"),
+                TransactionOperation.opDelete("/test_job/leader/failover/items/0"))));
         verify(jobScheduleController).triggerJob();
         JobRegistry.getInstance().setJobRunning("test_job", false);
         JobRegistry.getInstance().shutdown("test_job");
     }
+    
+    @Test
+    public void assertFailoverLeaderExecutionCallbackWithBatch() throws Exception {
+        JobRegistry.getInstance().setJobRunning("test_job", false);
+        when(jobNodeStorage.isJobNodeExisted("leader/failover/items")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeChildrenKeys("leader/failover/items")).thenReturn(Arrays.asList("2", "1", "0"));
+        when(jobNodeStorage.getJobNodeChildrenKeys("instances")).thenReturn(Arrays.asList("127.0.0.1@-@0", "127.0.0.1@-@1"));
+        when(jobNodeStorage.getJobNodeDataDirectly("sharding/2/failover")).thenReturn("127.0.0.1@-@1", "127.0.0.1@-@0");
+        when(jobNodeStorage.getJobNodeDataDirectly("sharding/2/failovering")).thenReturn("127.0.0.1@-@1");
+        when(jobNodeStorage.getJobNodeDataDirectly("sharding/1/failover")).thenReturn(null, "127.0.0.1@-@0");
+        JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
+        JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").setProperty(FailoverService.BATCH_SIZE_PROPS_KEY, "10").build());
+        failoverService.new FailoverLeaderExecutionCallback().execute();
+        ArgumentCaptor<TransactionExecutionCallback> callback = ArgumentCaptor.forClass(TransactionExecutionCallback.class);
+        verify(jobNodeStorage).executeInTransaction(callback.capture());
+        assertThat(callback.getValue().createTransactionOperations(), is(Arrays.asList(
+                TransactionOperation.opDelete("/test_job/sharding/2/failover"),
+                TransactionOperation.opAddEphemeral("/test_job/sharding/2/failover", "127.0.0.1@-@0"),
+                TransactionOperation.opUpdate("/test_job/sharding/2/failovering", "127.0.0.1@-@0"),
+                TransactionOperation.opDelete("/test_job/leader/failover/items/2"),
+                TransactionOperation.opAddEphemeral("/test_job/sharding/1/failover", "127.0.0.1@-@0"),
+                TransactionOperation.opAdd("/test_job/sharding/1/failovering", "127.0.0.1@-@0"),
+                TransactionOperation.opDelete("/test_job/leader/failover/items/1"))));
+        verify(jobScheduleController).triggerJob();
+        JobRegistry.getInstance().shutdown("test_job");
+    }
 
+    @Test
+    public void assertFailoverLeaderExecutionCallbackWithMergedExecution() throws Exception {
+        JobRegistry.getInstance().setJobRunning("test_job", false);
+        when(jobNodeStorage.isJobNodeExisted("leader/failover/items")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeChildrenKeys("leader/failover/items")).thenReturn(Arrays.asList("2", "1", "0"));
+        when(jobNodeStorage.getJobNodeChildrenKeys("instances")).thenReturn(Collections.singletonList("127.0.0.1@-@0"));
+        when(jobNodeStorage.getJobNodeChildrenKeys("sharding")).thenReturn(Collections.singletonList("5"));
+        when(jobNodeStorage.isJobNodeExisted("sharding/5/failover")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeDataDirectly("sharding/5/failover")).thenReturn("127.0.0.1@-@0");
+        when(jobNodeStorage.getJobNodeDataDirectly("sharding/2/failover")).thenReturn(null, "127.0.0.1@-@0");
+        JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
+        JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").setProperty(FailoverService.BATCH_SIZE_PROPS_KEY, "10")
+                .setProperty(FailoverExecutionMode.PROPS_KEY, "MERGED").setProperty(FailoverService.MERGED_MAX_ITEMS_PROPS_KEY, "2").build());
+        failoverService.new FailoverLeaderExecutionCallback().execute();
+        ArgumentCaptor<TransactionExecutionCallback> callback = ArgumentCaptor.forClass(TransactionExecutionCallback.class);
+        verify(jobNodeStorage).executeInTransaction(callback.capture());
+        assertThat(callback.getValue().createTransactionOperations(), is(Arrays.asList(
+                TransactionOperation.opAddEphemeral("/test_job/sharding/2/failover", "127.0.0.1@-@0"),
+                TransactionOperation.opAdd("/test_job/sharding/2/failovering", "127.0.0.1@-@0"),
+                TransactionOperation.opDelete("/test_job/leader/failover/items/2"))));
+        verify(jobScheduleController).triggerJob();
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
+    @Test
+    public void assertFailoverLeaderExecutionCallbackWhenClaimLost() {
+        JobRegistry.getInstance().setJobRunning("test_job", false);
+        when(jobNodeStorage.isJobNodeExisted("leader/failover/items")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeChildrenKeys("leader/failover/items")).thenReturn(Collections.singletonList("0"));
+        when(jobNodeStorage.getJobNodeDataDirectly("sharding/0/failover")).thenReturn("127.0.0.1@-@1");
+        JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
+        JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").build());
+        failoverService.new FailoverLeaderExecutionCallback().execute();
+        verify(jobNodeStorage, times(3)).executeInTransaction(any(TransactionExecutionCallback.class));
+        verify(jobScheduleController, times(0)).triggerJob();
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
+    @Test
+    public void assertFailoverLeaderExecutionCallbackWithMergedExecutionWhenMergedMaxItemsReached() {
+        JobRegistry.getInstance().setJobRunning("test_job", true);
+        when(jobNodeStorage.isJobNodeExisted("leader/failover/items")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeChildrenKeys("leader/failover/items")).thenReturn(Arrays.asList("2", "1", "0"));
+        when(jobNodeStorage.getJobNodeChildrenKeys("instances")).thenReturn(Collections.singletonList("127.0.0.1@-@0"));
+        when(jobNodeStorage.getJobNodeChildrenKeys("sharding")).thenReturn(Collections.singletonList("5"));
+        when(jobNodeStorage.isJobNodeExisted("sharding/5/failover")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeDataDirectly("sharding/5/failover")).thenReturn("127.0.0.1@-@0");
+        JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
+        JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?")
+                .setProperty(FailoverExecutionMode.PROPS_KEY, "MERGED").setProperty(FailoverService.MERGED_MAX_ITEMS_PROPS_KEY, "1").build());
+        failoverService.new FailoverLeaderExecutionCallback().execute();
+        verify(jobNodeStorage, times(0)).executeInTransaction(any(TransactionExecutionCallback.class));
+        verify(jobScheduleController, times(0)).triggerJob();
+        JobRegistry.getInstance().setJobRunning("test_job", false);
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
     @Test
     public void assertGetFailoveringItems() {
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
@@ -228,6 +342,22 @@ public final class FailoverServiceTest {
         JobRegistry.getInstance().shutdown("test_job");
     }
     
+    @Test
+    public void assertGetLocalMergedFailoverItems() {
+        JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
+        JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
+        when(jobNodeStorage.getJobNodeChildrenKeys("sharding")).thenReturn(Arrays.asList("0", "1", "2", "3"));
+        when(jobNodeStorage.isJobNodeExisted("sharding/1/failover")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExisted("sharding/2/failover")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExisted("sharding/3/failover")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeDataDirectly("sharding/1/failover")).thenReturn("127.0.0.1@-@0");
+        when(jobNodeStorage.getJobNodeDataDirectly("sharding/2/failover")).thenReturn("127.0.0.1@-@0");
+        when(jobNodeStorage.getJobNodeDataDirectly("sharding/3/failover")).thenReturn("127.0.0.1@-@0");
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 4).cron("0/1 * * * * ?").setProperty(FailoverService.MERGED_MAX_ITEMS_PROPS_KEY, "1").build());
+        assertThat(failoverService.getLocalMergedFailoverItems(Arrays.asList(0, 1)), is(Collections.singletonList(2)));
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
     @Test
     public void assertGetLocalTakeOffItems() {
         when(shardingService.getLocalShardingItems()).thenReturn(Arrays.asList(0, 1, 2));
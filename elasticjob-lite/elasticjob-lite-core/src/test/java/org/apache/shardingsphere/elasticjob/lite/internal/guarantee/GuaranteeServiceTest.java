@@ -31,6 +31,9 @@ import java.util.Arrays;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -52,95 +55,62 @@ public final class GuaranteeServiceTest {
     }
     
     @Test
-    public void assertRegisterStart() {
-        guaranteeService.registerStart(Arrays.asList(0, 1));
-        verify(jobNodeStorage).createJobNodeIfNeeded("guarantee/started/0");
-        verify(jobNodeStorage).createJobNodeIfNeeded("guarantee/started/1");
+    public void assertRegisterStartWhenNotAllStarted() {
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").build());
+        when(jobNodeStorage.compareAndSetJobNode("guarantee/items/started", null, "Aw==")).thenReturn(true);
+        assertFalse(guaranteeService.registerStart(Arrays.asList(0, 1)));
     }
     
     @Test
-    public void assertIsNotRegisterStartSuccess() {
-        assertFalse(guaranteeService.isRegisterStartSuccess(Arrays.asList(0, 1)));
+    public void assertRegisterStartWhenAllStartedAfterConflict() {
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").build());
+        when(jobNodeStorage.getJobNodeDataDirectly("guarantee/items/started")).thenReturn(null, "BA==");
+        when(jobNodeStorage.compareAndSetJobNode("guarantee/items/started", "BA==", "Bw==")).thenReturn(true);
+        assertTrue(guaranteeService.registerStart(Arrays.asList(0, 1)));
+        verify(jobNodeStorage).compareAndSetJobNode("guarantee/items/started", null, "Aw==");
     }
     
     @Test
-    public void assertIsRegisterStartSuccess() {
-        when(jobNodeStorage.isJobNodeExisted("guarantee/started/0")).thenReturn(true);
-        when(jobNodeStorage.isJobNodeExisted("guarantee/started/1")).thenReturn(true);
-        assertTrue(guaranteeService.isRegisterStartSuccess(Arrays.asList(0, 1)));
-    }
-    
-    @Test
-    public void assertIsNotAllStartedWhenRootNodeIsNotExisted() {
-        when(jobNodeStorage.isJobNodeExisted("guarantee/started")).thenReturn(false);
-        assertFalse(guaranteeService.isAllStarted());
-    }
-    
-    @Test
-    public void assertIsNotAllStarted() {
-        when(configService.load(false)).thenReturn(
-                JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").setProperty("streaming.process", Boolean.TRUE.toString()).build());
-        when(jobNodeStorage.isJobNodeExisted("guarantee/started")).thenReturn(true);
-        when(jobNodeStorage.getJobNodeChildrenKeys("guarantee/started")).thenReturn(Arrays.asList("0", "1"));
-        assertFalse(guaranteeService.isAllStarted());
-    }
-    
-    @Test
-    public void assertIsAllStarted() {
-        when(jobNodeStorage.isJobNodeExisted("guarantee/started")).thenReturn(true);
-        when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").build());
-        when(jobNodeStorage.getJobNodeChildrenKeys("guarantee/started")).thenReturn(Arrays.asList("0", "1", "2"));
-        assertTrue(guaranteeService.isAllStarted());
+    public void assertRegisterStartWithRegisteredItems() {
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").build());
+        when(jobNodeStorage.getJobNodeDataDirectly("guarantee/items/started")).thenReturn("Aw==");
+        assertFalse(guaranteeService.registerStart(Arrays.asList(0, 1)));
+        verify(jobNodeStorage, never()).compareAndSetJobNode(eq("guarantee/items/started"), any(), any());
     }
     
     @Test
     public void assertClearAllStartedInfo() {
         guaranteeService.clearAllStartedInfo();
-        verify(jobNodeStorage).removeJobNodeIfExisted("guarantee/started");
-    }
-    
-    @Test
-    public void assertRegisterComplete() {
-        guaranteeService.registerComplete(Arrays.asList(0, 1));
-        verify(jobNodeStorage).createJobNodeIfNeeded("guarantee/completed/0");
-        verify(jobNodeStorage).createJobNodeIfNeeded("guarantee/completed/1");
-    }
-    
-    @Test
-    public void assertIsNotRegisterCompleteSuccess() {
-        assertFalse(guaranteeService.isRegisterCompleteSuccess(Arrays.asList(0, 1)));
-    }
-    
-    @Test
-    public void assertIsRegisterCompleteSuccess() {
-        when(jobNodeStorage.isJobNodeExisted("guarantee/completed/0")).thenReturn(true);
-        when(jobNodeStorage.isJobNodeExisted("guarantee/completed/1")).thenReturn(true);
-        assertTrue(guaranteeService.isRegisterCompleteSuccess(Arrays.asList(0, 1)));
+        verify(jobNodeStorage).removeJobNodeIfExisted("guarantee/items/started");
     }
     
     @Test
-    public void assertIsNotAllCompletedWhenRootNodeIsNotExisted() {
-        when(jobNodeStorage.isJobNodeExisted("guarantee/completed")).thenReturn(false);
-        assertFalse(guaranteeService.isAllCompleted());
+    public void assertRegisterCompleteWhenNotAllCompleted() {
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").build());
+        when(jobNodeStorage.getJobNodeDataDirectly("guarantee/items/completed")).thenReturn("");
+        when(jobNodeStorage.compareAndSetJobNode("guarantee/items/completed", "", "Aw==")).thenReturn(true);
+        assertFalse(guaranteeService.registerComplete(Arrays.asList(0, 1)));
     }
     
     @Test
-    public void assertIsNotAllCompleted() {
-        when(jobNodeStorage.isJobNodeExisted("guarantee/completed")).thenReturn(false);
-        assertFalse(guaranteeService.isAllCompleted());
+    public void assertRegisterCompleteWhenAllCompleted() {
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").build());
+        when(jobNodeStorage.getJobNodeDataDirectly("guarantee/items/completed")).thenReturn("BA==");
+        when(jobNodeStorage.compareAndSetJobNode("guarantee/items/completed", "BA==", "Bw==")).thenReturn(true);
+        assertTrue(guaranteeService.registerComplete(Arrays.asList(0, 1)));
     }
     
     @Test
-    public void assertIsAllCompleted() {
-        when(jobNodeStorage.isJobNodeExisted("guarantee/completed")).thenReturn(true);
-        when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").build());
-        when(jobNodeStorage.getJobNodeChildrenKeys("guarantee/completed")).thenReturn(Arrays.asList("0", "1", "2"));
-        assertTrue(guaranteeService.isAllCompleted());
+    public void assertRegisterCompleteWithItemRegisteredAgain() {
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").build());
+        when(jobNodeStorage.getJobNodeDataDirectly("guarantee/items/completed")).thenReturn("AQ==");
+        when(jobNodeStorage.compareAndSetJobNode("guarantee/items/completed", "AQ==", "Aw==")).thenReturn(true);
+        assertFalse(guaranteeService.registerComplete(Arrays.asList(0, 1)));
     }
     
     @Test
     public void assertClearAllCompletedInfo() {
         guaranteeService.clearAllCompletedInfo();
-        verify(jobNodeStorage).removeJobNodeIfExisted("guarantee/completed");
+        verify(jobNodeStorage).removeJobNodeIfExisted("guarantee/items/completed");
     }
 }
@@ -71,4 +71,19 @@ public final class InstanceNodeTest {
     public void assertGetInstancePath() {
         assertThat(instanceNode.getInstancePath("127.0.0.1@-@0"), is("instances/127.0.0.1@-@0"));
     }
+    
+    @Test
+    public void assertIsNotInstancePathForLoadPath() {
+        assertFalse(instanceNode.isInstancePath("/test_job/instance_loads/127.0.0.1@-@0"));
+    }
+    
+    @Test
+    public void assertGetLocalLoadPath() {
+        assertThat(instanceNode.getLocalLoadPath(), is("instance_loads/127.0.0.1@-@0"));
+    }
+    
+    @Test
+    public void assertGetLoadPath() {
+        assertThat(instanceNode.getLoadPath("127.0.0.1@-@0"), is("instance_loads/127.0.0.1@-@0"));
+    }
 }
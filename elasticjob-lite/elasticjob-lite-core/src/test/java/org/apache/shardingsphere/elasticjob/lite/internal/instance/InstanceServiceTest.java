@@ -34,6 +34,9 @@ import java.util.Collections;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -62,12 +65,39 @@ public final class InstanceServiceTest {
     public void assertPersistOnline() {
         instanceService.persistOnline();
         verify(jobNodeStorage).fillEphemeralJobNode("instances/127.0.0.1@-@0", "jobInstanceId: 127.0.0.1@-@0\nserverIp: 127.0.0.1\n");
+        verify(jobNodeStorage).fillEphemeralJobNode(eq("instance_loads/127.0.0.1@-@0"), any());
+    }
+    
+    @Test
+    public void assertPersistOnlineWithLoad() {
+        JobRegistry.getInstance().getJobInstance("test_job").setWeight(2);
+        JobRegistry.getInstance().getJobInstance("test_job").setAvailableProcessors(4);
+        instanceService.persistOnline();
+        verify(jobNodeStorage).fillEphemeralJobNode("instances/127.0.0.1@-@0", "jobInstanceId: 127.0.0.1@-@0\nserverIp: 127.0.0.1\n");
+        verify(jobNodeStorage).fillEphemeralJobNode("instance_loads/127.0.0.1@-@0", "availableProcessors: 4\nweight: 2\n");
+    }
+    
+    @Test
+    public void assertPersistLoad() {
+        when(jobNodeStorage.isJobNodeExisted("instances/127.0.0.1@-@0")).thenReturn(true);
+        instanceService.persistLoad(2, 400L);
+        instanceService.persistLoad(2, 800L);
+        assertThat(JobRegistry.getInstance().getJobInstance("test_job").getItemElapsedMillis(), is(250L));
+        verify(jobNodeStorage).fillEphemeralJobNode(eq("instance_loads/127.0.0.1@-@0"), any());
+        verify(jobNodeStorage, times(0)).updateJobNode(eq("instances/127.0.0.1@-@0"), any());
+    }
+    
+    @Test
+    public void assertPersistLoadWithoutLocalJobInstance() {
+        instanceService.persistLoad(1, 100L);
+        verify(jobNodeStorage, times(0)).fillEphemeralJobNode(eq("instance_loads/127.0.0.1@-@0"), any());
     }
     
     @Test
     public void assertRemoveInstance() {
         instanceService.removeInstance();
         verify(jobNodeStorage).removeJobNodeIfExisted("instances/127.0.0.1@-@0");
+        verify(jobNodeStorage).removeJobNodeIfExisted("instance_loads/127.0.0.1@-@0");
     }
     
     @Test
@@ -79,6 +109,18 @@ public final class InstanceServiceTest {
         assertThat(instanceService.getAvailableJobInstances(), is(Collections.singletonList(new JobInstance("127.0.0.1@-@0"))));
     }
     
+    @Test
+    public void assertGetAvailableJobInstancesWithLoad() {
+        when(jobNodeStorage.getJobNodeChildrenKeys(InstanceNode.ROOT)).thenReturn(Collections.singletonList("127.0.0.1@-@0"));
+        when(jobNodeStorage.getJobNodeData("instances/127.0.0.1@-@0")).thenReturn("jobInstanceId: 127.0.0.1@-@0\nserverIp: 127.0.0.1\n");
+        when(jobNodeStorage.getJobNodeData("instance_loads/127.0.0.1@-@0")).thenReturn("availableProcessors: 4\nitemElapsedMillis: 100\nweight: 2\n");
+        when(serverService.isEnableServer("127.0.0.1")).thenReturn(true);
+        JobInstance actual = instanceService.getAvailableJobInstances().get(0);
+        assertThat(actual.getWeight(), is(2));
+        assertThat(actual.getAvailableProcessors(), is(4));
+        assertThat(actual.getItemElapsedMillis(), is(100L));
+    }
+    
     @Test
     public void assertIsLocalJobInstanceExisted() {
         when(jobNodeStorage.isJobNodeExisted("instances/127.0.0.1@-@0")).thenReturn(true);
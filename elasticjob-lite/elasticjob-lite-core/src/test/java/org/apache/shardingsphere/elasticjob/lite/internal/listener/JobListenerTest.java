@@ -17,8 +17,9 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.listener;
 
-import org.apache.curator.framework.recipes.cache.ChildData;
 import org.apache.shardingsphere.elasticjob.lite.internal.listener.fixture.FooJobListener;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -29,14 +30,10 @@ import java.util.List;
 
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public final class JobListenerTest {
     
-    @Mock
-    private ChildData childData;
-    
     @Mock
     private List list;
     
@@ -49,16 +46,13 @@ public final class JobListenerTest {
     
     @Test
     public void assertChildEventWhenEventDataIsEmpty() {
-        when(childData.getPath()).thenReturn("");
-        fooJobListener.event(null, null, childData);
+        fooJobListener.onChange(new DataChangedEvent(Type.ADDED, "", ""));
         verify(list, times(0)).clear();
     }
     
     @Test
     public void assertChildEventSuccess() {
-        when(childData.getPath()).thenReturn("/test");
-        when(childData.getData()).thenReturn("test".getBytes());
-        fooJobListener.event(null, null, childData);
+        fooJobListener.onChange(new DataChangedEvent(Type.ADDED, "/test", "test"));
         verify(list).clear();
     }
 }
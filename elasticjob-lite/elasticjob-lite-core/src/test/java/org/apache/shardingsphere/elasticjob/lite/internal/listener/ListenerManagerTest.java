@@ -24,9 +24,9 @@ import org.apache.shardingsphere.elasticjob.lite.internal.guarantee.GuaranteeLis
 import org.apache.shardingsphere.elasticjob.lite.internal.instance.ShutdownListenerManager;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.MonitorExecutionListenerManager;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingListenerManager;
-import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
 import org.apache.shardingsphere.elasticjob.lite.internal.trigger.TriggerListenerManager;
 import org.apache.shardingsphere.elasticjob.lite.util.ReflectionUtils;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -41,7 +41,7 @@ import static org.mockito.Mockito.verify;
 public final class ListenerManagerTest {
     
     @Mock
-    private JobNodeStorage jobNodeStorage;
+    private CoordinatorRegistryCenter regCenter;
     
     @Mock
     private ElectionListenerManager electionListenerManager;
@@ -74,7 +74,7 @@ public final class ListenerManagerTest {
     
     @Before
     public void setUp() {
-        ReflectionUtils.setFieldValue(listenerManager, "jobNodeStorage", jobNodeStorage);
+        ReflectionUtils.setFieldValue(listenerManager, "regCenter", regCenter);
         ReflectionUtils.setFieldValue(listenerManager, "electionListenerManager", electionListenerManager);
         ReflectionUtils.setFieldValue(listenerManager, "shardingListenerManager", shardingListenerManager);
         ReflectionUtils.setFieldValue(listenerManager, "failoverListenerManager", failoverListenerManager);
@@ -96,6 +96,6 @@ public final class ListenerManagerTest {
         verify(shutdownListenerManager).start();
         verify(rescheduleListenerManager).start();
         verify(guaranteeListenerManager).start();
-        verify(jobNodeStorage).addConnectionStateListener(regCenterConnectionStateListener);
+        verify(regCenter).addConnectionStateChangedEventListener(RegistryCenterRecoveryCoordinator.getInstance(regCenter));
     }
 }
@@ -7,7 +7,7 @@
  * the License.  You may obtain a copy of the License at
  *
  *     http://www.apache.org/licenses/LICENSE-2.0
- *
+ *  
  * Unless required by applicable law or agreed to in writing, software
  * distributed under the License is distributed on an "AS IS" BASIS,
  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
@@ -17,24 +17,33 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.listener;
 
-import org.apache.curator.framework.state.ConnectionState;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
-import org.apache.shardingsphere.elasticjob.lite.internal.instance.InstanceService;
+import org.apache.shardingsphere.elasticjob.infra.yaml.YamlEngine;
+import org.apache.shardingsphere.elasticjob.lite.internal.instance.JobInstanceLoad;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobScheduleController;
-import org.apache.shardingsphere.elasticjob.lite.internal.server.ServerService;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ExecutionService;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingService;
-import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.TransactionExecutionCallback;
 import org.apache.shardingsphere.elasticjob.lite.util.ReflectionUtils;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
+import org.apache.shardingsphere.elasticjob.reg.listener.ConnectionStateChangedEventListener.State;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Arrays;
+import java.util.List;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,14 +51,13 @@ import static org.mockito.Mockito.when;
 @RunWith(MockitoJUnitRunner.class)
 public final class RegistryCenterConnectionStateListenerTest {
     
-    @Mock
-    private CoordinatorRegistryCenter regCenter;
+    private final JobInstance jobInstance = new JobInstance("127.0.0.1@-@0", null, "127.0.0.1");
     
     @Mock
-    private ServerService serverService;
+    private CoordinatorRegistryCenter regCenter;
     
     @Mock
-    private InstanceService instanceService;
+    private JobNodeStorage jobNodeStorage;
     
     @Mock
     private ShardingService shardingService;
@@ -64,10 +72,9 @@ public final class RegistryCenterConnectionStateListenerTest {
     
     @Before
     public void setUp() {
-        JobRegistry.getInstance().addJobInstance("test_job", new JobInstance("127.0.0.1@-@0", null, "127.0.0.1"));
+        JobRegistry.getInstance().addJobInstance("test_job", jobInstance);
         regCenterConnectionStateListener = new RegistryCenterConnectionStateListener(null, "test_job");
-        ReflectionUtils.setFieldValue(regCenterConnectionStateListener, "serverService", serverService);
-        ReflectionUtils.setFieldValue(regCenterConnectionStateListener, "instanceService", instanceService);
+        ReflectionUtils.setFieldValue(regCenterConnectionStateListener, "jobNodeStorage", jobNodeStorage);
         ReflectionUtils.setFieldValue(regCenterConnectionStateListener, "shardingService", shardingService);
         ReflectionUtils.setFieldValue(regCenterConnectionStateListener, "executionService", executionService);
     }
@@ -76,26 +83,29 @@ public final class RegistryCenterConnectionStateListenerTest {
     public void assertConnectionLostListenerWhenConnectionStateIsLost() {
         JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
-        regCenterConnectionStateListener.stateChanged(null, ConnectionState.LOST);
+        regCenterConnectionStateListener.onStateChanged(null, State.LOST);
         verify(jobScheduleController).pauseJob();
         JobRegistry.getInstance().shutdown("test_job");
     }
     
     @Test
     public void assertConnectionLostListenerWhenConnectionStateIsLostButIsShutdown() {
-        regCenterConnectionStateListener.stateChanged(null, ConnectionState.LOST);
+        regCenterConnectionStateListener.onStateChanged(null, State.LOST);
         verify(jobScheduleController, times(0)).pauseJob();
         verify(jobScheduleController, times(0)).resumeJob();
     }
     
     @Test
-    public void assertConnectionLostListenerWhenConnectionStateIsReconnected() {
+    public void assertConnectionLostListenerWhenConnectionStateIsReconnected() throws Exception {
         JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
+        when(jobNodeStorage.isJobNodeExisted("servers/127.0.0.1")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExisted("instances/127.0.0.1@-@0")).thenReturn(true);
         when(shardingService.getLocalShardingItems()).thenReturn(Arrays.asList(0, 1));
-        when(serverService.isEnableServer("127.0.0.1")).thenReturn(true);
-        regCenterConnectionStateListener.stateChanged(null, ConnectionState.RECONNECTED);
-        verify(serverService).persistOnline(true);
+        regCenterConnectionStateListener.onStateChanged(null, State.RECONNECTED);
+        assertThat(captureTransactionOperations(), is(Arrays.asList(
+                TransactionOperation.opDelete("/test_job/instances/127.0.0.1@-@0"), TransactionOperation.opAddEphemeral("/test_job/instances/127.0.0.1@-@0", YamlEngine.marshal(jobInstance)))));
+        verify(jobNodeStorage).fillEphemeralJobNode("instance_loads/127.0.0.1@-@0", YamlEngine.marshal(JobInstanceLoad.fromJobInstance(jobInstance)));
         verify(executionService).clearRunningInfo(Arrays.asList(0, 1));
         verify(jobScheduleController).resumeJob();
         JobRegistry.getInstance().shutdown("test_job");
@@ -103,7 +113,7 @@ public final class RegistryCenterConnectionStateListenerTest {
     
     @Test
     public void assertConnectionLostListenerWhenConnectionStateIsReconnectedButIsShutdown() {
-        regCenterConnectionStateListener.stateChanged(null, ConnectionState.RECONNECTED);
+        regCenterConnectionStateListener.onStateChanged(null, State.RECONNECTED);
         verify(jobScheduleController, times(0)).pauseJob();
         verify(jobScheduleController, times(0)).resumeJob();
     }
@@ -112,9 +122,40 @@ public final class RegistryCenterConnectionStateListenerTest {
     public void assertConnectionLostListenerWhenConnectionStateIsOther() {
         JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
-        regCenterConnectionStateListener.stateChanged(null, ConnectionState.CONNECTED);
+        regCenterConnectionStateListener.onStateChanged(null, State.CONNECTED);
         verify(jobScheduleController, times(0)).pauseJob();
         verify(jobScheduleController, times(0)).resumeJob();
         JobRegistry.getInstance().shutdown("test_job");
     }
+    
+    @Test
+    public void assertRecoverWithoutSessionLost() {
+        JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
+        JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
+        when(jobNodeStorage.isJobNodeExisted("servers/127.0.0.1")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExisted("instances/127.0.0.1@-@0")).thenReturn(true);
+        regCenterConnectionStateListener.recover(false);
+        verify(jobNodeStorage, never()).executeInTransaction(any());
+        verify(executionService, never()).clearRunningInfo(any());
+        verify(jobScheduleController).resumeJob();
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
+    @Test
+    public void assertRecoverWithoutSessionLostButNodesRemoved() throws Exception {
+        JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
+        JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
+        regCenterConnectionStateListener.recover(false);
+        assertThat(captureTransactionOperations(), is(Arrays.asList(
+                TransactionOperation.opAdd("/test_job/servers/127.0.0.1", "ENABLED"), TransactionOperation.opAddEphemeral("/test_job/instances/127.0.0.1@-@0", YamlEngine.marshal(jobInstance)))));
+        verify(executionService, never()).clearRunningInfo(any());
+        verify(jobScheduleController).resumeJob();
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
+    private List<TransactionOperation> captureTransactionOperations() throws Exception {
+        ArgumentCaptor<TransactionExecutionCallback> callback = ArgumentCaptor.forClass(TransactionExecutionCallback.class);
+        verify(jobNodeStorage).executeInTransaction(callback.capture());
+        return callback.getValue().createTransactionOperations();
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.listener;
+
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.listener.ConnectionStateChangedEventListener.State;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class RegistryCenterRecoveryCoordinatorTest {
+    
+    @Mock
+    private CoordinatorRegistryCenter regCenter;
+    
+    @Mock
+    private RegistryCenterConnectionStateListener fooJobListener;
+    
+    @Mock
+    private RegistryCenterConnectionStateListener barJobListener;
+    
+    private final RegistryCenterRecoveryCoordinator coordinator = new RegistryCenterRecoveryCoordinator();
+    
+    private final AtomicReference<Thread> recoveryThread = new AtomicReference<>();
+    
+    @Test
+    public void assertGetInstance() {
+        RegistryCenterRecoveryCoordinator actual = RegistryCenterRecoveryCoordinator.getInstance(regCenter);
+        assertThat(RegistryCenterRecoveryCoordinator.getInstance(regCenter), is(actual));
+        verify(regCenter).addConnectionStateChangedEventListener(actual);
+    }
+    
+    @Test
+    public void assertRecoverAfterSessionLost() {
+        coordinator.register("foo_job", fooJobListener);
+        coordinator.register("bar_job", barJobListener);
+        coordinator.onStateChanged(regCenter, State.SUSPENDED);
+        coordinator.onStateChanged(regCenter, State.LOST);
+        coordinator.onStateChanged(regCenter, State.RECONNECTED);
+        verify(fooJobListener).onStateChanged(regCenter, State.SUSPENDED);
+        verify(fooJobListener).onStateChanged(regCenter, State.LOST);
+        verify(fooJobListener, never()).onStateChanged(regCenter, State.RECONNECTED);
+        verify(fooJobListener, timeout(1000L)).recover(true);
+        verify(barJobListener, timeout(1000L)).recover(true);
+    }
+    
+    @Test
+    public void assertRecoverWithoutSessionLost() {
+        coordinator.register("foo_job", fooJobListener);
+        coordinator.onStateChanged(regCenter, State.LOST);
+        coordinator.onStateChanged(regCenter, State.RECONNECTED);
+        coordinator.onStateChanged(regCenter, State.SUSPENDED);
+        coordinator.onStateChanged(regCenter, State.RECONNECTED);
+        verify(fooJobListener, timeout(1000L)).recover(true);
+        verify(fooJobListener, timeout(1000L)).recover(false);
+    }
+    
+    @Test
+    public void assertRecoverOtherJobsWhenRecoverFailure() {
+        coordinator.register("foo_job", fooJobListener);
+        coordinator.register("bar_job", barJobListener);
+        doThrow(new IllegalStateException()).when(fooJobListener).recover(anyBoolean());
+        coordinator.onStateChanged(regCenter, State.RECONNECTED);
+        verify(barJobListener, timeout(1000L)).recover(false);
+    }
+    
+    @Test
+    public void assertRecoverOffConnectionStateThread() {
+        coordinator.register("foo_job", fooJobListener);
+        doAnswer(invocation -> {
+            recoveryThread.set(Thread.currentThread());
+            return null;
+        }).when(fooJobListener).recover(anyBoolean());
+        coordinator.onStateChanged(regCenter, State.RECONNECTED);
+        verify(fooJobListener, timeout(1000L)).recover(false);
+        assertThat(recoveryThread.get(), not(Thread.currentThread()));
+    }
+    
+    @Test
+    public void assertUnregister() {
+        coordinator.register("foo_job", fooJobListener);
+        coordinator.register("bar_job", barJobListener);
+        coordinator.unregister("foo_job");
+        coordinator.onStateChanged(regCenter, State.SUSPENDED);
+        coordinator.onStateChanged(regCenter, State.RECONNECTED);
+        verify(barJobListener, timeout(1000L)).recover(false);
+        verify(fooJobListener, never()).onStateChanged(regCenter, State.SUSPENDED);
+        verify(fooJobListener, after(100L).never()).recover(anyBoolean());
+    }
+    
+    @Test
+    public void assertUnregisterByRegistryCenter() {
+        RegistryCenterRecoveryCoordinator actual = RegistryCenterRecoveryCoordinator.getInstance(regCenter);
+        actual.register("foo_job", fooJobListener);
+        RegistryCenterRecoveryCoordinator.unregister(regCenter, "foo_job");
+        actual.onStateChanged(regCenter, State.SUSPENDED);
+        verify(fooJobListener, never()).onStateChanged(regCenter, State.SUSPENDED);
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.shardingsphere.elasticjob.lite.internal.listener.fixture;
 
 import lombok.RequiredArgsConstructor;
 import org.apache.shardingsphere.elasticjob.lite.internal.listener.AbstractJobListener;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
 
 import java.util.List;
 
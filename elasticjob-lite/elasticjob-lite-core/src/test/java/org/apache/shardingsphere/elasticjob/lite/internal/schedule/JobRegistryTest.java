@@ -18,15 +18,21 @@
 package org.apache.shardingsphere.elasticjob.lite.internal.schedule;
 
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobCacheProfile;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
 import org.apache.shardingsphere.elasticjob.lite.util.ReflectionUtils;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public final class JobRegistryTest {
@@ -51,6 +57,15 @@ public final class JobRegistryTest {
         assertThat(JobRegistry.getInstance().getRegCenter("test_job_scheduler_for_add"), is(regCenter));
     }
     
+    @Test
+    public void assertGetRegCenterWithSelectiveCacheProfile() {
+        CoordinatorRegistryCenter regCenter = mock(CoordinatorRegistryCenter.class);
+        JobRegistry.getInstance().registerRegistryCenter("test_job_scheduler_for_selective_cache", regCenter, JobCacheProfile.SELECTIVE);
+        assertThat(JobRegistry.getInstance().getRegCenter("test_job_scheduler_for_selective_cache"), is(regCenter));
+        verify(regCenter).addCacheData(eq("/test_job_scheduler_for_selective_cache"), any());
+        verify(regCenter, times(0)).addCacheData("/test_job_scheduler_for_selective_cache");
+    }
+    
     @Test
     public void assertIsJobRunningIfNull() {
         assertFalse(JobRegistry.getInstance().isJobRunning("null_job_instance"));
@@ -74,6 +89,14 @@ public final class JobRegistryTest {
         ReflectionUtils.setFieldValue(JobRegistry.getInstance(), "instance", null);
     }
     
+    @Test
+    public void assertGetLocalRunningItems() {
+        JobRegistry.getInstance().getLocalRunningItems("test_job_for_local_running_items").add(1);
+        assertThat(JobRegistry.getInstance().getLocalRunningItems("test_job_for_local_running_items"), is(Collections.singleton(1)));
+        JobRegistry.getInstance().shutdown("test_job_for_local_running_items");
+        assertTrue(JobRegistry.getInstance().getLocalRunningItems("test_job_for_local_running_items").isEmpty());
+    }
+    
     @Test
     public void assertShutdown() {
         JobScheduleController jobScheduleController = mock(JobScheduleController.class);
@@ -24,7 +24,9 @@ import org.apache.shardingsphere.elasticjob.infra.listener.ShardingContexts;
 import org.apache.shardingsphere.elasticjob.lite.api.listener.fixture.ElasticJobListenerCaller;
 import org.apache.shardingsphere.elasticjob.lite.api.listener.fixture.TestElasticJobListener;
 import org.apache.shardingsphere.elasticjob.lite.internal.config.ConfigurationService;
+import org.apache.shardingsphere.elasticjob.lite.internal.failover.FailoverExecutionMode;
 import org.apache.shardingsphere.elasticjob.lite.internal.failover.FailoverService;
+import org.apache.shardingsphere.elasticjob.lite.internal.instance.InstanceService;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ExecutionContextService;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ExecutionService;
 import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingService;
@@ -41,6 +43,9 @@ import java.util.Collections;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -63,6 +68,9 @@ public final class LiteJobFacadeTest {
     @Mock
     private FailoverService failoverService;
     
+    @Mock
+    private InstanceService instanceService;
+    
     @Mock
     private JobTracingEventBus jobTracingEventBus;
     
@@ -79,6 +87,7 @@ public final class LiteJobFacadeTest {
         ReflectionUtils.setFieldValue(liteJobFacade, "executionContextService", executionContextService);
         ReflectionUtils.setFieldValue(liteJobFacade, "executionService", executionService);
         ReflectionUtils.setFieldValue(liteJobFacade, "failoverService", failoverService);
+        ReflectionUtils.setFieldValue(liteJobFacade, "instanceService", instanceService);
         ReflectionUtils.setFieldValue(liteJobFacade, "jobTracingEventBus", jobTracingEventBus);
     }
     
@@ -122,9 +131,19 @@ public final class LiteJobFacadeTest {
         when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").failover(false).build());
         liteJobFacade.registerJobCompleted(shardingContexts);
         verify(executionService).registerJobCompleted(shardingContexts);
+        verify(instanceService, times(0)).persistLoad(eq(0), anyLong());
         verify(failoverService, times(0)).updateFailoverComplete(shardingContexts.getShardingItemParameters().keySet());
     }
     
+    @Test
+    public void assertRegisterJobCompletedWithWeightedShardingStrategy() {
+        ShardingContexts shardingContexts = new ShardingContexts("fake_task_id", "test_job", 10, "", Collections.emptyMap());
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").jobShardingStrategyType("WEIGHTED").build());
+        liteJobFacade.registerJobCompleted(shardingContexts);
+        verify(executionService).registerJobCompleted(shardingContexts);
+        verify(instanceService).persistLoad(eq(0), anyLong());
+    }
+    
     @Test
     public void assertRegisterJobCompletedWhenFailoverEnabled() {
         ShardingContexts shardingContexts = new ShardingContexts("fake_task_id", "test_job", 10, "", Collections.emptyMap());
@@ -156,6 +175,20 @@ public final class LiteJobFacadeTest {
         verify(shardingService).shardingIfNecessary();
     }
     
+    @Test
+    public void assertGetShardingContextWhenIsFailoverEnableAndMergedExecution() {
+        ShardingContexts shardingContexts = new ShardingContexts("fake_task_id", "test_job", 10, "", Collections.emptyMap());
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").failover(true).monitorExecution(true)
+                .setProperty(FailoverExecutionMode.PROPS_KEY, "MERGED").build());
+        when(shardingService.getLocalShardingItems()).thenReturn(Lists.newArrayList(0, 1));
+        when(failoverService.getLocalTakeOffItems()).thenReturn(Collections.singletonList(0));
+        when(failoverService.getLocalMergedFailoverItems(Collections.singletonList(1))).thenReturn(Collections.singletonList(2));
+        when(executionContextService.getJobShardingContext(Arrays.asList(1, 2))).thenReturn(shardingContexts);
+        assertThat(liteJobFacade.getShardingContexts(), is(shardingContexts));
+        verify(shardingService).shardingIfNecessary();
+        verify(failoverService, times(0)).getLocalFailoverItems();
+    }
+    
     @Test
     public void assertGetShardingContextWhenIsFailoverDisable() {
         ShardingContexts shardingContexts = new ShardingContexts("fake_task_id", "test_job", 10, "", Collections.emptyMap());
@@ -179,8 +212,22 @@ public final class LiteJobFacadeTest {
     
     @Test
     public void assertMisfireIfRunning() {
-        when(executionService.misfireIfHasRunningItems(Arrays.asList(0, 1))).thenReturn(true);
-        assertThat(liteJobFacade.misfireIfRunning(Arrays.asList(0, 1)), is(true));
+        when(executionService.misfireIfHasRunningItems(Arrays.asList(0, 1))).thenReturn(Collections.singletonList(1));
+        assertThat(liteJobFacade.misfireIfRunning(Arrays.asList(0, 1)), is(Collections.singletonList(1)));
+    }
+    
+    @Test
+    public void assertGetMisfiredItems() {
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").misfire(true).build());
+        when(executionService.getMisfiredJobItems(Arrays.asList(0, 1))).thenReturn(Collections.singletonList(1));
+        assertThat(liteJobFacade.getMisfiredItems(Arrays.asList(0, 1)), is(Collections.singletonList(1)));
+    }
+    
+    @Test
+    public void assertGetMisfiredItemsWhenMisfireDisabled() {
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").misfire(false).build());
+        assertTrue(liteJobFacade.getMisfiredItems(Arrays.asList(0, 1)).isEmpty());
+        verify(executionService, times(0)).getMisfiredJobItems(Arrays.asList(0, 1));
     }
     
     @Test
@@ -212,4 +259,10 @@ public final class LiteJobFacadeTest {
         liteJobFacade.postJobExecutionEvent(null);
         verify(jobTracingEventBus).post(null);
     }
+    
+    @Test
+    public void assertShutdown() {
+        liteJobFacade.shutdown();
+        verify(jobTracingEventBus).close();
+    }
 }
@@ -32,6 +32,7 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -50,12 +51,16 @@ public final class ExecutionContextServiceTest {
     @Mock
     private ConfigurationService configService;
     
+    @Mock
+    private ExecutionService executionService;
+    
     private final ExecutionContextService executionContextService = new ExecutionContextService(null, "test_job");
     
     @Before
     public void setUp() {
         ReflectionUtils.setFieldValue(executionContextService, "jobNodeStorage", jobNodeStorage);
         ReflectionUtils.setFieldValue(executionContextService, "configService", configService);
+        ReflectionUtils.setFieldValue(executionContextService, "executionService", executionService);
         JobRegistry.getInstance().addJobInstance("test_job", new JobInstance("127.0.0.1@-@0"));
     }
     
@@ -91,6 +96,19 @@ public final class ExecutionContextServiceTest {
         assertShardingContext(executionContextService.getJobShardingContext(Lists.newArrayList(0, 1)), expected);
     }
     
+    @Test
+    public void assertGetShardingContextWhenHasPerInstanceRunningItems() {
+        when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").shardingItemParameters("0=A,1=B,2=C")
+                .setProperty(RunningStateFormat.PROPS_KEY, "PER_INSTANCE").monitorExecution(true).build());
+        BitSet runningItems = new BitSet();
+        runningItems.set(1);
+        when(executionService.getInstanceRunningItems()).thenReturn(runningItems);
+        Map<Integer, String> map = new HashMap<>(1, 1);
+        map.put(0, "A");
+        ShardingContexts expected = new ShardingContexts("fake_task_id", "test_job", 3, "", map);
+        assertShardingContext(executionContextService.getJobShardingContext(Lists.newArrayList(0, 1)), expected);
+    }
+    
     private void assertShardingContext(final ShardingContexts actual, final ShardingContexts expected) {
         assertThat(actual.getJobName(), is(expected.getJobName()));
         assertThat(actual.getShardingTotalCount(), is(expected.getShardingTotalCount()));
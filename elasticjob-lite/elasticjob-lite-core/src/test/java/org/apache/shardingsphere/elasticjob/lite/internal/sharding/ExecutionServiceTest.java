@@ -18,15 +18,19 @@
 package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
 
 import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
 import org.apache.shardingsphere.elasticjob.infra.listener.ShardingContexts;
 import org.apache.shardingsphere.elasticjob.lite.internal.config.ConfigurationService;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage;
+import org.apache.shardingsphere.elasticjob.lite.internal.storage.TransactionExecutionCallback;
 import org.apache.shardingsphere.elasticjob.lite.util.ReflectionUtils;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -84,6 +88,33 @@ public final class ExecutionServiceTest {
         assertTrue(JobRegistry.getInstance().isJobRunning("test_job"));
     }
     
+    @Test
+    public void assertRegisterJobBeginWithPerInstanceRunningState() {
+        JobRegistry.getInstance().addJobInstance("test_job", new JobInstance("127.0.0.1@-@0"));
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(true)
+                .setProperty(RunningStateFormat.PROPS_KEY, "PER_INSTANCE").build());
+        executionService.registerJobBegin(getShardingContext());
+        executionService.registerJobBegin(new ShardingContexts("fake_task_id", "test_job", 10, "", Collections.singletonMap(3, "")));
+        verify(jobNodeStorage).fillEphemeralJobNode("running/127.0.0.1@-@0", "Bw==");
+        verify(jobNodeStorage).updateJobNode("running/127.0.0.1@-@0", "Dw==");
+        verify(jobNodeStorage, times(0)).fillEphemeralJobNode("sharding/0/running", "");
+        assertTrue(JobRegistry.getInstance().isJobRunning("test_job"));
+    }
+    
+    @Test
+    public void assertRegisterJobCompletedWithPerInstanceRunningState() {
+        JobRegistry.getInstance().addJobInstance("test_job", new JobInstance("127.0.0.1@-@0"));
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(true)
+                .setProperty(RunningStateFormat.PROPS_KEY, "PER_INSTANCE").build());
+        executionService.registerJobBegin(getShardingContext());
+        executionService.registerJobCompleted(new ShardingContexts("fake_task_id", "test_job", 10, "", Collections.singletonMap(0, "")));
+        verify(jobNodeStorage).updateJobNode("running/127.0.0.1@-@0", "Bg==");
+        executionService.registerJobCompleted(getShardingContext());
+        verify(jobNodeStorage).removeJobNodeIfExisted("running/127.0.0.1@-@0");
+        verify(jobNodeStorage, times(0)).removeJobNodeIfExisted("sharding/0/running");
+        assertFalse(JobRegistry.getInstance().isJobRunning("test_job"));
+    }
+    
     @Test
     public void assertRegisterJobCompletedWithoutMonitorExecution() {
         JobRegistry.getInstance().setJobRunning("test_job", true);
@@ -105,6 +136,62 @@ public final class ExecutionServiceTest {
         assertFalse(JobRegistry.getInstance().isJobRunning("test_job"));
     }
     
+    @Test
+    public void assertRegisterJobCompletedWithHandOff() throws Exception {
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(true).build());
+        when(jobNodeStorage.getJobNodeDataDirectly("sharding/1/handoff")).thenReturn("127.0.0.1@-@1");
+        executionService.registerJobCompleted(getShardingContext());
+        ArgumentCaptor<TransactionExecutionCallback> callback = ArgumentCaptor.forClass(TransactionExecutionCallback.class);
+        verify(jobNodeStorage).executeInTransaction(callback.capture());
+        assertThat(callback.getValue().createTransactionOperations(), is(Arrays.asList(
+                TransactionOperation.opUpdate("/test_job/sharding/1/instance", "127.0.0.1@-@1"), TransactionOperation.opDelete("/test_job/sharding/1/handoff"))));
+    }
+    
+    @Test
+    public void assertRegisterJobCompletedWithCompactAssignmentHandOff() {
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(true).build());
+        when(jobNodeStorage.getJobNodeDataDirectly("assignment")).thenReturn("127.0.0.1@-@0,127.0.0.1@-@1\n0*3\n1:1");
+        when(jobNodeStorage.compareAndSetJobNode("assignment", "127.0.0.1@-@0,127.0.0.1@-@1\n0*3\n1:1", "127.0.0.1@-@0,127.0.0.1@-@1\n0*1,1*1,0*1")).thenReturn(true);
+        executionService.registerJobCompleted(getShardingContext());
+        verify(jobNodeStorage).compareAndSetJobNode("assignment", "127.0.0.1@-@0,127.0.0.1@-@1\n0*3\n1:1", "127.0.0.1@-@0,127.0.0.1@-@1\n0*1,1*1,0*1");
+        verify(jobNodeStorage, times(0)).getJobNodeDataDirectly("sharding/1/handoff");
+        verify(jobNodeStorage, times(0)).executeInTransaction(any());
+    }
+    
+    @Test
+    public void assertRegisterJobCompletedWithCompactAssignmentWithoutHandOff() {
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(true).build());
+        when(jobNodeStorage.getJobNodeDataDirectly("assignment")).thenReturn("127.0.0.1@-@0\n0*3");
+        executionService.registerJobCompleted(getShardingContext());
+        verify(jobNodeStorage, times(0)).compareAndSetJobNode(any(), any(), any());
+        verify(jobNodeStorage, times(0)).getJobNodeDataDirectly("sharding/0/handoff");
+    }
+    
+    @Test
+    public void assertHandOffCompletedItems() throws Exception {
+        when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(true).build());
+        when(jobNodeStorage.isJobNodeExisted("sharding/2/running")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeDataDirectly("sharding/1/handoff")).thenReturn("127.0.0.1@-@1");
+        executionService.handOffCompletedItems(Arrays.asList(1, 2));
+        ArgumentCaptor<TransactionExecutionCallback> callback = ArgumentCaptor.forClass(TransactionExecutionCallback.class);
+        verify(jobNodeStorage).executeInTransaction(callback.capture());
+        assertThat(callback.getValue().createTransactionOperations(), is(Arrays.asList(
+                TransactionOperation.opUpdate("/test_job/sharding/1/instance", "127.0.0.1@-@1"), TransactionOperation.opDelete("/test_job/sharding/1/handoff"))));
+        verify(jobNodeStorage, times(0)).getJobNodeDataDirectly("sharding/2/handoff");
+    }
+    
+    @Test
+    public void assertHandOffCompletedItemsWithPerInstanceRunningState() {
+        when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(true)
+                .setProperty(RunningStateFormat.PROPS_KEY, "PER_INSTANCE").build());
+        when(jobNodeStorage.getJobNodeChildrenKeys("running")).thenReturn(Collections.singletonList("127.0.0.1@-@0"));
+        when(jobNodeStorage.getJobNodeDataDirectly("running/127.0.0.1@-@0")).thenReturn("BA==");
+        executionService.handOffCompletedItems(Arrays.asList(1, 2));
+        verify(jobNodeStorage).getJobNodeDataDirectly("sharding/1/handoff");
+        verify(jobNodeStorage, times(0)).getJobNodeDataDirectly("sharding/2/handoff");
+        verify(jobNodeStorage, times(0)).getJobNodeData("running/127.0.0.1@-@0");
+    }
+    
     @Test
     public void assertClearAllRunningInfo() {
         when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(false).build());
@@ -121,6 +208,22 @@ public final class ExecutionServiceTest {
         verify(jobNodeStorage).removeJobNodeIfExisted("sharding/1/running");
     }
     
+    @Test
+    public void assertClearAllRunningInfoWithPerInstanceRunningStateFromAnotherService() {
+        JobRegistry.getInstance().addJobInstance("test_job", new JobInstance("127.0.0.1@-@0"));
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(true)
+                .setProperty(RunningStateFormat.PROPS_KEY, "PER_INSTANCE").build());
+        executionService.registerJobBegin(getShardingContext());
+        ExecutionService anotherExecutionService = new ExecutionService(null, "test_job");
+        ReflectionUtils.setFieldValue(anotherExecutionService, "jobNodeStorage", jobNodeStorage);
+        ReflectionUtils.setFieldValue(anotherExecutionService, "configService", configService);
+        anotherExecutionService.clearRunningInfo(Collections.singletonList(0));
+        verify(jobNodeStorage).updateJobNode("running/127.0.0.1@-@0", "Bg==");
+        anotherExecutionService.clearAllRunningInfo();
+        verify(jobNodeStorage).removeJobNodeIfExisted("running/127.0.0.1@-@0");
+        assertTrue(JobRegistry.getInstance().getLocalRunningItems("test_job").isEmpty());
+    }
+    
     @Test
     public void assertNotHaveRunningItemsWithoutMonitorExecution() {
         when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(false).build());
@@ -144,6 +247,18 @@ public final class ExecutionServiceTest {
         assertFalse(executionService.hasRunningItems(Arrays.asList(0, 1, 2)));
     }
     
+    @Test
+    public void assertHasRunningItemsWithPerInstanceRunningState() {
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(true)
+                .setProperty(RunningStateFormat.PROPS_KEY, "PER_INSTANCE").build());
+        when(jobNodeStorage.getJobNodeChildrenKeys("running")).thenReturn(Arrays.asList("127.0.0.1@-@0", "127.0.0.1@-@1"));
+        when(jobNodeStorage.getJobNodeData("running/127.0.0.1@-@0")).thenReturn("Ag==");
+        when(jobNodeStorage.getJobNodeData("running/127.0.0.1@-@1")).thenReturn("BA==");
+        assertTrue(executionService.hasRunningItems(Arrays.asList(0, 2)));
+        assertFalse(executionService.hasRunningItems(Collections.singletonList(0)));
+        verify(jobNodeStorage, times(0)).isJobNodeExisted("sharding/0/running");
+    }
+    
     @Test
     public void assertHasRunningItemsForAll() {
         when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").build());
@@ -167,7 +282,8 @@ public final class ExecutionServiceTest {
         when(jobNodeStorage.isJobNodeExisted("sharding/0/running")).thenReturn(false);
         when(jobNodeStorage.isJobNodeExisted("sharding/1/running")).thenReturn(false);
         when(jobNodeStorage.isJobNodeExisted("sharding/2/running")).thenReturn(false);
-        assertFalse(executionService.misfireIfHasRunningItems(Arrays.asList(0, 1, 2)));
+        assertTrue(executionService.misfireIfHasRunningItems(Arrays.asList(0, 1, 2)).isEmpty());
+        verify(jobNodeStorage, times(0)).createJobNodeIfNeeded("sharding/0/misfire");
     }
     
     @Test
@@ -175,7 +291,11 @@ public final class ExecutionServiceTest {
         when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(true).build());
         when(jobNodeStorage.isJobNodeExisted("sharding/0/running")).thenReturn(false);
         when(jobNodeStorage.isJobNodeExisted("sharding/1/running")).thenReturn(true);
-        assertTrue(executionService.misfireIfHasRunningItems(Arrays.asList(0, 1, 2)));
+        when(jobNodeStorage.isJobNodeExisted("sharding/2/running")).thenReturn(false);
+        assertThat(executionService.misfireIfHasRunningItems(Arrays.asList(0, 1, 2)), is(Collections.singletonList(1)));
+        verify(jobNodeStorage).createJobNodeIfNeeded("sharding/1/misfire");
+        verify(jobNodeStorage, times(0)).createJobNodeIfNeeded("sharding/0/misfire");
+        verify(jobNodeStorage, times(0)).createJobNodeIfNeeded("sharding/2/misfire");
     }
     
     @Test
@@ -188,6 +308,7 @@ public final class ExecutionServiceTest {
     
     @Test
     public void assertGetMisfiredJobItems() {
+        when(jobNodeStorage.getJobNodeChildrenKeys("sharding")).thenReturn(Arrays.asList("2", "1", "0"));
         when(jobNodeStorage.isJobNodeExisted("sharding/0/misfire")).thenReturn(true);
         when(jobNodeStorage.isJobNodeExisted("sharding/1/misfire")).thenReturn(true);
         when(jobNodeStorage.isJobNodeExisted("sharding/2/misfire")).thenReturn(false);
@@ -204,12 +325,22 @@ public final class ExecutionServiceTest {
     
     @Test
     public void assertGetDisabledItems() {
+        when(jobNodeStorage.getJobNodeChildrenKeys("sharding")).thenReturn(Arrays.asList("2", "1", "0"));
         when(jobNodeStorage.isJobNodeExisted("sharding/0/disabled")).thenReturn(true);
         when(jobNodeStorage.isJobNodeExisted("sharding/1/disabled")).thenReturn(true);
         when(jobNodeStorage.isJobNodeExisted("sharding/2/disabled")).thenReturn(false);
         assertThat(executionService.getDisabledItems(Arrays.asList(0, 1, 2)), is(Arrays.asList(0, 1)));
     }
     
+    @Test
+    public void assertGetDisabledItemsWithoutShardingItemNodes() {
+        when(jobNodeStorage.getJobNodeChildrenKeys("sharding")).thenReturn(Collections.singletonList("1"));
+        when(jobNodeStorage.isJobNodeExisted("sharding/1/disabled")).thenReturn(true);
+        assertThat(executionService.getDisabledItems(Arrays.asList(0, 1, 2)), is(Collections.singletonList(1)));
+        verify(jobNodeStorage, times(0)).isJobNodeExisted("sharding/0/disabled");
+        verify(jobNodeStorage, times(0)).isJobNodeExisted("sharding/2/disabled");
+    }
+    
     private ShardingContexts getShardingContext() {
         Map<Integer, String> map = new HashMap<>(3, 1);
         map.put(0, "");
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
+
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
+import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobScheduleController;
+import org.apache.shardingsphere.elasticjob.lite.util.ReflectionUtils;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.LeaderExecutionCallback;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class NamespaceShardingCoordinatorTest {
+    
+    private static final String LOCAL_INSTANCE_ID = new JobInstance().getJobInstanceId();
+    
+    @Mock
+    private CoordinatorRegistryCenter regCenter;
+    
+    @Mock
+    private JobScheduleController jobScheduleController;
+    
+    @Mock
+    private ShardingService fooShardingService;
+    
+    @Mock
+    private ShardingService barShardingService;
+    
+    private NamespaceShardingCoordinator coordinator;
+    
+    @Before
+    public void setUp() {
+        coordinator = new NamespaceShardingCoordinator(regCenter);
+        Map<String, ShardingService> shardingServices = new ConcurrentHashMap<>();
+        shardingServices.put("foo_job", fooShardingService);
+        shardingServices.put("bar_job", barShardingService);
+        Map<String, Lock> shardingLocks = new ConcurrentHashMap<>();
+        shardingLocks.put("foo_job", new ReentrantLock());
+        shardingLocks.put("bar_job", new ReentrantLock());
+        ReflectionUtils.setFieldValue(coordinator, "shardingServices", shardingServices);
+        ReflectionUtils.setFieldValue(coordinator, "shardingLocks", shardingLocks);
+        for (String each : Arrays.asList("foo_job", "bar_job")) {
+            JobRegistry.getInstance().registerJob(each, jobScheduleController);
+            JobRegistry.getInstance().addJobInstance(each, new JobInstance("127.0.0.1@-@0", null, "127.0.0.1"));
+        }
+    }
+    
+    @After
+    public void tearDown() {
+        JobRegistry.getInstance().shutdown("foo_job");
+        JobRegistry.getInstance().shutdown("bar_job");
+    }
+    
+    @Test
+    public void assertFindAfterRegisterAndUnregister() {
+        NamespaceShardingCoordinator.register(regCenter, "test_job");
+        assertTrue(NamespaceShardingCoordinator.find(regCenter, "test_job").isPresent());
+        assertFalse(NamespaceShardingCoordinator.find(regCenter, "other_job").isPresent());
+        NamespaceShardingCoordinator.unregister(regCenter, "test_job");
+        assertFalse(NamespaceShardingCoordinator.find(regCenter, "test_job").isPresent());
+    }
+    
+    @Test
+    public void assertUnregisterLastJobWhenNamespaceLeader() {
+        NamespaceShardingCoordinator.register(regCenter, "test_job");
+        when(regCenter.getDirectly(NamespaceShardingCoordinator.LEADER)).thenReturn(LOCAL_INSTANCE_ID);
+        NamespaceShardingCoordinator.unregister(regCenter, "test_job");
+        verify(regCenter).remove(NamespaceShardingCoordinator.LEADER);
+    }
+    
+    @Test
+    public void assertElectLeaderWhenNamespaceLeader() throws Exception {
+        when(regCenter.getDirectly(NamespaceShardingCoordinator.LEADER)).thenReturn(LOCAL_INSTANCE_ID);
+        when(regCenter.isExisted("/foo_job/leader/election/instance")).thenReturn(true);
+        assertTrue(coordinator.electLeader("bar_job"));
+        verify(regCenter).executeInTransaction(Collections.singletonList(TransactionOperation.opAddEphemeral("/bar_job/leader/election/instance", "127.0.0.1@-@0")));
+        verify(regCenter, never()).executeInLeader(any(), any());
+    }
+    
+    @Test
+    public void assertElectLeaderWithoutNamespaceLeader() throws Exception {
+        when(regCenter.getDirectly(NamespaceShardingCoordinator.LEADER)).thenReturn(null, LOCAL_INSTANCE_ID);
+        assertTrue(coordinator.electLeader("foo_job"));
+        verify(regCenter).executeInLeader(eq(NamespaceShardingCoordinator.LATCH), any(LeaderExecutionCallback.class));
+        verify(regCenter).executeInTransaction(argThat(containsInAnyOrder(
+                TransactionOperation.opAddEphemeral("/foo_job/leader/election/instance", "127.0.0.1@-@0"), TransactionOperation.opAddEphemeral("/bar_job/leader/election/instance", "127.0.0.1@-@0"))));
+    }
+    
+    @Test
+    public void assertElectLeaderWhenHostedByOtherNamespaceLeader() throws Exception {
+        when(regCenter.getDirectly(NamespaceShardingCoordinator.LEADER)).thenReturn("192.168.1.1@-@1");
+        when(regCenter.isExisted("/foo_job/instances/192.168.1.1@-@1")).thenReturn(true);
+        assertTrue(coordinator.electLeader("foo_job"));
+        verify(regCenter, never()).executeInTransaction(anyList());
+    }
+    
+    @Test
+    public void assertElectLeaderWhenNotHostedByOtherNamespaceLeader() throws Exception {
+        when(regCenter.getDirectly(NamespaceShardingCoordinator.LEADER)).thenReturn("192.168.1.1@-@1");
+        assertFalse(coordinator.electLeader("foo_job"));
+        verify(regCenter, never()).executeInTransaction(anyList());
+    }
+    
+    @Test
+    public void assertRequestSharding() throws Exception {
+        List<TransactionOperation> fooOperations = Collections.singletonList(TransactionOperation.opDelete("/foo_job/leader/sharding/necessary"));
+        List<TransactionOperation> barOperations = Collections.singletonList(TransactionOperation.opDelete("/bar_job/leader/sharding/necessary"));
+        when(fooShardingService.createShardingOperations()).thenReturn(fooOperations);
+        when(barShardingService.createShardingOperations()).thenReturn(barOperations);
+        coordinator.requestSharding("foo_job");
+        coordinator.requestSharding("bar_job");
+        verify(regCenter, timeout(1000L)).executeInTransaction(argThat(containsInAnyOrder(fooOperations.get(0), barOperations.get(0))));
+    }
+    
+    @Test
+    public void assertShardPendingJobsWhenBatchedTransactionFailure() throws Exception {
+        List<TransactionOperation> fooOperations = Collections.singletonList(TransactionOperation.opDelete("/foo_job/leader/sharding/necessary"));
+        List<TransactionOperation> barOperations = Collections.singletonList(TransactionOperation.opDelete("/bar_job/leader/sharding/necessary"));
+        when(fooShardingService.createShardingOperations()).thenReturn(fooOperations);
+        when(barShardingService.createShardingOperations()).thenReturn(barOperations);
+        doThrow(new IllegalStateException("conflict")).when(regCenter).executeInTransaction(argThat(containsInAnyOrder(fooOperations.get(0), barOperations.get(0))));
+        coordinator.requestSharding("foo_job");
+        coordinator.requestSharding("bar_job");
+        verify(regCenter, timeout(1000L)).executeInTransaction(fooOperations);
+        verify(regCenter, timeout(1000L)).executeInTransaction(barOperations);
+        verify(fooShardingService, timeout(1000L)).handOffCompletedItems();
+        verify(barShardingService, timeout(1000L)).handOffCompletedItems();
+    }
+    
+    private static ArgumentMatcher<List<TransactionOperation>> containsInAnyOrder(final TransactionOperation... expected) {
+        return actual -> null != actual && actual.size() == expected.length && actual.containsAll(Arrays.asList(expected));
+    }
+    
+    @Test
+    public void assertShardingIfNecessary() throws Exception {
+        List<TransactionOperation> fooOperations = Collections.singletonList(TransactionOperation.opDelete("/foo_job/leader/sharding/necessary"));
+        when(fooShardingService.createShardingOperations()).thenReturn(fooOperations);
+        coordinator.shardingIfNecessary("foo_job");
+        verify(fooShardingService).waitingOtherShardingItemCompleted();
+        verify(regCenter).executeInTransaction(fooOperations);
+        verify(fooShardingService).handOffCompletedItems();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
+
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
+import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobScheduleController;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Properties;
+
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class ReshardingDebouncerTest {
+    
+    @Mock
+    private CoordinatorRegistryCenter regCenter;
+    
+    @Mock
+    private JobScheduleController jobScheduleController;
+    
+    @Mock
+    private Runnable reshardingCallback;
+    
+    private final ReshardingDebouncer reshardingDebouncer = new ReshardingDebouncer("test_job");
+    
+    @After
+    public void tearDown() {
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
+    @Test
+    public void assertExecuteWithoutWindow() {
+        reshardingDebouncer.execute(new Properties(), reshardingCallback);
+        verify(reshardingCallback).run();
+    }
+    
+    @Test
+    public void assertExecuteWithInvalidWindow() {
+        reshardingDebouncer.execute(createProperties("-1", null), reshardingCallback);
+        reshardingDebouncer.execute(createProperties("abc", null), reshardingCallback);
+        verify(reshardingCallback, times(2)).run();
+    }
+    
+    @Test
+    public void assertExecuteWithinWindow() {
+        registerJob();
+        Properties props = createProperties("100", null);
+        reshardingDebouncer.execute(props, reshardingCallback);
+        reshardingDebouncer.execute(props, reshardingCallback);
+        reshardingDebouncer.execute(props, reshardingCallback);
+        verify(reshardingCallback, times(0)).run();
+        verify(reshardingCallback, timeout(1000L)).run();
+        verify(reshardingCallback, after(300L).times(1)).run();
+    }
+    
+    @Test
+    public void assertExecuteWithMaxDelay() {
+        registerJob();
+        reshardingDebouncer.execute(createProperties("60000", "100"), reshardingCallback);
+        verify(reshardingCallback, timeout(1000L)).run();
+    }
+    
+    @Test
+    public void assertExecuteAfterShutdown() {
+        reshardingDebouncer.execute(createProperties("100", null), reshardingCallback);
+        verify(reshardingCallback, after(300L).never()).run();
+    }
+    
+    private void registerJob() {
+        JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
+        JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
+        JobRegistry.getInstance().addJobInstance("test_job", new JobInstance("127.0.0.1@-@0"));
+    }
+    
+    private Properties createProperties(final String window, final String maxDelay) {
+        Properties result = new Properties();
+        result.setProperty(ReshardingDebouncer.WINDOW_PROPS_KEY, window);
+        if (null != maxDelay) {
+            result.setProperty(ReshardingDebouncer.MAX_DELAY_PROPS_KEY, maxDelay);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class ShardingAssignmentCodecTest {
+    
+    @Test
+    public void assertEncode() {
+        Map<Integer, String> assignment = new HashMap<>();
+        assignment.put(0, "host0@-@0");
+        assignment.put(1, "host0@-@0");
+        assignment.put(2, "host1@-@0");
+        assignment.put(4, "host0@-@0");
+        assertThat(ShardingAssignmentCodec.encode(assignment, 6), is("host0@-@0,host1@-@0\n0*2,1*1,-1*1,0*1,-1*1"));
+    }
+    
+    @Test
+    public void assertEncodeWithoutAssignment() {
+        assertThat(ShardingAssignmentCodec.encode(Collections.emptyMap(), 0), is("\n"));
+    }
+    
+    @Test
+    public void assertDecode() {
+        Map<Integer, String> expected = new HashMap<>();
+        expected.put(0, "host0@-@0");
+        expected.put(1, "host0@-@0");
+        expected.put(2, "host1@-@0");
+        expected.put(4, "host0@-@0");
+        assertThat(ShardingAssignmentCodec.decode("host0@-@0,host1@-@0\n0*2,1*1,-1*1,0*1,-1*1"), is(expected));
+    }
+    
+    @Test
+    public void assertDecodeWithoutAssignment() {
+        assertThat(ShardingAssignmentCodec.decode("\n"), is(Collections.<Integer, String>emptyMap()));
+    }
+    
+    @Test
+    public void assertEncodeWithHandOffs() {
+        Map<Integer, String> assignment = new HashMap<>();
+        assignment.put(0, "host0@-@0");
+        assignment.put(1, "host0@-@0");
+        Map<Integer, String> handOffs = new HashMap<>();
+        handOffs.put(1, "host1@-@0");
+        handOffs.put(2, "host0@-@0");
+        assertThat(ShardingAssignmentCodec.encode(assignment, handOffs, 2), is("host0@-@0,host1@-@0\n0*2\n1:1"));
+    }
+    
+    @Test
+    public void assertDecodeWithHandOffs() {
+        Map<Integer, String> expectedAssignment = new HashMap<>();
+        expectedAssignment.put(0, "host0@-@0");
+        expectedAssignment.put(1, "host0@-@0");
+        assertThat(ShardingAssignmentCodec.decode("host0@-@0,host1@-@0\n0*2\n1:1"), is(expectedAssignment));
+        assertThat(ShardingAssignmentCodec.decodeHandOffs("host0@-@0,host1@-@0\n0*2\n1:1"), is(Collections.singletonMap(1, "host1@-@0")));
+    }
+    
+    @Test
+    public void assertDecodeHandOffsWithoutHandOffs() {
+        assertThat(ShardingAssignmentCodec.decodeHandOffs("host0@-@0\n0*2"), is(Collections.<Integer, String>emptyMap()));
+    }
+    
+    @Test
+    public void assertEncodeAndDecodeLargeAssignment() {
+        Map<Integer, String> assignment = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            assignment.put(i, "host" + i % 10 + "@-@0");
+        }
+        assertThat(ShardingAssignmentCodec.decode(ShardingAssignmentCodec.encode(assignment, 100000)), is(assignment));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class ShardingItemsBitmapTest {
+    
+    @Test
+    public void assertEncode() {
+        assertThat(ShardingItemsBitmap.encode(Arrays.asList(0, 1, 2)), is("Bw=="));
+    }
+    
+    @Test
+    public void assertEncodeWithoutItems() {
+        assertThat(ShardingItemsBitmap.encode(Collections.emptyList()), is(""));
+    }
+    
+    @Test
+    public void assertDecode() {
+        BitSet expected = new BitSet();
+        expected.set(0, 3);
+        assertThat(ShardingItemsBitmap.decode("Bw=="), is(expected));
+    }
+    
+    @Test
+    public void assertDecodeWithoutData() {
+        assertThat(ShardingItemsBitmap.decode(null), is(new BitSet()));
+        assertThat(ShardingItemsBitmap.decode(""), is(new BitSet()));
+    }
+    
+    @Test
+    public void assertEncodeAndDecodeLargeItems() {
+        BitSet expected = new BitSet();
+        expected.set(0, 500);
+        expected.clear(250);
+        expected.set(9999);
+        assertThat(ShardingItemsBitmap.decode(ShardingItemsBitmap.encode(expected.stream().boxed().collect(Collectors.toList()))), is(expected));
+    }
+}
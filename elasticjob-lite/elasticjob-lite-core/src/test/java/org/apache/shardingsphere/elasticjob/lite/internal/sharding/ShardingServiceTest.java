@@ -17,10 +17,6 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.sharding;
 
-import org.apache.curator.framework.api.transaction.CuratorOp;
-import org.apache.curator.framework.api.transaction.TransactionCreateBuilder;
-import org.apache.curator.framework.api.transaction.TransactionDeleteBuilder;
-import org.apache.curator.framework.api.transaction.TransactionOp;
 import org.apache.shardingsphere.elasticjob.api.JobConfiguration;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
 import org.apache.shardingsphere.elasticjob.lite.internal.config.ConfigurationService;
@@ -34,6 +30,7 @@ import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodeStorage
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.TransactionExecutionCallback;
 import org.apache.shardingsphere.elasticjob.lite.util.ReflectionUtils;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -51,7 +48,6 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -145,6 +141,7 @@ public final class ShardingServiceTest {
         when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
         when(leaderService.isLeaderUntilBlock()).thenReturn(true);
         when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(true).build());
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(true).build());
         when(executionService.hasRunningItems()).thenReturn(true, false);
         when(jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT)).thenReturn(Arrays.asList("0", "1"));
         shardingService.shardingIfNecessary();
@@ -165,6 +162,7 @@ public final class ShardingServiceTest {
         when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
         when(leaderService.isLeaderUntilBlock()).thenReturn(true);
         when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(false).build());
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").monitorExecution(false).build());
         when(jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT)).thenReturn(Arrays.asList("0", "1", "2", "3"));
         shardingService.shardingIfNecessary();
         verify(jobNodeStorage).removeJobNodeIfExisted("sharding/0/instance");
@@ -179,6 +177,178 @@ public final class ShardingServiceTest {
         verify(jobNodeStorage).executeInTransaction(any(TransactionExecutionCallback.class));
     }
     
+    @Test
+    public void assertCreateShardingOperationsWithRunningItems() {
+        when(instanceService.getAvailableJobInstances()).thenReturn(Collections.singletonList(new JobInstance("127.0.0.1@-@0")));
+        when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
+        when(leaderService.isLeader()).thenReturn(true);
+        when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 2).cron("0/1 * * * * ?").build());
+        when(executionService.hasRunningItems()).thenReturn(true);
+        assertTrue(shardingService.createShardingOperations().isEmpty());
+    }
+    
+    @Test
+    public void assertCreateShardingOperations() {
+        when(instanceService.getAvailableJobInstances()).thenReturn(Collections.singletonList(new JobInstance("127.0.0.1@-@0")));
+        when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
+        when(leaderService.isLeader()).thenReturn(true);
+        when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 2).cron("0/1 * * * * ?").build());
+        when(jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT)).thenReturn(Arrays.asList("0", "1", "2"));
+        when(jobNodeStorage.isJobNodeExisted("sharding/0")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExisted("sharding/0/instance")).thenReturn(true);
+        assertThat(shardingService.createShardingOperations(), is(Arrays.asList(
+                TransactionOperation.opDelete("/test_job/sharding/0/instance"),
+                TransactionOperation.opAdd("/test_job/sharding/0/instance", "127.0.0.1@-@0"),
+                TransactionOperation.opAdd("/test_job/sharding/1/instance", "127.0.0.1@-@0"),
+                TransactionOperation.opDelete("/test_job/leader/sharding/necessary"))));
+        verify(jobNodeStorage).createJobNodeIfNeeded("sharding/1");
+        verify(jobNodeStorage).removeJobNodeIfExisted("sharding/2");
+    }
+    
+    @Test
+    public void assertCreateShardingOperationsWithPreviousAssignment() {
+        when(instanceService.getAvailableJobInstances()).thenReturn(Arrays.asList(new JobInstance("127.0.0.1@-@0"), new JobInstance("127.0.0.1@-@2")));
+        when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
+        when(leaderService.isLeader()).thenReturn(true);
+        when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 2).cron("0/1 * * * * ?").jobShardingStrategyType("STICKY").build());
+        when(jobNodeStorage.getJobNodeData("sharding/0/instance")).thenReturn("127.0.0.1@-@1");
+        when(jobNodeStorage.getJobNodeData("sharding/1/instance")).thenReturn("127.0.0.1@-@0");
+        when(jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT)).thenReturn(Arrays.asList("0", "1"));
+        when(jobNodeStorage.isJobNodeExisted("sharding/0")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExisted("sharding/1")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExisted("sharding/0/instance")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExisted("sharding/1/instance")).thenReturn(true);
+        assertThat(shardingService.createShardingOperations(), is(Arrays.asList(
+                TransactionOperation.opDelete("/test_job/sharding/0/instance"),
+                TransactionOperation.opDelete("/test_job/sharding/1/instance"),
+                TransactionOperation.opAdd("/test_job/sharding/1/instance", "127.0.0.1@-@0"),
+                TransactionOperation.opAdd("/test_job/sharding/0/instance", "127.0.0.1@-@2"),
+                TransactionOperation.opDelete("/test_job/leader/sharding/necessary"))));
+    }
+    
+    @Test
+    public void assertShardingIncrementally() {
+        when(instanceService.getAvailableJobInstances()).thenReturn(Arrays.asList(new JobInstance("127.0.0.1@-@0"), new JobInstance("127.0.0.1@-@1")));
+        when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
+        when(leaderService.isLeaderUntilBlock()).thenReturn(true);
+        JobConfiguration jobConfig = JobConfiguration.newBuilder("test_job", 2).cron("0/1 * * * * ?").setProperty(ReshardingMode.PROPS_KEY, "INCREMENTAL").build();
+        when(configService.load(true)).thenReturn(jobConfig);
+        when(configService.load(false)).thenReturn(jobConfig);
+        when(jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT)).thenReturn(Arrays.asList("0", "1"));
+        shardingService.shardingIfNecessary();
+        verify(executionService, times(0)).hasRunningItems();
+        verify(jobNodeStorage, times(0)).removeJobNodeIfExisted("sharding/0/instance");
+        verify(jobNodeStorage).fillEphemeralJobNode("leader/sharding/processing", "");
+        verify(jobNodeStorage).executeInTransaction(any(ShardingService.PersistHandOffTransactionExecutionCallback.class));
+    }
+    
+    @Test
+    public void assertCreateShardingOperationsIncrementallyWithRunningItem() {
+        when(instanceService.getAvailableJobInstances()).thenReturn(Arrays.asList(new JobInstance("127.0.0.1@-@0"), new JobInstance("127.0.0.1@-@1")));
+        when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
+        when(leaderService.isLeader()).thenReturn(true);
+        when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 2).cron("0/1 * * * * ?").setProperty(ReshardingMode.PROPS_KEY, "INCREMENTAL").build());
+        when(jobNodeStorage.getJobNodeData("sharding/0/instance")).thenReturn("127.0.0.1@-@0");
+        when(jobNodeStorage.getJobNodeData("sharding/1/instance")).thenReturn("127.0.0.1@-@0");
+        when(jobNodeStorage.isJobNodeExisted("sharding/0")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExisted("sharding/1")).thenReturn(true);
+        when(executionService.hasRunningItems(Collections.singletonList(1))).thenReturn(true);
+        assertThat(shardingService.createShardingOperations(), is(Arrays.asList(
+                TransactionOperation.opAdd("/test_job/sharding/1/handoff", "127.0.0.1@-@1"),
+                TransactionOperation.opDelete("/test_job/leader/sharding/necessary"))));
+        verify(executionService, times(0)).hasRunningItems();
+        shardingService.handOffCompletedItems();
+        verify(executionService).handOffCompletedItems(Collections.singletonList(1));
+        shardingService.handOffCompletedItems();
+        verify(executionService, times(1)).handOffCompletedItems(any());
+    }
+    
+    @Test
+    public void assertCreateShardingOperationsIncrementallyWithoutRunningItem() {
+        when(instanceService.getAvailableJobInstances()).thenReturn(Arrays.asList(new JobInstance("127.0.0.1@-@0"), new JobInstance("127.0.0.1@-@1")));
+        when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
+        when(leaderService.isLeader()).thenReturn(true);
+        when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 2).cron("0/1 * * * * ?").setProperty(ReshardingMode.PROPS_KEY, "INCREMENTAL").build());
+        when(jobNodeStorage.getJobNodeData("sharding/0/instance")).thenReturn("127.0.0.1@-@0");
+        when(jobNodeStorage.getJobNodeData("sharding/1/instance")).thenReturn("127.0.0.1@-@0");
+        when(jobNodeStorage.getJobNodeChildrenKeys("sharding/0")).thenReturn(Collections.singletonList("handoff"));
+        when(jobNodeStorage.getJobNodeChildrenKeys("sharding/1")).thenReturn(Collections.singletonList("instance"));
+        assertThat(shardingService.createShardingOperations(), is(Arrays.asList(
+                TransactionOperation.opDelete("/test_job/sharding/0/handoff"),
+                TransactionOperation.opUpdate("/test_job/sharding/1/instance", "127.0.0.1@-@1"),
+                TransactionOperation.opDelete("/test_job/leader/sharding/necessary"))));
+        verify(jobNodeStorage).createJobNodeIfNeeded("sharding/0");
+        verify(jobNodeStorage).createJobNodeIfNeeded("sharding/1");
+    }
+    
+    @Test
+    public void assertShardingWithCompactFormat() {
+        when(instanceService.getAvailableJobInstances()).thenReturn(Collections.singletonList(new JobInstance("127.0.0.1@-@0")));
+        when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
+        when(leaderService.isLeaderUntilBlock()).thenReturn(true);
+        JobConfiguration jobConfig = JobConfiguration.newBuilder("test_job", 2).cron("0/1 * * * * ?").setProperty(ShardingAssignmentFormat.PROPS_KEY, "COMPACT").build();
+        when(configService.load(true)).thenReturn(jobConfig);
+        when(configService.load(false)).thenReturn(jobConfig);
+        when(jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT)).thenReturn(Arrays.asList("5", "1"));
+        shardingService.shardingIfNecessary();
+        verify(jobNodeStorage).removeJobNodeIfExisted("sharding/5");
+        verify(jobNodeStorage, times(0)).removeJobNodeIfExisted("sharding/1");
+        verify(jobNodeStorage, times(0)).createJobNodeIfNeeded("sharding/0");
+        verify(jobNodeStorage, times(0)).removeJobNodeIfExisted("sharding/0/instance");
+        verify(jobNodeStorage).executeInTransaction(any(ShardingService.PersistCompactShardingInfoTransactionExecutionCallback.class));
+    }
+    
+    @Test
+    public void assertCreateShardingOperationsWithCompactFormat() {
+        when(instanceService.getAvailableJobInstances()).thenReturn(Collections.singletonList(new JobInstance("127.0.0.1@-@0")));
+        when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
+        when(leaderService.isLeader()).thenReturn(true);
+        when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 2).cron("0/1 * * * * ?").setProperty(ShardingAssignmentFormat.PROPS_KEY, "COMPACT").build());
+        when(jobNodeStorage.getJobNodeData("sharding/0/instance")).thenReturn("127.0.0.1@-@1");
+        when(jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT)).thenReturn(Collections.singletonList("0"));
+        when(jobNodeStorage.getJobNodeChildrenKeys("sharding/0")).thenReturn(Arrays.asList("instance", "handoff"));
+        assertThat(shardingService.createShardingOperations(), is(Arrays.asList(
+                TransactionOperation.opDelete("/test_job/sharding/0/instance"),
+                TransactionOperation.opDelete("/test_job/sharding/0/handoff"),
+                TransactionOperation.opAdd("/test_job/assignment", "127.0.0.1@-@0\n0*2"),
+                TransactionOperation.opDelete("/test_job/leader/sharding/necessary"))));
+        verify(jobNodeStorage, times(0)).createJobNodeIfNeeded(any());
+        verify(jobNodeStorage, times(0)).getJobNodeChildrenKeys("sharding/1");
+    }
+    
+    @Test
+    public void assertCreateShardingOperationsIncrementallyWithCompactFormatAndRunningItem() {
+        when(instanceService.getAvailableJobInstances()).thenReturn(Arrays.asList(new JobInstance("127.0.0.1@-@0"), new JobInstance("127.0.0.1@-@1")));
+        when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
+        when(leaderService.isLeader()).thenReturn(true);
+        when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 2).cron("0/1 * * * * ?")
+                .setProperty(ReshardingMode.PROPS_KEY, "INCREMENTAL").setProperty(ShardingAssignmentFormat.PROPS_KEY, "COMPACT").build());
+        when(jobNodeStorage.getJobNodeData("assignment")).thenReturn("127.0.0.1@-@0\n0*2");
+        when(jobNodeStorage.isJobNodeExisted("assignment")).thenReturn(true);
+        when(executionService.hasRunningItems(Collections.singletonList(1))).thenReturn(true);
+        assertThat(shardingService.createShardingOperations(), is(Arrays.asList(
+                TransactionOperation.opUpdate("/test_job/assignment", "127.0.0.1@-@0,127.0.0.1@-@1\n0*2\n1:1"),
+                TransactionOperation.opDelete("/test_job/leader/sharding/necessary"))));
+        verify(jobNodeStorage, times(0)).createJobNodeIfNeeded(any());
+        verify(jobNodeStorage, times(0)).getJobNodeChildrenKeys("sharding/0");
+        verify(jobNodeStorage, times(0)).getJobNodeChildrenKeys("sharding/1");
+    }
+    
+    @Test
+    public void assertCreateShardingOperationsMigrateFromCompactFormat() {
+        when(instanceService.getAvailableJobInstances()).thenReturn(Collections.singletonList(new JobInstance("127.0.0.1@-@0")));
+        when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
+        when(leaderService.isLeader()).thenReturn(true);
+        when(configService.load(false)).thenReturn(JobConfiguration.newBuilder("test_job", 1).cron("0/1 * * * * ?").build());
+        when(jobNodeStorage.getJobNodeData("assignment")).thenReturn("127.0.0.1@-@1\n0*1");
+        when(jobNodeStorage.isJobNodeExisted("assignment")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExisted("sharding/0")).thenReturn(true);
+        assertThat(shardingService.createShardingOperations(), is(Arrays.asList(
+                TransactionOperation.opAdd("/test_job/sharding/0/instance", "127.0.0.1@-@0"),
+                TransactionOperation.opDelete("/test_job/assignment"),
+                TransactionOperation.opDelete("/test_job/leader/sharding/necessary"))));
+    }
+    
     @Test
     public void assertGetShardingItemsWithNotAvailableServer() {
         when(jobNodeStorage.getJobNodeData("instances/127.0.0.1@-@0")).thenReturn("jobInstanceId: 127.0.0.1@-@0\nserverIp: 127.0.0.1\n");
@@ -199,6 +369,15 @@ public final class ShardingServiceTest {
         JobRegistry.getInstance().shutdown("test_job");
     }
     
+    @Test
+    public void assertGetShardingItemsWithCompactAssignment() {
+        when(serverService.isAvailableServer("127.0.0.1")).thenReturn(true);
+        when(configService.load(true)).thenReturn(JobConfiguration.newBuilder("test_job", 3).cron("0/1 * * * * ?").build());
+        when(jobNodeStorage.getJobNodeData("assignment")).thenReturn("127.0.0.1@-@0,127.0.0.1@-@1\n0*1,1*1,0*2");
+        when(jobNodeStorage.getJobNodeData("instances/127.0.0.1@-@0")).thenReturn("jobInstanceId: 127.0.0.1@-@0\nserverIp: 127.0.0.1\n");
+        assertThat(shardingService.getShardingItems("127.0.0.1@-@0"), is(Arrays.asList(0, 2)));
+    }
+    
     @Test
     public void assertGetLocalShardingItemsWithInstanceShutdown() {
         assertThat(shardingService.getLocalShardingItems(), is(Collections.<Integer>emptyList()));
@@ -246,35 +425,17 @@ public final class ShardingServiceTest {
         assertFalse(shardingService.hasShardingInfoInOfflineServers());
     }
     
-    @SuppressWarnings("unchecked")
     @Test
-    public void assertPersistShardingInfoTransactionExecutionCallback() throws Exception {
-        TransactionOp transactionOp = mock(TransactionOp.class);
-        TransactionCreateBuilder transactionCreateBuilder0 = mock(TransactionCreateBuilder.class);
-        TransactionCreateBuilder transactionCreateBuilder1 = mock(TransactionCreateBuilder.class);
-        TransactionCreateBuilder transactionCreateBuilder2 = mock(TransactionCreateBuilder.class);
-        when(transactionOp.create()).thenReturn(transactionCreateBuilder0, transactionCreateBuilder1, transactionCreateBuilder2);
-        CuratorOp createOp0 = mock(CuratorOp.class);
-        CuratorOp createOp1 = mock(CuratorOp.class);
-        CuratorOp createOp2 = mock(CuratorOp.class);
-        when(transactionCreateBuilder0.forPath("/test_job/sharding/0/instance", "host0@-@0".getBytes())).thenReturn(createOp0);
-        when(transactionCreateBuilder1.forPath("/test_job/sharding/1/instance", "host0@-@0".getBytes())).thenReturn(createOp1);
-        when(transactionCreateBuilder2.forPath("/test_job/sharding/2/instance", "host0@-@0".getBytes())).thenReturn(createOp2);
-        TransactionDeleteBuilder transactionNecessaryDeleteBuilder = mock(TransactionDeleteBuilder.class);
-        TransactionDeleteBuilder transactionProcessingDeleteBuilder = mock(TransactionDeleteBuilder.class);
-        when(transactionOp.delete()).thenReturn(transactionNecessaryDeleteBuilder, transactionProcessingDeleteBuilder);
-        CuratorOp necessaryDeleteOp = mock(CuratorOp.class);
-        when(transactionNecessaryDeleteBuilder.forPath("/test_job/leader/sharding/necessary")).thenReturn(necessaryDeleteOp);
-        CuratorOp processingDeleteOp = mock(CuratorOp.class);
-        when(transactionProcessingDeleteBuilder.forPath("/test_job/leader/sharding/processing")).thenReturn(processingDeleteOp);
+    public void assertPersistShardingInfoTransactionExecutionCallback() {
         Map<JobInstance, List<Integer>> shardingResult = new HashMap<>();
         shardingResult.put(new JobInstance("host0@-@0"), Arrays.asList(0, 1, 2));
         ShardingService.PersistShardingInfoTransactionExecutionCallback actual = shardingService.new PersistShardingInfoTransactionExecutionCallback(shardingResult);
-        assertThat(actual.createCuratorOperators(transactionOp), is(Arrays.asList(createOp0, createOp1, createOp2, necessaryDeleteOp, processingDeleteOp)));
-        verify(transactionOp, times(3)).create();
-        verify(transactionOp, times(2)).delete();
+        assertThat(actual.createTransactionOperations(), is(Arrays.asList(
+                TransactionOperation.opAdd("/test_job/sharding/0/instance", "host0@-@0"), TransactionOperation.opAdd("/test_job/sharding/1/instance", "host0@-@0"),
+                TransactionOperation.opAdd("/test_job/sharding/2/instance", "host0@-@0"),
+                TransactionOperation.opDelete("/test_job/leader/sharding/necessary"), TransactionOperation.opDelete("/test_job/leader/sharding/processing"))));
     }
-
+    
     @Test
     public void assertGetCrashedShardingItemsWithNotEnableServer() {
         assertThat(shardingService.getCrashedShardingItems("127.0.0.1@-@0"), is(Collections.<Integer>emptyList()));
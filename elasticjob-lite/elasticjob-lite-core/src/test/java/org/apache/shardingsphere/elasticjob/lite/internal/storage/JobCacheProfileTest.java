@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.storage;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class JobCacheProfileTest {
+    
+    @Test
+    public void assertIsValueCachedWithFullProfile() {
+        assertTrue(JobCacheProfile.FULL.isValueCached("test_job", "/test_job/sharding/0/running"));
+    }
+    
+    @Test
+    public void assertIsValueCachedWithSelectiveProfile() {
+        assertTrue(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/config"));
+        assertTrue(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/servers/127.0.0.1"));
+        assertTrue(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/instances/127.0.0.1@-@0"));
+        assertTrue(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/leader/election/instance"));
+        assertTrue(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/leader/sharding/necessary"));
+        assertTrue(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/leader/sharding/processing"));
+        assertTrue(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/leader/failover/items/0"));
+        assertTrue(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/sharding/0/instance"));
+        assertTrue(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/assignment"));
+        assertTrue(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/running/127.0.0.1@-@0"));
+        assertFalse(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/sharding/0/running"));
+        assertFalse(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/sharding/0/failover"));
+        assertFalse(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/leader/failover/latch"));
+        assertFalse(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/guarantee/started/0"));
+        assertFalse(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/test_job/trigger/127.0.0.1@-@0"));
+        assertFalse(JobCacheProfile.SELECTIVE.isValueCached("test_job", "/other_job/config"));
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.storage;
+
+import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
+import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
+import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobScheduleController;
+import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEventListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public final class JobDataListenerDispatcherTest {
+    
+    private final JobDataListenerDispatcher dispatcher = new JobDataListenerDispatcher("test_job");
+    
+    @Before
+    public void setUp() {
+        JobRegistry.getInstance().registerJob("test_job", mock(JobScheduleController.class));
+        JobRegistry.getInstance().addJobInstance("test_job", new JobInstance("127.0.0.1@-@0"));
+    }
+    
+    @After
+    public void tearDown() {
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
+    @Test
+    public void assertGetDispatcher() {
+        CoordinatorRegistryCenter regCenter = mock(CoordinatorRegistryCenter.class);
+        JobDataListenerDispatcher actual = JobDataListenerDispatcher.getDispatcher(regCenter, "test_job");
+        assertThat(JobDataListenerDispatcher.getDispatcher(regCenter, "test_job"), is(actual));
+        assertThat(JobDataListenerDispatcher.getDispatcher(regCenter, "test_job_other"), not(actual));
+        assertThat(JobDataListenerDispatcher.getDispatcher(mock(CoordinatorRegistryCenter.class), "test_job"), not(actual));
+        verify(regCenter).watch("/test_job", actual);
+    }
+    
+    @Test
+    public void assertRemoveDispatcher() {
+        CoordinatorRegistryCenter regCenter = mock(CoordinatorRegistryCenter.class);
+        JobDataListenerDispatcher removed = JobDataListenerDispatcher.getDispatcher(regCenter, "test_job");
+        JobDataListenerDispatcher.removeDispatcher(regCenter, "test_job");
+        JobDataListenerDispatcher actual = JobDataListenerDispatcher.getDispatcher(regCenter, "test_job");
+        assertThat(actual, not(removed));
+        verify(regCenter).watch("/test_job", actual);
+    }
+    
+    @Test
+    public void assertEventDispatchedToInterestedListeners() {
+        DataChangedEventListener configListener = mock(DataChangedEventListener.class);
+        DataChangedEventListener instancesListener = mock(DataChangedEventListener.class);
+        DataChangedEventListener allNodesListener = mock(DataChangedEventListener.class);
+        dispatcher.register(configListener, "config");
+        dispatcher.register(instancesListener, "instances", "servers");
+        dispatcher.register(allNodesListener);
+        DataChangedEvent configEvent = new DataChangedEvent(Type.UPDATED, "/test_job/config", "");
+        DataChangedEvent serverEvent = new DataChangedEvent(Type.ADDED, "/test_job/servers/127.0.0.1", "");
+        dispatcher.onChange(configEvent);
+        dispatcher.onChange(serverEvent);
+        verify(configListener, timeout(1000L)).onChange(configEvent);
+        verify(instancesListener, timeout(1000L)).onChange(serverEvent);
+        verify(allNodesListener, timeout(1000L)).onChange(configEvent);
+        verify(allNodesListener, timeout(1000L)).onChange(serverEvent);
+        verify(configListener, never()).onChange(serverEvent);
+        verify(instancesListener, never()).onChange(configEvent);
+    }
+    
+    @Test
+    public void assertEventNotDispatchedWithoutInterestedListeners() {
+        DataChangedEventListener configListener = mock(DataChangedEventListener.class);
+        dispatcher.register(configListener, "config");
+        DataChangedEvent runningEvent = new DataChangedEvent(Type.ADDED, "/test_job/sharding/0/running", "");
+        DataChangedEvent otherJobEvent = new DataChangedEvent(Type.ADDED, "/test_job_other/config", "");
+        dispatcher.onChange(runningEvent);
+        dispatcher.onChange(otherJobEvent);
+        DataChangedEvent configEvent = new DataChangedEvent(Type.DELETED, "/test_job/config", "");
+        dispatcher.onChange(configEvent);
+        verify(configListener, timeout(1000L)).onChange(configEvent);
+        verify(configListener, never()).onChange(runningEvent);
+        verify(configListener, never()).onChange(otherJobEvent);
+    }
+    
+    @Test
+    public void assertPendingUpdatesCoalescedByPath() throws InterruptedException {
+        CountDownLatch blockingLatch = new CountDownLatch(1);
+        List<DataChangedEvent> actual = new CopyOnWriteArrayList<>();
+        dispatcher.register(event -> {
+            awaitQuietly(blockingLatch);
+            actual.add(event);
+        });
+        DataChangedEvent blockingEvent = new DataChangedEvent(Type.UPDATED, "/test_job/config", "");
+        dispatcher.onChange(blockingEvent);
+        DataChangedEvent addedEvent = new DataChangedEvent(Type.ADDED, "/test_job/servers/127.0.0.1", "");
+        dispatcher.onChange(addedEvent);
+        dispatcher.onChange(new DataChangedEvent(Type.UPDATED, "/test_job/servers/127.0.0.1", ""));
+        DataChangedEvent otherEvent = new DataChangedEvent(Type.ADDED, "/test_job/instances/127.0.0.1@-@0", "");
+        dispatcher.onChange(otherEvent);
+        DataChangedEvent updatedEvent = new DataChangedEvent(Type.UPDATED, "/test_job/servers/127.0.0.1", "DISABLED");
+        dispatcher.onChange(updatedEvent);
+        blockingLatch.countDown();
+        awaitEvents(actual, 4);
+        assertThat(actual, is(Arrays.asList(blockingEvent, addedEvent, otherEvent, updatedEvent)));
+    }
+    
+    @Test
+    public void assertPendingAddedAndDeletedEventsNotCoalesced() throws InterruptedException {
+        CountDownLatch blockingLatch = new CountDownLatch(1);
+        List<DataChangedEvent> actual = new CopyOnWriteArrayList<>();
+        dispatcher.register(event -> {
+            awaitQuietly(blockingLatch);
+            actual.add(event);
+        });
+        DataChangedEvent blockingEvent = new DataChangedEvent(Type.UPDATED, "/test_job/config", "");
+        dispatcher.onChange(blockingEvent);
+        DataChangedEvent firstUpdatedEvent = new DataChangedEvent(Type.UPDATED, "/test_job/sharding/0/instance", "127.0.0.1@-@0");
+        DataChangedEvent deletedEvent = new DataChangedEvent(Type.DELETED, "/test_job/sharding/0/instance", "");
+        DataChangedEvent addedEvent = new DataChangedEvent(Type.ADDED, "/test_job/sharding/0/instance", "127.0.0.1@-@1");
+        DataChangedEvent secondUpdatedEvent = new DataChangedEvent(Type.UPDATED, "/test_job/sharding/0/instance", "127.0.0.1@-@2");
+        dispatcher.onChange(firstUpdatedEvent);
+        dispatcher.onChange(deletedEvent);
+        dispatcher.onChange(addedEvent);
+        dispatcher.onChange(secondUpdatedEvent);
+        blockingLatch.countDown();
+        awaitEvents(actual, 5);
+        assertThat(actual, is(Arrays.asList(blockingEvent, firstUpdatedEvent, deletedEvent, addedEvent, secondUpdatedEvent)));
+    }
+    
+    @Test
+    public void assertEventNotDispatchedAfterJobShutdown() {
+        DataChangedEventListener listener = mock(DataChangedEventListener.class);
+        dispatcher.register(listener);
+        JobRegistry.getInstance().shutdown("test_job");
+        dispatcher.onChange(new DataChangedEvent(Type.UPDATED, "/test_job/config", ""));
+        verify(listener, after(500L).never()).onChange(any());
+    }
+    
+    @Test
+    public void assertRemoveDispatcherWaitForDeliveringEvent() throws InterruptedException {
+        CoordinatorRegistryCenter regCenter = mock(CoordinatorRegistryCenter.class);
+        JobDataListenerDispatcher actual = JobDataListenerDispatcher.getDispatcher(regCenter, "test_job");
+        CountDownLatch deliveringLatch = new CountDownLatch(1);
+        AtomicBoolean delivered = new AtomicBoolean();
+        actual.register(event -> {
+            deliveringLatch.countDown();
+            sleepQuietly(200L);
+            delivered.set(true);
+        });
+        actual.onChange(new DataChangedEvent(Type.UPDATED, "/test_job/config", ""));
+        assertTrue(deliveringLatch.await(1000L, TimeUnit.MILLISECONDS));
+        JobDataListenerDispatcher.removeDispatcher(regCenter, "test_job");
+        assertTrue(delivered.get());
+    }
+    
+    private void awaitEvents(final List<DataChangedEvent> events, final int expectedSize) throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        while (events.size() < expectedSize && System.currentTimeMillis() - startTime < 5000L) {
+            Thread.sleep(10L);
+        }
+        Thread.sleep(50L);
+    }
+    
+    @Test
+    public void assertAwaitWokenUpByInterestedEvent() {
+        AtomicBoolean leaderElected = new AtomicBoolean();
+        Executors.newSingleThreadScheduledExecutor().schedule(() -> {
+            leaderElected.set(true);
+            dispatcher.onChange(new DataChangedEvent(Type.ADDED, "/test_job/leader/election/instance", "127.0.0.1@-@0"));
+        }, 100L, TimeUnit.MILLISECONDS);
+        long startTime = System.currentTimeMillis();
+        assertTrue(dispatcher.await(leaderElected::get, 10000L, "leader/election/instance"));
+        assertTrue(System.currentTimeMillis() - startTime < 5000L);
+    }
+    
+    @Test
+    public void assertAwaitTimeoutWithoutInterestedEvent() {
+        dispatcher.onChange(new DataChangedEvent(Type.ADDED, "/test_job/sharding/0/running", ""));
+        assertFalse(dispatcher.await(() -> false, 100L, "leader/election/instance"));
+    }
+    
+    private void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void sleepQuietly(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
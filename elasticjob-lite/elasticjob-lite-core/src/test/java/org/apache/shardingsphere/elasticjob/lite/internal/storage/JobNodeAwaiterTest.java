@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.storage;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class JobNodeAwaiterTest {
+    
+    private final JobNodeAwaiter awaiter = new JobNodeAwaiter(Collections.singletonList("sharding"));
+    
+    @Test
+    public void assertIsInterested() {
+        assertTrue(awaiter.isInterested("sharding"));
+        assertFalse(awaiter.isInterested("leader"));
+    }
+    
+    @Test
+    public void assertAwaitWhenConditionSatisfied() {
+        assertTrue(awaiter.await(() -> true, 0L));
+    }
+    
+    @Test
+    public void assertAwaitTimeout() {
+        assertFalse(awaiter.await(() -> false, 50L));
+    }
+    
+    @Test
+    public void assertAwaitUntilSignaled() throws InterruptedException {
+        AtomicInteger runningItems = new AtomicInteger(1);
+        Thread signalThread = new Thread(() -> {
+            runningItems.set(0);
+            awaiter.signal();
+        });
+        signalThread.start();
+        assertTrue(awaiter.await(() -> 0 == runningItems.get(), 10000L));
+        signalThread.join();
+    }
+}
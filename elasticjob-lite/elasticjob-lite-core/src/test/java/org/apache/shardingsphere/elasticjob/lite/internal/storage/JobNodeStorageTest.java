@@ -17,21 +17,17 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.storage;
 
-import org.apache.curator.framework.CuratorFramework;
-import org.apache.curator.framework.api.transaction.CuratorMultiTransaction;
-import org.apache.curator.framework.api.transaction.CuratorOp;
-import org.apache.curator.framework.api.transaction.TransactionCheckBuilder;
-import org.apache.curator.framework.api.transaction.TransactionCreateBuilder;
-import org.apache.curator.framework.api.transaction.TransactionOp;
-import org.apache.curator.framework.listen.Listenable;
-import org.apache.curator.framework.recipes.cache.CuratorCache;
-import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
-import org.apache.curator.framework.state.ConnectionStateListener;
+import org.apache.shardingsphere.elasticjob.infra.exception.JobSystemException;
 import org.apache.shardingsphere.elasticjob.lite.util.ReflectionUtils;
 import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
+import org.apache.shardingsphere.elasticjob.reg.base.LeaderExecutionCallback;
+import org.apache.shardingsphere.elasticjob.reg.base.transaction.TransactionOperation;
+import org.apache.shardingsphere.elasticjob.reg.exception.RegException;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEventListener;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -41,6 +37,9 @@ import java.util.Collections;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -158,93 +157,43 @@ public final class JobNodeStorageTest {
     }
     
     @Test
-    public void assertExecuteInTransactionSuccess() throws Exception {
-        CuratorFramework client = mock(CuratorFramework.class);
-        when(regCenter.getRawClient()).thenReturn(client);
-        TransactionOp transactionOp = mockTransactionOp(client);
-        CuratorOp checkOp = mockCheckOp(transactionOp);
-        CuratorOp createOp = mockCreateOp(transactionOp);
-        CuratorMultiTransaction transaction = mockTransaction(client);
-        jobNodeStorage.executeInTransaction(input -> Collections.singletonList(input.create().forPath("/test_transaction")));
-        verify(transaction).forOperations(Arrays.asList(checkOp, createOp));
-    }
-    
-    private TransactionOp mockTransactionOp(final CuratorFramework client) {
-        TransactionOp result = mock(TransactionOp.class);
-        when(client.transactionOp()).thenReturn(result);
-        return result;
+    public void assertCompareAndSetJobNode() {
+        when(regCenter.compareAndSet("/test_job/guarantee/started", "1", "3")).thenReturn(true);
+        assertTrue(jobNodeStorage.compareAndSetJobNode("guarantee/started", "1", "3"));
     }
     
-    @SuppressWarnings("unchecked")
-    private CuratorOp mockCheckOp(final TransactionOp transactionOperation) throws Exception {
-        TransactionCheckBuilder transactionCheckBuilder = mock(TransactionCheckBuilder.class);
-        when(transactionOperation.check()).thenReturn(transactionCheckBuilder);
-        CuratorOp result = mock(CuratorOp.class);
-        when(transactionCheckBuilder.forPath("/")).thenReturn(result);
-        return result;
-    }
-    
-    @SuppressWarnings("unchecked")
-    private CuratorOp mockCreateOp(final TransactionOp transactionOperation) throws Exception {
-        TransactionCreateBuilder transactionCreateBuilder = mock(TransactionCreateBuilder.class);
-        when(transactionOperation.create()).thenReturn(transactionCreateBuilder);
-        CuratorOp result = mock(CuratorOp.class);
-        when(transactionCreateBuilder.forPath("/test_transaction")).thenReturn(result);
-        return result;
-    }
-    
-    private CuratorMultiTransaction mockTransaction(final CuratorFramework client) {
-        CuratorMultiTransaction result = mock(CuratorMultiTransaction.class);
-        when(client.transaction()).thenReturn(result);
-        return result;
+    @Test
+    public void assertExecuteInTransactionSuccess() throws Exception {
+        jobNodeStorage.executeInTransaction(() -> Collections.singletonList(TransactionOperation.opAdd("/test_transaction", "")));
+        verify(regCenter).executeInTransaction(Arrays.asList(TransactionOperation.opCheckExists("/"), TransactionOperation.opAdd("/test_transaction", "")));
     }
     
     @Test(expected = RuntimeException.class)
     public void assertExecuteInTransactionFailure() throws Exception {
-        CuratorFramework client = mock(CuratorFramework.class);
-        when(regCenter.getRawClient()).thenReturn(client);
-        TransactionOp transactionOp = mockTransactionOp(client);
-        CuratorOp checkOp = mockCheckOp(transactionOp);
-        CuratorOp createFailedOp = mockCreateFailedOp(transactionOp);
-        CuratorMultiTransaction transaction = mockTransaction(client);
-        try {
-            jobNodeStorage.executeInTransaction(input -> Collections.singletonList(input.create().forPath("/test_transaction")));
-        } finally {
-            verify(transaction, times(0)).forOperations(Arrays.asList(checkOp, createFailedOp));
-        }
+        doThrow(new RuntimeException()).when(regCenter).executeInTransaction(ArgumentMatchers.any());
+        jobNodeStorage.executeInTransaction(() -> Collections.singletonList(TransactionOperation.opAdd("/test_transaction", "")));
     }
     
-    @SuppressWarnings("unchecked")
-    private CuratorOp mockCreateFailedOp(final TransactionOp transactionOperation) throws Exception {
-        TransactionCreateBuilder transactionCreateBuilder = mock(TransactionCreateBuilder.class);
-        when(transactionOperation.create()).thenReturn(transactionCreateBuilder);
-        CuratorOp result = mock(CuratorOp.class);
-        when(transactionCreateBuilder.forPath("/test_transaction")).thenThrow(new RuntimeException());
-        return result;
+    @Test
+    public void assertExecuteInLeader() {
+        LeaderExecutionCallback callback = mock(LeaderExecutionCallback.class);
+        jobNodeStorage.executeInLeader("leader/election/latch", callback);
+        verify(regCenter).executeInLeader("/test_job/leader/election/latch", callback);
     }
     
-    @Test
-    public void assertAddConnectionStateListener() {
-        CuratorFramework client = mock(CuratorFramework.class);
-        @SuppressWarnings("unchecked")
-        Listenable<ConnectionStateListener> listeners = mock(Listenable.class);
-        ConnectionStateListener listener = mock(ConnectionStateListener.class);
-        when(client.getConnectionStateListenable()).thenReturn(listeners);
-        when(regCenter.getRawClient()).thenReturn(client);
-        jobNodeStorage.addConnectionStateListener(listener);
-        verify(listeners).addListener(listener);
+    @Test(expected = JobSystemException.class)
+    public void assertExecuteInLeaderFailure() {
+        LeaderExecutionCallback callback = mock(LeaderExecutionCallback.class);
+        doThrow(new RegException(new Exception())).when(regCenter).executeInLeader("/test_job/leader/election/latch", callback);
+        jobNodeStorage.executeInLeader("leader/election/latch", callback);
     }
     
     @Test
     public void assertAddDataListener() {
-        CuratorCache cache = mock(CuratorCache.class);
-        @SuppressWarnings("unchecked")
-        Listenable<CuratorCacheListener> listeners = mock(Listenable.class);
-        CuratorCacheListener listener = mock(CuratorCacheListener.class);
-        when(cache.listenable()).thenReturn(listeners);
-        when(regCenter.getRawCache("/test_job")).thenReturn(cache);
-        jobNodeStorage.addDataListener(listener);
-        verify(listeners).addListener(listener);
+        DataChangedEventListener listener = mock(DataChangedEventListener.class);
+        jobNodeStorage.addDataListener(listener, "config");
+        jobNodeStorage.addDataListener(listener, "servers");
+        verify(regCenter).watch(eq("/test_job"), any(JobDataListenerDispatcher.class));
     }
     
     @Test
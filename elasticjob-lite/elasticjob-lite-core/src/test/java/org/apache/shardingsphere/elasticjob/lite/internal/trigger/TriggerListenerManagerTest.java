@@ -17,7 +17,7 @@
 
 package org.apache.shardingsphere.elasticjob.lite.internal.trigger;
 
-import org.apache.curator.framework.recipes.cache.CuratorCacheListener.Type;
+import org.apache.shardingsphere.elasticjob.reg.listener.DataChangedEvent.Type;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobRegistry;
 import org.apache.shardingsphere.elasticjob.lite.internal.schedule.JobScheduleController;
@@ -62,24 +62,24 @@ public final class TriggerListenerManagerTest {
     @Test
     public void assertStart() {
         triggerListenerManager.start();
-        verify(jobNodeStorage).addDataListener(ArgumentMatchers.any());
+        verify(jobNodeStorage).addDataListener(ArgumentMatchers.any(), ArgumentMatchers.eq(TriggerNode.ROOT));
     }
     
     @Test
     public void assertNotTriggerWhenIsNotLocalInstancePath() {
-        triggerListenerManager.new JobTriggerStatusJobListener().dataChanged("/test_job/trigger/127.0.0.2@-@0", Type.NODE_CREATED, "");
+        triggerListenerManager.new JobTriggerStatusJobListener().dataChanged("/test_job/trigger/127.0.0.2@-@0", Type.ADDED, "");
         verify(triggerService, times(0)).removeTriggerFlag();
     }
     
     @Test
     public void assertNotTriggerWhenIsNotCreate() {
-        triggerListenerManager.new JobTriggerStatusJobListener().dataChanged("/test_job/trigger/127.0.0.1@-@0", Type.NODE_CHANGED, "");
+        triggerListenerManager.new JobTriggerStatusJobListener().dataChanged("/test_job/trigger/127.0.0.1@-@0", Type.UPDATED, "");
         verify(triggerService, times(0)).removeTriggerFlag();
     }
     
     @Test
     public void assertTriggerWhenJobScheduleControllerIsNull() {
-        triggerListenerManager.new JobTriggerStatusJobListener().dataChanged("/test_job/trigger/127.0.0.1@-@0", Type.NODE_CREATED, "");
+        triggerListenerManager.new JobTriggerStatusJobListener().dataChanged("/test_job/trigger/127.0.0.1@-@0", Type.ADDED, "");
         verify(triggerService).removeTriggerFlag();
         verify(jobScheduleController, times(0)).triggerJob();
     }
@@ -89,7 +89,7 @@ public final class TriggerListenerManagerTest {
         JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
         JobRegistry.getInstance().setJobRunning("test_job", true);
-        triggerListenerManager.new JobTriggerStatusJobListener().dataChanged("/test_job/trigger/127.0.0.1@-@0", Type.NODE_CREATED, "");
+        triggerListenerManager.new JobTriggerStatusJobListener().dataChanged("/test_job/trigger/127.0.0.1@-@0", Type.ADDED, "");
         verify(triggerService).removeTriggerFlag();
         verify(jobScheduleController, times(0)).triggerJob();
         JobRegistry.getInstance().setJobRunning("test_job", false);
@@ -100,7 +100,7 @@ public final class TriggerListenerManagerTest {
     public void assertTriggerWhenJobIsNotRunning() {
         JobRegistry.getInstance().registerRegistryCenter("test_job", regCenter);
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController);
-        triggerListenerManager.new JobTriggerStatusJobListener().dataChanged("/test_job/trigger/127.0.0.1@-@0", Type.NODE_CREATED, "");
+        triggerListenerManager.new JobTriggerStatusJobListener().dataChanged("/test_job/trigger/127.0.0.1@-@0", Type.ADDED, "");
         verify(triggerService).removeTriggerFlag();
         verify(jobScheduleController).triggerJob();
         JobRegistry.getInstance().shutdown("test_job");
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shardingsphere.elasticjob.lite.internal.util;
+
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class JobPropertiesUtilsTest {
+    
+    private static final String PROPS_KEY = "fixture.mode";
+    
+    @Test
+    public void assertGetEnumWithDefault() {
+        assertThat(JobPropertiesUtils.getEnum(new Properties(), PROPS_KEY, FixtureMode.FOO), is(FixtureMode.FOO));
+        assertThat(JobPropertiesUtils.getEnum(createProperties(" "), PROPS_KEY, FixtureMode.FOO), is(FixtureMode.FOO));
+    }
+    
+    @Test
+    public void assertGetEnum() {
+        assertThat(JobPropertiesUtils.getEnum(createProperties(" bar_baz "), PROPS_KEY, FixtureMode.FOO), is(FixtureMode.BAR_BAZ));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertGetEnumWithInvalidValue() {
+        JobPropertiesUtils.getEnum(createProperties("invalid"), PROPS_KEY, FixtureMode.FOO);
+    }
+    
+    private Properties createProperties(final String value) {
+        Properties result = new Properties();
+        result.setProperty(PROPS_KEY, value);
+        return result;
+    }
+    
+    private enum FixtureMode {
+        
+        FOO, BAR_BAZ
+    }
+}
@@ -29,6 +29,22 @@ import java.lang.reflect.Field;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class ReflectionUtils {
     
+    /**
+     * Get field value.
+     *
+     * @param target target object
+     * @param fieldName field name
+     * @param <T> type of field value
+     * @return field value
+     */
+    @SuppressWarnings("unchecked")
+    @SneakyThrows
+    public static <T> T getFieldValue(final Object target, final String fieldName) {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return (T) field.get(target);
+    }
+    
     /**
      * Set field value.
      *
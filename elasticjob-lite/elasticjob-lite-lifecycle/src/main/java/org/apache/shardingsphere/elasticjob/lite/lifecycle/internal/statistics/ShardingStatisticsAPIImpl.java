@@ -17,9 +17,12 @@
 
 package org.apache.shardingsphere.elasticjob.lite.lifecycle.internal.statistics;
 
+import com.google.common.base.Strings;
 import lombok.RequiredArgsConstructor;
 import org.apache.shardingsphere.elasticjob.infra.handler.sharding.JobInstance;
 import org.apache.shardingsphere.elasticjob.infra.yaml.YamlEngine;
+import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingAssignmentCodec;
+import org.apache.shardingsphere.elasticjob.lite.internal.sharding.ShardingNode;
 import org.apache.shardingsphere.elasticjob.lite.internal.storage.JobNodePath;
 import org.apache.shardingsphere.elasticjob.lite.lifecycle.api.ShardingStatisticsAPI;
 import org.apache.shardingsphere.elasticjob.lite.lifecycle.domain.ShardingInfo;
@@ -28,7 +31,10 @@ import org.apache.shardingsphere.elasticjob.reg.base.CoordinatorRegistryCenter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Sharding statistics API implementation class.
@@ -40,21 +46,23 @@ public final class ShardingStatisticsAPIImpl implements ShardingStatisticsAPI {
     
     @Override
     public Collection<ShardingInfo> getShardingInfo(final String jobName) {
-        String shardingRootPath = new JobNodePath(jobName).getShardingNodePath();
-        List<String> items = regCenter.getChildrenKeys(shardingRootPath);
+        JobNodePath jobNodePath = new JobNodePath(jobName);
+        Map<Integer, String> compactAssignment = getCompactAssignment(jobNodePath);
+        Set<String> items = new LinkedHashSet<>(regCenter.getChildrenKeys(jobNodePath.getShardingNodePath()));
+        compactAssignment.keySet().forEach(each -> items.add(String.valueOf(each)));
         List<ShardingInfo> result = new ArrayList<>(items.size());
         for (String each : items) {
-            result.add(getShardingInfo(jobName, each));
+            result.add(getShardingInfo(jobName, each, compactAssignment));
         }
         Collections.sort(result);
         return result;
     }
     
-    private ShardingInfo getShardingInfo(final String jobName, final String item) {
+    private ShardingInfo getShardingInfo(final String jobName, final String item, final Map<Integer, String> compactAssignment) {
         ShardingInfo result = new ShardingInfo();
         result.setItem(Integer.parseInt(item));
         JobNodePath jobNodePath = new JobNodePath(jobName);
-        String instanceId = regCenter.get(jobNodePath.getShardingNodePath(item, "instance"));
+        String instanceId = compactAssignment.isEmpty() ? regCenter.get(jobNodePath.getShardingNodePath(item, "instance")) : compactAssignment.get(result.getItem());
         boolean disabled = regCenter.isExisted(jobNodePath.getShardingNodePath(item, "disabled"));
         boolean running = regCenter.isExisted(jobNodePath.getShardingNodePath(item, "running"));
         boolean shardingError = !regCenter.isExisted(jobNodePath.getInstanceNodePath(instanceId));
@@ -67,4 +75,9 @@ public final class ShardingStatisticsAPIImpl implements ShardingStatisticsAPI {
         }
         return result;
     }
+    
+    private Map<Integer, String> getCompactAssignment(final JobNodePath jobNodePath) {
+        String data = regCenter.get(jobNodePath.getFullPath(ShardingNode.ASSIGNMENT));
+        return Strings.isNullOrEmpty(data) ? Collections.emptyMap() : ShardingAssignmentCodec.decode(data);
+    }
 }
@@ -26,11 +26,16 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -96,4 +101,24 @@ public final class ShardingStatisticsAPIImplTest {
             }
         }
     }
+    
+    @Test
+    public void assertGetShardingInfoWithCompactAssignment() {
+        when(regCenter.get("/test_job/assignment")).thenReturn("ip1@-@1234,ip2@-@2341\n0*1,1*1");
+        when(regCenter.getChildrenKeys("/test_job/sharding")).thenReturn(Collections.singletonList("1"));
+        when(regCenter.get("/test_job/instances/ip1@-@1234")).thenReturn("jobInstanceId: ip1@-@1234\nserverIp: ip1\n");
+        when(regCenter.get("/test_job/instances/ip2@-@2341")).thenReturn("jobInstanceId: ip2@-@2341\nserverIp: ip2\n");
+        when(regCenter.isExisted("/test_job/instances/ip1@-@1234")).thenReturn(true);
+        when(regCenter.isExisted("/test_job/instances/ip2@-@2341")).thenReturn(true);
+        when(regCenter.isExisted("/test_job/sharding/1/running")).thenReturn(true);
+        List<ShardingInfo> actual = new ArrayList<>(shardingStatisticsAPI.getShardingInfo("test_job"));
+        assertThat(actual.size(), is(2));
+        assertThat(actual.get(0).getItem(), is(0));
+        assertThat(actual.get(0).getInstanceId(), is("ip1@-@1234"));
+        assertThat(actual.get(0).getStatus(), is(ShardingInfo.ShardingStatus.PENDING));
+        assertThat(actual.get(1).getItem(), is(1));
+        assertThat(actual.get(1).getInstanceId(), is("ip2@-@2341"));
+        assertThat(actual.get(1).getStatus(), is(ShardingInfo.ShardingStatus.RUNNING));
+        verify(regCenter, times(0)).get("/test_job/sharding/1/instance");
+    }
 }
@@ -73,6 +73,11 @@ public class ZookeeperProperties {
      */
     private String digest;
     
+    /**
+     * Whether to execute in leader with a reusable inter-process mutex instead of a leader latch per call.
+     */
+    private boolean leaderMutexEnabled;
+    
     /**
      * Create ZooKeeper configuration.
      *
@@ -86,6 +91,7 @@ public class ZookeeperProperties {
         result.setSessionTimeoutMilliseconds(sessionTimeoutMilliseconds);
         result.setConnectionTimeoutMilliseconds(connectionTimeoutMilliseconds);
         result.setDigest(digest);
+        result.setLeaderMutexEnabled(leaderMutexEnabled);
         return result;
     }
 }
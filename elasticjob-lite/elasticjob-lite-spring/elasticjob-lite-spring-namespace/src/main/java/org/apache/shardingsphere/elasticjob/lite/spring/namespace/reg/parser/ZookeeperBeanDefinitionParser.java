@@ -51,6 +51,7 @@ public final class ZookeeperBeanDefinitionParser extends AbstractBeanDefinitionP
         addPropertyValueIfNotEmpty(ZookeeperBeanDefinitionTag.SESSION_TIMEOUT_MILLISECONDS_ATTRIBUTE, "sessionTimeoutMilliseconds", element, configuration);
         addPropertyValueIfNotEmpty(ZookeeperBeanDefinitionTag.CONNECTION_TIMEOUT_MILLISECONDS_ATTRIBUTE, "connectionTimeoutMilliseconds", element, configuration);
         addPropertyValueIfNotEmpty(ZookeeperBeanDefinitionTag.DIGEST_ATTRIBUTE, "digest", element, configuration);
+        addPropertyValueIfNotEmpty(ZookeeperBeanDefinitionTag.LEADER_MUTEX_ENABLED_ATTRIBUTE, "leaderMutexEnabled", element, configuration);
         return configuration.getBeanDefinition();
     }
     
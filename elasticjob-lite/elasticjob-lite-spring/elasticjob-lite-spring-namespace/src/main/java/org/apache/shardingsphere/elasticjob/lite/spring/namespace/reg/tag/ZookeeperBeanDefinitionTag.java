@@ -41,4 +41,6 @@ public final class ZookeeperBeanDefinitionTag {
     public static final String CONNECTION_TIMEOUT_MILLISECONDS_ATTRIBUTE = "connection-timeout-milliseconds";
     
     public static final String DIGEST_ATTRIBUTE = "digest";
+    
+    public static final String LEADER_MUTEX_ENABLED_ATTRIBUTE = "leader-mutex-enabled";
 }